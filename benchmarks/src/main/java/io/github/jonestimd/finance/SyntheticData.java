@@ -0,0 +1,117 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.asset.Currency;
+import io.github.jonestimd.finance.domain.transaction.Payee;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
+import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
+import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+
+/**
+ * Generates repeatable, in-memory domain data for the benchmarks.
+ */
+public class SyntheticData {
+    private static final String[] WORDS = {"grocery", "fuel", "market", "pharmacy", "hardware", "coffee", "books", "utility",
+            "insurance", "restaurant", "cinema", "garden", "bakery", "electric", "water", "phone"};
+    private final Random random;
+
+    public SyntheticData(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    public String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    public String payeeName(int index) {
+        return word() + " " + index + " inc";
+    }
+
+    public List<Payee> payees(int count) {
+        List<Payee> payees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            payees.add(new Payee(i + 1, payeeName(i)));
+        }
+        return payees;
+    }
+
+    public List<TransactionCategory> categories(int count) {
+        List<TransactionCategory> categories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TransactionCategory parent = i > 0 && random.nextBoolean() ? categories.get(random.nextInt(i)) : null;
+            categories.add(new TransactionCategory(parent, word() + i));
+        }
+        return categories;
+    }
+
+    public BigDecimal amount() {
+        return BigDecimal.valueOf(random.nextInt(200000) - 100000, 2);
+    }
+
+    public Date date(Date start, int offsetDays) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(start);
+        calendar.add(Calendar.DAY_OF_YEAR, offsetDays);
+        return calendar.getTime();
+    }
+
+    public static Account newAccount(String name) {
+        Account account = new Account(new Currency(java.util.Currency.getInstance("USD")));
+        account.setName(name);
+        return account;
+    }
+
+    /**
+     * @return {@code count} saved transactions in date order, with 1 to 3 details each.
+     */
+    public List<Transaction> transactions(Account account, int count, List<Payee> payees, List<TransactionCategory> categories) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        Date start = date(new Date(0L), 365 * 30);
+        for (int i = 0; i < count; i++) {
+            TransactionBuilder builder = new TransactionBuilder().nextId().account(account)
+                    .date(date(start, i / 3)).cleared(random.nextBoolean())
+                    .payee(payees.get(random.nextInt(payees.size())))
+                    .memo(random.nextInt(4) == 0 ? word() + " memo " + i : null);
+            int details = 1 + random.nextInt(3);
+            for (int j = 0; j < details; j++) {
+                builder.details(new TransactionDetail(categories.get(random.nextInt(categories.size())), amount(),
+                        random.nextInt(3) == 0 ? word() : null, null));
+            }
+            transactions.add(builder.get());
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,86 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.github.jonestimd.finance.SyntheticData;
+import io.github.jonestimd.finance.domain.transaction.Payee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures payee lookup for a batch of imported records.  Half of the records match an alias and the rest contain the
+ * name of an existing payee.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainMapperBenchmark {
+    @Param({"100", "1000"})
+    private int payees;
+    @Param({"1000"})
+    private int records;
+    private DomainMapper<Payee> mapper;
+    private final List<String> names = new ArrayList<>();
+
+    @Setup
+    public void createMapper() {
+        SyntheticData data = new SyntheticData(payees);
+        List<Payee> targets = data.payees(payees);
+        Map<String, Payee> aliases = new HashMap<>();
+        for (int i = 0; i < records; i++) {
+            Payee payee = targets.get(data.getRandom().nextInt(payees));
+            if (i % 2 == 0) {
+                String alias = "ALIAS " + i;
+                aliases.put(alias, payee);
+                names.add(alias);
+            }
+            else names.add("POS PURCHASE " + payee.getName().toUpperCase() + " #" + i);
+        }
+        mapper = new DomainMapper<>(targets, Payee::getName, aliases, null);
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(mapper.get(name));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.csv;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.github.jonestimd.finance.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures parsing of a CSV file.  {@code quoted} selects a file where every field is quoted and the descriptions
+ * contain escaped quotes.  {@link #regexBaseline(Blackhole)} is the previous regex based parser, which does not
+ * unescape quotes, for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvParserBenchmark {
+    private static final Pattern COLUMN_PATTERN = Pattern.compile("(?<value>[^,\"]*|\"[^\"]*\")(,|$)");
+    @Param({"1000", "10000"})
+    private int rows;
+    @Param({"false", "true"})
+    private boolean quoted;
+    private byte[] content;
+
+    @Setup
+    public void createFile() {
+        SyntheticData data = new SyntheticData(rows);
+        StringBuilder buffer = new StringBuilder("Date,Description,Symbol,Quantity,Price,Amount\n");
+        String format = quoted ? "\"%02d/%02d/2020\",\"%s, \"\"%s\"\"\",\"SYM%d\",\"%d.%03d\",\"%s\",\"%s\"%n"
+                : "%02d/%02d/2020,\"%s, %s\",SYM%d,%d.%03d,%s,%s%n";
+        for (int i = 0; i < rows; i++) {
+            buffer.append(String.format(format, i % 12 + 1, i % 28 + 1,
+                    data.word().toUpperCase(), data.payeeName(i), i % 50, i % 100, i % 1000, data.amount().abs(), data.amount()));
+        }
+        content = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) throws Exception {
+        new CsvParser(new ByteArrayInputStream(content)).getStream().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole blackhole) throws Exception {
+        CsvTokenizer tokenizer = new CsvTokenizer(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+        while (tokenizer.hasNext()) {
+            blackhole.consume(tokenizer.next());
+        }
+    }
+
+    @Benchmark
+    public void regexBaseline(Blackhole blackhole) throws Exception {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+        List<String> headers = Arrays.asList(reader.readLine().trim().split(","));
+        reader.lines().map(String::trim).filter(line -> !line.isEmpty()).forEach(line -> {
+            Map<String, String> record = new HashMap<>();
+            Matcher matcher = COLUMN_PATTERN.matcher(line);
+            headers.forEach(header -> record.put(header, matcher.find() ? unquote(matcher.group("value")) : ""));
+            blackhole.consume(record);
+        });
+    }
+
+    private static String unquote(String value) {
+        return value.matches("^\".*\"$") ? value.substring(1, value.length() - 1) : value;
+    }
+}
@@ -0,0 +1,108 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.excel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import io.github.jonestimd.finance.SyntheticData;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures parsing of an XLS or XLSX sheet by the streaming parsers.  {@link #workbookParser(Blackhole)} loads the
+ * whole workbook and uses {@link SheetParser} for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SheetParserBenchmark {
+    private static final String[] HEADERS = {"Date", "Description", "Symbol", "Quantity", "Amount"};
+    @Param({"1000", "10000"})
+    private int rows;
+    @Param({"xls", "xlsx"})
+    private String format;
+    private byte[] content;
+
+    @Setup
+    public void createWorkbook() throws IOException {
+        SyntheticData data = new SyntheticData(rows);
+        Workbook workbook = "xls".equals(format) ? new HSSFWorkbook() : new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < HEADERS.length; i++) {
+            header.createCell(i).setCellValue(HEADERS[i]);
+        }
+        for (int i = 1; i <= rows; i++) {
+            Row row = sheet.createRow(i);
+            row.createCell(0).setCellValue(data.date(new Date(0L), i));
+            row.createCell(1).setCellValue(data.payeeName(i));
+            row.createCell(2).setCellValue("SYM" + i % 50);
+            row.createCell(3).setCellValue(data.getRandom().nextInt(10000) / 100d);
+            row.createCell(4).setCellValue(data.amount().doubleValue());
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        workbook.write(outputStream);
+        content = outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) throws IOException {
+        try (Stream<Map<String, String>> stream = newParser(new ByteArrayInputStream(content)).getStream()) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void workbookParser(Blackhole blackhole) throws Exception {
+        new SheetParser(WorkbookFactory.create(new ByteArrayInputStream(content)).getSheetAt(0), 0).getStream().forEach(blackhole::consume);
+    }
+
+    private StreamingSheetParser newParser(InputStream stream) throws IOException {
+        return "xls".equals(format) ? new HssfSheetParser(stream, 0, 0) : new XssfSheetParser(stream, 0, 0);
+    }
+}
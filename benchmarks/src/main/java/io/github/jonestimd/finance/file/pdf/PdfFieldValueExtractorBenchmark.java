@@ -0,0 +1,97 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.pdf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.github.jonestimd.finance.SyntheticData;
+import io.github.jonestimd.finance.domain.fileimport.ImportField;
+import io.github.jonestimd.finance.domain.fileimport.ImportFieldBuilder;
+import org.apache.pdfbox.util.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the mapping of extracted PDF text to import fields, without the PDF parsing.
+ * @see TextExtractorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfFieldValueExtractorBenchmark {
+    public static final int LINES_PER_PAGE = 50;
+    @Param({"10", "100"})
+    private int pages;
+    @Param({"5", "40"})
+    private int fields;
+    private PdfFieldValueExtractor extractor;
+    private final List<Pair<Vector, String>> pdfText = new ArrayList<>();
+
+    @Setup
+    public void createText() {
+        SyntheticData data = new SyntheticData(pages * fields);
+        Set<ImportField> importFields = IntStream.range(0, fields).mapToObj(PdfFieldValueExtractorBenchmark::newField).collect(Collectors.toSet());
+        extractor = new PdfFieldValueExtractor(importFields);
+        for (int page = 0; page < pages; page++) {
+            for (int line = 0; line < LINES_PER_PAGE; line++) {
+                float y = 750f - line * 14f;
+                int field = data.getRandom().nextInt(fields * 2);
+                addText(10f, y, field < fields ? "Field" : data.word(), (field % fields) + ":");
+                addText(100f, y, data.word(), data.amount().toString());
+                addText(200f, y, data.payeeName(line));
+            }
+        }
+    }
+
+    private static ImportField newField(int index) {
+        return new ImportFieldBuilder().label("Field " + index + ":").bounds(null, null, 0f, 90f, 95f, 300f).get();
+    }
+
+    private void addText(float x, float y, String... words) {
+        for (String word : words) {
+            pdfText.add(new Pair<>(new Vector(x, y), word));
+            x += word.length() * 6f;
+        }
+    }
+
+    @Benchmark
+    public Object getFieldValues() {
+        return extractor.getFieldValues(pdfText.stream());
+    }
+}
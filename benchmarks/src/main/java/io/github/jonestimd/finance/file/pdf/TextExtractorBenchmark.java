@@ -0,0 +1,79 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.pdf;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.io.ByteStreams;
+import io.github.jonestimd.finance.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures text extraction from a generated statement with {@link PdfFieldValueExtractorBenchmark#LINES_PER_PAGE}
+ * lines per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextExtractorBenchmark {
+    @Param({"10", "100"})
+    private int pages;
+    private byte[] content;
+
+    @Setup
+    public void createDocument() throws IOException {
+        SyntheticData data = new SyntheticData(pages);
+        PdfStreamBuilder builder = new PdfStreamBuilder();
+        for (int page = 0; page < pages; page++) {
+            builder.startPage().setFont().beginText();
+            for (int line = 0; line < PdfFieldValueExtractorBenchmark.LINES_PER_PAGE; line++) {
+                float y = 750f - line * 14f;
+                builder.setTextMatrix(10f, y).addText(data.word() + ":")
+                        .setTextMatrix(100f, y).addText(data.amount().toString())
+                        .setTextMatrix(200f, y).addText(data.payeeName(line));
+            }
+            builder.endText().endPage();
+        }
+        content = ByteStreams.toByteArray(builder.getStream());
+    }
+
+    @Benchmark
+    public void getText(Blackhole blackhole) throws IOException {
+        new TextExtractor(new ByteArrayInputStream(content)).getText().forEach(blackhole::consume);
+    }
+}
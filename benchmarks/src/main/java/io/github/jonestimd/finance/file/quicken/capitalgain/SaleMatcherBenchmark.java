@@ -0,0 +1,161 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.quicken.capitalgain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.github.jonestimd.finance.SyntheticData;
+import io.github.jonestimd.finance.domain.asset.Security;
+import io.github.jonestimd.finance.domain.asset.SecurityType;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
+import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import io.github.jonestimd.finance.file.quicken.QuickenException;
+import io.github.jonestimd.finance.service.TransactionService;
+import io.github.jonestimd.subset.SubsetSum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures matching one sale to the capital gain records for a day with many partial sales of a security.
+ * {@link #enumerateSubsets()} is the previous approach of listing every subset with the sale's shares and sorting them
+ * by size.  It grows exponentially, so limit it to the smaller sizes, e.g.
+ * {@code -PjmhArgs='-p records=8,16,20'}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaleMatcherBenchmark {
+    private static final String SECURITY_NAME = "Security";
+    private static final BigDecimal SHARES_ERROR = new BigDecimal("0.0005");
+    private static final Comparator<Collection<?>> SIZE_ASCENDING = Comparator.comparingInt(Collection::size);
+    @Param({"8", "16", "20", "30", "40"})
+    private int records;
+    private final List<CapitalGain> dayRecords = new ArrayList<>();
+    private final Date saleDate = new Date();
+    private TransactionService transactionService;
+    private Map<String, Map<Date, List<CapitalGain>>> saleMap;
+    private BigDecimal saleShares;
+
+    @Setup
+    public void createRecords() {
+        Random random = new SyntheticData(records).getRandom();
+        saleShares = BigDecimal.ZERO;
+        BigDecimal saleAmount = BigDecimal.ZERO;
+        for (int i = 0; i < records; i++) {
+            Record record = new Record(BigDecimal.valueOf(1000 + random.nextInt(100000), 3), BigDecimal.valueOf(100 + random.nextInt(10000), 2));
+            dayRecords.add(record);
+            if (i % 3 == 0) {
+                saleShares = saleShares.add(record.shares);
+                saleAmount = saleAmount.add(record.saleAmount);
+            }
+        }
+        Security security = new Security(SECURITY_NAME, SecurityType.STOCK);
+        TransactionDetail sale = new TransactionDetail(null, saleAmount, null, null);
+        sale.setAssetQuantity(saleShares.negate());
+        Transaction transaction = new TransactionBuilder().nextId().date(saleDate).security(security).details(sale).get();
+        transactionService = mock(TransactionService.class);
+        when(transactionService.findSecuritySalesWithoutLots(anyString(), any(Date.class)))
+                .thenAnswer(invocation -> new ArrayList<>(transaction.getDetails()));
+    }
+
+    @Setup(Level.Invocation)
+    public void resetSales() {
+        saleMap = Collections.singletonMap(SECURITY_NAME, Collections.singletonMap(saleDate, new ArrayList<>(dayRecords)));
+    }
+
+    @Benchmark
+    public Object assignSales() throws QuickenException {
+        return new SaleMatcher(transactionService).assignSales(saleMap);
+    }
+
+    @Benchmark
+    public Object matchSubset() {
+        return new SubsetMatcher<>(CapitalGain.SHARES_ADAPTER, SHARES_ERROR, SaleMatcher.DEFAULT_MAX_LOTS).find(dayRecords, saleShares, subset -> true);
+    }
+
+    @Benchmark
+    public Object enumerateSubsets() {
+        List<List<CapitalGain>> subsets = SubsetSum.subsets(saleShares, SHARES_ERROR, dayRecords, CapitalGain.SHARES_ADAPTER, -1);
+        subsets.sort(SIZE_ASCENDING);
+        return subsets.get(0);
+    }
+
+    private static class Record implements CapitalGain {
+        private final BigDecimal shares;
+        private final BigDecimal saleAmount;
+
+        private Record(BigDecimal shares, BigDecimal saleAmount) {
+            this.shares = shares;
+            this.saleAmount = saleAmount;
+        }
+
+        public BigDecimal getShares() {
+            return shares;
+        }
+
+        public String getSecurityName() {
+            return SECURITY_NAME;
+        }
+
+        public Date getPurchaseDate() {
+            return null;
+        }
+
+        public Date getSellDate() {
+            return null;
+        }
+
+        public BigDecimal getCostBasis() {
+            return saleAmount;
+        }
+
+        public BigDecimal getNetSaleAmount() {
+            return saleAmount;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.operations.inventory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.github.jonestimd.finance.SyntheticData;
+import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.asset.Security;
+import io.github.jonestimd.finance.domain.asset.SecurityType;
+import io.github.jonestimd.finance.domain.asset.SplitRatio;
+import io.github.jonestimd.finance.domain.transaction.SecurityLot;
+import io.github.jonestimd.finance.domain.transaction.StockSplit;
+import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
+import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures allocating a sale to the available purchase lots of a security that has a history of stock splits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LotAllocationStrategyBenchmark {
+    @Param({"100", "1000"})
+    private int purchases;
+    @Param({"20"})
+    private int splits;
+    @Param({"FIRST_IN", "LOWEST_PRICE"})
+    private String strategyName;
+    private LotAllocationStrategy strategy;
+    private final List<SecurityLot> lots = new ArrayList<>();
+    private BigDecimal saleShares;
+
+    @Setup
+    public void createLots() throws Exception {
+        strategy = (LotAllocationStrategy) LotAllocationStrategy.class.getField(strategyName).get(null);
+        SyntheticData data = new SyntheticData(purchases);
+        Account account = SyntheticData.newAccount("brokerage");
+        Security security = new Security("Security", SecurityType.STOCK);
+        Date start = new Date(0L);
+        security.setSplits(new ArrayList<>());
+        for (int i = 1; i <= splits; i++) {
+            Date date = data.date(start, i * purchases / splits);
+            security.getSplits().add(new StockSplit(security, date, new SplitRatio(BigDecimal.ONE, BigDecimal.ONE)));
+        }
+        TransactionDetail sale = newDetail(account, security, data.date(start, purchases + 1), "-1", "1");
+        for (int i = 0; i < purchases; i++) {
+            TransactionDetail purchase = newDetail(account, security, data.date(start, i), "10", String.valueOf(-100 - data.getRandom().nextInt(10000)));
+            lots.add(new SecurityLot(purchase, sale, BigDecimal.ZERO));
+        }
+        saleShares = BigDecimal.valueOf(purchases * 5L);
+    }
+
+    private TransactionDetail newDetail(Account account, Security security, Date date, String shares, String amount) {
+        TransactionDetail detail = new TransactionDetail(null, new BigDecimal(amount), null, null);
+        detail.setAssetQuantity(new BigDecimal(shares));
+        new TransactionBuilder().nextId().account(account).security(security).date(date).details(detail).get();
+        return detail;
+    }
+
+    @Setup(Level.Invocation)
+    public void resetLots() {
+        lots.forEach(lot -> lot.setAdjustedShares(BigDecimal.ZERO));
+    }
+
+    @Benchmark
+    public void allocateLots() {
+        strategy.allocateLots(lots, saleShares);
+    }
+}
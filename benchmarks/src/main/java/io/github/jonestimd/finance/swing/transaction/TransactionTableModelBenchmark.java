@@ -0,0 +1,97 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.swing.transaction;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.github.jonestimd.finance.SyntheticData;
+import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the running balance maintenance of {@link TransactionTableModel} for edits near the top of a long account.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionTableModelBenchmark {
+    @Param({"1000", "50000"})
+    private int transactions;
+    private List<Transaction> beans;
+    private TransactionTableModel model;
+    private Transaction oldest;
+    private Transaction middle;
+
+    @Setup
+    public void createModel() {
+        SyntheticData data = new SyntheticData(transactions);
+        Account account = SyntheticData.newAccount("checking");
+        beans = data.transactions(account, transactions, data.payees(500), data.categories(50));
+        model = new TransactionTableModel(account);
+        model.setBeans(beans);
+        oldest = new TransactionBuilder().nextId().account(account).date(new Date(0L)).detailAmounts(BigDecimal.TEN).get();
+        Transaction median = beans.get(transactions / 2);
+        middle = new TransactionBuilder().nextId().account(account).date(median.getDate()).detailAmounts(BigDecimal.ONE).get();
+    }
+
+    @Benchmark
+    public void setBeans() {
+        model.setBeans(beans);
+    }
+
+    @Benchmark
+    public int getInsertionIndex() {
+        return model.getInsertionIndex(middle);
+    }
+
+    /**
+     * Insert a transaction at the top of the account and then remove it.
+     */
+    @Benchmark
+    public void addAndRemoveOldest() {
+        model.addBean(model.getInsertionIndex(oldest), oldest);
+        model.removeBean(oldest);
+    }
+
+    @Benchmark
+    public void updateFirstAmount() {
+        model.setAmount(BigDecimal.valueOf(System.nanoTime() % 1000, 2), 1);
+    }
+}
@@ -30,6 +30,7 @@ public class ApplicationConfig {
     public static final File CONFIG_DIR = new File(System.getProperty("user.home"), ".finances");
     public static final File CONFIG_FILE = new File(CONFIG_DIR, "finances.conf");
     public static final Config CONFIG = loadConfig();
+    public static final ConnectionConfig CONNECTION_CONFIG = new ConnectionConfig();
 
     private static Config loadConfig() {
         Config config = ConfigFactory.load();
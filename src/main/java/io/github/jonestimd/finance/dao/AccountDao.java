@@ -21,6 +21,7 @@
 // SOFTWARE.
 package io.github.jonestimd.finance.dao;
 
+import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.List;
 
@@ -33,5 +34,21 @@ public interface AccountDao extends BaseDao<Account, Long> {
 
     List<AccountSummary> getAccountSummaries();
 
+    /**
+     * @return the persisted balance of the account.
+     */
+    BigDecimal getBalance(long accountId);
+
+    /**
+     * Add transaction count and balance changes to the persisted account balances.
+     * @param changes the deltas to apply to the account balances
+     */
+    void updateBalances(Collection<AccountSummary> changes);
+
+    /**
+     * Recalculate the persisted account balances from the transactions.
+     */
+    void rebuildBalances();
+
     void removeAccountsFromCompanies(Collection<Company> companies);
 }
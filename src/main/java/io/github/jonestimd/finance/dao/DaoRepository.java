@@ -56,5 +56,7 @@ public interface DaoRepository {
 
     ImportFileDao getImportFileDao();
 
+    ImportFingerprintDao getImportFingerprintDao();
+
     DomainEventRecorder getDomainEventRecorder();
 }
\ No newline at end of file
@@ -38,21 +38,26 @@ import com.google.common.base.Supplier;
 import com.mchange.io.FileUtils;
 import com.typesafe.config.Config;
 import io.github.jonestimd.finance.config.ApplicationConfig;
+import io.github.jonestimd.finance.dao.hibernate.AccountBalanceUpdater;
 import io.github.jonestimd.finance.dao.hibernate.AccountDaoImpl;
 import io.github.jonestimd.finance.dao.hibernate.AccountSummaryEventHandler;
 import io.github.jonestimd.finance.dao.hibernate.CompanyDaoImpl;
 import io.github.jonestimd.finance.dao.hibernate.CompositeEventHandler;
 import io.github.jonestimd.finance.dao.hibernate.CurrencyDaoImpl;
+import io.github.jonestimd.finance.dao.hibernate.DetailSearchIndex;
 import io.github.jonestimd.finance.dao.hibernate.DomainEventInterceptor;
 import io.github.jonestimd.finance.dao.hibernate.DomainEventRecorder;
 import io.github.jonestimd.finance.dao.hibernate.EventBuilder;
 import io.github.jonestimd.finance.dao.hibernate.EventHandlerEventHolder;
 import io.github.jonestimd.finance.dao.hibernate.NamedQueryInterceptor;
 import io.github.jonestimd.finance.dao.hibernate.PayeeDaoImpl;
+import io.github.jonestimd.finance.dao.hibernate.SearchIndexUpdater;
 import io.github.jonestimd.finance.dao.hibernate.SecurityDaoImpl;
 import io.github.jonestimd.finance.dao.hibernate.SecurityLotDaoImpl;
+import io.github.jonestimd.finance.dao.hibernate.SecurityPositionUpdater;
 import io.github.jonestimd.finance.dao.hibernate.SecuritySummaryEventHandler;
 import io.github.jonestimd.finance.dao.hibernate.StockSplitDaoImpl;
+import io.github.jonestimd.finance.dao.hibernate.SummaryUpdateHandler;
 import io.github.jonestimd.finance.dao.hibernate.TransactionCategoryDaoImpl;
 import io.github.jonestimd.finance.dao.hibernate.TransactionDaoImpl;
 import io.github.jonestimd.finance.dao.hibernate.TransactionDetailDaoImpl;
@@ -67,18 +72,14 @@ import io.github.jonestimd.reflect.PackageScanner;
 import org.apache.log4j.Logger;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
-import org.hibernate.Transaction;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.BootstrapServiceRegistryBuilder;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.cfg.Configuration;
-import org.hibernate.resource.transaction.spi.TransactionStatus;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.tool.hbm2ddl.SchemaExport;
 import org.hibernate.tool.schema.TargetType;
 
-import static io.github.jonestimd.finance.swing.FinanceApplication.*;
-
 public class HibernateDaoContext implements DaoRepository {
     private static final String EVENT_SOURCE = "Services";
     private final Logger logger = Logger.getLogger(HibernateDaoContext.class);
@@ -97,11 +98,17 @@ public class HibernateDaoContext implements DaoRepository {
     private StockSplitDao stockSplitDao;
     private SecurityLotDao securityLotDao;
     private ImportFileDao importFileDao;
+    private ImportFingerprintDao importFingerprintDao;
+    private final DetailSearchIndex searchIndex = new DetailSearchIndex();
     private Supplier<EventHandlerEventHolder> eventHandlerSupplier = () -> new CompositeEventHandler(
             new EventBuilder(EVENT_SOURCE),
             new AccountSummaryEventHandler(EVENT_SOURCE),
             new SecuritySummaryEventHandler(EVENT_SOURCE));
-    private DomainEventInterceptor eventInterceptor = new DomainEventInterceptor(eventHandlerSupplier);
+    private Supplier<SummaryUpdateHandler> summaryHandlerSupplier = () -> new CompositeEventHandler(
+            new AccountBalanceUpdater(EVENT_SOURCE, accountDao),
+            new SecurityPositionUpdater(securityDao),
+            new SearchIndexUpdater(searchIndex));
+    private DomainEventInterceptor eventInterceptor = new DomainEventInterceptor(eventHandlerSupplier, summaryHandlerSupplier);
 
     public static HibernateDaoContext connect(boolean createSchema, DriverService driverService, Config config, Consumer<String> updateProgress)
             throws Exception {
@@ -110,6 +117,8 @@ public class HibernateDaoContext implements DaoRepository {
             updateProgress.accept(BundleType.LABELS.getString("database.status.creatingTables"));
             new SchemaBuilder(daoContext).createSchemaTables(driverService.getPostCreateSchemaScript()).seedReferenceData();
         }
+        updateProgress.accept(BundleType.LABELS.getString("database.status.loadingSearchIndex"));
+        daoContext.loadSearchIndex();
         return daoContext;
     }
 
@@ -149,12 +158,13 @@ public class HibernateDaoContext implements DaoRepository {
         TransactionCategoryDao = transactional(new TransactionCategoryDaoImpl(sessionFactory), TransactionCategoryDao.class);
         transactionGroupDao = transactional(new TransactionGroupDaoImpl(sessionFactory), TransactionGroupDao.class);
         transactionDao = transactional(new TransactionDaoImpl(sessionFactory), TransactionDao.class);
-        transactionDetailDao = transactional(new TransactionDetailDaoImpl(sessionFactory), TransactionDetailDao.class);
+        transactionDetailDao = transactional(new TransactionDetailDaoImpl(sessionFactory, searchIndex), TransactionDetailDao.class);
         securityDao = transactional(new SecurityDaoImpl(sessionFactory), SecurityDao.class);
         currencyDao = transactional(new CurrencyDaoImpl(sessionFactory), CurrencyDao.class);
         stockSplitDao = transactional(new StockSplitDaoImpl(sessionFactory), StockSplitDao.class);
         securityLotDao = transactional(new SecurityLotDaoImpl(sessionFactory), SecurityLotDao.class);
         importFileDao = transactional(NamedQueryInterceptor.createDao(sessionFactory, ImportFileDao.class), ImportFileDao.class);
+        importFingerprintDao = transactional(NamedQueryInterceptor.createDao(sessionFactory, ImportFingerprintDao.class), ImportFingerprintDao.class);
     }
 
     @Override
@@ -214,19 +224,21 @@ public class HibernateDaoContext implements DaoRepository {
         return iface.cast(Proxy.newProxyInstance(target.getClass().getClassLoader(), new Class[]{iface}, new TransactionInterceptor(target, sessionFactory)));
     }
 
+    /**
+     * Run {@code work} in a transaction on the current session, so that the DAOs and operations called by {@code work}
+     * join the transaction.
+     */
     @Override
     public void doInTransaction(Runnable work) {
-        try (Session session = sessionFactory.openSession()) {
-            Transaction transaction = session.beginTransaction();
-            try {
-                work.run();
-                transaction.commit();
-            } finally {
-                if (transaction.getStatus() != TransactionStatus.COMMITTED) {
-                    transaction.rollback();
-                }
-            }
-        }
+        transactional(work, Runnable.class).run();
+    }
+
+    /**
+     * Load the index used by {@link TransactionDetailDao#findByString(String)}.  Until the index is loaded, the
+     * searches are done by the database.
+     */
+    public void loadSearchIndex() {
+        doInTransaction(() -> searchIndex.load(sessionFactory.getCurrentSession()));
     }
 
     public CompanyDao getCompanyDao() {
@@ -279,13 +291,18 @@ public class HibernateDaoContext implements DaoRepository {
         return importFileDao;
     }
 
+    @Override
+    public ImportFingerprintDao getImportFingerprintDao() {
+        return importFingerprintDao;
+    }
+
     public DomainEventRecorder getDomainEventRecorder() {
         return eventInterceptor;
     }
 
     public static void main(String[] args) {
         try {
-            DriverService driverService = CONNECTION_CONFIG.loadDriver();
+            DriverService driverService = ApplicationConfig.CONNECTION_CONFIG.loadDriver();
             HibernateDaoContext context = new HibernateDaoContext(driverService, ApplicationConfig.CONFIG);
             StandardServiceRegistry registry = context.configuration.getStandardServiceRegistryBuilder().build();
             MetadataSources metadataSources = context.getMetadataSources(registry);
@@ -27,13 +27,19 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
+import io.github.jonestimd.finance.config.ApplicationConfig;
 import io.github.jonestimd.finance.domain.asset.Currency;
 import io.github.jonestimd.finance.domain.transaction.SecurityAction;
 import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
+import io.github.jonestimd.finance.operations.TransactionOperations;
+import io.github.jonestimd.finance.operations.TransactionOperationsImpl;
+import io.github.jonestimd.finance.plugin.DriverConfigurationService.DriverService;
+import org.apache.log4j.Logger;
 
 // drop table stock_split, tx_detail, security_lot, tx, payee, tx_group,
 //      account, tx_category, security, company, asset
 public class SchemaBuilder {
+    private static final Logger logger = Logger.getLogger(SchemaBuilder.class);
     private static final String CHANGE_USER = "REF_DATA";
     private DaoRepository daoRepository;
 
@@ -55,6 +61,17 @@ public class SchemaBuilder {
         return this;
     }
 
+    /**
+     * Recalculate the persisted summary tables (account balances and security positions) from the transactions.
+     */
+    public SchemaBuilder rebuildSummaries() {
+        daoRepository.doInTransaction(() -> {
+            daoRepository.getAccountDao().rebuildBalances();
+            daoRepository.getSecurityDao().rebuildPositions();
+        });
+        return this;
+    }
+
     private Currency createDefaultCurrency(Date changeDate) {
         Currency currency = new Currency(java.util.Currency.getInstance(Locale.getDefault()));
         currency.setChangeDate(changeDate);
@@ -88,4 +105,19 @@ public class SchemaBuilder {
         category.setChangeUser(CHANGE_USER);
         return category;
     }
+
+    /**
+     * Repair the summary tables of the configured database.
+     */
+    public static void main(String[] args) {
+        try {
+            DriverService driverService = ApplicationConfig.CONNECTION_CONFIG.loadDriver();
+            HibernateDaoContext daoContext = new HibernateDaoContext(driverService, ApplicationConfig.CONFIG);
+            TransactionOperations transactionOperations = daoContext.transactional(new TransactionOperationsImpl(daoContext), TransactionOperations.class);
+            logger.info("deleted orphan transfers: " + transactionOperations.deleteOrphanTransfers());
+            new SchemaBuilder(daoContext).rebuildSummaries();
+        } catch (Exception ex) {
+            logger.error("failed to repair the summary tables", ex);
+        }
+    }
 }
\ No newline at end of file
@@ -21,6 +21,7 @@
 // SOFTWARE.
 package io.github.jonestimd.finance.dao;
 
+import java.util.Collection;
 import java.util.List;
 
 import io.github.jonestimd.finance.domain.asset.Security;
@@ -39,4 +40,15 @@ public interface SecurityDao extends BaseDao<Security, Long> {
     List<SecuritySummary> getSecuritySummariesByAccount();
 
     SecuritySummary getSecuritySummary(Long securityId);
+
+    /**
+     * Recalculate the persisted positions of the securities.
+     * @param securityIds the IDs of the securities to update
+     */
+    void updatePositions(Collection<Long> securityIds);
+
+    /**
+     * Recalculate the persisted positions of all securities.
+     */
+    void rebuildPositions();
 }
@@ -21,15 +21,44 @@
 // SOFTWARE.
 package io.github.jonestimd.finance.dao;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 import io.github.jonestimd.finance.domain.transaction.Payee;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
 
 public interface TransactionDao extends BaseDao<Transaction, Long> {
     List<Transaction> getTransactions(long accountId);
-    
+
+    /**
+     * Get a page of an account's transactions using the (date, id) ordering of the transactions.
+     * @param accountId the ID of the account
+     * @param before the oldest transaction of the previous page or {@code null} to get the most recent transactions
+     * @param maxResults the page size
+     * @return the transactions preceding {@code before}, sorted by date and ID
+     */
+    List<Transaction> getTransactions(long accountId, Transaction before, int maxResults);
+
+    /**
+     * @return the sum of the cleared transactions for the account.
+     */
+    BigDecimal getClearedBalance(long accountId);
+
     void replacePayee(List<Payee> toReplace, Payee payee);
 
     Transaction findLatestForPayee(long payeeId);
+
+    /**
+     * Save a large number of new transactions.  The session is flushed and cleared after each batch, so the
+     * transactions and any entities they reference are detached when this method returns.
+     */
+    void insertAll(Iterable<Transaction> transactions, int batchSize);
+
+    /**
+     * Scroll through an account's transactions in (date, id) order.  The transactions are loaded read-only and the
+     * session is cleared after each batch, so previously loaded entities are detached during the scroll.
+     * @return the number of transactions passed to {@code consumer}
+     */
+    int forEachTransaction(long accountId, int batchSize, Consumer<Transaction> consumer);
 }
\ No newline at end of file
@@ -32,6 +32,12 @@ import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
 public interface TransactionDetailDao extends BaseDao<TransactionDetail, Long> {
     List<TransactionDetail> findOrphanTransfers();
 
+    /**
+     * Find transfer details whose related detail belongs to a transaction and is no longer a transfer.
+     * @param transactionId the ID of the transaction
+     */
+    List<TransactionDetail> findOrphanTransfers(long transactionId);
+
     List<TransactionDetail> findSecuritySalesWithoutLots(String namePrefix, Date saleDate);
 
     /** @deprecated does not handle security transfers */
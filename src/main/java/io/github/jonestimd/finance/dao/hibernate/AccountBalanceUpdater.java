@@ -0,0 +1,62 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.dao.hibernate;
+
+import java.util.List;
+
+import io.github.jonestimd.finance.dao.AccountDao;
+import io.github.jonestimd.finance.domain.UniqueId;
+import io.github.jonestimd.finance.domain.account.AccountSummary;
+
+/**
+ * Applies the account transaction count and balance changes to the persisted account balances.
+ */
+public class AccountBalanceUpdater implements SummaryUpdateHandler {
+    private final AccountSummaryEventHandler accountChanges;
+    private final AccountDao accountDao;
+
+    public AccountBalanceUpdater(Object eventSource, AccountDao accountDao) {
+        this.accountChanges = new AccountSummaryEventHandler(eventSource);
+        this.accountDao = accountDao;
+    }
+
+    @Override
+    public void added(UniqueId<?> entity) {
+        accountChanges.added(entity);
+    }
+
+    @Override
+    public void deleted(UniqueId<?> entity, String[] propertyNames, Object[] previousState) {
+        accountChanges.deleted(entity, propertyNames, previousState);
+    }
+
+    @Override
+    public void changed(UniqueId<?> entity, String[] propertyNames, Object[] previousState) {
+        accountChanges.changed(entity, propertyNames, previousState);
+    }
+
+    @Override
+    public void updateSummaries() {
+        List<AccountSummary> changes = accountChanges.getAccountChanges();
+        if (!changes.isEmpty()) accountDao.updateBalances(changes);
+    }
+}
@@ -25,11 +25,15 @@ import java.lang.reflect.Constructor;
 import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import io.github.jonestimd.finance.dao.AccountDao;
 import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.account.AccountBalance;
 import io.github.jonestimd.finance.domain.account.AccountSummary;
 import io.github.jonestimd.finance.domain.account.Company;
+import io.github.jonestimd.util.Streams;
 import org.hibernate.Query;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Criterion;
@@ -55,6 +59,51 @@ public class AccountDaoImpl extends HibernateDao<Account, Long> implements Accou
             .list();
     }
 
+    public BigDecimal getBalance(long accountId) {
+        AccountBalance balance = getSession().get(AccountBalance.class, accountId);
+        return balance == null ? BigDecimal.ZERO : balance.getBalance();
+    }
+
+    public void updateBalances(Collection<AccountSummary> changes) {
+        for (AccountSummary change : changes) {
+            if (change.getTransactionCount() != 0L || change.getBalance().signum() != 0) {
+                if (updateBalance(AccountBalance.UPDATE_QUERY, change) == 0) {
+                    updateBalance(AccountBalance.INSERT_QUERY, change);
+                }
+            }
+        }
+    }
+
+    private int updateBalance(String queryName, AccountSummary change) {
+        return getSession().getNamedQuery(queryName)
+            .setParameter("accountId", change.getTransactionAttribute().getId())
+            .setParameter("transactionCount", change.getTransactionCount())
+            .setParameter("balance", change.getBalance())
+            .executeUpdate();
+    }
+
+    /**
+     * Delete the accounts and their persisted balances.
+     */
+    @Override
+    public void deleteAll(Iterable<? extends Account> accounts) {
+        List<Long> accountIds = Streams.of(accounts).map(Account::getId).collect(Collectors.toList());
+        if (!accountIds.isEmpty()) {
+            getSession().getNamedQuery(AccountBalance.DELETE_BY_ACCOUNT_QUERY).setParameterList("accountIds", accountIds).executeUpdate();
+        }
+        super.deleteAll(accounts);
+    }
+
+    @Override
+    public void deleteAll(Stream<? extends Account> accounts) {
+        deleteAll(accounts.collect(Collectors.toList()));
+    }
+
+    public void rebuildBalances() {
+        getSession().getNamedQuery(AccountBalance.DELETE_ALL_QUERY).executeUpdate();
+        getSession().getNamedQuery(AccountBalance.REBUILD_QUERY).executeUpdate();
+    }
+
     private Constructor<AccountSummary> getAccountSummaryConstructor() {
         try {
             return AccountSummary.class.getConstructor(Account.class, Long.class, BigDecimal.class);
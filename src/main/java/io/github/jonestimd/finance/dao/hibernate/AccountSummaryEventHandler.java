@@ -38,7 +38,9 @@ import io.github.jonestimd.finance.domain.account.Account;
 import io.github.jonestimd.finance.domain.account.AccountSummary;
 import io.github.jonestimd.finance.domain.event.AccountSummaryEvent;
 import io.github.jonestimd.finance.domain.event.DomainEvent;
+import io.github.jonestimd.finance.domain.transaction.AmountType;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
 import io.github.jonestimd.finance.swing.event.EventType;
 
@@ -55,7 +57,7 @@ public class AccountSummaryEventHandler implements EventHandlerEventHolder {
         if (entity instanceof TransactionDetail) {
             TransactionDetail detail = (TransactionDetail) entity;
             AccountSummary summary = getSummary(detail.getTransaction(), detail.getTransaction().getAccount());
-            summary.addToBalance(detail.getAmount());
+            summary.addToBalance(balanceAmount(detail.getCategory(), detail.getAmount()));
         }
         else if (entity instanceof Transaction) {
             Transaction transaction = (Transaction) entity;
@@ -68,8 +70,9 @@ public class AccountSummaryEventHandler implements EventHandlerEventHolder {
     public void deleted(UniqueId<?> entity, String[] propertyNames, Object[] previousState) {
         if (entity instanceof TransactionDetail) {
             TransactionDetail detail = (TransactionDetail) entity;
-            if (detail.getAmount() != null) {
-                updateAccount(getTransaction(propertyNames, previousState), detail.getAmount().negate());
+            BigDecimal amount = balanceAmount(detail.getCategory(), detail.getAmount());
+            if (amount != null) {
+                updateAccount(getTransaction(propertyNames, previousState), amount.negate());
             }
         } else if (entity instanceof Transaction) {
             Transaction transaction = (Transaction) entity;
@@ -82,7 +85,8 @@ public class AccountSummaryEventHandler implements EventHandlerEventHolder {
     public void changed(UniqueId<?> entity, String[] propertyNames, Object[] previousState) {
         if (entity instanceof TransactionDetail) {
             TransactionDetail detail = (TransactionDetail) entity;
-            BigDecimal delta = detail.amountDifference(getAmount(propertyNames, previousState));
+            BigDecimal oldAmount = balanceAmount(getCategory(propertyNames, previousState), getAmount(propertyNames, previousState));
+            BigDecimal delta = nonNull(balanceAmount(detail.getCategory(), detail.getAmount())).subtract(oldAmount);
             if (delta.signum() != 0) updateAccount(detail.getTransaction(), delta);
         }
         else if (entity instanceof Transaction) {
@@ -121,6 +125,17 @@ public class AccountSummaryEventHandler implements EventHandlerEventHolder {
         return summary;
     }
 
+    /**
+     * @return the amount that contributes to the account balance ({@code 0} for asset value categories)
+     */
+    private BigDecimal balanceAmount(TransactionCategory category, BigDecimal amount) {
+        return category != null && category.getAmountType() == AmountType.ASSET_VALUE ? BigDecimal.ZERO : amount;
+    }
+
+    private BigDecimal nonNull(BigDecimal amount) {
+        return amount == null ? BigDecimal.ZERO : amount;
+    }
+
     private Transaction getTransaction(String[] propertyNames, Object[] state) {
         return EntityState.getValue(propertyNames, state, TransactionDetail.TRANSACTION, Transaction.class, null);
     }
@@ -129,6 +144,10 @@ public class AccountSummaryEventHandler implements EventHandlerEventHolder {
         return EntityState.getValue(propertyNames, state, TransactionDetail.AMOUNT, BigDecimal.class, BigDecimal.ZERO);
     }
 
+    private TransactionCategory getCategory(String[] propertyNames, Object[] state) {
+        return EntityState.getValue(propertyNames, state, TransactionDetail.CATEGORY, TransactionCategory.class, null);
+    }
+
     private Account getAccount(String[] propertyNames, Object[] state) {
         return EntityState.getValue(propertyNames, state, Transaction.ACCOUNT, Account.class, null);
     }
@@ -139,11 +158,18 @@ public class AccountSummaryEventHandler implements EventHandlerEventHolder {
     }
 
     private AccountSummaryEvent getSummaryEvent() {
+        return new AccountSummaryEvent(eventSource, EventType.CHANGED, getAccountChanges());
+    }
+
+    /**
+     * @return the net change in transaction count and balance for each account
+     */
+    public List<AccountSummary> getAccountChanges() {
         List<AccountSummary> accountTotals = new ArrayList<>();
         for (Entry<Account, Collection<AccountSummary>> entry : updatesByAccount().entrySet()) {
             accountTotals.add(getTotal(entry.getKey(), entry.getValue()));
         }
-        return new AccountSummaryEvent(eventSource, EventType.CHANGED, accountTotals);
+        return accountTotals;
     }
 
     private AccountSummary getTotal(Account account, Collection<AccountSummary> summaries) {
@@ -29,7 +29,7 @@ import io.github.jonestimd.finance.domain.UniqueId;
 import io.github.jonestimd.finance.domain.event.DomainEvent;
 import io.github.jonestimd.finance.domain.event.DomainEventHolder;
 
-public class CompositeEventHandler implements EventHandlerEventHolder {
+public class CompositeEventHandler implements EventHandlerEventHolder, SummaryUpdateHandler {
     private final List<EventHandler> handlers;
 
     public CompositeEventHandler(EventHandler ... handlers) {
@@ -64,4 +64,16 @@ public class CompositeEventHandler implements EventHandlerEventHolder {
                 .forEach(handler -> domainEvents.addAll(((DomainEventHolder) handler).getEvents()));
         return domainEvents;
     }
+
+    @Override
+    public void updateSummaries() {
+        handlers.stream().filter(SummaryUpdateHandler.class::isInstance)
+                .forEach(handler -> ((SummaryUpdateHandler) handler).updateSummaries());
+    }
+
+    @Override
+    public void transactionCompleted() {
+        handlers.stream().filter(SummaryUpdateHandler.class::isInstance)
+                .forEach(handler -> ((SummaryUpdateHandler) handler).transactionCompleted());
+    }
 }
@@ -0,0 +1,178 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.dao.hibernate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import io.github.jonestimd.finance.domain.UniqueId;
+import io.github.jonestimd.finance.domain.asset.Asset;
+import io.github.jonestimd.finance.domain.asset.Security;
+import io.github.jonestimd.finance.domain.transaction.Payee;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import io.github.jonestimd.finance.domain.transaction.TransactionGroup;
+import org.apache.log4j.Logger;
+import org.hibernate.Session;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
+
+/**
+ * In-memory trigram index of the text fields that are searched by
+ * {@link TransactionDetailDaoImpl#findByString(String)}.  The index is loaded when the application connects to the
+ * database and is updated by {@link SearchIndexUpdater} when entities are flushed.  Replaced values are not removed
+ * from the index, so the candidates must be checked by the database query.  The index is reloaded when the number of
+ * replaced values gets too large.
+ * <p>
+ * Updates may be flushed by a transaction that hasn't committed when the index is loaded, in which case the load
+ * doesn't see them.  So the updates of each transaction are kept until the transaction completes and are applied
+ * again after the index is loaded.
+ */
+public class DetailSearchIndex {
+    private static final Logger logger = Logger.getLogger(DetailSearchIndex.class);
+    private static final int MIN_STALE_VALUES = 1000;
+
+    public enum SearchField {
+        PAYEE(Payee.class, Payee.NAME, entity -> ((Payee) entity).getName()),
+        SECURITY(Security.class, Asset.NAME, entity -> ((Security) entity).getName()),
+        TRANSACTION_MEMO(Transaction.class, Transaction.MEMO, entity -> ((Transaction) entity).getMemo()),
+        DETAIL_MEMO(TransactionDetail.class, TransactionDetail.MEMO, entity -> ((TransactionDetail) entity).getMemo()),
+        GROUP(TransactionGroup.class, TransactionGroup.NAME, entity -> ((TransactionGroup) entity).getName());
+
+        private final Class<?> entityClass;
+        private final String property;
+        private final Function<Object, String> getText;
+
+        SearchField(Class<?> entityClass, String property, Function<Object, String> getText) {
+            this.entityClass = entityClass;
+            this.property = property;
+            this.getText = getText;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+    }
+
+    private final Map<SearchField, TrigramIndex> indexes = new EnumMap<>(SearchField.class);
+    /** the updates of the transactions that haven't completed */
+    private final Map<Object, List<Update>> pendingUpdates = new HashMap<>();
+
+    /**
+     * @return true if the index can be used to search for {@code search}.
+     */
+    public static boolean isSearchable(String search) {
+        return search.length() >= TrigramIndex.TRIGRAM_LENGTH && search.indexOf('%') < 0 && search.indexOf('_') < 0;
+    }
+
+    /**
+     * Add the current text value of an entity to the index.  The value is also applied when the index is loaded before
+     * the transaction completes.
+     * @param transaction identifies the transaction that flushed the entity
+     */
+    public synchronized void add(Object transaction, UniqueId<?> entity) {
+        for (SearchField field : SearchField.values()) {
+            if (field.entityClass.isInstance(entity)) {
+                Update update = new Update(field, (Long) entity.getId(), field.getText.apply(entity));
+                pendingUpdates.computeIfAbsent(transaction, key -> new ArrayList<>()).add(update);
+                if (isLoaded()) update.apply(indexes);
+            }
+        }
+    }
+
+    /**
+     * Discard the updates of a transaction that has been committed or rolled back.  After it has been committed, a
+     * load of the index will include its updates.
+     */
+    public synchronized void completed(Object transaction) {
+        pendingUpdates.remove(transaction);
+    }
+
+    /**
+     * @return true if the index has been loaded
+     */
+    public synchronized boolean isLoaded() {
+        return !indexes.isEmpty();
+    }
+
+    /**
+     * Find the entities that contain the search text.  Reloads the index if it contains too many replaced values.
+     * @param session the session to use for reloading the index
+     * @param search the text to find (must be {@link #isSearchable(String) searchable})
+     * @return the candidate IDs for each field
+     * @throws IllegalStateException if the index hasn't been loaded
+     */
+    public synchronized Map<SearchField, Set<Long>> find(Session session, String search) {
+        if (!isLoaded()) throw new IllegalStateException("search index has not been loaded");
+        if (isStale()) load(session);
+        Map<SearchField, Set<Long>> candidates = new EnumMap<>(SearchField.class);
+        indexes.forEach((field, index) -> candidates.put(field, index.find(search)));
+        return candidates;
+    }
+
+    private boolean isStale() {
+        return indexes.values().stream()
+                .anyMatch(index -> index.getStaleCount() > Math.max(MIN_STALE_VALUES, index.size() / 4));
+    }
+
+    /**
+     * Load the index from the database.  Updates are blocked until the load is complete.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void load(Session session) {
+        logger.debug("loading search index");
+        indexes.clear();
+        for (SearchField field : SearchField.values()) {
+            TrigramIndex index = new TrigramIndex();
+            List<Object[]> rows = session.createCriteria(field.entityClass)
+                    .add(Restrictions.isNotNull(field.property))
+                    .setProjection(Projections.projectionList()
+                            .add(Projections.id())
+                            .add(Projections.property(field.property)))
+                    .list();
+            rows.forEach(row -> index.add((Long) row[0], (String) row[1]));
+            indexes.put(field, index);
+        }
+        pendingUpdates.values().forEach(updates -> updates.forEach(update -> update.apply(indexes)));
+    }
+
+    private static class Update {
+        private final SearchField field;
+        private final Long id;
+        private final String text;
+
+        public Update(SearchField field, Long id, String text) {
+            this.field = field;
+            this.id = id;
+            this.text = text;
+        }
+
+        public void apply(Map<SearchField, TrigramIndex> indexes) {
+            indexes.get(field).add(id, text);
+        }
+    }
+}
@@ -22,6 +22,9 @@
 package io.github.jonestimd.finance.dao.hibernate;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 import com.google.common.base.Supplier;
 import io.github.jonestimd.finance.domain.UniqueId;
@@ -30,21 +33,67 @@ import org.hibernate.EmptyInterceptor;
 import org.hibernate.Transaction;
 import org.hibernate.type.Type;
 
+/**
+ * Records domain events for changes to entities and maintains the persisted summary tables.  Summary changes are
+ * tracked for every transaction (whether or not events are being recorded) and are written before the transaction
+ * is committed.
+ */
 public class DomainEventInterceptor extends EmptyInterceptor implements DomainEventRecorder {
     private final Supplier<EventHandlerEventHolder> handlerSupplier;
+    private final Supplier<? extends SummaryUpdateHandler> summaryHandlerSupplier;
     private ThreadLocal<EventHandlerEventHolder> eventHandlerHolder = new ThreadLocal<>();
+    private ThreadLocal<SummaryUpdateHandler> summaryHandlerHolder = new ThreadLocal<>();
+    /** the summary handlers that have been created for the current transaction */
+    private ThreadLocal<List<SummaryUpdateHandler>> transactionSummaryHandlers = ThreadLocal.withInitial(ArrayList::new);
 
     public DomainEventInterceptor(Supplier<EventHandlerEventHolder> handlerSupplier) {
+        this(handlerSupplier, null);
+    }
+
+    /**
+     * @param handlerSupplier supplies the event handler for each recording
+     * @param summaryHandlerSupplier supplies the summary table handler for each transaction (summary changes are not
+     *                               tracked if {@code null})
+     */
+    public DomainEventInterceptor(Supplier<EventHandlerEventHolder> handlerSupplier, Supplier<? extends SummaryUpdateHandler> summaryHandlerSupplier) {
         this.handlerSupplier = handlerSupplier;
+        this.summaryHandlerSupplier = summaryHandlerSupplier;
+    }
+
+    @Override
+    public void beforeTransactionCompletion(Transaction tx) {
+        SummaryUpdateHandler summaryHandler = summaryHandlerHolder.get();
+        if (summaryHandler != null) {
+            summaryHandlerHolder.set(null);
+            summaryHandler.updateSummaries();
+        }
+        super.beforeTransactionCompletion(tx);
     }
 
     public void afterTransactionCompletion(Transaction tx) {
         super.afterTransactionCompletion(tx);
         eventHandlerHolder.set(null);
+        summaryHandlerHolder.set(null);
+        List<SummaryUpdateHandler> summaryHandlers = transactionSummaryHandlers.get();
+        transactionSummaryHandlers.remove();
+        summaryHandlers.forEach(SummaryUpdateHandler::transactionCompleted);
+    }
+
+    private void updateSummaries(Object entity, Consumer<SummaryUpdateHandler> update) {
+        if (summaryHandlerSupplier != null && entity instanceof UniqueId) {
+            SummaryUpdateHandler summaryHandler = summaryHandlerHolder.get();
+            if (summaryHandler == null) {
+                summaryHandler = summaryHandlerSupplier.get();
+                summaryHandlerHolder.set(summaryHandler);
+                transactionSummaryHandlers.get().add(summaryHandler);
+            }
+            update.accept(summaryHandler);
+        }
     }
 
     public boolean onFlushDirty(Object entity, Serializable id, Object[] currentState, Object[] previousState,
             String[] propertyNames, Type[] types) {
+        updateSummaries(entity, handler -> handler.changed((UniqueId<?>) entity, propertyNames, previousState));
         EventHandlerEventHolder eventHandler = eventHandlerHolder.get();
         if (eventHandler != null && entity instanceof UniqueId) {
             eventHandler.changed((UniqueId<?>) entity, propertyNames, previousState);
@@ -53,6 +102,7 @@ public class DomainEventInterceptor extends EmptyInterceptor implements DomainEv
     }
 
     public boolean onSave(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        updateSummaries(entity, handler -> handler.added((UniqueId<?>) entity));
         EventHandlerEventHolder eventHandler = eventHandlerHolder.get();
         if (eventHandler != null && entity instanceof UniqueId) {
             eventHandler.added((UniqueId<?>) entity);
@@ -62,6 +112,7 @@ public class DomainEventInterceptor extends EmptyInterceptor implements DomainEv
 
     @Override
     public void onDelete(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        updateSummaries(entity, handler -> handler.deleted((UniqueId<?>) entity, propertyNames, state));
         EventHandlerEventHolder eventHandler = eventHandlerHolder.get();
         if (eventHandler != null && entity instanceof UniqueId) {
             eventHandler.deleted((UniqueId<?>) entity, propertyNames, state);
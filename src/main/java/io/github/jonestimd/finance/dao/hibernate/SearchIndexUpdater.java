@@ -0,0 +1,60 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.dao.hibernate;
+
+import io.github.jonestimd.finance.domain.UniqueId;
+
+/**
+ * Adds the text of saved entities to the {@link DetailSearchIndex}.  The index is updated when the session is flushed
+ * because it only has to contain the values that might be in the database.  An updater is created for each
+ * transaction, so it identifies the transaction's updates in the index.
+ */
+public class SearchIndexUpdater implements SummaryUpdateHandler {
+    private final DetailSearchIndex searchIndex;
+
+    public SearchIndexUpdater(DetailSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @Override
+    public void added(UniqueId<?> entity) {
+        searchIndex.add(this, entity);
+    }
+
+    @Override
+    public void deleted(UniqueId<?> entity, String[] propertyNames, Object[] previousState) {
+    }
+
+    @Override
+    public void changed(UniqueId<?> entity, String[] propertyNames, Object[] previousState) {
+        searchIndex.add(this, entity);
+    }
+
+    @Override
+    public void updateSummaries() {
+    }
+
+    @Override
+    public void transactionCompleted() {
+        searchIndex.completed(this);
+    }
+}
@@ -22,13 +22,16 @@
 package io.github.jonestimd.finance.dao.hibernate;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
 import io.github.jonestimd.finance.dao.SecurityDao;
 import io.github.jonestimd.finance.domain.account.Account;
 import io.github.jonestimd.finance.domain.asset.Security;
+import io.github.jonestimd.finance.domain.asset.SecurityPosition;
 import io.github.jonestimd.finance.domain.asset.SecuritySummary;
+import io.github.jonestimd.finance.domain.asset.SplitFactor;
 import io.github.jonestimd.reflect.ReflectionUtils;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Restrictions;
@@ -92,4 +95,37 @@ public class SecurityDaoImpl extends HibernateDao<Security, Long> implements Sec
                 .setResultTransformer(SUMMARY_TRANSFORMER)
                 .getSingleResult();
     }
-}
\ No newline at end of file
+
+    @Override
+    public void updatePositions(Collection<Long> securityIds) {
+        getSession().flush();
+        for (Long securityId : securityIds) {
+            getSession().createNamedQuery(SplitFactor.FIND_BY_SECURITY_QUERY, SplitFactor.class)
+                    .setParameter("securityId", securityId).list().forEach(getSession()::delete);
+            getSession().flush();
+            saveSplitFactors(getSession().get(Security.class, securityId));
+        }
+        getSession().flush();
+        for (Long securityId : securityIds) {
+            getSession().getNamedQuery(SecurityPosition.DELETE_BY_SECURITY_QUERY).setParameter("securityId", securityId).executeUpdate();
+            getSession().getNamedQuery(SecurityPosition.INSERT_BY_SECURITY_QUERY).setParameter("securityId", securityId).executeUpdate();
+        }
+    }
+
+    @Override
+    public void rebuildPositions() {
+        getSession().getNamedQuery(SplitFactor.DELETE_ALL_QUERY).executeUpdate();
+        getAll().forEach(this::saveSplitFactors);
+        getSession().flush();
+        getSession().getNamedQuery(SecurityPosition.DELETE_ALL_QUERY).executeUpdate();
+        getSession().getNamedQuery(SecurityPosition.REBUILD_QUERY).executeUpdate();
+    }
+
+    private void saveSplitFactors(Security security) {
+        if (security != null && security.getSplits() != null) {
+            for (SplitFactor factor : SplitFactor.of(security.getId(), security.getSplitIndex())) {
+                getSession().save(factor);
+            }
+        }
+    }
+}
@@ -51,10 +51,16 @@ public class SecurityLotDaoImpl extends HibernateDao<SecurityLot, Long> implemen
                 .list();
     }
 
+    /**
+     * Delete the lots individually so that the interceptor updates the positions of the affected securities.
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public void deleteSaleLots(TransactionDetail sale) {
-        getSession().getNamedQuery(SecurityLot.DELETE_BY_SALE_ID)
+        List<SecurityLot> lots = getSession().getNamedQuery(SecurityLot.FIND_BY_SALE_ID)
                 .setParameter("saleId", sale.getId())
-                .executeUpdate();
+                .list();
+        lots.forEach(lot -> lot.getPurchase().getSaleLots().remove(lot));
+        deleteAll(lots);
     }
 }
\ No newline at end of file
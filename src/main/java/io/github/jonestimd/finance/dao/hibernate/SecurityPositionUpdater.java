@@ -0,0 +1,98 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.dao.hibernate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import io.github.jonestimd.finance.dao.SecurityDao;
+import io.github.jonestimd.finance.domain.UniqueId;
+import io.github.jonestimd.finance.domain.asset.Security;
+import io.github.jonestimd.finance.domain.transaction.SecurityLot;
+import io.github.jonestimd.finance.domain.transaction.StockSplit;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+
+/**
+ * Recalculates the persisted security positions for the securities affected by changes to transactions, lots
+ * and stock splits.
+ */
+public class SecurityPositionUpdater implements SummaryUpdateHandler {
+    private final SecurityDao securityDao;
+    private final Set<Long> securityIds = new HashSet<>();
+
+    public SecurityPositionUpdater(SecurityDao securityDao) {
+        this.securityDao = securityDao;
+    }
+
+    @Override
+    public void added(UniqueId<?> entity) {
+        addEntity(entity);
+    }
+
+    @Override
+    public void deleted(UniqueId<?> entity, String[] propertyNames, Object[] previousState) {
+        if (entity instanceof TransactionDetail) {
+            addSecurity(getTransaction(propertyNames, previousState));
+        }
+        else addEntity(entity);
+    }
+
+    @Override
+    public void changed(UniqueId<?> entity, String[] propertyNames, Object[] previousState) {
+        addEntity(entity);
+        if (entity instanceof Transaction) {
+            addSecurity(EntityState.getValue(propertyNames, previousState, Transaction.SECURITY, Security.class, null));
+        }
+        else if (entity instanceof TransactionDetail) {
+            addSecurity(getTransaction(propertyNames, previousState));
+        }
+    }
+
+    private Transaction getTransaction(String[] propertyNames, Object[] state) {
+        return EntityState.getValue(propertyNames, state, TransactionDetail.TRANSACTION, Transaction.class, null);
+    }
+
+    private void addEntity(UniqueId<?> entity) {
+        if (entity instanceof Transaction) addSecurity((Transaction) entity);
+        else if (entity instanceof TransactionDetail) addSecurity(((TransactionDetail) entity).getTransaction());
+        else if (entity instanceof StockSplit) addSecurity(((StockSplit) entity).getSecurity());
+        else if (entity instanceof SecurityLot) {
+            SecurityLot lot = (SecurityLot) entity;
+            if (lot.getSale() != null) addSecurity(lot.getSale().getTransaction());
+            if (lot.getPurchase() != null) addSecurity(lot.getPurchase().getTransaction());
+        }
+    }
+
+    private void addSecurity(Transaction transaction) {
+        if (transaction != null) addSecurity(transaction.getSecurity());
+    }
+
+    private void addSecurity(Security security) {
+        if (security != null && security.getId() != null) securityIds.add(security.getId());
+    }
+
+    @Override
+    public void updateSummaries() {
+        if (!securityIds.isEmpty()) securityDao.updatePositions(securityIds);
+    }
+}
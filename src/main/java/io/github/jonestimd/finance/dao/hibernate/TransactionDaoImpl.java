@@ -22,20 +22,28 @@
 package io.github.jonestimd.finance.dao.hibernate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.google.common.collect.Lists;
 import io.github.jonestimd.finance.dao.TransactionDao;
 import io.github.jonestimd.finance.domain.UniqueId;
 import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.transaction.AmountType;
 import io.github.jonestimd.finance.domain.transaction.Payee;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
 import io.github.jonestimd.finance.domain.transaction.TransactionGroup;
 import org.hibernate.Criteria;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
 
 public class TransactionDaoImpl extends HibernateDao<Transaction, Long> implements TransactionDao {
@@ -59,6 +67,64 @@ public class TransactionDaoImpl extends HibernateDao<Transaction, Long> implemen
         return criteria.list();
     }
 
+    @Override
+    public void insertAll(Iterable<Transaction> transactions, int batchSize) {
+        Session session = getSession();
+        int count = 0;
+        for (Transaction transaction : transactions) {
+            // transfers may have been saved by cascade from an earlier batch
+            session.saveOrUpdate(transaction);
+            if (++count % batchSize == 0) {
+                session.flush();
+                session.clear();
+            }
+        }
+        session.flush();
+    }
+
+    @Override
+    public int forEachTransaction(long accountId, int batchSize, Consumer<Transaction> consumer) {
+        Session session = getSession();
+        // scroll the IDs because clearing the session would break a scroll over the fetch joined details
+        ScrollableResults results = session.getNamedQuery(Transaction.ACCOUNT_TRANSACTION_IDS_QUERY)
+                .setParameter("accountId", accountId)
+                .setFetchSize(batchSize)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        int count = 0;
+        try {
+            List<Long> ids = new ArrayList<>(batchSize);
+            while (results.next()) {
+                ids.add((Long) results.get(0));
+                if (ids.size() == batchSize) {
+                    count += forEachTransaction(session, ids, consumer);
+                }
+            }
+            count += forEachTransaction(session, ids, consumer);
+        } finally {
+            results.close();
+        }
+        return count;
+    }
+
+    /**
+     * Load a batch of transactions with their details and then clear the session.
+     * @return the number of transactions in the batch
+     */
+    @SuppressWarnings("unchecked")
+    private int forEachTransaction(Session session, List<Long> ids, Consumer<Transaction> consumer) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Transaction> transactions = session.getNamedQuery(Transaction.TRANSACTIONS_BY_ID_QUERY)
+                .setParameterList("ids", ids)
+                .setReadOnly(true)
+                .list();
+        transactions.forEach(consumer);
+        session.clear();
+        ids.clear();
+        return transactions.size();
+    }
+
     @SuppressWarnings("unchecked")
     public List<Transaction> getTransactions(long accountId) {
         Criteria criteria = getSession().createCriteria(Transaction.class);
@@ -69,6 +135,41 @@ public class TransactionDaoImpl extends HibernateDao<Transaction, Long> implemen
         return criteria.list();
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Transaction> getTransactions(long accountId, Transaction before, int maxResults) {
+        // select the IDs first because the details are fetched using a join
+        Criteria idCriteria = getSession().createCriteria(Transaction.class);
+        idCriteria.add(getProperty(Transaction.ACCOUNT, Account.ID).eq(accountId));
+        if (before != null) {
+            idCriteria.add(Restrictions.or(Restrictions.lt(Transaction.DATE, before.getDate()),
+                    Restrictions.and(Restrictions.eq(Transaction.DATE, before.getDate()), Restrictions.lt(Transaction.ID, before.getId()))));
+        }
+        idCriteria.setProjection(Projections.id());
+        idCriteria.addOrder(Order.desc(Transaction.DATE));
+        idCriteria.addOrder(Order.desc(Transaction.ID));
+        idCriteria.setMaxResults(maxResults);
+        List<Long> ids = idCriteria.list();
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Criteria criteria = getSession().createCriteria(Transaction.class);
+        criteria.add(Restrictions.in(Transaction.ID, ids));
+        criteria.setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY);
+        criteria.addOrder(Order.asc(Transaction.DATE));
+        criteria.addOrder(Order.asc(Transaction.ID));
+        return criteria.list();
+    }
+
+    @Override
+    public BigDecimal getClearedBalance(long accountId) {
+        return (BigDecimal) getSession().getNamedQuery(Transaction.CLEARED_BALANCE_QUERY)
+                .setParameter("accountId", accountId)
+                .setParameter("cleared", true)
+                .setParameter("assetValue", AmountType.ASSET_VALUE)
+                .uniqueResult();
+    }
+
     @Override
     public void replacePayee(List<Payee> toReplace, Payee payee) {
         getSession().getNamedQuery(Transaction.REPLACE_PAYEE_QUERY)
@@ -25,22 +25,53 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import io.github.jonestimd.finance.dao.TransactionDetailDao;
+import io.github.jonestimd.finance.dao.hibernate.DetailSearchIndex.SearchField;
 import io.github.jonestimd.finance.domain.UniqueId;
 import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.account.AccountBalance;
 import io.github.jonestimd.finance.domain.asset.Asset;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import io.github.jonestimd.util.Streams;
+import org.hibernate.Criteria;
 import org.hibernate.Query;
 import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Disjunction;
+import org.hibernate.criterion.MatchMode;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.sql.JoinType;
 
 import static io.github.jonestimd.finance.domain.transaction.SecurityAction.*;
 
 public class TransactionDetailDaoImpl extends HibernateDao<TransactionDetail, Long> implements TransactionDetailDao {
+    /** the maximum number of candidate IDs for a field before falling back to the full search query */
+    private static final int MAX_CANDIDATES = 1000;
+    private static final Map<SearchField, String> SEARCH_ALIASES = ImmutableMap.<SearchField, String>builder()
+            .put(SearchField.PAYEE, "p")
+            .put(SearchField.SECURITY, "s")
+            .put(SearchField.TRANSACTION_MEMO, "t")
+            .put(SearchField.DETAIL_MEMO, "td")
+            .put(SearchField.GROUP, "g").build();
+    private final DetailSearchIndex searchIndex;
+
     public TransactionDetailDaoImpl(SessionFactory sessionFactory) {
+        this(sessionFactory, null);
+    }
+
+    /**
+     * @param searchIndex the index to use for {@link #findByString(String)} ({@code null} to always search the
+     *                    database)
+     */
+    public TransactionDetailDaoImpl(SessionFactory sessionFactory, DetailSearchIndex searchIndex) {
         super(sessionFactory, TransactionDetail.class);
+        this.searchIndex = searchIndex;
     }
 
     @Override
@@ -49,6 +80,14 @@ public class TransactionDetailDaoImpl extends HibernateDao<TransactionDetail, Lo
         return getSession().getNamedQuery(TransactionDetail.FIND_ORPHAN_TRANSFERS).list();
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TransactionDetail> findOrphanTransfers(long transactionId) {
+        return getSession().getNamedQuery(TransactionDetail.FIND_ORPHAN_TRANSFERS_BY_TRANSACTION)
+            .setParameter("transactionId", transactionId)
+            .list();
+    }
+
     @SuppressWarnings("unchecked")
     public List<TransactionDetail> findSecuritySalesWithoutLots(String namePrefix, Date saleDate) {
         Query query = getSession().getNamedQuery(TransactionDetail.SECURITY_SALES_WITHOUT_LOTS);
@@ -81,11 +120,44 @@ public class TransactionDetailDaoImpl extends HibernateDao<TransactionDetail, Lo
     @Override
     @SuppressWarnings("unchecked")
     public List<TransactionDetail> findByString(String search) {
+        if (searchIndex != null && searchIndex.isLoaded() && DetailSearchIndex.isSearchable(search)) {
+            getSession().flush(); // add pending changes to the index
+            Map<SearchField, Set<Long>> candidates = searchIndex.find(getSession(), search);
+            if (candidates.values().stream().allMatch(Set::isEmpty)) return Collections.emptyList();
+            if (candidates.values().stream().allMatch(ids -> ids.size() <= MAX_CANDIDATES)) {
+                return findCandidates(candidates, search);
+            }
+        }
         return getSession().getNamedQuery(TransactionDetail.FIND_BY_STRING)
                 .setParameter("search", "%"+search.toLowerCase()+"%")
                 .list();
     }
 
+    /**
+     * Load the candidates from the search index, rechecking the text because the index may contain replaced values.
+     */
+    @SuppressWarnings("unchecked")
+    private List<TransactionDetail> findCandidates(Map<SearchField, Set<Long>> candidates, String search) {
+        Criteria criteria = getSession().createCriteria(TransactionDetail.class, "td")
+                .createAlias("td." + TransactionDetail.TRANSACTION, "t")
+                .createAlias("t." + Transaction.PAYEE, "p", JoinType.LEFT_OUTER_JOIN)
+                .createAlias("t." + Transaction.SECURITY, "s", JoinType.LEFT_OUTER_JOIN)
+                .createAlias("td." + TransactionDetail.GROUP, "g", JoinType.LEFT_OUTER_JOIN);
+        Disjunction disjunction = Restrictions.disjunction();
+        candidates.forEach((field, ids) -> {
+            if (!ids.isEmpty()) {
+                disjunction.add(Restrictions.and(
+                        Restrictions.in(aliasPath(field, UniqueId.ID), ids),
+                        Restrictions.ilike(aliasPath(field, field.getProperty()), search, MatchMode.ANYWHERE)));
+            }
+        });
+        return criteria.add(disjunction).setResultTransformer(Criteria.DISTINCT_ROOT_ENTITY).list();
+    }
+
+    private static String aliasPath(SearchField field, String property) {
+        return SEARCH_ALIASES.get(field) + "." + property;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public List<TransactionDetail> findByCategoryIds(List<Long> categoryIds) {
@@ -95,8 +167,20 @@ public class TransactionDetailDaoImpl extends HibernateDao<TransactionDetail, Lo
                 .list();
     }
 
+    /**
+     * Replace the categories using a bulk update.  The bulk update bypasses the interceptor that maintains the
+     * account balances, so the balances are adjusted in the same batch for details that move between asset value
+     * and balance categories.
+     */
     @Override
     public void replaceCategory(List<TransactionCategory> toReplace, TransactionCategory category) {
+        List<TransactionCategory> balanceChanges = Streams.filter(toReplace, old -> old.isAffectsBalance() != category.isAffectsBalance());
+        if (!balanceChanges.isEmpty()) {
+            String queryName = category.isAffectsBalance() ? AccountBalance.ADD_CATEGORY_AMOUNTS_QUERY : AccountBalance.SUBTRACT_CATEGORY_AMOUNTS_QUERY;
+            getSession().getNamedQuery(queryName)
+                    .setParameterList("categoryIds", Lists.transform(balanceChanges, UniqueId::getId))
+                    .executeUpdate();
+        }
         getSession().getNamedQuery(TransactionDetail.REPLACE_CATEGORY_QUERY)
                 .setParameterList("oldCategoryIds", Lists.transform(toReplace, UniqueId::getId))
                 .setParameter("newCategoryId", category.getId())
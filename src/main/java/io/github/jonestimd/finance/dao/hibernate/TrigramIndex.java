@@ -0,0 +1,105 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.dao.hibernate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from the 3 character substrings of text values to the IDs of the entities that contain them.  The
+ * index is case insensitive.  Adding a new value for an ID does not remove the previous value, so searches may return
+ * IDs of entities that no longer contain the search text.
+ */
+class TrigramIndex {
+    public static final int TRIGRAM_LENGTH = 3;
+    private final Map<String, Set<Long>> idsByTrigram = new HashMap<>();
+    private final Map<Long, Set<String>> valuesById = new HashMap<>();
+    private int staleValues;
+
+    /**
+     * Index a text value.
+     */
+    public void add(Long id, String text) {
+        if (id == null || text == null) return;
+        String value = text.toLowerCase();
+        Set<String> values = valuesById.computeIfAbsent(id, key -> new HashSet<>(1));
+        if (values.add(value)) {
+            if (values.size() > 1) staleValues++;
+            for (String trigram : trigrams(value)) {
+                idsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(id);
+            }
+        }
+    }
+
+    /**
+     * @return the number of values that may have been replaced by a later value.
+     */
+    public int getStaleCount() {
+        return staleValues;
+    }
+
+    public int size() {
+        return valuesById.size();
+    }
+
+    /**
+     * @param search the text to find (must be at least {@link #TRIGRAM_LENGTH} characters)
+     * @return the IDs of the entities that contain (or previously contained) the search text
+     */
+    public Set<Long> find(String search) {
+        String value = search.toLowerCase();
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String trigram : trigrams(value)) {
+            Set<Long> ids = idsByTrigram.get(trigram);
+            if (ids == null) return new HashSet<>();
+            postings.add(ids);
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> matches = new HashSet<>();
+        for (Long id : postings.get(0)) {
+            if (containsAll(postings, id) && valuesById.get(id).stream().anyMatch(text -> text.contains(value))) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean containsAll(List<Set<Long>> postings, Long id) {
+        for (int i = 1; i < postings.size(); i++) {
+            if (!postings.get(i).contains(id)) return false;
+        }
+        return true;
+    }
+
+    private static Set<String> trigrams(String value) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= value.length(); i++) {
+            trigrams.add(value.substring(i, i + TRIGRAM_LENGTH));
+        }
+        return trigrams;
+    }
+}
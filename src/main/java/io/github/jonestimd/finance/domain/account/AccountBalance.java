@@ -0,0 +1,73 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.domain.account;
+
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.ForeignKey;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.OneToOne;
+import javax.persistence.Table;
+
+/**
+ * Persisted transaction count and balance for an account.  The rows are maintained incrementally when transactions
+ * are saved and can be recalculated from the transactions using {@link #REBUILD_QUERY}.
+ */
+@Entity @Table(name = "account_balance")
+public class AccountBalance {
+    public static final String UPDATE_QUERY = "accountBalance.update";
+    public static final String INSERT_QUERY = "accountBalance.insert";
+    public static final String DELETE_ALL_QUERY = "accountBalance.deleteAll";
+    public static final String DELETE_BY_ACCOUNT_QUERY = "accountBalance.deleteByAccount";
+    public static final String ADD_CATEGORY_AMOUNTS_QUERY = "accountBalance.addCategoryAmounts";
+    public static final String SUBTRACT_CATEGORY_AMOUNTS_QUERY = "accountBalance.subtractCategoryAmounts";
+    public static final String REBUILD_QUERY = "accountBalance.rebuild";
+
+    @Id @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    /** read only, mapped for the foreign key */
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", insertable = false, updatable = false, foreignKey = @ForeignKey(name = "account_balance_account_fk"))
+    private Account account;
+    @Column(name = "tx_count", nullable = false)
+    private long transactionCount;
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    public AccountBalance() {}
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+}
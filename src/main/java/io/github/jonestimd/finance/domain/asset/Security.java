@@ -26,7 +26,6 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Predicate;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
@@ -35,6 +34,7 @@ import javax.persistence.ForeignKey;
 import javax.persistence.OneToMany;
 import javax.persistence.PrimaryKeyJoinColumn;
 import javax.persistence.SecondaryTable;
+import javax.persistence.Transient;
 
 import io.github.jonestimd.finance.domain.UniqueId;
 import io.github.jonestimd.finance.domain.transaction.StockSplit;
@@ -58,6 +58,8 @@ public class Security extends Asset {
     private String type;
     @OneToMany(cascade=CascadeType.ALL, mappedBy="security", orphanRemoval=true) @LazyCollection(LazyCollectionOption.FALSE)
     private List<StockSplit> splits;
+    @Transient
+    private transient SplitIndex splitIndex;
 
     public Security() {
         setScale(AssetType.SECURITY.getDefaultScale());
@@ -87,6 +89,7 @@ public class Security extends Asset {
 
     public void setSplits(List<StockSplit> splits) {
         this.splits = splits;
+        resetSplitIndex();
     }
 
     public void updateSplits(Collection<StockSplit> splits) {
@@ -101,6 +104,14 @@ public class Security extends Asset {
             }
         }
         this.splits.removeAll(byId.values());
+        resetSplitIndex();
+    }
+
+    /**
+     * Discard the cached split index.  Called when a split is modified.
+     */
+    public void resetSplitIndex() {
+        splitIndex = null;
     }
 
     public BigDecimal applySplits(BigDecimal shares, Date fromDate, Date toDate) {
@@ -113,14 +124,18 @@ public class Security extends Asset {
 
     public SplitRatio getSplitRatio(Date fromDate, Date toDate) {
         if (fromDate != null && splits != null) {
-            return splits.stream().filter(isBetween(fromDate, toDate))
-                    .map(StockSplit::getSplitRatio)
-                    .reduce(SplitRatio::multiply).orElseGet(SplitRatio::new);
+            return getSplitIndex().getSplitRatio(fromDate, toDate);
         }
         return new SplitRatio();
     }
 
-    private static Predicate<StockSplit> isBetween(Date fromDate, Date toDate) {
-        return split -> ! split.getDate().before(fromDate) && (toDate == null || ! split.getDate().after(toDate));
+    /**
+     * @return the index of the splits, rebuilding it if the splits have been modified.
+     */
+    public SplitIndex getSplitIndex() {
+        if (splitIndex == null || ! splitIndex.isIndexOf(splits)) {
+            splitIndex = new SplitIndex(splits);
+        }
+        return splitIndex;
     }
-}
\ No newline at end of file
+}
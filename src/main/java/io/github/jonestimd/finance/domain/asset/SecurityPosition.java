@@ -0,0 +1,124 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.domain.asset;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * Persisted split adjusted shares, cost basis and dividends for a security in an account.  The positions for a
+ * security are recalculated when its transactions, lots or splits change.
+ */
+@Entity @Table(name = "security_position") @IdClass(SecurityPosition.Key.class)
+public class SecurityPosition {
+    public static final String DELETE_BY_SECURITY_QUERY = "securityPosition.deleteBySecurity";
+    public static final String INSERT_BY_SECURITY_QUERY = "securityPosition.insertBySecurity";
+    public static final String DELETE_ALL_QUERY = "securityPosition.deleteAll";
+    public static final String REBUILD_QUERY = "securityPosition.rebuild";
+
+    @Id @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    @Id @Column(name = "security_id", nullable = false)
+    private Long securityId;
+    @Column(name = "shares", precision = 19, scale = 6)
+    private BigDecimal shares;
+    @Column(name = "cost_basis", precision = 19, scale = 2)
+    private BigDecimal costBasis;
+    @Column(name = "dividends", precision = 19, scale = 2)
+    private BigDecimal dividends;
+    @Column(name = "first_acquired") @Temporal(TemporalType.DATE)
+    private Date firstAcquired;
+    @Column(name = "last_activity") @Temporal(TemporalType.DATE)
+    private Date lastActivity;
+    @Column(name = "use_count", nullable = false)
+    private long useCount;
+
+    public SecurityPosition() {}
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getSecurityId() {
+        return securityId;
+    }
+
+    public BigDecimal getShares() {
+        return shares;
+    }
+
+    public BigDecimal getCostBasis() {
+        return costBasis;
+    }
+
+    public BigDecimal getDividends() {
+        return dividends;
+    }
+
+    public Date getFirstAcquired() {
+        return firstAcquired;
+    }
+
+    public Date getLastActivity() {
+        return lastActivity;
+    }
+
+    public long getUseCount() {
+        return useCount;
+    }
+
+    public static class Key implements Serializable {
+        private Long accountId;
+        private Long securityId;
+
+        public Key() {}
+
+        public Key(Long accountId, Long securityId) {
+            this.accountId = accountId;
+            this.securityId = securityId;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Key) {
+                Key that = (Key) obj;
+                return Objects.equals(accountId, that.accountId) && Objects.equals(securityId, that.securityId);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, securityId);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.domain.asset;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+import javax.persistence.AttributeOverride;
+import javax.persistence.AttributeOverrides;
+import javax.persistence.Column;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * Persisted cumulative split ratio for a security.  Shares acquired after {@code afterDate} and on or before
+ * {@code throughDate} are adjusted by the combined ratio of all of the security's splits on or after {@code throughDate}.
+ * Shares acquired after the last split do not have a factor.  There is one factor for each date that has splits.
+ */
+@NamedQueries({
+    @NamedQuery(name = SplitFactor.FIND_BY_SECURITY_QUERY, query = "from SplitFactor where securityId = :securityId"),
+    @NamedQuery(name = SplitFactor.DELETE_ALL_QUERY, query = "delete from SplitFactor")
+})
+@Entity @Table(name = "split_factor") @IdClass(SplitFactor.Key.class)
+public class SplitFactor {
+    public static final String FIND_BY_SECURITY_QUERY = "splitFactor.findBySecurity";
+    public static final String DELETE_ALL_QUERY = "splitFactor.deleteAll";
+
+    @Id @Column(name = "security_id", nullable = false)
+    private Long securityId;
+    @Id @Column(name = "through_date", nullable = false) @Temporal(TemporalType.DATE)
+    private Date throughDate;
+    @Column(name = "after_date") @Temporal(TemporalType.DATE)
+    private Date afterDate;
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "sharesIn", column = @Column(name = "shares_in", nullable = false, precision = 38, scale = 12)),
+        @AttributeOverride(name = "sharesOut", column = @Column(name = "shares_out", nullable = false, precision = 38, scale = 12))})
+    private SplitRatio splitRatio;
+
+    public SplitFactor() {}
+
+    public SplitFactor(Long securityId, Date afterDate, Date throughDate, SplitRatio splitRatio) {
+        this.securityId = securityId;
+        this.afterDate = afterDate;
+        this.throughDate = throughDate;
+        this.splitRatio = splitRatio;
+    }
+
+    /**
+     * Create the factors for a security.  Splits on the same date share a single factor containing their combined
+     * ratio.
+     * @param securityId the ID of the security
+     * @param splits the index of the security's splits
+     * @return one factor for each split date
+     */
+    public static List<SplitFactor> of(Long securityId, SplitIndex splits) {
+        List<SplitFactor> factors = new ArrayList<>(splits.size());
+        Date afterDate = null;
+        for (int i = 0; i < splits.size(); i++) {
+            Date throughDate = splits.getDate(i);
+            if (!throughDate.equals(afterDate)) {
+                factors.add(new SplitFactor(securityId, afterDate, throughDate, splits.getCumulativeRatio(i)));
+                afterDate = throughDate;
+            }
+        }
+        return factors;
+    }
+
+    public Long getSecurityId() {
+        return securityId;
+    }
+
+    public Date getAfterDate() {
+        return afterDate;
+    }
+
+    public Date getThroughDate() {
+        return throughDate;
+    }
+
+    public SplitRatio getSplitRatio() {
+        return splitRatio;
+    }
+
+    public static class Key implements Serializable {
+        private Long securityId;
+        private Date throughDate;
+
+        public Key() {}
+
+        public Key(Long securityId, Date throughDate) {
+            this.securityId = securityId;
+            this.throughDate = throughDate;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Key) {
+                Key that = (Key) obj;
+                return Objects.equals(securityId, that.securityId) && Objects.equals(throughDate, that.throughDate);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(securityId, throughDate);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.domain.asset;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import io.github.jonestimd.finance.domain.transaction.StockSplit;
+
+/**
+ * Sorted index of the stock splits for a security.  Cumulative products of the split ratios are stored so that the
+ * combined ratio of the splits in a date range can be calculated using a binary search of the split dates.
+ */
+public class SplitIndex {
+    private final List<StockSplit> splits;
+    private final int size;
+    private final long[] dates;
+    /** {@code cumulativeIn[i]} is the product of {@code sharesIn} for the first {@code i} splits */
+    private final BigDecimal[] cumulativeIn;
+    /** {@code cumulativeOut[i]} is the product of {@code sharesOut} for the first {@code i} splits */
+    private final BigDecimal[] cumulativeOut;
+
+    public SplitIndex(List<StockSplit> splits) {
+        this.splits = splits;
+        this.size = splits.size();
+        StockSplit[] sorted = splits.stream().filter(split -> split.getDate() != null)
+                .sorted(Comparator.comparing(StockSplit::getDate)).toArray(StockSplit[]::new);
+        this.dates = new long[sorted.length];
+        this.cumulativeIn = new BigDecimal[sorted.length + 1];
+        this.cumulativeOut = new BigDecimal[sorted.length + 1];
+        cumulativeIn[0] = BigDecimal.ONE;
+        cumulativeOut[0] = BigDecimal.ONE;
+        for (int i = 0; i < sorted.length; i++) {
+            dates[i] = sorted[i].getDate().getTime();
+            cumulativeIn[i + 1] = cumulativeIn[i].multiply(sorted[i].getSharesIn());
+            cumulativeOut[i + 1] = cumulativeOut[i].multiply(sorted[i].getSharesOut());
+        }
+    }
+
+    /**
+     * @return true if this index was built from {@code splits} and the list has not been resized.
+     */
+    public boolean isIndexOf(List<StockSplit> splits) {
+        return this.splits == splits && size == splits.size();
+    }
+
+    /**
+     * @return the number of indexed splits.
+     */
+    public int size() {
+        return dates.length;
+    }
+
+    /**
+     * @return the date of the split at {@code index} (in date order).
+     */
+    public Date getDate(int index) {
+        return new Date(dates[index]);
+    }
+
+    /**
+     * @return the combined ratio of the splits on or after the split at {@code index} (in date order).
+     */
+    public SplitRatio getCumulativeRatio(int index) {
+        return getRatio(index, dates.length);
+    }
+
+    /**
+     * @param fromDate the start of the date range (inclusive)
+     * @param toDate the end of the date range (inclusive) or {@code null} for no limit
+     * @return the combined ratio of the splits in the date range.
+     */
+    public SplitRatio getSplitRatio(Date fromDate, Date toDate) {
+        int from = search(fromDate.getTime(), false);
+        int to = toDate == null ? dates.length : search(toDate.getTime(), true);
+        return getRatio(from, to);
+    }
+
+    private SplitRatio getRatio(int from, int to) {
+        if (from >= to) return new SplitRatio();
+        if (from == 0) return new SplitRatio(cumulativeIn[to], cumulativeOut[to]);
+        return new SplitRatio(cumulativeIn[to].multiply(cumulativeOut[from]), cumulativeOut[to].multiply(cumulativeIn[from]));
+    }
+
+    /**
+     * @param inclusive true to skip splits on {@code date}
+     * @return the index of the first split after {@code date} (or on {@code date} if {@code inclusive} is false).
+     */
+    private int search(long date, boolean inclusive) {
+        int low = 0;
+        int high = dates.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates[mid] < date || inclusive && dates[mid] == date) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+}
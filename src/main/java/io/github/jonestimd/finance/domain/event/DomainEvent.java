@@ -21,9 +21,12 @@
 // SOFTWARE.
 package io.github.jonestimd.finance.domain.event;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EventObject;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -79,6 +82,46 @@ public class DomainEvent<ID, T extends UniqueId<ID>> extends EventObject {
         this.domainClass = domainClass;
     }
 
+    /**
+     * Combine consecutive events that have the same source, type, domain class and replacement.  Events are not
+     * combined across an intervening event so that listeners receive the changes in the order they occurred.
+     * @return the combined events in their original order
+     */
+    public static List<DomainEvent<?, ?>> coalesce(Collection<? extends DomainEvent<?, ?>> events) {
+        List<DomainEvent<?, ?>> coalesced = new ArrayList<>(events.size());
+        List<DomainEvent<?, ?>> group = new ArrayList<>();
+        List<Object> groupKey = null;
+        for (DomainEvent<?, ?> event : events) {
+            List<Object> key = Arrays.asList(event.getSource(), event.type, event.domainClass, event.replacement);
+            if (!key.equals(groupKey) && !group.isEmpty()) {
+                coalesced.add(merge(group));
+                group = new ArrayList<>();
+            }
+            groupKey = key;
+            group.add(event);
+        }
+        if (!group.isEmpty()) coalesced.add(merge(group));
+        return coalesced;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DomainEvent<?, ?> merge(List<DomainEvent<?, ?>> group) {
+        return group.size() == 1 ? group.get(0) : mergeObjects((List) group);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ID, T extends UniqueId<ID>> DomainEvent<ID, T> mergeObjects(List<DomainEvent<ID, T>> events) {
+        Map<ID, List<T>> idMap = new LinkedHashMap<>();
+        for (DomainEvent<ID, T> event : events) {
+            event.domainObjects.forEach((id, objects) -> {
+                List<T> merged = idMap.computeIfAbsent((ID) id, k -> new ArrayList<>());
+                objects.stream().filter(object -> merged.stream().noneMatch(other -> other == object)).forEach(merged::add);
+            });
+        }
+        DomainEvent<ID, T> first = events.get(0);
+        return new DomainEvent<>(first.getSource(), first.type, idMap, first.replacement, first.domainClass);
+    }
+
     public EventType getType() {
         return type;
     }
@@ -23,18 +23,22 @@ package io.github.jonestimd.finance.domain.fileimport;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.google.common.collect.ListMultimap;
 import io.github.jonestimd.finance.file.ImportFieldMapper;
 import io.github.jonestimd.finance.file.csv.CsvParser;
-import io.github.jonestimd.finance.file.excel.SheetParser;
+import io.github.jonestimd.finance.file.excel.HssfSheetParser;
+import io.github.jonestimd.finance.file.excel.XssfSheetParser;
 import io.github.jonestimd.finance.file.pdf.PdfFieldValueExtractor;
 import io.github.jonestimd.finance.swing.BundleType;
 
 public enum  FileType {
-    CSV("csv", (importFile, stream) -> new ImportFieldMapper(importFile.getFields()).mapFields(new CsvParser(stream).getStream())),
-    XLS("xls", (importFile, stream) -> new ImportFieldMapper(importFile.getFields()).mapFields(new SheetParser(stream, 0, importFile.getStartOffset()).getStream())),
-    PDF("pdf", (importFile, stream) -> new PdfFieldValueExtractor(importFile.getFields()).parse(stream));
+    CSV("csv", (importFile, stream) -> new ImportFieldMapper(importFile.getFields()).streamFields(new CsvParser(stream).getStream())),
+    XLS("xls", (importFile, stream) -> new ImportFieldMapper(importFile.getFields()).streamFields(new HssfSheetParser(stream, 0, importFile.getStartOffset()).getStream())),
+    XLSX("xlsx", (importFile, stream) -> new ImportFieldMapper(importFile.getFields()).streamFields(new XssfSheetParser(stream, 0, importFile.getStartOffset()).getStream())),
+    PDF("pdf", (importFile, stream) -> StreamSupport.stream(new PdfFieldValueExtractor(importFile.getFields()).parse(stream).spliterator(), false));
 
     public final String extension;
     private final Parser parser;
@@ -44,7 +48,10 @@ public enum  FileType {
         this.parser = parser;
     }
 
-    public Iterable<ListMultimap<ImportField, String>> parse(ImportFile importFile, InputStream stream) throws IOException {
+    /**
+     * @return the records of the file.  The stream must be closed to release the resources used by the parser.
+     */
+    public Stream<ListMultimap<ImportField, String>> parse(ImportFile importFile, InputStream stream) throws IOException {
         return parser.apply(importFile, stream);
     }
 
@@ -54,6 +61,6 @@ public enum  FileType {
     }
 
     private interface Parser {
-        Iterable<ListMultimap<ImportField, String>> apply(ImportFile importFile, InputStream stream) throws IOException;
+        Stream<ListMultimap<ImportField, String>> apply(ImportFile importFile, InputStream stream) throws IOException;
     }
 }
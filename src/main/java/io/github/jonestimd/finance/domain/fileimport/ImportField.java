@@ -25,6 +25,7 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import javax.persistence.CollectionTable;
@@ -42,6 +43,7 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OrderColumn;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
@@ -95,6 +97,10 @@ public class ImportField implements UniqueId<Long>, Cloneable {
     @ManyToOne
     @JoinColumn(name = "transfer_account_id", foreignKey = @ForeignKey(name = "import_field_transfer_account_fk"))
     private Account transferAccount;
+    @Transient
+    private volatile Pattern ignorePattern;
+    @Transient
+    private volatile Pattern acceptPattern;
 
     public ImportField() {
         this(null, null);
@@ -188,6 +194,7 @@ public class ImportField implements UniqueId<Long>, Cloneable {
 
     public void setIgnoredRegex(String ignoreRegex) {
         this.ignoreRegex = ignoreRegex != null && !ignoreRegex.isEmpty() ? ignoreRegex : null;
+        this.ignorePattern = null;
     }
 
     public String getAcceptRegex() {
@@ -196,6 +203,7 @@ public class ImportField implements UniqueId<Long>, Cloneable {
 
     public void setAcceptRegex(String acceptRegex) {
         this.acceptRegex = acceptRegex != null && !acceptRegex.isEmpty() ? acceptRegex : null;
+        this.acceptPattern = null;
     }
 
     public TransactionCategory getCategory() {
@@ -228,17 +236,40 @@ public class ImportField implements UniqueId<Long>, Cloneable {
     }
 
     private boolean filterValue(String value) {
-        return ignoreRegex != null && value.matches(ignoreRegex) || acceptRegex != null && ! value.matches(acceptRegex);
+        return ignoreRegex != null && getIgnorePattern().matcher(value).matches()
+                || acceptRegex != null && ! getAcceptPattern().matcher(value).matches();
+    }
+
+    private Pattern getIgnorePattern() {
+        if (ignorePattern == null) ignorePattern = Pattern.compile(ignoreRegex);
+        return ignorePattern;
+    }
+
+    private Pattern getAcceptPattern() {
+        if (acceptPattern == null) acceptPattern = Pattern.compile(acceptRegex);
+        return acceptPattern;
     }
 
     public BigDecimal parseAmount(String value) {
         if (Strings.isNullOrEmpty(value)) {
             return BigDecimal.ZERO;
         }
-        BigDecimal amount = amountFormat.toBigDecimal(value.replaceAll("[^0-9.\\-]", ""));
+        BigDecimal amount = amountFormat.toBigDecimal(numericChars(value));
         return negate ? amount.negate() : amount;
     }
 
+    /**
+     * Remove the characters that aren't digits, decimal points or minus signs.
+     */
+    private static String numericChars(String value) {
+        StringBuilder buffer = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch >= '0' && ch <= '9' || ch == '.' || ch == '-') buffer.append(ch);
+        }
+        return buffer.toString();
+    }
+
     public ImportField clone() {
         try {
             ImportField clone = (ImportField) super.clone();
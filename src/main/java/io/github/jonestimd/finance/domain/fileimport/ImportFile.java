@@ -22,8 +22,6 @@
 package io.github.jonestimd.finance.domain.fileimport;
 
 import java.io.InputStream;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
@@ -32,6 +30,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.CascadeType;
 import javax.persistence.CollectionTable;
@@ -55,6 +54,7 @@ import javax.persistence.MapKeyColumn;
 import javax.persistence.NamedQuery;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
 
 import com.google.common.collect.ListMultimap;
@@ -73,8 +73,6 @@ import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.Type;
 
-import static io.github.jonestimd.finance.domain.fileimport.ImportCategory.*;
-
 @Entity
 @Table(name = "import_file", uniqueConstraints = {@UniqueConstraint(name = "import_file_ak", columnNames = {"name"})})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
@@ -83,9 +81,11 @@ public class ImportFile implements UniqueId<Long>, Cloneable {
     public static final String FIND_ONE_BY_NAME = "ImportFile.findOneByName";
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO, generator = "import_file_id_generator")
-    @GenericGenerator(name = "import_file_id_generator", strategy = "native", parameters = {
-            @Parameter(name = "sequence_name", value = "import_file_id_seq"),
-            @Parameter(name = "allocation_size", value = "1")
+    @GenericGenerator(name = "import_file_id_generator", strategy = "enhanced-table", parameters = {
+            @Parameter(name = "table_name", value = "id_generator"),
+            @Parameter(name = "segment_value", value = "import_file"),
+            @Parameter(name = "optimizer", value = "pooled-lo"),
+            @Parameter(name = "increment_size", value = "50")
     })
     @Column(name = "id", nullable = false)
     private Long id;
@@ -144,6 +144,8 @@ public class ImportFile implements UniqueId<Long>, Cloneable {
     private boolean reconcile;
     @Column(name = "date_format", length = 50, nullable = false)
     private String dateFormat;
+    @Transient
+    private volatile ImportPlan importPlan;
 
     public ImportFile() {}
 
@@ -154,7 +156,7 @@ public class ImportFile implements UniqueId<Long>, Cloneable {
         this.dateFormat = dateFormat;
     }
 
-    public Iterable<ListMultimap<ImportField, String>> parse(InputStream stream) throws Exception {
+    public Stream<ListMultimap<ImportField, String>> parse(InputStream stream) throws Exception {
         return fileType.parse(this, stream);
     }
 
@@ -200,6 +202,7 @@ public class ImportFile implements UniqueId<Long>, Cloneable {
 
     public void setImportCategories(Set<ImportCategory> importCategories) {
         this.importCategories = importCategories;
+        this.importPlan = null;
     }
 
     public Map<String, TransactionCategory> getCategoryMap() {
@@ -207,8 +210,7 @@ public class ImportFile implements UniqueId<Long>, Cloneable {
     }
 
     public boolean isNegate(TransactionCategory category) {
-        return category != null && importCategories.stream().filter(c -> c.getCategory().equals(category))
-                .findFirst().orElse(EMPTY_IMPORT_CATEGORY).isNegate();
+        return getImportPlan().isNegate(category);
     }
 
     public Set<ImportTransfer> getImportTransfers() {
@@ -217,11 +219,11 @@ public class ImportFile implements UniqueId<Long>, Cloneable {
 
     public void setImportTransfers(Set<ImportTransfer> importTransfers) {
         this.importTransfers = importTransfers;
+        this.importPlan = null;
     }
 
     public Account getTransferAccount(String key) {
-        ImportTransfer transfer = importTransfers.stream().filter(t -> t.getAlias().equals(key)).findFirst().orElse(null);
-        return transfer == null ? null : transfer.getAccount();
+        return getImportPlan().getTransferAccount(key);
     }
 
     public Map<String, Payee> getPayeeMap() {
@@ -286,14 +288,24 @@ public class ImportFile implements UniqueId<Long>, Cloneable {
 
     public void setDateFormat(String dateFormat) {
         this.dateFormat = dateFormat;
+        this.importPlan = null;
     }
 
     public Date parseDate(String dateString) {
-        try {
-            return new SimpleDateFormat(dateFormat).parse(dateString);
-        } catch (ParseException ex) {
-            throw new RuntimeException(ex);
-        }
+        return getImportPlan().parseDate(dateString);
+    }
+
+    /**
+     * Compile the date format, category negation and transfer account aliases for parsing the records of an import.
+     * Must be called before an import if the import file has been modified.
+     */
+    public void compileImportPlan() {
+        importPlan = new ImportPlan(dateFormat, importCategories, importTransfers);
+    }
+
+    private ImportPlan getImportPlan() {
+        if (importPlan == null) compileImportPlan();
+        return importPlan;
     }
 
     public ImportContext newContext(Collection<Payee> payees, Collection<Security> securities, Collection<TransactionCategory> categories) {
@@ -316,6 +328,7 @@ public class ImportFile implements UniqueId<Long>, Cloneable {
         try {
             ImportFile clone = (ImportFile) super.clone();
             clone.id = null;
+            clone.importPlan = null;
             Map<PageRegion, PageRegion> regionMap = pageRegions.stream().collect(Collectors.toMap(Function.identity(), PageRegion::clone));
             clone.pageRegions = new HashSet<>(regionMap.values());
             clone.fields = new HashSet<>();
@@ -0,0 +1,125 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.domain.fileimport;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.ForeignKey;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * Hash of a statement file or an imported record.  Used to skip files and records that have already been imported
+ * using an import definition.
+ */
+@Entity @Table(name = "import_fingerprint") @IdClass(ImportFingerprint.Key.class)
+@NamedQueries({
+    @NamedQuery(name = ImportFingerprint.FIND_HASHES_BY_IMPORT_FILE_ID,
+            query = "select hash from ImportFingerprint where importFileId = :importFileId"),
+    @NamedQuery(name = ImportFingerprint.DELETE_BY_IMPORT_FILE_ID,
+            query = "delete from ImportFingerprint where importFileId = :importFileId")
+})
+public class ImportFingerprint {
+    public static final String FIND_HASHES_BY_IMPORT_FILE_ID = "ImportFingerprint.findHashesByImportFileId";
+    public static final String DELETE_BY_IMPORT_FILE_ID = "ImportFingerprint.deleteByImportFileId";
+
+    public enum Type { FILE, RECORD }
+
+    @Id @Column(name = "import_file_id", nullable = false)
+    private Long importFileId;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "import_file_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "import_fingerprint_import_file_fk"))
+    private ImportFile importFile;
+    @Id @Column(name = "hash", nullable = false, length = 64)
+    private String hash;
+    @Column(name = "type", nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private Type type;
+    @Column(name = "import_date", nullable = false) @Temporal(TemporalType.TIMESTAMP)
+    private Date importDate;
+
+    public ImportFingerprint() {}
+
+    public ImportFingerprint(Long importFileId, String hash, Type type, Date importDate) {
+        this.importFileId = importFileId;
+        this.hash = hash;
+        this.type = type;
+        this.importDate = importDate;
+    }
+
+    public Long getImportFileId() {
+        return importFileId;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Date getImportDate() {
+        return importDate;
+    }
+
+    public static class Key implements Serializable {
+        private Long importFileId;
+        private String hash;
+
+        public Key() {}
+
+        public Key(Long importFileId, String hash) {
+            this.importFileId = importFileId;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Key) {
+                Key that = (Key) obj;
+                return Objects.equals(importFileId, that.importFileId) && Objects.equals(hash, that.hash);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(importFileId, hash);
+        }
+    }
+}
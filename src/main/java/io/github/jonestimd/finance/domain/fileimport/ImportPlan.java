@@ -0,0 +1,192 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.domain.fileimport;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.format.SignStyle;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.google.common.base.Strings;
+import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
+
+/**
+ * The parsing rules of an {@link ImportFile} compiled for use on every record of an import.  The plan is immutable
+ * and can be shared between threads.
+ */
+class ImportPlan {
+    private final String dateFormat;
+    private final DateTimeFormatter dateFormatter;
+    private final Map<TransactionCategory, Boolean> negateByCategory = new HashMap<>();
+    private final Map<String, Account> transferAccounts = new HashMap<>();
+
+    public ImportPlan(String dateFormat, Collection<ImportCategory> importCategories, Collection<ImportTransfer> importTransfers) {
+        this.dateFormat = dateFormat;
+        this.dateFormatter = dateFormat == null ? null : compile(dateFormat);
+        for (ImportCategory importCategory : nullToEmpty(importCategories)) {
+            if (importCategory.getCategory() != null) negateByCategory.putIfAbsent(importCategory.getCategory(), importCategory.isNegate());
+        }
+        for (ImportTransfer importTransfer : nullToEmpty(importTransfers)) {
+            transferAccounts.putIfAbsent(importTransfer.getAlias(), importTransfer.getAccount());
+        }
+    }
+
+    private static <T> Collection<T> nullToEmpty(Collection<T> collection) {
+        return collection == null ? Collections.emptyList() : collection;
+    }
+
+    /**
+     * Compile a {@link SimpleDateFormat} pattern.  Only the pattern letters whose meaning is the same for both
+     * formatters are translated.  A one or two letter year is resolved using the same century as
+     * {@link SimpleDateFormat}.  Returns null for patterns containing any other letter (e.g. {@code u}, {@code S},
+     * {@code F}, {@code Y}, {@code k} or a time zone) or for time fields that can't be resolved without the defaults
+     * used by {@link SimpleDateFormat} (e.g. minutes without hours or a 12 hour clock without AM/PM) so that those
+     * dates are parsed by {@link SimpleDateFormat}.
+     */
+    private static DateTimeFormatter compile(String pattern) {
+        DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder().parseCaseInsensitive().parseLenient();
+        boolean hasAmPm = false;
+        boolean hasAmPmHour = false;
+        boolean hasHour = false;
+        boolean hasTime = false;
+        for (int i = 0; i < pattern.length(); ) {
+            char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                i = appendQuoted(builder, pattern, i);
+                if (i < 0) return null;
+            }
+            else {
+                int count = 1;
+                while (i + count < pattern.length() && pattern.charAt(i + count) == ch) count++;
+                if (!isPatternLetter(ch)) builder.appendLiteral(pattern.substring(i, i + count));
+                else if (!appendField(builder, ch, count)) return null;
+                hasAmPm |= ch == 'a';
+                hasAmPmHour |= ch == 'h' || ch == 'K';
+                hasHour |= ch == 'H' || ch == 'h' || ch == 'K';
+                hasTime |= ch == 'm' || ch == 's';
+                i += count;
+            }
+        }
+        if (hasAmPm != hasAmPmHour || hasTime && !hasHour) return null;
+        return builder.toFormatter(Locale.getDefault()).withResolverStyle(ResolverStyle.LENIENT);
+    }
+
+    /**
+     * Append the quoted literal starting at {@code start}.  Two consecutive quotes represent a single quote.
+     * @return the index following the literal or -1 if the closing quote is missing.
+     */
+    private static int appendQuoted(DateTimeFormatterBuilder builder, String pattern, int start) {
+        StringBuilder literal = new StringBuilder();
+        int i = start + 1;
+        if (i < pattern.length() && pattern.charAt(i) == '\'') {
+            builder.appendLiteral('\'');
+            return i + 1;
+        }
+        while (i < pattern.length()) {
+            char ch = pattern.charAt(i++);
+            if (ch != '\'') literal.append(ch);
+            else if (i < pattern.length() && pattern.charAt(i) == '\'') literal.append(pattern.charAt(i++));
+            else {
+                builder.appendLiteral(literal.toString());
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isPatternLetter(char ch) {
+        return ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z';
+    }
+
+    /**
+     * Append the equivalent of a {@link SimpleDateFormat} field.
+     * @return false if the field is not supported.
+     */
+    private static boolean appendField(DateTimeFormatterBuilder builder, char letter, int count) {
+        switch (letter) {
+            case 'y':
+                if (count > 2) builder.appendValue(ChronoField.YEAR, count, 19, SignStyle.NORMAL);
+                else builder.appendValueReduced(ChronoField.YEAR, 2, 2, LocalDate.now().minusYears(80));
+                return true;
+            case 'M': return appendPattern(builder, letter, count, 4);
+            case 'E': return appendPattern(builder, letter, count, 4);
+            case 'D': return appendPattern(builder, letter, count, 3);
+            case 'd': case 'H': case 'h': case 'K': case 'm': case 's':
+                return appendPattern(builder, letter, count, 2);
+            case 'a':
+                builder.appendText(ChronoField.AMPM_OF_DAY, TextStyle.SHORT);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean appendPattern(DateTimeFormatterBuilder builder, char letter, int count, int maxCount) {
+        if (count > maxCount) return false;
+        builder.appendPattern(Strings.repeat(String.valueOf(letter), count));
+        return true;
+    }
+
+    /**
+     * Parse a date.  Falls back to {@link SimpleDateFormat} for values that can't be parsed by the compiled pattern.
+     */
+    public Date parseDate(String dateString) {
+        if (dateFormatter != null) {
+            try {
+                TemporalAccessor parsed = dateFormatter.parse(dateString, new ParsePosition(0));
+                LocalTime time = parsed.isSupported(ChronoField.HOUR_OF_DAY) ? LocalTime.from(parsed) : LocalTime.MIDNIGHT;
+                return Date.from(LocalDate.from(parsed).atTime(time).atZone(ZoneId.systemDefault()).toInstant());
+            } catch (RuntimeException ex) {
+                // use SimpleDateFormat
+            }
+        }
+        try {
+            return new SimpleDateFormat(dateFormat).parse(dateString);
+        } catch (ParseException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    public boolean isNegate(TransactionCategory category) {
+        return category != null && negateByCategory.getOrDefault(category, false);
+    }
+
+    public Account getTransferAccount(String alias) {
+        return transferAccounts.get(alias);
+    }
+}
@@ -49,12 +49,10 @@ import org.hibernate.annotations.Parameter;
 @Table(name = "security_lot")
 @NamedQueries({
     @NamedQuery(name = SecurityLot.FIND_BY_SALE_ID,
-        query = "select distinct lot from SecurityLot lot join fetch lot.purchase p join fetch p.saleLots where lot.sale.id = :saleId"),
-    @NamedQuery(name = SecurityLot.DELETE_BY_SALE_ID, query = "delete from SecurityLot lot where lot.sale.id = :saleId")
+        query = "select distinct lot from SecurityLot lot join fetch lot.purchase p join fetch p.saleLots where lot.sale.id = :saleId")
 })
 public class SecurityLot extends BaseDomain<Long> {
     public static final String FIND_BY_SALE_ID = "SecurityLot.findBySaleIdWithPurchaseLots";
-    public static final String DELETE_BY_SALE_ID = "SecurityLot.deleteSaleLots";
     public static final String PURCHASE = "purchase";
     public static final String SALE = "sale";
     public static final String PURCHASE_SHARES = "purchaseShares";
@@ -62,9 +60,11 @@ public class SecurityLot extends BaseDomain<Long> {
 
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO, generator = "security_lot_id_generator")
-    @GenericGenerator(name = "security_lot_id_generator", strategy = "native", parameters = {
-            @Parameter(name = "sequence_name", value = "security_lot_id_seq"),
-            @Parameter(name = "allocation_size", value = "1")
+    @GenericGenerator(name = "security_lot_id_generator", strategy = "enhanced-table", parameters = {
+            @Parameter(name = "table_name", value = "id_generator"),
+            @Parameter(name = "segment_value", value = "security_lot"),
+            @Parameter(name = "optimizer", value = "pooled-lo"),
+            @Parameter(name = "increment_size", value = "50")
     })
     private Long id;
     @ManyToOne
@@ -77,6 +77,7 @@ public class StockSplit extends BaseDomain<Long> {
         this.security = security;
         this.date = date;
         this.splitRatio = splitRatio;
+        resetSplitIndex();
     }
 
     public StockSplit(long id) {
@@ -101,6 +102,7 @@ public class StockSplit extends BaseDomain<Long> {
 
     public void setDate(Date date) {
         this.date = date;
+        resetSplitIndex();
     }
 
     public SplitRatio getSplitRatio() {
@@ -109,6 +111,7 @@ public class StockSplit extends BaseDomain<Long> {
 
     public void setSplitRatio(SplitRatio splitRatio) {
         this.splitRatio = splitRatio;
+        resetSplitIndex();
     }
 
     public BigDecimal getSharesIn() {
@@ -117,6 +120,7 @@ public class StockSplit extends BaseDomain<Long> {
 
     public void setSharesIn(BigDecimal sharesIn) {
         splitRatio.setSharesIn(sharesIn);
+        resetSplitIndex();
     }
 
     public BigDecimal getSharesOut() {
@@ -125,6 +129,11 @@ public class StockSplit extends BaseDomain<Long> {
 
     public void setSharesOut(BigDecimal sharesOut) {
         splitRatio.setSharesOut(sharesOut);
+        resetSplitIndex();
+    }
+
+    private void resetSplitIndex() {
+        if (security != null) security.resetSplitIndex();
     }
 
     public String toString() {
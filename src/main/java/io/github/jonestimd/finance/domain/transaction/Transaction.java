@@ -64,11 +64,24 @@ import org.hibernate.annotations.Type;
     @NamedQuery(name = Transaction.REPLACE_PAYEE_QUERY, query =
         "update Transaction set payee.id = :newPayeeId where payee.id in (:oldPayeeIds)"),
     @NamedQuery(name = Transaction.LATEST_FOR_PAYEE_QUERY, query =
-        "from Transaction where payee.id = :payeeId order by date desc, id desc")
+        "from Transaction where payee.id = :payeeId order by date desc, id desc"),
+    @NamedQuery(name = Transaction.ACCOUNT_TRANSACTION_IDS_QUERY, query =
+        "select t.id from Transaction t where t.account.id = :accountId order by t.date, t.id"),
+    @NamedQuery(name = Transaction.TRANSACTIONS_BY_ID_QUERY, query =
+        "select distinct t from Transaction t left join fetch t.payee left join fetch t.security " +
+        "left join fetch t.details d left join fetch d.category left join fetch d.group " +
+        "left join fetch d.relatedDetail rd left join fetch rd.transaction rt left join fetch rt.account " +
+        "where t.id in (:ids) order by t.date, t.id"),
+    @NamedQuery(name = Transaction.CLEARED_BALANCE_QUERY, query =
+        "select coalesce(sum(td.amount), 0) from TransactionDetail td join td.transaction t left join td.category c " +
+        "where t.account.id = :accountId and t.cleared = :cleared and (c.id is null or c.amountType <> :assetValue)")
 })
 public class Transaction extends BaseDomain<Long> {
     public static final String REPLACE_PAYEE_QUERY = "transaction.replacePayee";
     public static final String LATEST_FOR_PAYEE_QUERY = "transaction.latestForPayee";
+    public static final String CLEARED_BALANCE_QUERY = "transaction.clearedBalance";
+    public static final String ACCOUNT_TRANSACTION_IDS_QUERY = "transaction.accountTransactionIds";
+    public static final String TRANSACTIONS_BY_ID_QUERY = "transaction.transactionsById";
     public static final String ACCOUNT = "account";
     public static final String DATE = "date";
     public static final String CLEARED = "cleared";
@@ -80,9 +93,11 @@ public class Transaction extends BaseDomain<Long> {
     public static final String SECURITY = "security";
 
     @Id @GeneratedValue(strategy=GenerationType.AUTO, generator="tx_id_generator")
-    @GenericGenerator(name = "tx_id_generator", strategy = "native", parameters = {
-            @Parameter(name = "sequence_name", value = "tx_id_seq"),
-            @Parameter(name = "allocation_size", value = "1")
+    @GenericGenerator(name = "tx_id_generator", strategy = "enhanced-table", parameters = {
+            @Parameter(name = "table_name", value = "id_generator"),
+            @Parameter(name = "segment_value", value = "tx"),
+            @Parameter(name = "optimizer", value = "pooled-lo"),
+            @Parameter(name = "increment_size", value = "50")
     })
     private Long id;
     @ManyToOne(optional=false) @JoinColumn(name="account_id", foreignKey = @ForeignKey(name="tx_account_fk"))
@@ -66,6 +66,9 @@ import static io.github.jonestimd.collection.BigDecimals.sum;
 @NamedQueries({
     @NamedQuery(name = TransactionDetail.FIND_ORPHAN_TRANSFERS,
         query = "select td from TransactionDetail td join td.relatedDetail rd where rd.relatedDetail.id is null"),
+    @NamedQuery(name = TransactionDetail.FIND_ORPHAN_TRANSFERS_BY_TRANSACTION,
+        query = "select td from TransactionDetail td join td.relatedDetail rd " +
+                "where rd." + TransactionDetail.TRANSACTION + ".id = :transactionId and rd.relatedDetail.id is null"),
     @NamedQuery(name = TransactionDetail.SECURITY_SALES_WITHOUT_LOTS, query = "select distinct td " +
         "from TransactionDetail td " +
         "join td." + TransactionDetail.TRANSACTION + " t " +
@@ -109,6 +112,7 @@ import static io.github.jonestimd.collection.BigDecimals.sum;
 })
 public class TransactionDetail extends BaseDomain<Long> {
     public static final String FIND_ORPHAN_TRANSFERS = "transactionDetail.findOrphanTransfers";
+    public static final String FIND_ORPHAN_TRANSFERS_BY_TRANSACTION = "transactionDetail.findOrphanTransfersByTransaction";
     public static final String SECURITY_SALES_WITHOUT_LOTS = "transaction.securitySalesWithoutLots";
     public static final String UNSOLD_SECURITY_SHARES_BY_DATE = "transaction.unsoldSecuritySharesByDate";
     public static final String SECURITY_ACQUISITIONS_BY_ACCOUNT = "transaction.securityAcquisitionsByAccount";
@@ -127,9 +131,11 @@ public class TransactionDetail extends BaseDomain<Long> {
     public static final String DATE_ACQUIRED = "dateAcquired";
 
     @Id @GeneratedValue(strategy=GenerationType.AUTO, generator="tx_detail_id_generator")
-    @GenericGenerator(name = "tx_detail_id_generator", strategy = "native", parameters = {
-            @Parameter(name = "sequence_name", value = "tx_detail_id_seq"),
-            @Parameter(name = "allocation_size", value = "1")
+    @GenericGenerator(name = "tx_detail_id_generator", strategy = "enhanced-table", parameters = {
+            @Parameter(name = "table_name", value = "id_generator"),
+            @Parameter(name = "segment_value", value = "tx_detail"),
+            @Parameter(name = "optimizer", value = "pooled-lo"),
+            @Parameter(name = "increment_size", value = "50")
     })
     private Long id;
     @ManyToOne(optional=false) @JoinColumn(name="tx_id", nullable=false, foreignKey = @ForeignKey(name = "tx_detail_tx_fk"))
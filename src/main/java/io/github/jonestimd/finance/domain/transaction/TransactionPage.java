@@ -0,0 +1,75 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.domain.transaction;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A page of an account's transactions, sorted by date and ID.  Includes the balances of the account's transactions
+ * that precede the page.
+ */
+public class TransactionPage {
+    private final List<Transaction> transactions;
+    private final BigDecimal openingBalance;
+    private final BigDecimal openingClearedBalance;
+    private final boolean first;
+
+    /**
+     * @param transactions the transactions in the page
+     * @param openingBalance the sum of the transactions preceding the page
+     * @param openingClearedBalance the sum of the cleared transactions preceding the page
+     * @param first true if there are no transactions preceding the page
+     */
+    public TransactionPage(List<Transaction> transactions, BigDecimal openingBalance, BigDecimal openingClearedBalance, boolean first) {
+        this.transactions = transactions;
+        this.openingBalance = openingBalance;
+        this.openingClearedBalance = openingClearedBalance;
+        this.first = first;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public BigDecimal getOpeningClearedBalance() {
+        return openingClearedBalance;
+    }
+
+    /**
+     * @return true if there are no transactions preceding the page.
+     */
+    public boolean isFirst() {
+        return first;
+    }
+
+    /**
+     * @return the oldest transaction in the page or {@code null} if the page is empty.
+     */
+    public Transaction getOldest() {
+        return transactions.isEmpty() ? null : transactions.get(0);
+    }
+}
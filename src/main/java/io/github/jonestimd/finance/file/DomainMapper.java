@@ -21,20 +21,27 @@
 // SOFTWARE.
 package io.github.jonestimd.finance.file;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.Function;
-import java.util.function.Predicate;
 
+/**
+ * Maps imported names to domain objects.  A name is mapped using an exact match on the aliases or else the target with
+ * the longest name contained in the imported name.  A new target is created when there is no match.
+ */
 public class DomainMapper<T> {
+    /** The number of created targets that are checked individually before the name matcher is rebuilt. */
+    private static final int MAX_ADDED_TARGETS = 32;
     private final Collection<T> targets;
+    private final Function<T, String> getName;
     private final Function<T, String> getUpperName;
     private final Map<String, T> aliasMap;
     private final Function<String, T> factory;
-    private final Comparator<T> nameLengthComparator;
+    private NameMatcher<T> nameMatcher;
+    private final List<T> addedTargets = new ArrayList<>();
 
     public DomainMapper(Collection<T> targets, Function<T, String> getName, Function<String, T> factory) {
         this(targets, getName, Collections.emptyMap(), factory);
@@ -42,29 +49,48 @@ public class DomainMapper<T> {
 
     public DomainMapper(Collection<T> targets, Function<T, String> getName, Map<String, T> aliasMap, Function<String, T> factory) {
         this.targets = targets;
+        this.getName = getName;
         this.getUpperName = getName.andThen(String::toUpperCase);
         this.aliasMap = aliasMap;
         this.factory = factory;
-        nameLengthComparator = Comparator.comparingInt(target -> getName.apply(target).length());
     }
 
     public T get(String name) {
-        return Optional.ofNullable(aliasMap.get(name)).orElse(findOrCreate(name));
+        T target = aliasMap.get(name);
+        return target != null ? target : findOrCreate(name);
     }
 
     private T findOrCreate(String name) {
-        Optional<T> match = targets.stream().filter(matches(name)).max(nameLengthComparator);
-        return match.orElseGet(() -> addTarget(name));
+        T match = getNameMatcher().find(name);
+        String upperName = name.toUpperCase();
+        for (T target : addedTargets) {
+            if (upperName.contains(getUpperName.apply(target)) && (match == null || nameLength(target) > nameLength(match))) {
+                match = target;
+            }
+        }
+        return match != null ? match : addTarget(name);
+    }
+
+    /**
+     * The name matcher is only built if a name doesn't have an alias.
+     */
+    private NameMatcher<T> getNameMatcher() {
+        if (nameMatcher == null || addedTargets.size() > MAX_ADDED_TARGETS) {
+            nameMatcher = new NameMatcher<>(targets, getName);
+            addedTargets.clear();
+        }
+        return nameMatcher;
     }
 
-    private Predicate<T> matches(String name) {
-        return target -> name.toUpperCase().contains(getUpperName.apply(target));
+    private int nameLength(T target) {
+        return getName.apply(target).length();
     }
 
     private T addTarget(String name) {
         if (factory != null) {
             T target = factory.apply(name);
             targets.add(target);
+            addedTargets.add(target);
             return target;
         }
         return null;
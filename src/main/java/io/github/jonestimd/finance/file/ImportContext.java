@@ -24,13 +24,19 @@ package io.github.jonestimd.finance.file;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import io.github.jonestimd.finance.domain.asset.Security;
@@ -41,9 +47,13 @@ import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
 
 public abstract class ImportContext {
+    private static final String FIELD_SEPARATOR = "\0";
+    private static final String RECORD_SEPARATOR = "\0\0";
     protected final ImportFile importFile;
     protected final DomainMapper<Payee> payeeMapper;
     protected final DomainMapper<Security> securityMapper;
+    /** The input values of the records that were combined into each transaction. */
+    private final Map<Transaction, List<String>> recordKeys = new IdentityHashMap<>();
 
     protected ImportContext(ImportFile importFile, DomainMapper<Payee> payeeMapper, DomainMapper<Security> securityMapper) {
         this.importFile = importFile;
@@ -53,13 +63,40 @@ public abstract class ImportContext {
 
     public List<Transaction> parseTransactions(InputStream source) throws Exception {
         List<Transaction> transactions = new ArrayList<>();
-        Iterable<ListMultimap<ImportField, String>> records = importFile.parse(source);
-        for (ListMultimap<ImportField, String> record : records) {
-            updateDetails(getTransaction(record, transactions), record);
+        recordKeys.clear();
+        importFile.compileImportPlan();
+        try (Stream<ListMultimap<ImportField, String>> records = importFile.parse(source)) {
+            records.forEachOrdered(record -> {
+                Transaction transaction = getTransaction(record, transactions);
+                updateDetails(transaction, record);
+                recordKeys.computeIfAbsent(transaction, t -> new ArrayList<>()).add(recordKey(record));
+            });
         }
         return transactions;
     }
 
+    /**
+     * @return the input values of the records that were parsed into {@code transaction}, for recognizing records that
+     * have already been imported.
+     */
+    public String getRecordKey(Transaction transaction) {
+        return Joiner.on(RECORD_SEPARATOR).join(recordKeys.getOrDefault(transaction, Collections.emptyList()));
+    }
+
+    private static String recordKey(ListMultimap<ImportField, String> record) {
+        return Multimaps.asMap(record).entrySet().stream()
+                .map(entry -> fieldKey(entry.getKey()) + '=' + Joiner.on('\n').join(Lists.transform(entry.getValue(), ImportContext::normalize)))
+                .sorted().collect(Collectors.joining(FIELD_SEPARATOR));
+    }
+
+    private static String fieldKey(ImportField field) {
+        return field.getLabels() == null ? field.getType().name() : field.getType() + ":" + Joiner.on(',').join(field.getLabels());
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ");
+    }
+
     protected Transaction getTransaction(ListMultimap<ImportField, String> record, List<Transaction> transactions) {
         Transaction transaction = new Transaction(importFile.getAccount(), new Date(), importFile.getPayee(), false, null);
         Multimaps.asMap(record).forEach((key, value) -> updateTransaction(transaction, key, value));
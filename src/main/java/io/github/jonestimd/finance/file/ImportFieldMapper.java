@@ -45,6 +45,13 @@ public class ImportFieldMapper {
         return Streams.map(rows, this::mapRecord);
     }
 
+    /**
+     * Map the rows as they are consumed.  Closing the returned stream closes {@code rows}.
+     */
+    public Stream<ListMultimap<ImportField, String>> streamFields(Stream<Map<String, String>> rows) {
+        return rows.map(this::mapRecord);
+    }
+
     private ListMultimap<ImportField, String> mapRecord(Map<String, String> record) {
         return importFields.stream().map(field -> new FieldValue(field, field.getValue(record)))
                 .filter(pair -> pair.value != null)
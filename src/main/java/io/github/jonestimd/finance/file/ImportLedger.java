@@ -0,0 +1,152 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import io.github.jonestimd.finance.domain.fileimport.ImportFingerprint;
+import io.github.jonestimd.finance.domain.fileimport.ImportFingerprint.Type;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+
+/**
+ * The fingerprints of the statement files and records that have been imported using an import definition.  A record
+ * is identified by the input values of its fields, so that it doesn't depend on how the values are mapped to payees and
+ * securities.  Identical records in a file are distinguished by their occurrence count, so an overlapping statement
+ * only adds the records that were not in the earlier statements.
+ */
+public class ImportLedger {
+    private static final char SEPARATOR = '\0';
+    private final Long importFileId;
+    private final Set<String> hashes = ConcurrentHashMap.newKeySet();
+
+    public ImportLedger(Long importFileId, Collection<String> hashes) {
+        this.importFileId = importFileId;
+        this.hashes.addAll(hashes);
+    }
+
+    public static String fileHash(byte[] content) {
+        return Hashing.sha256().hashBytes(content).toString();
+    }
+
+    public static String fileHash(File file) throws IOException {
+        return Files.asByteSource(file).hash(Hashing.sha256()).toString();
+    }
+
+    /**
+     * Computes the hash of a statement while it is being parsed.  Closing the stream does not close the source, so that
+     * any content that was not read by the parser can be included in the hash.
+     */
+    public static class FileHashStream extends DigestInputStream {
+        public FileHashStream(InputStream source) {
+            super(source, newDigest());
+        }
+
+        private static MessageDigest newDigest() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public void close() {}
+
+        /**
+         * Read the rest of the source and return the hash of its content.
+         */
+        public String getHash() throws IOException {
+            ByteStreams.exhaust(this);
+            return HashCode.fromBytes(getMessageDigest().digest()).toString();
+        }
+    }
+
+    /**
+     * @return true if a file with the same hash has already been imported.
+     */
+    public boolean isImported(String fileHash) {
+        return hashes.contains(fileHash);
+    }
+
+    /**
+     * @param recordKey provides the input values of the records that were parsed into a transaction
+     * @return the transactions that have not already been imported, keyed by record hash.
+     */
+    public Map<String, Transaction> newRecords(List<Transaction> transactions, Function<Transaction, String> recordKey) {
+        Map<String, Integer> occurrences = new HashMap<>();
+        Map<String, Transaction> newRecords = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            String key = recordKey.apply(transaction);
+            String hash = Hashing.sha256().hashString(key + SEPARATOR + occurrences.merge(key, 1, Integer::sum), StandardCharsets.UTF_8).toString();
+            if (!hashes.contains(hash)) newRecords.put(hash, transaction);
+        }
+        return newRecords;
+    }
+
+    /**
+     * Create the fingerprints for an imported file.  The ledger is not updated until the fingerprints have been saved.
+     * @return the new fingerprints to be saved.
+     * @see #add(Collection)
+     */
+    public List<ImportFingerprint> newFingerprints(String fileHash, Collection<String> recordHashes) {
+        Date importDate = new Date();
+        Set<String> newHashes = new HashSet<>();
+        List<ImportFingerprint> fingerprints = new ArrayList<>();
+        if (!hashes.contains(fileHash) && newHashes.add(fileHash)) {
+            fingerprints.add(new ImportFingerprint(importFileId, fileHash, Type.FILE, importDate));
+        }
+        for (String hash : recordHashes) {
+            if (!hashes.contains(hash) && newHashes.add(hash)) {
+                fingerprints.add(new ImportFingerprint(importFileId, hash, Type.RECORD, importDate));
+            }
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Add fingerprints that have been committed to the database.
+     */
+    public void add(Collection<ImportFingerprint> fingerprints) {
+        fingerprints.forEach(fingerprint -> hashes.add(fingerprint.getHash()));
+    }
+}
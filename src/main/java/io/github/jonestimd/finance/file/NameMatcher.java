@@ -0,0 +1,124 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Function;
+
+/**
+ * Finds the longest target name contained in a string using an Aho-Corasick automaton.  Names are compared ignoring
+ * case.  When more than one of the longest names is contained in the string, the first target is returned.
+ */
+class NameMatcher<T> {
+    private static final int NO_MATCH = -1;
+    private final List<T> targets;
+    private final int[] nameLengths;
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    /** the node for the longest proper suffix of each node's prefix */
+    private final int[] failures;
+    /** the index of the longest target name that ends at each node */
+    private final int[] outputs;
+
+    public NameMatcher(Collection<T> targets, Function<T, String> getName) {
+        this.targets = new ArrayList<>(targets);
+        this.nameLengths = new int[this.targets.size()];
+        List<Integer> terminals = new ArrayList<>();
+        addNode(terminals);
+        for (int i = 0; i < nameLengths.length; i++) {
+            String name = getName.apply(this.targets.get(i));
+            nameLengths[i] = name.length();
+            int node = 0;
+            for (char ch : name.toUpperCase().toCharArray()) {
+                Integer next = transitions.get(node).get(ch);
+                if (next == null) {
+                    next = addNode(terminals);
+                    transitions.get(node).put(ch, next);
+                }
+                node = next;
+            }
+            if (terminals.get(node) == NO_MATCH) terminals.set(node, i);
+        }
+        this.failures = new int[transitions.size()];
+        this.outputs = new int[transitions.size()];
+        linkNodes(terminals);
+    }
+
+    private int addNode(List<Integer> terminals) {
+        transitions.add(new HashMap<>());
+        terminals.add(NO_MATCH);
+        return transitions.size() - 1;
+    }
+
+    /**
+     * Set the failure and output links of the nodes in breadth first order.
+     */
+    private void linkNodes(List<Integer> terminals) {
+        outputs[0] = terminals.get(0);
+        Queue<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            for (Map.Entry<Character, Integer> entry : transitions.get(node).entrySet()) {
+                int child = entry.getValue();
+                failures[child] = node == 0 ? 0 : next(failures[node], entry.getKey());
+                outputs[child] = terminals.get(child) == NO_MATCH ? outputs[failures[child]] : terminals.get(child);
+                queue.add(child);
+            }
+        }
+    }
+
+    private int next(int node, char ch) {
+        Integer next = transitions.get(node).get(ch);
+        while (next == null && node != 0) {
+            node = failures[node];
+            next = transitions.get(node).get(ch);
+        }
+        return next == null ? 0 : next;
+    }
+
+    /**
+     * @param text the string to search
+     * @return the target with the longest name contained in {@code text} or null if there is no match
+     */
+    public T find(String text) {
+        int match = outputs[0];
+        int node = 0;
+        for (char ch : text.toUpperCase().toCharArray()) {
+            node = next(node, ch);
+            match = longest(match, outputs[node]);
+        }
+        return match == NO_MATCH ? null : targets.get(match);
+    }
+
+    private int longest(int match1, int match2) {
+        if (match1 == NO_MATCH) return match2;
+        if (match2 == NO_MATCH || nameLengths[match1] > nameLengths[match2]) return match1;
+        if (nameLengths[match2] > nameLengths[match1]) return match2;
+        return Math.min(match1, match2);
+    }
+}
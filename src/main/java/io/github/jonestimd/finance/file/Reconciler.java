@@ -21,27 +21,34 @@
 // SOFTWARE.
 package io.github.jonestimd.finance.file;
 
+import java.math.BigDecimal;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.List;
 import java.util.Objects;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import io.github.jonestimd.finance.domain.asset.Security;
+import io.github.jonestimd.finance.domain.transaction.Payee;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.swing.transaction.TransactionTableModel;
 
 import static io.github.jonestimd.util.JavaPredicates.*;
 
+/**
+ * Matches imported transactions to uncleared transactions with the same amount, shares, payee and security.  The
+ * uncleared transactions are indexed by those properties, so each imported transaction is only compared to the
+ * transactions in its bucket.
+ */
 public class Reconciler {
     private final TransactionTableModel tableModel;
-    private final List<Transaction> uncleared;
+    /** Uncleared transactions in table order. */
+    private final ListMultimap<Key, Transaction> uncleared = ArrayListMultimap.create();
 
     public Reconciler(TransactionTableModel tableModel) {
         this.tableModel = tableModel;
-        this.uncleared = tableModel.getBeans().stream()
+        tableModel.getBeans().stream()
                 .filter(not(Transaction::isCleared)).filter(not(Transaction::isNew))
-                .collect(Collectors.toList());
+                .forEach(transaction -> uncleared.put(new Key(transaction), transaction));
     }
 
     public void reconcile(Collection<Transaction> transactions) {
@@ -59,18 +66,52 @@ public class Reconciler {
         }
     }
 
+    /**
+     * Select the first transaction that is after the imported transaction, or else the first on the same date, or
+     * else the first before it.
+     */
     private Transaction select(Transaction transaction) {
-        return uncleared.stream().filter(sameProperties(transaction)).min(nearestDate(transaction)).orElse(transaction);
+        Transaction sameDate = null;
+        Transaction before = null;
+        for (Transaction candidate : uncleared.get(new Key(transaction))) {
+            int compare = transaction.getDate().compareTo(candidate.getDate());
+            if (compare < 0) return candidate;
+            if (compare == 0 && sameDate == null) sameDate = candidate;
+            else if (compare > 0 && before == null) before = candidate;
+        }
+        return sameDate != null ? sameDate : before != null ? before : transaction;
     }
 
-    private Predicate<Transaction> sameProperties(Transaction transaction) {
-        return t2 -> transaction.getAmount().compareTo(t2.getAmount()) == 0
-                && transaction.getAssetQuantity().compareTo(t2.getAssetQuantity()) == 0
-                && Objects.equals(transaction.getPayee(), t2.getPayee())
-                && Objects.equals(transaction.getSecurity(), t2.getSecurity());
-    }
+    private static class Key {
+        private final BigDecimal amount;
+        private final BigDecimal assetQuantity;
+        private final Payee payee;
+        private final Security security;
 
-    private Comparator<Transaction> nearestDate(Transaction transaction) {
-        return Comparator.comparingInt(t -> transaction.getDate().compareTo(t.getDate()));
+        public Key(Transaction transaction) {
+            this.amount = normalize(transaction.getAmount());
+            this.assetQuantity = normalize(transaction.getAssetQuantity());
+            this.payee = transaction.getPayee();
+            this.security = transaction.getSecurity();
+        }
+
+        private static BigDecimal normalize(BigDecimal value) {
+            return value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Key) {
+                Key that = (Key) obj;
+                return amount.equals(that.amount) && assetQuantity.equals(that.assetQuantity)
+                        && Objects.equals(payee, that.payee) && Objects.equals(security, that.security);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(amount, assetQuantity, payee, security);
+        }
     }
 }
@@ -25,48 +25,118 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.Arrays;
+import java.io.Reader;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import io.github.jonestimd.finance.file.FileParser;
 
-import static io.github.jonestimd.util.JavaPredicates.*;
-
+/**
+ * Parses a CSV file that has a header row.  The rows are parsed as the stream is consumed.  Each row is a read-only
+ * map of header to value that uses the column indexes resolved from the header row.
+ */
 public class CsvParser implements FileParser {
-    private static final Pattern COLUMN_PATTERN = Pattern.compile("(?<value>[^,\"]*|\"[^\"]*\")(,|$)");
     private final Stream<Map<String, String>> stream;
-    private final List<String> headers;
+    /** the index of each column name */
+    private final Map<String, Integer> columns = new LinkedHashMap<>();
 
     public CsvParser(InputStream inputStream) throws IOException {
         this(new BufferedReader(new InputStreamReader(inputStream)));
     }
 
-    public CsvParser(BufferedReader reader) throws IOException {
-        headers = reader.lines().map(String::trim).findFirst().map(header -> Arrays.asList(header.split(","))).orElse(Collections.emptyList());
-        stream = reader.lines().map(String::trim).filter(not(String::isEmpty)).map(this::parseLine);
+    public CsvParser(Reader reader) throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(reader);
+        if (tokenizer.hasNext()) {
+            String[] headers = tokenizer.next();
+            for (int i = 0; i < headers.length; i++) {
+                columns.remove(headers[i]);
+                columns.put(headers[i], i);
+            }
+        }
+        Iterator<Map<String, String>> rows = new Iterator<Map<String, String>>() {
+            @Override
+            public boolean hasNext() {
+                return tokenizer.hasNext();
+            }
+
+            @Override
+            public Map<String, String> next() {
+                return new Row(tokenizer.next());
+            }
+        };
+        stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
 
     public Stream<Map<String, String>> getStream() {
         return stream;
     }
 
-    private Map<String, String> parseLine(String line) {
-        Map<String, String> record = new HashMap<>();
-        Matcher matcher = COLUMN_PATTERN.matcher(line);
-        headers.stream().forEach(header -> record.put(header, matcher.find() ? unquote(matcher.group("value")) : ""));
-        return record;
-    }
+    private class Row extends AbstractMap<String, String> {
+        private final String[] values;
+
+        public Row(String[] values) {
+            this.values = values;
+        }
+
+        private String getValue(int index) {
+            return index < values.length ? values[index] : "";
+        }
+
+        @Override
+        public String get(Object key) {
+            Integer index = columns.get(key);
+            return index == null ? null : getValue(index);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return columns.containsKey(key);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return Collections.unmodifiableSet(columns.keySet());
+        }
+
+        @Override
+        public int size() {
+            return columns.size();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    Iterator<Entry<String, Integer>> iterator = columns.entrySet().iterator();
+                    return new Iterator<Entry<String, String>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            Entry<String, Integer> column = iterator.next();
+                            return new SimpleImmutableEntry<>(column.getKey(), getValue(column.getValue()));
+                        }
+                    };
+                }
 
-    private String unquote(String value) {
-        if (value.matches("^\".*\"$")) {
-            value = value.substring(1, value.length() - 1);
+                @Override
+                public int size() {
+                    return columns.size();
+                }
+            };
         }
-        return value;
     }
 }
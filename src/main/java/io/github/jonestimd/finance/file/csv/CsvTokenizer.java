@@ -0,0 +1,149 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits CSV input into records in a single pass over the characters (RFC 4180).  Quoted fields may contain commas,
+ * line breaks and escaped quotes ({@code ""}).  Records are read on demand, so only the current record is held in
+ * memory.
+ * <p>
+ * Whitespace at the start and end of a record is ignored and blank lines are skipped.
+ */
+class CsvTokenizer implements Iterator<String[]> {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int EOF = -1;
+    private static final char QUOTE = '"';
+    private static final char SEPARATOR = ',';
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+    private String[] next;
+
+    public CsvTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) next = readRecord();
+        return next != null;
+    }
+
+    @Override
+    public String[] next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        String[] record = next;
+        next = null;
+        return record;
+    }
+
+    private int read() {
+        if (position == limit) {
+            try {
+                limit = reader.read(buffer, 0, BUFFER_SIZE);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * @return the fields of the next record or null at the end of the input
+     */
+    private String[] readRecord() {
+        int ch = skipWhitespace();
+        if (ch == EOF) return null;
+        fields.clear();
+        while (true) {
+            ch = ch == QUOTE ? readQuoted() : readUnquoted(ch);
+            fields.add(field.toString());
+            field.setLength(0);
+            if (ch != SEPARATOR) return fields.toArray(new String[fields.size()]);
+            ch = read();
+        }
+    }
+
+    private int skipWhitespace() {
+        int ch = read();
+        while (ch != EOF && ch <= ' ') ch = read();
+        return ch;
+    }
+
+    /**
+     * Read an unquoted field.  Trailing whitespace is removed from the last field of a record.
+     * @return the character following the field
+     */
+    private int readUnquoted(int ch) {
+        while (ch != SEPARATOR && !isEndOfRecord(ch)) {
+            field.append((char) ch);
+            ch = read();
+        }
+        if (ch != SEPARATOR) {
+            int length = field.length();
+            while (length > 0 && field.charAt(length - 1) <= ' ') length--;
+            field.setLength(length);
+        }
+        return ch;
+    }
+
+    /**
+     * Read a quoted field.  Characters between the closing quote and the next separator are ignored.
+     * @return the character following the field
+     */
+    private int readQuoted() {
+        int ch = read();
+        while (ch != EOF) {
+            if (ch == QUOTE) {
+                ch = read();
+                if (ch != QUOTE) break;
+            }
+            field.append((char) ch);
+            ch = read();
+        }
+        while (ch != SEPARATOR && !isEndOfRecord(ch)) ch = read();
+        return ch;
+    }
+
+    /**
+     * The line feed of a CRLF is skipped as whitespace at the start of the next record.
+     */
+    private boolean isEndOfRecord(int ch) {
+        return ch == '\r' || ch == '\n' || ch == EOF;
+    }
+}
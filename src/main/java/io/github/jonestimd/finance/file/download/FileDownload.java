@@ -27,6 +27,7 @@ import java.text.ParseException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.stream.Collectors;
 
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
@@ -69,7 +70,11 @@ public class FileDownload {
             FileDownload download = new FileDownload(config, context, buildClient(config));
             download.downloadNewStatements();
             if (args.length > 1) {
-                FileImportOperationsImpl.importFiles(args[1], context.getStatements());
+                List<File> failed = FileImportOperationsImpl.importFiles(args[1], context.getStatements());
+                if (!failed.isEmpty()) {
+                    LOGGER.error("Failed to import: " + failed.stream().map(File::getPath).collect(Collectors.joining(", ")));
+                    System.exit(1);
+                }
             }
         } catch (Exception ex) {
             LOGGER.error("Error processing download: " + args[0], ex);
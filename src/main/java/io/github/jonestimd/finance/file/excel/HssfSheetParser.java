@@ -0,0 +1,195 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.excel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.MulBlankRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RecordFactory;
+import org.apache.poi.hssf.record.RecordFactoryInputStream;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+
+/**
+ * Reads the rows of an XLS sheet from the workbook's record stream without building the workbook model.
+ */
+public class HssfSheetParser extends StreamingSheetParser {
+    private final NPOIFSFileSystem fileSystem;
+    private final RecordFactoryInputStream records;
+    private final FormatTrackingHSSFListener formatTracker = new FormatTrackingHSSFListener(record -> {});
+    /** the blank cells of a {@link MulBlankRecord} */
+    private final Deque<Record> blankCells = new ArrayDeque<>();
+    private final int sheetIndex;
+    private int currentSheet = -1;
+    private boolean inSheet;
+    private boolean endOfSheet;
+    private SSTRecord sharedStrings;
+    private boolean use1904Windowing;
+    /** the formula whose string value is in the next {@link StringRecord} */
+    private FormulaRecord stringFormula;
+    /** the first cell of the next row */
+    private CellValueRecordInterface nextCell;
+    private String nextValue;
+
+    public HssfSheetParser(InputStream stream, int sheetIndex, int headerRow) throws IOException {
+        super(stream, headerRow);
+        this.sheetIndex = sheetIndex;
+        NPOIFSFileSystem fileSystem = null;
+        try {
+            fileSystem = new NPOIFSFileSystem(getFile(), true);
+            DirectoryNode root = fileSystem.getRoot();
+            this.records = new RecordFactoryInputStream(root.createDocumentInputStream(HSSFWorkbook.getWorkbookDirEntryName(root)), false);
+            this.fileSystem = fileSystem;
+        } catch (IOException | RuntimeException ex) {
+            if (fileSystem != null) fileSystem.close();
+            deleteFile();
+            throw ex;
+        }
+    }
+
+    @Override
+    protected int readRow(Map<Integer, String> cells) {
+        int rowIndex = -1;
+        if (nextCell != null) {
+            rowIndex = nextCell.getRow();
+            cells.put((int) nextCell.getColumn(), nextValue);
+            nextCell = null;
+        }
+        Record record;
+        while ((record = nextSheetRecord()) != null) {
+            CellValueRecordInterface cell = stringFormula != null && record instanceof StringRecord ? stringFormula
+                    : record instanceof CellValueRecordInterface ? (CellValueRecordInterface) record : null;
+            String value = getValue(record);
+            if (value != null) {
+                if (rowIndex >= 0 && cell.getRow() != rowIndex) {
+                    nextCell = cell;
+                    nextValue = value;
+                    return rowIndex;
+                }
+                rowIndex = cell.getRow();
+                cells.put((int) cell.getColumn(), value);
+            }
+        }
+        return rowIndex;
+    }
+
+    /**
+     * @return the next record of the sheet or null at the end of the sheet
+     */
+    private Record nextSheetRecord() {
+        if (!blankCells.isEmpty()) return blankCells.remove();
+        while (!endOfSheet) {
+            Record record = records.nextRecord();
+            if (record == null) endOfSheet = true;
+            else {
+                formatTracker.processRecordInternally(record);
+                if (record instanceof BOFRecord && ((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+                    inSheet = ++currentSheet == sheetIndex;
+                }
+                else if (record instanceof SSTRecord) sharedStrings = (SSTRecord) record;
+                else if (record instanceof DateWindow1904Record) use1904Windowing = ((DateWindow1904Record) record).getWindowing() == 1;
+                else if (inSheet) {
+                    if (record instanceof EOFRecord) endOfSheet = true;
+                    else if (record instanceof MulBlankRecord) {
+                        blankCells.addAll(Arrays.asList(RecordFactory.convertBlankRecords((MulBlankRecord) record)));
+                        return blankCells.remove();
+                    }
+                    else return record;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the formatted value of a cell record or null if the record doesn't contain a cell value
+     */
+    private String getValue(Record record) {
+        if (record instanceof LabelSSTRecord) {
+            return sharedStrings.getString(((LabelSSTRecord) record).getSSTIndex()).getString();
+        }
+        if (record instanceof LabelRecord) return ((LabelRecord) record).getValue();
+        if (record instanceof BlankRecord) return "";
+        if (record instanceof NumberRecord) return formatNumber((NumberRecord) record, ((NumberRecord) record).getValue());
+        if (record instanceof BoolErrRecord) {
+            BoolErrRecord boolErr = (BoolErrRecord) record;
+            return boolErr.isBoolean() ? formatBoolean(boolErr.getBooleanValue()) : FormulaError.forInt(boolErr.getErrorValue()).getString();
+        }
+        if (record instanceof FormulaRecord) return getValue((FormulaRecord) record);
+        if (record instanceof StringRecord && stringFormula != null) {
+            stringFormula = null;
+            return ((StringRecord) record).getString();
+        }
+        return null;
+    }
+
+    /**
+     * Get the cached value of a formula.  A string value is in the following {@link StringRecord}.
+     */
+    private String getValue(FormulaRecord formula) {
+        if (formula.hasCachedResultString()) {
+            stringFormula = formula;
+            return null;
+        }
+        switch (CellType.forInt(formula.getCachedResultType())) {
+            case NUMERIC: return formatNumber(formula, formula.getValue());
+            case BOOLEAN: return formatBoolean(formula.getCachedBooleanValue());
+            case ERROR: return FormulaError.forInt(formula.getCachedErrorValue()).getString();
+            default: return null;
+        }
+    }
+
+    private String formatNumber(CellValueRecordInterface cell, double value) {
+        return formatNumber(value, formatTracker.getFormatIndex(cell), formatTracker.getFormatString(cell), use1904Windowing);
+    }
+
+    private String formatBoolean(boolean value) {
+        return value ? "TRUE" : "FALSE";
+    }
+
+    @Override
+    protected void closeFile() throws IOException {
+        fileSystem.close();
+    }
+}
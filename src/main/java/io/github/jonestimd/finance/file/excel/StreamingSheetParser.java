@@ -0,0 +1,161 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.excel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.jonestimd.finance.file.FileParser;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+/**
+ * Base class for parsers that read the rows of a spreadsheet as the stream is consumed.  The input is copied to a
+ * temporary file so that only the current row is held in memory.  The cells of the header row provide the column
+ * names for the following rows.
+ */
+abstract class StreamingSheetParser implements FileParser {
+    private final DataFormatter formatter = new DataFormatter();
+    private final int headerRow;
+    private final Map<Integer, String> cells = new HashMap<>();
+    private Map<Integer, String> columnNames = new HashMap<>();
+    private final File file;
+    private boolean closed;
+
+    protected StreamingSheetParser(InputStream stream, int headerRow) throws IOException {
+        this.headerRow = headerRow;
+        this.file = File.createTempFile("finances", ".sheet");
+        file.deleteOnExit();
+        try {
+            Files.copy(stream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            file.delete();
+            throw ex;
+        }
+    }
+
+    protected File getFile() {
+        return file;
+    }
+
+    /**
+     * Delete the temporary file.  Used by subclasses when the file can't be opened.
+     */
+    protected void deleteFile() {
+        file.delete();
+    }
+
+    /**
+     * Read the cells of the next row of the sheet that contains cells.
+     * @param cells receives the formatted value of each cell, keyed by column index (empty string for blank cells)
+     * @return the index of the row or -1 at the end of the sheet
+     */
+    protected abstract int readRow(Map<Integer, String> cells) throws IOException;
+
+    /**
+     * Release the resources used to read the file.
+     */
+    protected abstract void closeFile() throws IOException;
+
+    protected String formatNumber(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+        if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+            return formatter.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * @return the rows following the header row.  The stream must be closed to release the temporary file if it isn't
+     * read to the end.
+     */
+    @Override
+    public Stream<Map<String, String>> getStream() {
+        Iterator<Map<String, String>> rows = new Iterator<Map<String, String>>() {
+            private Map<String, String> next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) next = nextRow();
+                return next != null;
+            }
+
+            @Override
+            public Map<String, String> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Map<String, String> row = next;
+                next = null;
+                return row;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    private Map<String, String> nextRow() {
+        try {
+            int rowIndex;
+            do {
+                cells.clear();
+                rowIndex = closed ? -1 : readRow(cells);
+                if (rowIndex < 0) {
+                    close();
+                    return null;
+                }
+                if (rowIndex == headerRow) columnNames = new HashMap<>(cells);
+            } while (rowIndex <= headerRow);
+            Map<String, String> values = new HashMap<>();
+            cells.forEach((column, value) -> {
+                String key = columnNames.get(column);
+                if (key != null) values.put(key, value);
+            });
+            return values;
+        } catch (IOException ex) {
+            close();
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                closeFile();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                file.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.excel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads the rows of an XLSX sheet by pulling elements from the sheet's XML without building the workbook model.
+ */
+public class XssfSheetParser extends StreamingSheetParser {
+    private final OPCPackage workbook;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final InputStream sheet;
+    private final XMLStreamReader reader;
+    private int nextRow;
+    private int nextColumn;
+
+    public XssfSheetParser(InputStream stream, int sheetIndex, int headerRow) throws IOException {
+        super(stream, headerRow);
+        OPCPackage workbook = null;
+        try {
+            workbook = OPCPackage.open(getFile(), PackageAccess.READ);
+            XSSFReader xssfReader = new XSSFReader(workbook);
+            this.sharedStrings = new ReadOnlySharedStringsTable(workbook);
+            this.styles = xssfReader.getStylesTable();
+            Iterator<InputStream> sheets = xssfReader.getSheetsData();
+            for (int i = 0; i < sheetIndex; i++) sheets.next().close();
+            this.sheet = sheets.next();
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            this.reader = factory.createXMLStreamReader(sheet);
+            this.workbook = workbook;
+        } catch (OpenXML4JException | SAXException | XMLStreamException ex) {
+            openFailed(workbook);
+            throw new IOException(ex);
+        } catch (IOException | RuntimeException ex) {
+            openFailed(workbook);
+            throw ex;
+        }
+    }
+
+    private void openFailed(OPCPackage workbook) {
+        if (workbook != null) workbook.revert();
+        deleteFile();
+    }
+
+    @Override
+    protected int readRow(Map<Integer, String> cells) throws IOException {
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if ("row".equals(reader.getLocalName())) startRow();
+                    else if ("c".equals(reader.getLocalName())) readCell(cells);
+                }
+                else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(reader.getLocalName()) && !cells.isEmpty()) {
+                    return nextRow - 1;
+                }
+            }
+            return -1;
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private void startRow() {
+        String rowNumber = reader.getAttributeValue(null, "r");
+        if (rowNumber != null) nextRow = Integer.parseInt(rowNumber) - 1;
+        nextRow++;
+        nextColumn = 0;
+    }
+
+    /**
+     * Read a cell element.  Blank cells have an empty value.
+     */
+    private void readCell(Map<Integer, String> cells) throws XMLStreamException {
+        String reference = reader.getAttributeValue(null, "r");
+        int column = reference == null ? nextColumn : new CellReference(reference).getCol();
+        nextColumn = column + 1;
+        String type = reader.getAttributeValue(null, "t");
+        String style = reader.getAttributeValue(null, "s");
+        String value = null;
+        StringBuilder inlineString = new StringBuilder();
+        while (reader.next() != XMLStreamConstants.END_ELEMENT || !"c".equals(reader.getLocalName())) {
+            if (reader.isStartElement()) {
+                if ("v".equals(reader.getLocalName())) value = reader.getElementText();
+                else if ("t".equals(reader.getLocalName())) inlineString.append(reader.getElementText());
+            }
+        }
+        if ("inlineStr".equals(type)) cells.put(column, inlineString.toString());
+        else cells.put(column, value == null ? "" : formatValue(type, style, value));
+    }
+
+    private String formatValue(String type, String style, String value) {
+        if ("s".equals(type)) return sharedStrings.getEntryAt(Integer.parseInt(value));
+        if ("b".equals(type)) return "1".equals(value) ? "TRUE" : "FALSE";
+        if ("str".equals(type) || "e".equals(type)) return value;
+        if (style == null) return String.valueOf(Double.parseDouble(value));
+        XSSFCellStyle cellStyle = styles.getStyleAt(Integer.parseInt(style));
+        return formatNumber(Double.parseDouble(value), cellStyle.getDataFormat(), cellStyle.getDataFormatString(), false);
+    }
+
+    @Override
+    protected void closeFile() throws IOException {
+        try {
+            reader.close();
+            sheet.close();
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        } finally {
+            workbook.revert();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.pdf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import io.github.jonestimd.finance.domain.fileimport.ImportField;
+import io.github.jonestimd.finance.domain.fileimport.PageRegion;
+
+/**
+ * Index of import fields by label prefix and page region.  Finding the fields that match a prefix and position takes
+ * two binary searches and the intersection of three bit sets, instead of testing the labels and region of every
+ * field.
+ */
+class FieldIndex {
+    private final ImportField[] fields;
+    /** the fields having a label that starts with each upper case prefix */
+    private final Map<String, BitSet> labelPrefixes = new HashMap<>();
+    private final AxisIndex xIndex;
+    private final AxisIndex yIndex;
+
+    public FieldIndex(Collection<ImportField> importFields) {
+        this.fields = importFields.toArray(new ImportField[importFields.size()]);
+        for (int i = 0; i < fields.length; i++) {
+            for (String label : fields[i].getLabels()) {
+                String upperLabel = label.toUpperCase();
+                for (int length = 0; length <= upperLabel.length(); length++) {
+                    labelPrefixes.computeIfAbsent(upperLabel.substring(0, length), prefix -> new BitSet(fields.length)).set(i);
+                }
+            }
+        }
+        xIndex = new AxisIndex(fields, region -> Math.min(region.labelLeft(), region.valueLeft()),
+                region -> Math.max(region.labelRight(), region.valueRight()));
+        yIndex = new AxisIndex(fields, PageRegion::bottom, PageRegion::top);
+    }
+
+    /**
+     * @param upperPrefix the upper case label prefix
+     * @return the fields that have a label starting with {@code upperPrefix} and a region containing the position
+     */
+    public List<ImportField> getMatches(String upperPrefix, float x, float y) {
+        BitSet labelMatches = labelPrefixes.get(upperPrefix);
+        if (labelMatches == null) return Collections.emptyList();
+        BitSet matches = (BitSet) labelMatches.clone();
+        matches.and(xIndex.getFields(x));
+        matches.and(yIndex.getFields(y));
+        List<ImportField> result = new ArrayList<>(matches.cardinality());
+        matches.stream().forEach(index -> result.add(fields[index]));
+        return result;
+    }
+
+    /**
+     * Index of the field ranges on one axis.  The distinct range limits split the axis into slots consisting of each
+     * limit and the open intervals between them.  Each slot has the set of fields whose range covers it.
+     */
+    private static class AxisIndex {
+        private final float[] limits;
+        private final BitSet[] slots;
+
+        public AxisIndex(ImportField[] fields, Function<PageRegion, Float> getMin, Function<PageRegion, Float> getMax) {
+            TreeSet<Float> limitSet = new TreeSet<>();
+            for (ImportField field : fields) {
+                if (field.getRegion() != null) {
+                    limitSet.add(getMin.apply(field.getRegion()));
+                    limitSet.add(getMax.apply(field.getRegion()));
+                }
+            }
+            limits = new float[limitSet.size()];
+            int index = 0;
+            for (Float limit : limitSet) limits[index++] = limit;
+            slots = new BitSet[limits.length * 2 + 1];
+            for (int i = 0; i < slots.length; i++) slots[i] = new BitSet(fields.length);
+            for (int i = 0; i < fields.length; i++) {
+                PageRegion region = fields[i].getRegion();
+                int first = region == null ? 0 : getSlot(getMin.apply(region));
+                int last = region == null ? slots.length - 1 : getSlot(getMax.apply(region));
+                for (int slot = first; slot <= last; slot++) slots[slot].set(i);
+            }
+        }
+
+        private int getSlot(float value) {
+            int index = Arrays.binarySearch(limits, value);
+            return index >= 0 ? index * 2 + 1 : -(index + 1) * 2;
+        }
+
+        public BitSet getFields(float value) {
+            return slots[getSlot(value)];
+        }
+    }
+}
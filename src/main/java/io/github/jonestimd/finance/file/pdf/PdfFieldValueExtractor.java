@@ -31,20 +31,21 @@ import java.util.stream.Stream;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
 import io.github.jonestimd.finance.domain.fileimport.ImportField;
-import io.github.jonestimd.util.Streams;
 import org.apache.pdfbox.util.Vector;
 
 import static com.google.common.collect.Multimaps.*;
 
 public class PdfFieldValueExtractor {
-    private final Collection<ImportField> importFields;
+    private final FieldIndex fieldIndex;
 
     public PdfFieldValueExtractor(Collection<ImportField> importFields) {
-        this.importFields = importFields;
+        this.fieldIndex = new FieldIndex(importFields);
     }
 
     public Iterable<ListMultimap<ImportField, String>> parse(InputStream inputStream) throws IOException {
-        return Collections.singleton(getFieldValues(new TextExtractor(inputStream).getText()));
+        try (Stream<Pair<Vector, String>> pdfText = new TextExtractor(inputStream).getText()) {
+            return Collections.singleton(getFieldValues(pdfText));
+        }
     }
 
     protected ListMultimap<ImportField, String> getFieldValues(Stream<Pair<Vector, String>> pdfText) {
@@ -83,11 +84,7 @@ public class PdfFieldValueExtractor {
         }
 
         private List<ImportField> getMatches() {
-            return Streams.filter(importFields, this::isMatch);
-        }
-
-        private boolean isMatch(ImportField field) {
-            return field.isMatch(prefix.toString().trim()) && field.isInRegion(x, y);
+            return fieldIndex.getMatches(prefix.toString().trim(), x, y);
         }
 
         protected void appendPrefix(String value) {
@@ -102,7 +99,7 @@ public class PdfFieldValueExtractor {
         }
 
         private boolean isPastRightEdge(float x) {
-            return importFields.stream().filter(this::isMatch).allMatch(field -> field.isPastRightEdge(x));
+            return getMatches().stream().allMatch(field -> field.isPastRightEdge(x));
         }
 
         protected void appendValue(ImportField field, String value) {
@@ -21,14 +21,33 @@
 // SOFTWARE.
 package io.github.jonestimd.finance.file.pdf;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.pdfbox.io.RandomAccessBufferedFileInputStream;
 import org.apache.pdfbox.pdfparser.PDFParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -36,27 +55,171 @@ import org.apache.pdfbox.util.Vector;
 
 import static io.github.jonestimd.finance.file.pdf.VectorComparator.*;
 
+/**
+ * Extracts the text of a PDF, sorted by position on each page.  Pages are extracted by a bounded pool of worker
+ * threads as the text is consumed.  Only a window of pages is held in memory and the pages are returned in document
+ * order.  PDFBox documents are not thread safe, so each worker uses its own copy of the document.  The number of
+ * workers is reduced for large files to limit the memory used by the copies.
+ */
 public class TextExtractor {
     private static final Comparator<PdfTextInfo> TEXT_ORDERING = Comparator.comparing(PdfTextInfo::getPos, TOP_DOWN_LEFT_TO_RIGHT);
-    private final List<List<PdfTextInfo>> pageText = new ArrayList<>();
+    /** the maximum number of threads used to extract pages */
+    private static final int MAX_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+    /** the maximum total size of the document copies used by the workers */
+    private static final long MAX_COPY_BYTES = 32L * 1024 * 1024;
+    private final File file;
+    private final int pageCount;
+    private final ExecutorService executor;
+    /** the maximum number of pages that are extracted ahead of the consumer */
+    private final int pageWindow;
+    /** documents that are not being used by a worker */
+    private final Queue<PageReader> idleReaders = new ConcurrentLinkedQueue<>();
+    private boolean closed;
 
     public TextExtractor(InputStream is) throws IOException {
-        TextExtractorEngine extractor = new TextExtractorEngine();
-        PDFParser parser = new PDFParser(new RandomAccessBufferedFileInputStream(is));
-        parser.parse();
-        PDDocument document = parser.getPDDocument();
-        for (int i = 0; i < document.getNumberOfPages(); i++) {
-            extractor.processPage(document.getPage(i));
-            pageText.add(extractor.getDocumentText());
+        file = File.createTempFile("finances", ".pdf");
+        file.deleteOnExit();
+        try {
+            Files.copy(is, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            PageReader reader = new PageReader();
+            idleReaders.add(reader);
+            pageCount = reader.document.getNumberOfPages();
+        } catch (IOException | RuntimeException ex) {
+            file.delete();
+            throw ex;
+        }
+        int threads = getThreadCount(file.length(), pageCount);
+        executor = threads > 1 ? Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setNameFormat("pdf-text-%d").setDaemon(true).build()) : null;
+        pageWindow = executor == null ? 1 : 2 * threads;
+    }
+
+    /**
+     * @return the number of workers to use, limited so that the copies of the document fit in {@link #MAX_COPY_BYTES}
+     */
+    static int getThreadCount(long fileSize, int pageCount) {
+        long copies = Math.max(1L, MAX_COPY_BYTES / Math.max(1L, fileSize));
+        return (int) Math.min(Math.min(MAX_THREADS, pageCount), copies);
+    }
+
+    private List<PdfTextInfo> extractPage(int pageIndex) throws IOException {
+        PageReader reader = idleReaders.poll();
+        if (reader == null) reader = new PageReader();
+        try {
+            return reader.extractPage(pageIndex);
+        } finally {
+            idleReaders.add(reader);
         }
     }
 
     private static Stream<Pair<Vector, String>> toPairs(List<PdfTextInfo> infos) {
-        return infos.stream().sorted(TEXT_ORDERING).map(info -> new Pair<>(info.getPos(), info.getText()));
+        return infos.stream().map(info -> new Pair<>(info.getPos(), info.getText()));
     }
 
+    /**
+     * @return the text of the document.  The text can only be streamed once.
+     */
     public Stream<Pair<Vector, String>> getText() {
-        return pageText.stream().flatMap(TextExtractor::toPairs);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new PageIterator(), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close).flatMap(TextExtractor::toPairs);
+    }
+
+    private synchronized void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                if (executor != null) {
+                    executor.shutdownNow();
+                    executor.awaitTermination(1, TimeUnit.MINUTES);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                idleReaders.forEach(PageReader::close);
+                idleReaders.clear();
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Returns the text of the pages in document order while keeping the workers busy with the following pages.
+     */
+    private class PageIterator implements Iterator<List<PdfTextInfo>> {
+        private final Deque<Future<List<PdfTextInfo>>> pages = new ArrayDeque<>();
+        private int nextPage;
+
+        private void submitPages() {
+            while (nextPage < pageCount && pages.size() < pageWindow) {
+                int pageIndex = nextPage++;
+                if (executor == null) {
+                    FutureTask<List<PdfTextInfo>> task = new FutureTask<>(() -> extractPage(pageIndex));
+                    task.run();
+                    pages.add(task);
+                }
+                else pages.add(executor.submit(() -> extractPage(pageIndex)));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!closed) submitPages();
+            if (pages.isEmpty()) close();
+            return !pages.isEmpty();
+        }
+
+        @Override
+        public List<PdfTextInfo> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            try {
+                List<PdfTextInfo> text = pages.remove().get();
+                submitPages();
+                return text;
+            } catch (InterruptedException ex) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            } catch (ExecutionException ex) {
+                close();
+                if (ex.getCause() instanceof IOException) throw new UncheckedIOException((IOException) ex.getCause());
+                throw new IllegalStateException(ex.getCause());
+            }
+        }
+    }
+
+    /**
+     * A copy of the document and a text engine for extracting pages on one thread.
+     */
+    private class PageReader {
+        private final PDDocument document;
+        private final TextExtractorEngine engine = new TextExtractorEngine();
+
+        public PageReader() throws IOException {
+            RandomAccessBufferedFileInputStream input = new RandomAccessBufferedFileInputStream(file);
+            try {
+                PDFParser parser = new PDFParser(input);
+                parser.parse();
+                document = parser.getPDDocument();
+            } catch (IOException | RuntimeException ex) {
+                input.close();
+                throw ex;
+            }
+        }
+
+        public List<PdfTextInfo> extractPage(int pageIndex) throws IOException {
+            engine.processPage(document.getPage(pageIndex));
+            List<PdfTextInfo> text = engine.getDocumentText();
+            text.sort(TEXT_ORDERING);
+            return text;
+        }
+
+        public void close() {
+            try {
+                document.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
     }
 
     public static void main(String[] args) {
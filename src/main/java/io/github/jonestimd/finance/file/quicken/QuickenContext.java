@@ -26,9 +26,12 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import io.github.jonestimd.cache.CachingMethodInterceptor;
+import io.github.jonestimd.finance.domain.account.Account;
 import io.github.jonestimd.finance.domain.account.AccountType;
+import io.github.jonestimd.finance.file.FileExport;
 import io.github.jonestimd.finance.file.FileImport;
 import io.github.jonestimd.finance.file.quicken.capitalgain.CapitalGainImport;
 import io.github.jonestimd.finance.file.quicken.handler.ActionAmountSecurityDetailHandler;
@@ -44,9 +47,11 @@ import io.github.jonestimd.finance.file.quicken.qif.CategoryConverter;
 import io.github.jonestimd.finance.file.quicken.qif.ClassConverter;
 import io.github.jonestimd.finance.file.quicken.qif.MoneyTransactionConverter;
 import io.github.jonestimd.finance.file.quicken.qif.PayeeCache;
+import io.github.jonestimd.finance.file.quicken.qif.QifFileExport;
 import io.github.jonestimd.finance.file.quicken.qif.QifImport;
 import io.github.jonestimd.finance.file.quicken.qif.SecurityConverter;
 import io.github.jonestimd.finance.file.quicken.qif.SecurityTransactionConverter;
+import io.github.jonestimd.finance.file.quicken.qif.TransactionBatch;
 import io.github.jonestimd.finance.file.quicken.qif.TransferDetailCache;
 import io.github.jonestimd.finance.operations.AccountOperations;
 import io.github.jonestimd.finance.operations.AssetOperations;
@@ -192,6 +197,35 @@ public class QuickenContext {
         return serviceLocator.transactional(qifImport, FileImport.class);
     }
 
+    /**
+     * Create an import that converts all of the records before inserting the transactions in batches.  Transfers are
+     * paired in memory and domain events are not recorded for the imported transactions.
+     */
+    public FileImport newBulkQifImport() {
+        TransactionBatch batch = new TransactionBatch(serviceLocator.getTransactionService());
+        getSecurityTransactionConverter();
+        QifImport qifImport = new QifImport(Arrays.asList(getAccountConverter(), getCategoryConverter(), getClassConverter(),
+                getSecurityConverter(),
+                new MoneyTransactionConverter(cachedTransactionCategoryOperations, serviceLocator.getTransactionGroupOperations(),
+                        getPayeeCache(), serviceLocator.getTransactionService(), cachedAccountOperations, transferDetailCache, batch),
+                new SecurityTransactionConverter(serviceLocator.getTransactionService(), securityHandlers, batch)), batch);
+        return serviceLocator.transactional(qifImport, FileImport.class);
+    }
+
+    /**
+     * Create an export of all accounts.
+     */
+    public FileExport newQifExport() {
+        return newQifExport(account -> true);
+    }
+
+    /**
+     * Create an export that includes the transactions for the accounts selected by {@code accountFilter}.
+     */
+    public FileExport newQifExport(Predicate<Account> accountFilter) {
+        return serviceLocator.transactional(new QifFileExport(serviceLocator, accountFilter), FileExport.class);
+    }
+
     public FileImport newCapitalGainsImport(LotAllocationDialog lotAllocationDialog) {
         CapitalGainImport cgImport = new CapitalGainImport(serviceLocator.getTransactionService(), lotAllocationDialog);
         return serviceLocator.transactional(cgImport, FileImport.class);
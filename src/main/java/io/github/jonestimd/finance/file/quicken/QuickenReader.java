@@ -27,10 +27,18 @@ import java.io.Reader;
 
 public abstract class QuickenReader<T extends QuickenRecord> {
     private BufferedReader reader;
-    private long lineNumber = 1L;
+    private long lineNumber;
 
     public QuickenReader(Reader reader) {
+        this(reader, 1L);
+    }
+
+    /**
+     * @param firstLine the line number of the first line of {@code reader}
+     */
+    public QuickenReader(Reader reader, long firstLine) {
         this.reader = new BufferedReader(reader);
+        this.lineNumber = firstLine;
     }
 
     public T nextRecord() throws IOException {
@@ -24,8 +24,6 @@ package io.github.jonestimd.finance.file.quicken.capitalgain;
 import java.math.BigDecimal;
 import java.text.MessageFormat;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -39,7 +37,6 @@ import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
 import io.github.jonestimd.finance.file.quicken.QuickenException;
 import io.github.jonestimd.finance.service.TransactionService;
 import io.github.jonestimd.finance.swing.BundleType;
-import io.github.jonestimd.subset.SubsetSum;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 
@@ -52,17 +49,28 @@ import org.apache.log4j.Logger;
 public class SaleMatcher {
     private static final BigDecimal IMPORT_SHARES_ERROR = new BigDecimal("0.0005");
     private static final BigDecimal IMPORT_AMOUNT_ERROR = new BigDecimal("0.005");
+    /** default limit on the number of records (or unmatched records) for a sale */
+    public static final int DEFAULT_MAX_LOTS = 12;
     private static final String MESSAGE_PREFIX = "import.capitalGains";
     private static final String MISSING_SALE = MESSAGE_PREFIX + ".missingSale";
     private static final String NO_LOTS_FOR_SALE = MESSAGE_PREFIX + ".noLotsForSale";
     private final Logger logger = Logger.getLogger(getClass());
-    private static final Comparator<Collection<?>> SIZE_ASCENDING = Comparator.comparingInt(Collection::size);
 
     private Map<CapitalGain, SecurityLot> recordLotMap = new HashMap<>();
     private TransactionService transactionService;
+    private final SubsetMatcher<CapitalGain> subsetMatcher;
 
     public SaleMatcher(TransactionService transactionService) {
+        this(transactionService, DEFAULT_MAX_LOTS);
+    }
+
+    /**
+     * @param maxLots the maximum number of records that will be combined to match a sale.  Larger subsets are found
+     *        by matching the remaining records or, if that fails, by combining as many records as memory allows.
+     */
+    public SaleMatcher(TransactionService transactionService, int maxLots) {
         this.transactionService = transactionService;
+        this.subsetMatcher = new SubsetMatcher<>(CapitalGain.SHARES_ADAPTER, IMPORT_SHARES_ERROR, maxLots);
         logger.setResourceBundle(BundleType.MESSAGES.get());
     }
 
@@ -129,14 +137,8 @@ public class SaleMatcher {
     private List<CapitalGain> getLots(Collection<CapitalGain> dateLots, TransactionDetail sale) throws QuickenException {
         BigDecimal assetQuantity = sale.getAssetQuantity().negate();
         boolean zeroAmount = BigDecimal.ZERO.compareTo(sale.getAmount()) == 0;
-        List<List<CapitalGain>> subsets = SubsetSum.subsets(assetQuantity, IMPORT_SHARES_ERROR, dateLots, CapitalGain.SHARES_ADAPTER, -1);
-        subsets.sort(SIZE_ASCENDING);
-        for (List<CapitalGain> subset : subsets) {
-            if (zeroAmount || isSaleAmountEqual(subset, sale.getTransaction().getAmount())) {
-                return subset;
-            }
-        }
-        return Collections.emptyList();
+        BigDecimal saleAmount = sale.getTransaction().getAmount();
+        return subsetMatcher.find(dateLots, assetQuantity, subset -> zeroAmount || isSaleAmountEqual(subset, saleAmount));
     }
 
     private boolean isSaleAmountEqual(Collection<CapitalGain> records, BigDecimal target) {
@@ -0,0 +1,318 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.quicken.capitalgain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the smallest subset of items whose values add up to a target.  The values are scaled to {@code long}s and
+ * the search is done by meet-in-the-middle: the items are split into two halves, the subsets of each half are
+ * generated one size at a time and sorted by their sums, and a binary search of the second half finds the partners
+ * for each subset of the first half.  Subsets are tried in order of ascending size and the search stops at the first
+ * one that passes the caller's filter.
+ * <p>
+ * The {@code maxDepth} limits the number of items that are combined, so the work is bounded by
+ * <code>O(n<sup>maxDepth/2</sup>)</code>.  Large subsets are found by matching their complements against the remainder
+ * of the total, so a subset can have up to {@code maxDepth} items or all but {@code maxDepth} of the items.  The
+ * combinations generated for each half are also limited to {@link #MAX_COMBINATIONS} so that the memory used by the
+ * search stays bounded.
+ * <p>
+ * If there is no match within {@code maxDepth}, then the search continues with the remaining subset sizes in order of
+ * ascending size, combining as many items as the limit on combinations allows.  The number of candidate subsets
+ * passed to the filter is limited to {@link #MAX_CANDIDATES}, so the search takes bounded time even when many subsets
+ * have the same sum.  Sizes that exceed those limits are not searched.
+ * @param <T> the item type
+ */
+class SubsetMatcher<T> {
+    /** maximum number of combinations generated for each half of the items */
+    private static final int MAX_COMBINATIONS = 1 << 20;
+    /** maximum number of subsets passed to the filter */
+    private static final int MAX_CANDIDATES = 1 << 20;
+    private final Function<? super T, BigDecimal> valueAdapter;
+    private final BigDecimal tolerance;
+    private final int maxDepth;
+
+    /**
+     * @param valueAdapter function that provides the value of an item
+     * @param tolerance maximum difference between the sum of a subset and the target
+     * @param maxDepth maximum number of items in a subset or in its complement
+     */
+    SubsetMatcher(Function<? super T, BigDecimal> valueAdapter, BigDecimal tolerance, int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative");
+        }
+        this.valueAdapter = valueAdapter;
+        this.tolerance = tolerance;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @param items the items to search
+     * @param target the required sum of the subset
+     * @param filter additional condition for the subset
+     * @return the smallest matching subset (in the order of {@code items}) or an empty list if there is no match
+     */
+    public List<T> find(Collection<? extends T> items, BigDecimal target, Predicate<List<T>> filter) {
+        return new Search(items, target, filter).find();
+    }
+
+    private class Search {
+        private final List<T> items;
+        private final Predicate<List<T>> filter;
+        private final long target;
+        private final long total;
+        private final long tolerance;
+        private final Half first;
+        private final Half second;
+        /** the number of subsets that have been passed to the filter */
+        private int candidates;
+
+        private Search(Collection<? extends T> items, BigDecimal target, Predicate<List<T>> filter) {
+            this.items = new ArrayList<>(items);
+            this.filter = filter;
+            List<BigDecimal> values = new ArrayList<>(this.items.size());
+            int scale = Math.max(target.scale(), SubsetMatcher.this.tolerance.scale());
+            for (T item : this.items) {
+                BigDecimal value = valueAdapter.apply(item);
+                values.add(value);
+                scale = Math.max(scale, value.scale());
+            }
+            long[] scaledValues = new long[values.size()];
+            long total = 0L;
+            for (int i = 0; i < scaledValues.length; i++) {
+                scaledValues[i] = unscaled(values.get(i), scale);
+                total += scaledValues[i];
+            }
+            this.target = unscaled(target, scale);
+            this.total = total;
+            this.tolerance = unscaled(SubsetMatcher.this.tolerance, scale);
+            int middle = scaledValues.length / 2;
+            this.first = new Half(scaledValues, 0, middle);
+            this.second = new Half(scaledValues, middle, scaledValues.length);
+        }
+
+        private long unscaled(BigDecimal value, int scale) {
+            return value.setScale(scale).unscaledValue().longValueExact();
+        }
+
+        public List<T> find() {
+            int count = items.size();
+            for (int size = 1; size <= count; size++) {
+                if (getDepth(size) <= maxDepth) {
+                    List<T> subset = find(size);
+                    if (subset != null) {
+                        return subset;
+                    }
+                }
+            }
+            // the deeper levels are only generated as far as the limit on combinations allows
+            for (int size = 1; size <= count; size++) {
+                if (getDepth(size) > maxDepth) {
+                    List<T> subset = find(size);
+                    if (subset != null) {
+                        return subset;
+                    }
+                }
+            }
+            return Collections.emptyList();
+        }
+
+        /**
+         * @return the number of items that are combined to find a subset of {@code size} items
+         */
+        private int getDepth(int size) {
+            return Math.min(size, items.size() - size);
+        }
+
+        private List<T> find(int size) {
+            int depth = getDepth(size);
+            boolean complement = depth < size;
+            return find(depth, complement ? total - target : target, complement);
+        }
+
+        /**
+         * Try the combinations of {@code depth} items that add up to {@code sum}.
+         * @param complement true if the subset consists of the items that are not combined
+         * @return the first subset that passes the filter or {@code null}
+         */
+        private List<T> find(int depth, long sum, boolean complement) {
+            int minFirst = Math.max(0, depth - second.size());
+            int maxFirst = Math.min(depth, first.size());
+            for (int firstDepth = minFirst; firstDepth <= maxFirst; firstDepth++) {
+                Level firstLevel = first.getLevel(firstDepth);
+                Level secondLevel = second.getLevel(depth - firstDepth);
+                if (firstLevel == null || secondLevel == null) {
+                    continue;
+                }
+                for (int i = 0; i < firstLevel.sums.length; i++) {
+                    long remainder = sum - firstLevel.sums[i];
+                    for (int j = secondLevel.lowerBound(remainder - tolerance); j < secondLevel.order.length; j++) {
+                        int entry = secondLevel.order[j];
+                        if (secondLevel.sums[entry] > remainder + tolerance || candidates >= MAX_CANDIDATES) {
+                            break;
+                        }
+                        candidates++;
+                        List<T> subset = getSubset(firstDepth, i, depth - firstDepth, entry, complement);
+                        if (filter.test(subset)) {
+                            return subset;
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        private List<T> getSubset(int firstDepth, int firstEntry, int secondDepth, int secondEntry, boolean complement) {
+            boolean[] selected = new boolean[items.size()];
+            first.select(firstDepth, firstEntry, selected);
+            second.select(secondDepth, secondEntry, selected);
+            List<T> subset = new ArrayList<>();
+            for (int i = 0; i < selected.length; i++) {
+                if (selected[i] != complement) {
+                    subset.add(items.get(i));
+                }
+            }
+            return subset;
+        }
+    }
+
+    /**
+     * The combinations of items from half of the list.  Level {@code n} contains the combinations of {@code n} items.
+     * Levels are only generated while the total number of combinations is at most {@link #MAX_COMBINATIONS}.
+     */
+    private static class Half {
+        private final long[] values;
+        private final int offset;
+        private final int end;
+        private final List<Level> levels = new ArrayList<>();
+        private long combinations = 1L;
+        /** the first level that exceeds the limit on combinations */
+        private int maxLevel = Integer.MAX_VALUE;
+
+        private Half(long[] values, int offset, int end) {
+            this.values = values;
+            this.offset = offset;
+            this.end = end;
+            levels.add(new Level(new long[] {0L}, new int[] {-1}, new int[] {-1}));
+        }
+
+        public int size() {
+            return end - offset;
+        }
+
+        /**
+         * @return the combinations of {@code depth} items or {@code null} if there are too many combinations
+         */
+        public Level getLevel(int depth) {
+            while (levels.size() <= depth) {
+                if (levels.size() >= maxLevel) {
+                    return null;
+                }
+                Level next = nextLevel(levels.get(levels.size() - 1));
+                if (next == null) {
+                    maxLevel = levels.size();
+                    return null;
+                }
+                levels.add(next);
+            }
+            return levels.get(depth);
+        }
+
+        /**
+         * Extend each combination of the previous level with each of the items that follow its last item.
+         * @return the next level or {@code null} if it would exceed the limit on combinations
+         */
+        private Level nextLevel(Level previous) {
+            long count = 0L;
+            for (int item : previous.items) {
+                count += end - offset - item - 1;
+            }
+            if (combinations + count > MAX_COMBINATIONS) {
+                return null;
+            }
+            combinations += count;
+            long[] sums = new long[(int) count];
+            int[] parents = new int[(int) count];
+            int[] items = new int[(int) count];
+            int entry = 0;
+            for (int parent = 0; parent < previous.sums.length; parent++) {
+                for (int item = previous.items[parent] + 1; item < end - offset; item++) {
+                    sums[entry] = previous.sums[parent] + values[offset + item];
+                    parents[entry] = parent;
+                    items[entry++] = item;
+                }
+            }
+            return new Level(sums, parents, items);
+        }
+
+        public void select(int depth, int entry, boolean[] selected) {
+            for (; depth > 0; depth--) {
+                Level level = levels.get(depth);
+                selected[offset + level.items[entry]] = true;
+                entry = level.parents[entry];
+            }
+        }
+    }
+
+    private static class Level {
+        private final long[] sums;
+        private final int[] parents;
+        /** the last item of each combination */
+        private final int[] items;
+        /** the combinations ordered by ascending sum */
+        private final int[] order;
+
+        private Level(long[] sums, int[] parents, int[] items) {
+            this.sums = sums;
+            this.parents = parents;
+            this.items = items;
+            this.order = IntStream.range(0, sums.length).boxed()
+                    .sorted(Comparator.comparingLong(entry -> sums[entry]))
+                    .mapToInt(Integer::intValue).toArray();
+        }
+
+        /**
+         * @return the index in {@link #order} of the first combination whose sum is not less than {@code sum}
+         */
+        public int lowerBound(long sum) {
+            int low = 0, high = order.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (sums[order[middle]] < sum) {
+                    low = middle + 1;
+                }
+                else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
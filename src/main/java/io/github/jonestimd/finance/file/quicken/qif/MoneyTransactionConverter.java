@@ -50,6 +50,7 @@ public class MoneyTransactionConverter implements RecordConverter {
     private TransactionService transactionService;
     private AccountOperations accountOperations;
     private TransferDetailCache pendingTransferDetails;
+    private TransactionBatch batch;
 
     private static final String[] RECORD_TYPES = {
         "Type:Bank", "Type:Cash", "Type:CCard", "Type:Oth L",
@@ -66,6 +67,16 @@ public class MoneyTransactionConverter implements RecordConverter {
         this.pendingTransferDetails = pendingTransferDetails;
     }
 
+    /**
+     * Create a converter for a bulk import.  The transactions are added to {@code batch} instead of being saved.
+     */
+    public MoneyTransactionConverter(TransactionCategoryOperations txTypeOperations, TransactionGroupOperations txGroupOperations,
+            PayeeOperations payeeOperations, TransactionService txService, AccountOperations accountOperations,
+            TransferDetailCache pendingTransferDetails, TransactionBatch batch) {
+        this(txTypeOperations, txGroupOperations, payeeOperations, txService, accountOperations, pendingTransferDetails);
+        this.batch = batch;
+    }
+
     @Override
     public String getStatusKey() {
         return "import.qif.moneyTransaction.converter.status";
@@ -100,7 +111,8 @@ public class MoneyTransactionConverter implements RecordConverter {
             unmergeCombinedSplitTransfer(detail, amount);
             Transaction pendingTransaction = detail.getTransaction();
             transaction.addDetails(new ArrayList<>(pendingTransaction.getDetails()));
-            transactionService.deleteTransaction(pendingTransaction);
+            if (batch == null) transactionService.deleteTransaction(pendingTransaction);
+            else batch.remove(pendingTransaction);
         }
     }
 
@@ -118,8 +130,10 @@ public class MoneyTransactionConverter implements RecordConverter {
         else {
             transfer.addDetails(detail.getRelatedDetail());
         }
-        transactionService.saveDetail(detail);
-        transactionService.saveDetail(detail.getRelatedDetail());
+        if (batch == null) {
+            transactionService.saveDetail(detail);
+            transactionService.saveDetail(detail.getRelatedDetail());
+        }
     }
 
     /**
@@ -138,7 +152,7 @@ public class MoneyTransactionConverter implements RecordConverter {
             BigDecimal transferTotal) {
         Transaction relatedTransaction = new Transaction(account, transaction.getDate(),
                 transaction.getPayee(), transaction.isCleared(), memo, detail.getRelatedDetail());
-        transactionService.saveTransaction(relatedTransaction);
+        saveTransaction(relatedTransaction);
         pendingTransferDetails.add(detail.getRelatedDetail(), transferTotal.negate());
     }
 
@@ -159,13 +173,18 @@ public class MoneyTransactionConverter implements RecordConverter {
         BigDecimal amount = record.getBigDecimal(AMOUNT);
 
         Transaction transaction = record.createTransaction(account, payee);
-        transactionService.saveTransaction(transaction);
+        saveTransaction(transaction);
         addDetails(transaction, record);
         if (! transaction.getAmount().equals(amount)) {
             throw new QuickenException("invalidSplit", amount, transaction.getAmount(), record.getStartingLine());
         }
     }
 
+    private void saveTransaction(Transaction transaction) {
+        if (batch == null) transactionService.saveTransaction(transaction);
+        else batch.add(transaction);
+    }
+
     private Payee getOrCreatePayee(String name) {
         if (name == null) return null;
         Payee payee = payeeOperations.getPayee(name);
@@ -0,0 +1,180 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.quicken.qif;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Reads QIF records using worker threads to parse the input.  The input is split into chunks at the section
+ * boundaries ({@code !Account}, {@code !Type}, etc.) and at the end of a record after every {@link #CHUNK_LINES}
+ * lines.  The chunks are parsed concurrently and the records are returned in the order of the input, so parsing
+ * overlaps with the conversion of the previous records.
+ */
+public class ParallelQifReader implements Closeable {
+    private static final int MAX_THREADS = 4;
+    static final int CHUNK_LINES = 4096;
+    private final BufferedReader reader;
+    private final ExecutorService executor;
+    private final int window;
+    private final Deque<Future<Chunk>> chunks = new ArrayDeque<>();
+    /** the line number of the next line to be read from the input */
+    private long nextLine = 1L;
+    /** the first line of the next chunk, read ahead to find the end of the previous chunk */
+    private String pendingLine;
+    private boolean eof;
+    private Chunk currentChunk;
+    private Iterator<QifRecord> records = Collections.emptyIterator();
+    private long lineNumber = 1L;
+
+    public ParallelQifReader(Reader reader) {
+        this(reader, Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS));
+    }
+
+    public ParallelQifReader(Reader reader, int threads) {
+        this.reader = new BufferedReader(reader);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads),
+                new ThreadFactoryBuilder().setNameFormat("qif-parser-%d").setDaemon(true).build());
+        this.window = Math.max(1, threads) * 2;
+    }
+
+    /**
+     * @return the next record or an empty record at the end of the input.
+     */
+    public QifRecord nextRecord() throws IOException {
+        while (!records.hasNext()) {
+            if (currentChunk != null && currentChunk.failure != null) {
+                lineNumber = currentChunk.failureLine;
+                throw rethrow(currentChunk.failure);
+            }
+            while (!eof && chunks.size() < window) {
+                readChunk();
+            }
+            if (chunks.isEmpty()) {
+                return new QifRecord(lineNumber);
+            }
+            currentChunk = getChunk(chunks.removeFirst());
+            records = currentChunk.records.iterator();
+        }
+        QifRecord record = records.next();
+        lineNumber = record.getStartingLine() + record.getLines();
+        return record;
+    }
+
+    /**
+     * @return the line number following the last record.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    private void readChunk() throws IOException {
+        StringBuilder text = new StringBuilder();
+        long firstLine = nextLine;
+        int lines = 0;
+        boolean recordEnd = true;
+        String line;
+        while ((line = pendingLine != null ? pendingLine : reader.readLine()) != null) {
+            if (lines > 0 && recordEnd && (line.startsWith("!") || lines >= CHUNK_LINES)) {
+                pendingLine = line;
+                break;
+            }
+            pendingLine = null;
+            text.append(line).append('\n');
+            lines++;
+            nextLine++;
+            recordEnd = line.startsWith("^") || line.startsWith("!");
+        }
+        eof = line == null;
+        if (lines > 0) {
+            chunks.add(executor.submit(() -> parse(text.toString(), firstLine)));
+        }
+    }
+
+    private static Chunk parse(String text, long firstLine) {
+        QifReader reader = new QifReader(new StringReader(text), firstLine);
+        List<QifRecord> records = new ArrayList<>();
+        try {
+            for (QifRecord record = reader.nextRecord(); record.getLines() > 0; record = reader.nextRecord()) {
+                records.add(record);
+            }
+            return new Chunk(records, null, 0L);
+        } catch (Throwable ex) {
+            return new Chunk(records, ex, reader.getLineNumber());
+        }
+    }
+
+    private Chunk getChunk(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException ex) {
+            throw rethrow(ex.getCause());
+        }
+    }
+
+    private static IOException rethrow(Throwable ex) {
+        if (ex instanceof IOException) return (IOException) ex;
+        if (ex instanceof RuntimeException) throw (RuntimeException) ex;
+        if (ex instanceof Error) throw (Error) ex;
+        return new IOException(ex);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The records parsed from a chunk of the input.  If parsing failed then {@code records} contains the records
+     * preceding the failure.
+     */
+    private static class Chunk {
+        private final List<QifRecord> records;
+        private final Throwable failure;
+        private final long failureLine;
+
+        public Chunk(List<QifRecord> records, Throwable failure, long failureLine) {
+            this.records = Collections.unmodifiableList(records);
+            this.failure = failure;
+            this.failureLine = failureLine;
+        }
+    }
+}
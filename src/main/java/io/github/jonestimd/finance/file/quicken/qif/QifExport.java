@@ -24,70 +24,310 @@ package io.github.jonestimd.finance.file.quicken.qif;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
+import io.github.jonestimd.finance.domain.asset.Security;
+import io.github.jonestimd.finance.domain.transaction.SecurityAction;
+import io.github.jonestimd.finance.domain.transaction.StockSplit;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import io.github.jonestimd.finance.domain.transaction.TransactionGroup;
 
+/**
+ * Writes QIF records.  The output is compatible with {@link QifImport}.
+ */
 public class QifExport {
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd''yy");
+    private static final Map<SecurityAction, String> ACTIONS = new EnumMap<>(SecurityAction.class);
+    private static final Map<SecurityAction, String> REINVEST_ACTIONS = new EnumMap<>(SecurityAction.class);
+
+    static {
+        ACTIONS.put(SecurityAction.BUY, "Buy");
+        ACTIONS.put(SecurityAction.SELL, "Sell");
+        ACTIONS.put(SecurityAction.SHARES_IN, "ShrsIn");
+        ACTIONS.put(SecurityAction.SHARES_OUT, "ShrsOut");
+        ACTIONS.put(SecurityAction.DIVIDEND, "Div");
+        ACTIONS.put(SecurityAction.INTEREST, "IntInc");
+        ACTIONS.put(SecurityAction.SHORT_TERM_CAP_GAIN, "CGShort");
+        ACTIONS.put(SecurityAction.MID_TERM_CAP_GAIN, "CGMid");
+        ACTIONS.put(SecurityAction.LONG_TERM_CAP_GAIN, "CGLong");
+        REINVEST_ACTIONS.put(SecurityAction.DIVIDEND, "ReinvDiv");
+        REINVEST_ACTIONS.put(SecurityAction.INTEREST, "ReinvInt");
+        REINVEST_ACTIONS.put(SecurityAction.SHORT_TERM_CAP_GAIN, "ReinvSh");
+        REINVEST_ACTIONS.put(SecurityAction.MID_TERM_CAP_GAIN, "ReinvMd");
+        REINVEST_ACTIONS.put(SecurityAction.LONG_TERM_CAP_GAIN, "ReinvLg");
+    }
+
+    /** the year separator is used by the import to determine the century */
+    private final SimpleDateFormat dateFormat1900 = new SimpleDateFormat("MM/dd/yy");
+    private final SimpleDateFormat dateFormat2000 = new SimpleDateFormat("MM/dd''yy");
+    private final Calendar calendar = Calendar.getInstance();
     private final PrintWriter writer;
     
     public QifExport(Writer writer) {
         this.writer = writer instanceof PrintWriter ? (PrintWriter) writer : new PrintWriter(writer);
     }
 
-    public QifExport accountType(QifAccountType type) throws IOException {
-        writer.append(QifField.CONTROL.code()).append("Type:").println(type.name());
+    public QifExport accountType(QifAccountType type) {
+        return accountType(type.name());
+    }
+
+    /**
+     * Start a list of records.
+     * @param type the record type (e.g. {@code Bank}, {@code Cat}, {@code Security})
+     */
+    public QifExport accountType(String type) {
+        writer.append(QifField.CONTROL.code()).append("Type:").println(type);
         return this;
     }
 
-    public QifExport account(String name) throws IOException {
+    public QifExport account(String name) {
+        return account(name, null, null);
+    }
+
+    /**
+     * @param type the QIF account type or {@code null}
+     * @param description the account description or {@code null}
+     */
+    public QifExport account(String name, String type, String description) {
         writer.append(QifField.CONTROL.code()).println("Account");
         writer.append(QifField.NAME.code()).println(name);
-//        writer.append(QifField.TYPE.code()).println(QifAccountType.Bank.name());
+        optionalField(QifField.TYPE, type);
+        optionalField(QifField.DESCRIPTION, description);
+        writer.println(QifField.END.code());
+        return this;
+    }
+
+    public QifExport category(TransactionCategory category) {
+        writer.append(QifField.NAME.code()).println(category.qualifiedName(":"));
+        optionalField(QifField.DESCRIPTION, category.getDescription());
+        writer.println(category.isIncome() ? QifField.INCOME.code() : QifField.EXPENSE.code());
+        writer.println(QifField.END.code());
+        return this;
+    }
+
+    public QifExport group(TransactionGroup group) {
+        writer.append(QifField.NAME.code()).println(group.getName());
+        optionalField(QifField.DESCRIPTION, group.getDescription());
+        writer.println(QifField.END.code());
+        return this;
+    }
+
+    public QifExport security(Security security) {
+        writer.append(QifField.NAME.code()).println(security.getName());
+        optionalField(QifField.SECURITY_SYMBOL, security.getSymbol());
+        optionalField(QifField.TYPE, security.getType());
         writer.println(QifField.END.code());
         return this;
     }
 
-    public QifExport transaction(Transaction transaction) throws IOException {
-        writer.append(QifField.DATE.code()).println(dateFormat.format(transaction.getDate()));
-        writer.append(QifField.AMOUNT.code()).println(transaction.getAmount().toString());
+    public QifExport transaction(Transaction transaction) {
+        writer.append(QifField.DATE.code()).println(formatDate(transaction.getDate()));
+        writer.append(QifField.AMOUNT.code()).println(transaction.getAmount().toPlainString());
         if (transaction.isCleared()) {
             writer.append(QifField.CLEARED.code()).println("X");
         }
+        optionalField(QifField.NUMBER, transaction.getNumber());
         if (transaction.getPayee() != null) {
             writer.append(QifField.PAYEE.code()).println(transaction.getPayee().getName());
         }
-        firstDetail(transaction.getDetails().get(0));
+        TransactionDetail firstDetail = transaction.getDetails().get(0);
+        writer.append(QifField.CATEGORY.code()).println(formatCategory(firstDetail));
         if (transaction.getDetails().size() > 1) {
+            optionalField(QifField.MEMO, transaction.getMemo());
             for (TransactionDetail detail : transaction.getDetails()) {
                 splitDetail(detail);
             }
         }
+        else {
+            // the import uses the memo for both the transaction and the detail
+            optionalField(QifField.MEMO, firstDetail.getMemo() == null ? transaction.getMemo() : firstDetail.getMemo());
+        }
         writer.println(QifField.END.code());
         return this;
     }
 
-    private void firstDetail(TransactionDetail detail) throws IOException {
-        writer.append(QifField.CATEGORY.code()).println(formatCategory(detail));
-        if (detail.getMemo() != null) {
-            writer.append(QifField.MEMO.code()).println(detail.getMemo());
+    /**
+     * Write the records for a transaction in an investment account.  A transaction that was imported from QIF is
+     * written as a single record.  Other transactions may require a record for each detail.
+     */
+    public QifExport securityTransaction(Transaction transaction) {
+        List<TransactionDetail> details = new ArrayList<>(transaction.getDetails());
+        TransactionDetail commission = removeAction(details, SecurityAction.COMMISSION_AND_FEES);
+        TransactionDetail reinvest = removeAction(details, SecurityAction.REINVEST);
+        for (TransactionDetail detail : details) {
+            SecurityAction action = SecurityAction.forCategory(detail.getCategory());
+            if (reinvest != null && REINVEST_ACTIONS.containsKey(action)) {
+                securityAction(transaction, REINVEST_ACTIONS.get(action), netAmount(detail), reinvest.getAssetQuantity(), commission);
+                reinvest = null;
+                commission = null;
+            }
+            else if (ACTIONS.containsKey(action)) {
+                securityAction(transaction, ACTIONS.get(action), actionAmount(detail, commission), detail.getAssetQuantity(), commission);
+                commission = null;
+            }
+            else miscAction(transaction, detail);
+        }
+        if (reinvest != null) {
+            securityAction(transaction, ACTIONS.get(SecurityAction.BUY), actionAmount(reinvest, commission), reinvest.getAssetQuantity(), commission);
+        }
+        else if (commission != null) {
+            miscAction(transaction, commission);
         }
+        return this;
     }
-    
-    private void splitDetail(TransactionDetail detail) throws IOException {
+
+    /**
+     * The ratio of the split is written as the number of shares received for 10 shares held.
+     */
+    public QifExport stockSplit(StockSplit split) {
+        writer.append(QifField.DATE.code()).println(formatDate(split.getDate()));
+        writer.append(QifField.SECURITY_ACTION.code()).println("StkSplit");
+        writer.append(QifField.SECURITY.code()).println(split.getSecurity().getName());
+        BigDecimal ratio = split.getSharesOut().multiply(BigDecimal.TEN).divide(split.getSharesIn(), 10, RoundingMode.HALF_UP);
+        writer.append(QifField.SHARES.code()).println(ratio.stripTrailingZeros().toPlainString());
+        writer.println(QifField.END.code());
+        return this;
+    }
+
+    /**
+     * Write a record in a list of prices.
+     */
+    public QifExport price(Security security, BigDecimal price, Date date) {
+        String symbol = security.getSymbol() == null ? security.getName() : security.getSymbol();
+        writer.printf("\"%s\",%s,\"%s\"%n", symbol, price.toPlainString(), formatDate(date));
+        writer.println(QifField.END.code());
+        return this;
+    }
+
+    /**
+     * Flush the output.
+     * @throws IOException if an error occurred while writing the records
+     */
+    public void flush() throws IOException {
+        if (writer.checkError()) {
+            throw new IOException("QIF export failed");
+        }
+    }
+
+    private void optionalField(QifField field, String value) {
+        if (value != null) {
+            writer.append(field.code()).println(value);
+        }
+    }
+
+    private void splitDetail(TransactionDetail detail) {
         writer.append(QifField.SPLIT_CATEGORY.code()).println(formatCategory(detail));
-        if (detail.getMemo() != null) {
-            writer.append(QifField.SPLIT_MEMO.code()).println(detail.getMemo());
+        optionalField(QifField.SPLIT_MEMO, detail.getMemo());
+        writer.append(QifField.SPLIT_AMOUNT.code()).println(detail.getAmount() == null ? "0" : detail.getAmount().toPlainString());
+    }
+
+    private TransactionDetail removeAction(List<TransactionDetail> details, SecurityAction action) {
+        for (Iterator<TransactionDetail> iterator = details.iterator(); iterator.hasNext(); ) {
+            TransactionDetail detail = iterator.next();
+            if (SecurityAction.forCategory(detail.getCategory()) == action) {
+                iterator.remove();
+                return detail;
+            }
+        }
+        return null;
+    }
+
+    private void securityAction(Transaction transaction, String action, BigDecimal amount, BigDecimal shares,
+            TransactionDetail commission) {
+        beginSecurityAction(transaction, action);
+        writer.append(QifField.AMOUNT.code()).println(amount.toPlainString());
+        if (shares != null) {
+            writer.append(QifField.SHARES.code()).println(shares.abs().stripTrailingZeros().toPlainString());
+        }
+        if (commission != null) {
+            writer.append(QifField.COMMISSION.code()).println(amount(commission).negate().toPlainString());
+        }
+        optionalField(QifField.MEMO, transaction.getMemo());
+        writer.println(QifField.END.code());
+    }
+
+    private BigDecimal netAmount(TransactionDetail detail) {
+        BigDecimal amount = amount(detail);
+        return detail.getCategory().isIncome() ? amount : amount.negate();
+    }
+
+    private BigDecimal amount(TransactionDetail detail) {
+        return detail.getAmount() == null ? BigDecimal.ZERO : detail.getAmount();
+    }
+
+    /**
+     * The import adds the commission to the amount of the details that have shares, so it is removed from the
+     * amount of the record.
+     */
+    private BigDecimal actionAmount(TransactionDetail detail, TransactionDetail commission) {
+        BigDecimal amount = netAmount(detail);
+        if (commission == null || detail.getAssetQuantity() == null) {
+            return amount;
         }
-        writer.append(QifField.SPLIT_AMOUNT.code()).println(detail.getAmount() == null ? "0" : detail.getAmount().toString());
+        return detail.getCategory().isIncome() ? amount.add(amount(commission)) : amount.subtract(amount(commission));
+    }
+
+    /**
+     * Write a transfer or a miscellaneous income or expense.  The action is determined by the sign of the amount.
+     */
+    private void miscAction(Transaction transaction, TransactionDetail detail) {
+        BigDecimal amount = amount(detail);
+        boolean transfer = detail.isTransfer() || detail.getCategory() == null;
+        if (transfer) {
+            beginSecurityAction(transaction, amount.signum() < 0 ? "XOut" : "XIn");
+        }
+        else {
+            beginSecurityAction(transaction, amount.signum() < 0 ? "MiscExp" : "MiscInc");
+        }
+        writer.append(QifField.AMOUNT.code()).println(amount.abs().toPlainString());
+        if (transfer && transaction.getPayee() != null) {
+            writer.append(QifField.PAYEE.code()).println(transaction.getPayee().getName());
+        }
+        writer.append(QifField.CATEGORY.code()).println(transfer && !detail.isTransfer()
+                ? formatCategory(String.format("[%s]", transaction.getAccount().getName()), detail) : formatCategory(detail));
+        // the import uses the memo for both the transaction and the detail
+        optionalField(QifField.MEMO, detail.getMemo() == null ? transaction.getMemo() : detail.getMemo());
+        writer.println(QifField.END.code());
+    }
+
+    private void beginSecurityAction(Transaction transaction, String action) {
+        writer.append(QifField.DATE.code()).println(formatDate(transaction.getDate()));
+        writer.append(QifField.SECURITY_ACTION.code()).println(action);
+        if (transaction.getSecurity() != null) {
+            writer.append(QifField.SECURITY.code()).println(transaction.getSecurity().getName());
+        }
+        if (transaction.isCleared()) {
+            writer.append(QifField.CLEARED.code()).println("X");
+        }
+    }
+
+    private String formatDate(Date date) {
+        calendar.setTime(date);
+        return (calendar.get(Calendar.YEAR) < 2000 ? dateFormat1900 : dateFormat2000).format(date);
     }
 
     private String formatCategory(TransactionDetail detail) {
+        String category = "";
         if (detail.isTransfer()) {
-            return String.format("[%s]", detail.getRelatedDetail().getTransaction().getAccount().getName());
+            category = String.format("[%s]", detail.getRelatedDetail().getTransaction().getAccount().getName());
+        }
+        else if (detail.getCategory() != null) {
+            category = detail.getCategory().qualifiedName(":");
         }
-        return detail.getCategory().qualifiedName(":");
+        return formatCategory(category, detail);
+    }
+
+    private String formatCategory(String category, TransactionDetail detail) {
+        return detail.getGroup() == null ? category : category + '/' + detail.getGroup().getName();
     }
 }
@@ -0,0 +1,211 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.quicken.qif;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import io.github.jonestimd.finance.dao.HibernateDaoContext;
+import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.account.AccountType;
+import io.github.jonestimd.finance.domain.asset.Security;
+import io.github.jonestimd.finance.domain.transaction.SecurityAction;
+import io.github.jonestimd.finance.domain.transaction.StockSplit;
+import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import io.github.jonestimd.finance.file.FileExport;
+import io.github.jonestimd.finance.file.quicken.QuickenContext;
+import io.github.jonestimd.finance.service.ServiceContext;
+import io.github.jonestimd.finance.service.ServiceLocator;
+import io.github.jonestimd.function.MessageConsumer;
+import org.apache.log4j.Logger;
+
+import static io.github.jonestimd.finance.config.ApplicationConfig.*;
+import static io.github.jonestimd.finance.swing.BundleType.*;
+
+/**
+ * Export the database to a QIF file that can be read by {@link QifImport}.  The accounts, categories, classes and
+ * securities are written first, followed by the transactions of each account.  The transactions are streamed from
+ * the database, so the memory used by the export does not depend on the number of transactions.
+ * <p>
+ * The stock splits of the securities in an investment account are written after the transactions of the account.  A
+ * list of prices is written at the end of the file using the latest purchase or sale of each security.  QIF does not
+ * have a list of payees, so the payees are only included in the transactions.
+ */
+public class QifFileExport implements FileExport {
+    private static final Logger logger = Logger.getLogger(QifFileExport.class);
+    private static final Map<AccountType, String> ACCOUNT_TYPES = new EnumMap<>(AccountType.class);
+    private static final Map<AccountType, String> TRANSACTION_TYPES = new EnumMap<>(AccountType.class);
+    private static final String INVESTMENT_TYPE = "Invst";
+    private static final Set<SecurityAction> TRADE_ACTIONS = EnumSet.of(SecurityAction.BUY, SecurityAction.SELL, SecurityAction.REINVEST);
+    private static final int PRICE_SCALE = 6;
+
+    static {
+        TRANSACTION_TYPES.put(AccountType.BANK, "Bank");
+        TRANSACTION_TYPES.put(AccountType.CASH, "Cash");
+        TRANSACTION_TYPES.put(AccountType.CREDIT, "CCard");
+        TRANSACTION_TYPES.put(AccountType.LOAN, "Oth L");
+        ACCOUNT_TYPES.putAll(TRANSACTION_TYPES);
+        ACCOUNT_TYPES.put(AccountType.BROKERAGE, "Port");
+        ACCOUNT_TYPES.put(AccountType._401K, "401(k)");
+    }
+
+    private final ServiceLocator serviceLocator;
+    private final Predicate<Account> accountFilter;
+
+    /**
+     * @param accountFilter selects the accounts whose transactions will be exported
+     */
+    public QifFileExport(ServiceLocator serviceLocator, Predicate<Account> accountFilter) {
+        this.serviceLocator = serviceLocator;
+        this.accountFilter = accountFilter;
+    }
+
+    @Override
+    public int exportFile(Writer writer, MessageConsumer updateProgress) throws IOException {
+        List<Account> accounts = serviceLocator.getAccountOperations().getAllAccounts();
+        QifExport qifExport = new QifExport(writer);
+        updateProgress.accept("export.qif.lists.status");
+        // all accounts are listed so that the import can find the targets of the transfers
+        accounts.forEach(account -> qifExport.account(account.getName(), ACCOUNT_TYPES.get(account.getType()), account.getDescription()));
+        exportCategories(qifExport);
+        exportGroups(qifExport);
+        List<Security> securities = serviceLocator.getAssetOperations().getAllSecurities();
+        exportSecurities(qifExport, securities);
+        Map<Long, TransactionDetail> latestTrades = new HashMap<>();
+        int count = 0;
+        for (Account account : accounts) {
+            if (accountFilter.test(account)) {
+                updateProgress.accept("export.qif.account.status", account.getName());
+                qifExport.account(account.getName());
+                if (account.getType().isSecurity()) {
+                    qifExport.accountType(INVESTMENT_TYPE);
+                    count += exportSecurityTransactions(qifExport, account, securities, latestTrades);
+                }
+                else {
+                    qifExport.accountType(TRANSACTION_TYPES.get(account.getType()));
+                    count += serviceLocator.getTransactionService().forEachTransaction(account.getId(), qifExport::transaction);
+                }
+            }
+        }
+        exportPrices(qifExport, latestTrades.values());
+        qifExport.flush();
+        return count;
+    }
+
+    /**
+     * Write the transactions of an investment account followed by the splits of the securities in the account.
+     * @param latestTrades the latest purchase or sale of each security, updated with the transactions of the account
+     */
+    private int exportSecurityTransactions(QifExport qifExport, Account account, List<Security> securities,
+            Map<Long, TransactionDetail> latestTrades) {
+        Set<Long> securityIds = new HashSet<>();
+        int count = serviceLocator.getTransactionService().forEachTransaction(account.getId(), transaction -> {
+            qifExport.securityTransaction(transaction);
+            if (transaction.getSecurity() != null) {
+                securityIds.add(transaction.getSecurity().getId());
+                transaction.getDetails().stream().filter(QifFileExport::isTrade)
+                        .forEach(detail -> latestTrades.merge(transaction.getSecurity().getId(), detail, QifFileExport::latest));
+            }
+        });
+        securities.stream().filter(security -> securityIds.contains(security.getId()))
+                .flatMap(security -> security.getSplits().stream())
+                .sorted(Comparator.comparing((StockSplit split) -> split.getSecurity().getName()).thenComparing(StockSplit::getDate))
+                .forEach(qifExport::stockSplit);
+        return count;
+    }
+
+    private static boolean isTrade(TransactionDetail detail) {
+        SecurityAction action = SecurityAction.forCategory(detail.getCategory());
+        return TRADE_ACTIONS.contains(action) && detail.getAmount() != null && detail.getAssetQuantity() != null
+                && detail.getAssetQuantity().signum() != 0;
+    }
+
+    private static TransactionDetail latest(TransactionDetail detail1, TransactionDetail detail2) {
+        return detail2.getTransaction().getDate().before(detail1.getTransaction().getDate()) ? detail1 : detail2;
+    }
+
+    private void exportPrices(QifExport qifExport, Collection<TransactionDetail> trades) {
+        if (!trades.isEmpty()) {
+            qifExport.accountType("Prices");
+            trades.stream().sorted(Comparator.comparing(detail -> detail.getTransaction().getSecurity().getName()))
+                    .forEach(detail -> qifExport.price(detail.getTransaction().getSecurity(),
+                            detail.getAmount().divide(detail.getAssetQuantity(), PRICE_SCALE, RoundingMode.HALF_UP).abs().stripTrailingZeros(),
+                            detail.getTransaction().getDate()));
+        }
+    }
+
+    /**
+     * Parent categories are written before their children because the import requires the parent to exist.
+     */
+    private void exportCategories(QifExport qifExport) {
+        qifExport.accountType("Cat");
+        serviceLocator.getTransactionCategoryOperations().getAllTransactionCategories().stream()
+                .filter(category -> !category.isSecurity())
+                .sorted(Comparator.comparing(category -> category.qualifiedName(":")))
+                .forEach(qifExport::category);
+    }
+
+    private void exportGroups(QifExport qifExport) {
+        qifExport.accountType("Class");
+        serviceLocator.getTransactionGroupOperations().getAllTransactionGroups().forEach(qifExport::group);
+    }
+
+    private void exportSecurities(QifExport qifExport, List<Security> securities) {
+        qifExport.accountType("Security");
+        securities.forEach(qifExport::security);
+    }
+
+    /**
+     * Export the configured database.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("usage: java " + QifFileExport.class.getName() + " file [account ...]");
+            System.exit(1);
+        }
+        Set<String> accountNames = new HashSet<>(Arrays.asList(args).subList(1, args.length));
+        Predicate<Account> accountFilter = accountNames.isEmpty() ? account -> true : account -> accountNames.contains(account.getName());
+        try (Writer writer = new BufferedWriter(new FileWriter(args[0]))) {
+            ServiceContext serviceContext = new ServiceContext(new HibernateDaoContext(CONNECTION_CONFIG.loadDriver(), CONFIG));
+            int count = new QuickenContext(serviceContext).newQifExport(accountFilter)
+                    .exportFile(writer, MessageConsumer.forBundle(MESSAGES.get(), logger::info));
+            logger.info(MESSAGES.formatMessage("export.qif.summary", count));
+        } catch (Exception ex) {
+            logger.error("QIF export failed", ex);
+            System.exit(1);
+        }
+    }
+}
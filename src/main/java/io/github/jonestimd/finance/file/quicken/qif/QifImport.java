@@ -38,6 +38,7 @@ public class QifImport implements FileImport {
 
     private AccountHolder accountHolder = new AccountHolder();
     private RecordConverter currentConverter;
+    private TransactionBatch batch;
 
     public QifImport(Collection<RecordConverter> converters) {
         this.converterMap = new HashMap<>();
@@ -48,8 +49,17 @@ public class QifImport implements FileImport {
         }
     }
 
+    /**
+     * Create a bulk import.  The transactions collected in {@code batch} by the converters are saved after all of the
+     * records have been converted.
+     */
+    public QifImport(Collection<RecordConverter> converters, TransactionBatch batch) {
+        this(converters);
+        this.batch = batch;
+    }
+
     public ImportSummary importFile(Reader reader, MessageConsumer updateProgress) throws QuickenException {
-        QifReader qifReader = new QifReader(reader);
+        ParallelQifReader qifReader = new ParallelQifReader(reader);
         accountHolder.onAcountChange(account -> updateProgress.accept("import.qif.switch.account.status", account.getName()));
 
         int importCount = 0;
@@ -77,6 +87,10 @@ public class QifImport implements FileImport {
                     }
                 }
             }
+            if (batch != null) {
+                updateProgress.accept("import.qif.saving.status", batch.size());
+                batch.save();
+            }
             return new ImportSummary(importCount, ignoreCount);
         } catch (QuickenException ex) {
             logger.error("Quicken import failed", ex);
@@ -84,6 +98,8 @@ public class QifImport implements FileImport {
         } catch (Throwable ex) {
             logger.error("Quicken import failed", ex);
             throw new QuickenException("importFailed", ex, "QIF", qifReader.getLineNumber());
+        } finally {
+            qifReader.close();
         }
     }
 }
\ No newline at end of file
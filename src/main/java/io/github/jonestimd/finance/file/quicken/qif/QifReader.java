@@ -35,6 +35,10 @@ public class QifReader extends QuickenReader<QifRecord> {
         super(reader);
     }
 
+    public QifReader(Reader reader, long firstLine) {
+        super(reader, firstLine);
+    }
+
     protected QifRecord createRecord(long currentLine) {
         return new QifRecord(currentLine);
     }
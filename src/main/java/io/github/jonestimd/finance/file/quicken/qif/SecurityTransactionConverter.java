@@ -38,12 +38,22 @@ public class SecurityTransactionConverter implements RecordConverter {
 
     private TransactionService transactionService;
     private Map<String, SecurityTransactionHandler> actionHandlers = new HashMap<>();
+    private TransactionBatch batch;
 
     public SecurityTransactionConverter(TransactionService transactionService, Map<String, SecurityTransactionHandler> actionHandlers) {
         this.transactionService = transactionService;
         this.actionHandlers = actionHandlers;
     }
 
+    /**
+     * Create a converter for a bulk import.  The transactions are added to {@code batch} instead of being saved.
+     */
+    public SecurityTransactionConverter(TransactionService transactionService, Map<String, SecurityTransactionHandler> actionHandlers,
+            TransactionBatch batch) {
+        this(transactionService, actionHandlers);
+        this.batch = batch;
+    }
+
     @Override
     public String getStatusKey() {
         return "import.qif.securityTransaction.converter.status";
@@ -60,6 +70,7 @@ public class SecurityTransactionConverter implements RecordConverter {
             throw new QuickenException("unknownSecurityAction", action, record.getStartingLine());
         }
         List<Transaction> transactions = handler.convertRecord(accountHolder.getAccount(), record);
-        transactionService.saveTransactions(transactions);
+        if (batch == null) transactionService.saveTransactions(transactions);
+        else batch.addAll(transactions);
     }
 }
\ No newline at end of file
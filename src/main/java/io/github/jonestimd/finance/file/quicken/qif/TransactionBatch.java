@@ -0,0 +1,68 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.file.quicken.qif;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.service.TransactionService;
+
+/**
+ * Collects the transactions of a bulk QIF import so that they can be inserted in batches after all of the records
+ * have been converted.  Pending transfers that are merged into another transaction are removed instead of being
+ * inserted and then deleted.
+ */
+public class TransactionBatch {
+    private final TransactionService transactionService;
+    private final Set<Transaction> transactions = new LinkedHashSet<>();
+
+    public TransactionBatch(TransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    public void add(Transaction transaction) {
+        transactions.add(transaction);
+    }
+
+    public void addAll(Collection<Transaction> transactions) {
+        transactions.forEach(this::add);
+    }
+
+    public void remove(Transaction transaction) {
+        transactions.remove(transaction);
+    }
+
+    public int size() {
+        return transactions.size();
+    }
+
+    /**
+     * Insert the pending transactions.
+     */
+    public void save() {
+        transactionService.insertTransactions(new ArrayList<>(transactions));
+        transactions.clear();
+    }
+}
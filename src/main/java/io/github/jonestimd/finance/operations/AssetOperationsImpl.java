@@ -22,6 +22,7 @@
 package io.github.jonestimd.finance.operations;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -105,6 +106,7 @@ public class AssetOperationsImpl implements AssetOperations {
     public SecuritySummary saveSplits(Security security) {
         Security persisted = securityDao.get(security.getId());
         persisted.updateSplits(security.getSplits());
+        securityDao.updatePositions(Collections.singleton(security.getId()));
         return securityDao.getSecuritySummary(security.getId());
     }
 
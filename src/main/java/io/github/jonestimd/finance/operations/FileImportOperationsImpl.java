@@ -25,35 +25,60 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.github.jonestimd.finance.dao.DaoRepository;
 import io.github.jonestimd.finance.dao.HibernateDaoContext;
 import io.github.jonestimd.finance.dao.ImportFileDao;
+import io.github.jonestimd.finance.dao.ImportFingerprintDao;
+import io.github.jonestimd.finance.domain.asset.Security;
 import io.github.jonestimd.finance.domain.fileimport.FieldType;
 import io.github.jonestimd.finance.domain.fileimport.FileType;
 import io.github.jonestimd.finance.domain.fileimport.ImportField;
 import io.github.jonestimd.finance.domain.fileimport.ImportFile;
+import io.github.jonestimd.finance.domain.fileimport.ImportFingerprint;
 import io.github.jonestimd.finance.domain.fileimport.ImportType;
+import io.github.jonestimd.finance.domain.transaction.Payee;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
+import io.github.jonestimd.finance.file.ImportContext;
+import io.github.jonestimd.finance.file.ImportLedger;
+import io.github.jonestimd.finance.file.ImportLedger.FileHashStream;
 import io.github.jonestimd.finance.service.ServiceContext;
 import io.github.jonestimd.finance.service.ServiceLocator;
 import io.github.jonestimd.finance.service.TransactionService;
+import org.apache.log4j.Logger;
 
 import static io.github.jonestimd.finance.config.ApplicationConfig.*;
-import static io.github.jonestimd.finance.swing.FinanceApplication.*;
 
 public class FileImportOperationsImpl implements FileImportOperations {
+    private static final Logger logger = Logger.getLogger(FileImportOperationsImpl.class);
+    private final DaoRepository daoRepository;
     private final ImportFileDao importFileDao;
+    private final ImportFingerprintDao importFingerprintDao;
     private final TransactionService transactionService;
     private final PayeeOperations payeeOperations;
     private final AssetOperations assetOperations;
     private final TransactionCategoryOperations categoryOperations;
 
-    public FileImportOperationsImpl(ImportFileDao importFileDao, ServiceLocator serviceLocator) {
-        this.importFileDao = importFileDao;
+    public FileImportOperationsImpl(DaoRepository daoRepository, ServiceLocator serviceLocator) {
+        this.daoRepository = daoRepository;
+        this.importFileDao = daoRepository.getImportFileDao();
+        this.importFingerprintDao = daoRepository.getImportFingerprintDao();
         this.transactionService = serviceLocator.getTransactionService();
         this.payeeOperations = serviceLocator.getPayeeOperations();
         this.assetOperations = serviceLocator.getAssetOperations();
@@ -93,6 +118,7 @@ public class FileImportOperationsImpl implements FileImportOperations {
 
     @Override
     public void deleteAll(Iterable<? extends ImportFile> importFiles) {
+        importFiles.forEach(importFile -> importFingerprintDao.deleteByImportFileId(importFile.getId()));
         importFileDao.deleteAll(importFiles);
     }
 
@@ -100,15 +126,163 @@ public class FileImportOperationsImpl implements FileImportOperations {
     public void importTransactions(String importName, InputStream source) {
         ImportFile importFile = importFileDao.findOneByName(importName);
         try {
-            transactionService.saveTransactions(toTransactions(source, importFile));
+            ImportLedger ledger = newLedger(importFile);
+            ImportContext context = newContext(importFile);
+            FileHashStream hashStream = new FileHashStream(source);
+            List<Transaction> transactions = context.parseTransactions(hashStream);
+            ParsedFile parsedFile = new ParsedFile(hashStream.getHash(), context);
+            if (ledger.isImported(parsedFile.hash)) {
+                logger.info("skipped previously imported file for " + importName);
+            }
+            else {
+                parsedFile.transactions = transactions;
+                save(ledger, parsedFile);
+            }
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
     }
 
     public List<Transaction> toTransactions(InputStream source, ImportFile importFile) throws Exception {
-        return importFile.newContext(payeeOperations.getAllPayees(), assetOperations.getAllSecurities(), categoryOperations.getAllTransactionCategories())
-                .parseTransactions(source);
+        return newContext(importFile).parseTransactions(source);
+    }
+
+    private ImportContext newContext(ImportFile importFile) {
+        return importFile.newContext(payeeOperations.getAllPayees(), assetOperations.getAllSecurities(), categoryOperations.getAllTransactionCategories());
+    }
+
+    private ImportLedger newLedger(ImportFile importFile) {
+        return new ImportLedger(importFile.getId(), importFingerprintDao.findHashesByImportFileId(importFile.getId()));
+    }
+
+    /**
+     * Save the transactions that have not already been imported and the fingerprints for the file and the records in a
+     * single transaction.  The ledger is updated after the transaction has been committed.
+     * @return the number of transactions saved.
+     */
+    private int save(ImportLedger ledger, ParsedFile parsedFile) {
+        Map<String, Transaction> newRecords = ledger.newRecords(parsedFile.transactions, parsedFile.context::getRecordKey);
+        List<ImportFingerprint> fingerprints = ledger.newFingerprints(parsedFile.hash, newRecords.keySet());
+        daoRepository.doInTransaction(() -> {
+            transactionService.saveTransactions(new ArrayList<>(newRecords.values()));
+            importFingerprintDao.saveAll(fingerprints);
+        });
+        ledger.add(fingerprints);
+        return newRecords.size();
+    }
+
+    /**
+     * Import multiple files using a single snapshot of the payees, securities and categories.  The files are parsed
+     * concurrently and the transactions are saved in file order on the calling thread, one file per transaction.  Files
+     * and records that have already been imported are skipped.  A file that can't be parsed or saved is logged and
+     * skipped.
+     * <p>
+     * Each file is parsed with its own import context, so the payees and securities created for a file that fails to
+     * save are discarded with it.  New payees and securities are replaced with the ones saved by a previous file.
+     * @return the files that were not imported
+     */
+    public List<File> importAll(String importName, List<File> files) throws InterruptedException {
+        ImportFile importFile = importFileDao.findOneByName(importName);
+        importFile.compileImportPlan();
+        ImportLedger ledger = newLedger(importFile);
+        List<Payee> payees = payeeOperations.getAllPayees();
+        List<Security> securities = assetOperations.getAllSecurities();
+        List<TransactionCategory> categories = categoryOperations.getAllTransactionCategories();
+        Supplier<ImportContext> contexts = () -> importFile.newContext(new ArrayList<>(payees), new ArrayList<>(securities), categories);
+        SavedAssets savedAssets = new SavedAssets();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(files.size(), Runtime.getRuntime().availableProcessors())),
+                new ThreadFactoryBuilder().setNameFormat("file-import-%d").setDaemon(true).build());
+        try {
+            List<Future<ParsedFile>> parsed = files.stream()
+                    .map(file -> executor.submit(() -> parseTransactions(contexts.get(), file, ledger)))
+                    .collect(Collectors.toList());
+            List<File> failed = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                File file = files.get(i);
+                try {
+                    ParsedFile parsedFile = parsed.get(i).get();
+                    // checked again in case the same file is listed more than once
+                    if (parsedFile.transactions == null || ledger.isImported(parsedFile.hash)) {
+                        logger.info(String.format("skipped previously imported file %s (%d of %d)", file, i + 1, files.size()));
+                    }
+                    else {
+                        savedAssets.replaceNew(parsedFile.transactions);
+                        int count = save(ledger, parsedFile);
+                        savedAssets.addSaved();
+                        logger.info(String.format("imported %d of %d transactions from %s (%d of %d)",
+                                count, parsedFile.transactions.size(), file, i + 1, files.size()));
+                    }
+                } catch (ExecutionException ex) {
+                    logger.error("failed to parse " + file, ex.getCause());
+                    failed.add(file);
+                } catch (RuntimeException ex) {
+                    logger.error("failed to save " + file, ex);
+                    failed.add(file);
+                }
+            }
+            return failed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ParsedFile parseTransactions(ImportContext context, File file, ImportLedger ledger) throws Exception {
+        ParsedFile parsedFile = new ParsedFile(ImportLedger.fileHash(file), context);
+        if (!ledger.isImported(parsedFile.hash)) {
+            try (InputStream source = new FileInputStream(file)) {
+                parsedFile.transactions = context.parseTransactions(source);
+            }
+        }
+        return parsedFile;
+    }
+
+    /**
+     * The payees and securities created by the files that have been saved.  Payees and securities are equal when their
+     * names match, so a saved instance is used as its own key.
+     */
+    private static class SavedAssets {
+        private final Map<Payee, Payee> payees = new HashMap<>();
+        private final Map<Security, Security> securities = new HashMap<>();
+        private final Set<Payee> newPayees = new HashSet<>();
+        private final Set<Security> newSecurities = new HashSet<>();
+
+        /**
+         * Replace the new payees and securities of a file with the ones saved by a previous file and keep track of the
+         * ones that are still new.
+         */
+        public void replaceNew(List<Transaction> transactions) {
+            newPayees.clear();
+            newSecurities.clear();
+            for (Transaction transaction : transactions) {
+                if (transaction.getPayee() != null && transaction.getPayee().isNew()) {
+                    transaction.setPayee(payees.getOrDefault(transaction.getPayee(), transaction.getPayee()));
+                    if (transaction.getPayee().isNew()) newPayees.add(transaction.getPayee());
+                }
+                if (transaction.getSecurity() != null && transaction.getSecurity().isNew()) {
+                    transaction.setSecurity(securities.getOrDefault(transaction.getSecurity(), transaction.getSecurity()));
+                    if (transaction.getSecurity().isNew()) newSecurities.add(transaction.getSecurity());
+                }
+            }
+        }
+
+        /**
+         * Keep the new payees and securities of a file that were assigned an ID when the file was saved.
+         */
+        public void addSaved() {
+            newPayees.stream().filter(payee -> !payee.isNew()).forEach(payee -> payees.putIfAbsent(payee, payee));
+            newSecurities.stream().filter(security -> !security.isNew()).forEach(security -> securities.putIfAbsent(security, security));
+        }
+    }
+
+    private static class ParsedFile {
+        private final String hash;
+        private final ImportContext context;
+        private List<Transaction> transactions;
+
+        public ParsedFile(String hash, ImportContext context) {
+            this.hash = hash;
+            this.context = context;
+        }
     }
 
     public static void main(String[] args) {
@@ -117,19 +291,23 @@ public class FileImportOperationsImpl implements FileImportOperations {
             System.exit(1);
         }
         try {
-            importFiles(args[0], Stream.of(args).skip(1).map(File::new).collect(Collectors.toList()));
+            List<File> failed = importFiles(args[0], Stream.of(args).skip(1).map(File::new).collect(Collectors.toList()));
+            if (!failed.isEmpty()) {
+                System.out.println("failed to import: " + failed.stream().map(File::getPath).collect(Collectors.joining(", ")));
+                System.exit(1);
+            }
         }
         catch (Exception ex) {
             ex.printStackTrace();
         }
     }
 
-    public static void importFiles(String importName, Iterable<File> files) throws IOException {
-        DaoRepository daoContext = new HibernateDaoContext(CONNECTION_CONFIG.loadDriver(), CONFIG);
-        ServiceContext serviceContext = new ServiceContext(daoContext);
-        FileImportOperationsImpl fileImportOperations = new FileImportOperationsImpl(daoContext.getImportFileDao(), serviceContext);
-        for (File file : files) {
-            fileImportOperations.importTransactions(importName, new FileInputStream(file));
-        }
+    public static List<File> importFiles(String importName, Iterable<File> files) throws IOException, InterruptedException {
+        return importFiles(new HibernateDaoContext(CONNECTION_CONFIG.loadDriver(), CONFIG), importName, files);
+    }
+
+    static List<File> importFiles(DaoRepository daoContext, String importName, Iterable<File> files) throws InterruptedException {
+        FileImportOperationsImpl fileImportOperations = new FileImportOperationsImpl(daoContext, new ServiceContext(daoContext));
+        return fileImportOperations.importAll(importName, Lists.newArrayList(files));
     }
 }
@@ -23,12 +23,14 @@ package io.github.jonestimd.finance.operations;
 
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import io.github.jonestimd.finance.domain.account.Account;
 import io.github.jonestimd.finance.domain.asset.Security;
 import io.github.jonestimd.finance.domain.transaction.SecurityLot;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import io.github.jonestimd.finance.domain.transaction.TransactionPage;
 
 public interface TransactionOperations {
 
@@ -40,12 +42,42 @@ public interface TransactionOperations {
 
     TransactionDetail saveDetail(TransactionDetail detail);
 
+    /**
+     * Save new transactions using batched inserts.  The session is cleared after each batch, so this should only be
+     * used at the end of a bulk import.
+     */
+    void insertTransactions(Iterable<Transaction> transactions);
+
     void deleteTransaction(Transaction transaction);
 
+    /**
+     * Delete all transfer details whose related detail is no longer a transfer.  Orphans created by
+     * {@link #saveTransaction(TransactionUpdate)} are removed when the transaction is saved, so this is only
+     * needed to repair existing data.
+     * @return the number of orphans that were deleted
+     */
+    int deleteOrphanTransfers();
+
     void moveTransaction(Transaction transaction, Account newAccount);
 
     List<Transaction> getTransactions(long accountId);
 
+    /**
+     * Pass each of an account's transactions to {@code consumer} without loading all of them into memory.  The
+     * session is cleared periodically, so entities loaded before calling this method will be detached.
+     * @return the number of transactions
+     */
+    int forEachTransaction(long accountId, Consumer<Transaction> consumer);
+
+    /**
+     * Get a page of an account's transactions.  The opening balances of the page are calculated from the persisted
+     * account balance (or the opening balances of {@code newerPage}) and the amounts of the transactions in the page.
+     * @param accountId the ID of the account
+     * @param newerPage the page following the requested page or {@code null} to get the most recent transactions
+     * @param pageSize the maximum number of transactions to return
+     */
+    TransactionPage getTransactionPage(long accountId, TransactionPage newerPage, int pageSize);
+
     Transaction findLatestForPayee(long payeeId);
 
     List<TransactionDetail> findSecuritySalesWithoutLots(String namePrefix, Date saleDate);
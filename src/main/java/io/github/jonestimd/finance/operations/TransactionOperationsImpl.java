@@ -31,6 +31,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.google.common.collect.Lists;
+import io.github.jonestimd.finance.dao.AccountDao;
 import io.github.jonestimd.finance.dao.DaoRepository;
 import io.github.jonestimd.finance.dao.PayeeDao;
 import io.github.jonestimd.finance.dao.SecurityDao;
@@ -46,11 +47,17 @@ import io.github.jonestimd.finance.domain.transaction.SecurityLot;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import io.github.jonestimd.finance.domain.transaction.TransactionPage;
 import io.github.jonestimd.util.Streams;
 
 import static io.github.jonestimd.util.JavaPredicates.*;
 
 public class TransactionOperationsImpl implements TransactionOperations {
+    /** The number of transactions saved between session flushes by {@link #insertTransactions(Iterable)}. */
+    private static final int INSERT_BATCH_SIZE = 500;
+    /** The number of transactions read between session clears by {@link #forEachTransaction(long, Consumer)}. */
+    private static final int SCROLL_BATCH_SIZE = 500;
+    private final AccountDao accountDao;
     private final TransactionDao transactionDao;
     private final TransactionDetailDao transactionDetailDao;
     private final PayeeDao payeeDao;
@@ -59,6 +66,7 @@ public class TransactionOperationsImpl implements TransactionOperations {
     private final TransactionCategoryDao categoryDao;
 
     public TransactionOperationsImpl(DaoRepository daoRepository) {
+        this.accountDao = daoRepository.getAccountDao();
         this.transactionDao = daoRepository.getTransactionDao();
         this.transactionDetailDao = daoRepository.getTransactionDetailDao();
         this.payeeDao = daoRepository.getPayeeDao();
@@ -75,6 +83,11 @@ public class TransactionOperationsImpl implements TransactionOperations {
         return transactionDetailDao.save(detail);
     }
 
+    @Override
+    public void insertTransactions(Iterable<Transaction> transactions) {
+        transactionDao.insertAll(transactions, INSERT_BATCH_SIZE);
+    }
+
     @Override
     public void moveTransaction(Transaction transaction, Account newAccount) {
         Account oldAccount = transaction.getAccount();
@@ -124,16 +137,26 @@ public class TransactionOperationsImpl implements TransactionOperations {
             for (TransactionDetail detail : transactionUpdate.getDeletes()) {
                 deleteDetail(persisted.getDetail(detail.getId()));
             }
-            for (TransactionDetail detail : transactionDetailDao.findOrphanTransfers()) {
-                detail.setRelatedDetail(null);
-                deleteDetail(detail);
-            }
+            deleteOrphanTransfers(transactionDetailDao.findOrphanTransfers(persisted.getId()));
             transaction.getDetails().clear();
             transaction.getDetails().addAll(persisted.getDetails());
         }
         else transactionDao.save(transaction);
     }
 
+    @Override
+    public int deleteOrphanTransfers() {
+        return deleteOrphanTransfers(transactionDetailDao.findOrphanTransfers());
+    }
+
+    private int deleteOrphanTransfers(List<TransactionDetail> orphans) {
+        for (TransactionDetail detail : orphans) {
+            detail.setRelatedDetail(null);
+            deleteDetail(detail);
+        }
+        return orphans.size();
+    }
+
     private void persistPayee(Payee payee) {
         if (payee != null && payee.isNew()) {
             payeeDao.save(payee);
@@ -165,6 +188,23 @@ public class TransactionOperationsImpl implements TransactionOperations {
         return transactionDao.getTransactions(accountId);
     }
 
+    @Override
+    public int forEachTransaction(long accountId, Consumer<Transaction> consumer) {
+        return transactionDao.forEachTransaction(accountId, SCROLL_BATCH_SIZE, consumer);
+    }
+
+    @Override
+    public TransactionPage getTransactionPage(long accountId, TransactionPage newerPage, int pageSize) {
+        BigDecimal balance = newerPage == null ? accountDao.getBalance(accountId) : newerPage.getOpeningBalance();
+        BigDecimal clearedBalance = newerPage == null ? transactionDao.getClearedBalance(accountId) : newerPage.getOpeningClearedBalance();
+        List<Transaction> transactions = transactionDao.getTransactions(accountId, newerPage == null ? null : newerPage.getOldest(), pageSize);
+        for (Transaction transaction : transactions) {
+            balance = balance.subtract(transaction.getAmount());
+            if (transaction.isCleared()) clearedBalance = clearedBalance.subtract(transaction.getAmount());
+        }
+        return new TransactionPage(transactions, balance, clearedBalance, transactions.size() < pageSize);
+    }
+
     @Override
     public Transaction findLatestForPayee(long payeeId) {
         return transactionDao.findLatestForPayee(payeeId);
@@ -57,7 +57,7 @@ public class ServiceContext implements ServiceLocator {
         transactionOperations = transactional(new TransactionOperationsImpl(daoContext), TransactionOperations.class);
         transactionService = new TransactionServiceImpl(transactionOperations, daoContext.getDomainEventRecorder());
         assetOperations = transactional(new AssetOperationsImpl(daoContext), AssetOperations.class);
-        fileImportOperations = transactional(new FileImportOperationsImpl(daoContext.getImportFileDao(), this), FileImportOperations.class);
+        fileImportOperations = transactional(new FileImportOperationsImpl(daoContext, this), FileImportOperations.class);
     }
 
     @Override
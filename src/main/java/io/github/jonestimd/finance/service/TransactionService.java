@@ -24,6 +24,7 @@ package io.github.jonestimd.finance.service;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import io.github.jonestimd.finance.domain.account.Account;
 import io.github.jonestimd.finance.domain.asset.Security;
@@ -31,6 +32,7 @@ import io.github.jonestimd.finance.domain.event.DomainEvent;
 import io.github.jonestimd.finance.domain.transaction.SecurityLot;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import io.github.jonestimd.finance.domain.transaction.TransactionPage;
 import io.github.jonestimd.finance.operations.TransactionBulkUpdate;
 import io.github.jonestimd.finance.operations.TransactionUpdate;
 
@@ -48,10 +50,24 @@ public interface TransactionService {
 
     TransactionDetail saveDetail(TransactionDetail detail);
 
+    /**
+     * Save new transactions using batched inserts without recording domain events.  The session is cleared after
+     * each batch, so this should only be used at the end of a bulk import.
+     */
+    void insertTransactions(Collection<Transaction> transactions);
+
     List<? extends DomainEvent<?, ?>> deleteTransaction(Transaction transaction);
 
     List<Transaction> getTransactions(long accountId);
 
+    /**
+     * Pass each of an account's transactions to {@code consumer} without loading all of them into memory.
+     * @return the number of transactions
+     */
+    int forEachTransaction(long accountId, Consumer<Transaction> consumer);
+
+    TransactionPage getTransactionPage(long accountId, TransactionPage newerPage, int pageSize);
+
     Transaction findLatestForPayee(long payeeId);
 
     List<TransactionDetail> findSecuritySalesWithoutLots(String namePrefix, Date saleDate);
@@ -24,6 +24,7 @@ package io.github.jonestimd.finance.service;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import io.github.jonestimd.finance.dao.hibernate.DomainEventRecorder;
 import io.github.jonestimd.finance.domain.account.Account;
@@ -33,6 +34,7 @@ import io.github.jonestimd.finance.domain.event.DomainEventHolder;
 import io.github.jonestimd.finance.domain.transaction.SecurityLot;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import io.github.jonestimd.finance.domain.transaction.TransactionPage;
 import io.github.jonestimd.finance.operations.TransactionBulkUpdate;
 import io.github.jonestimd.finance.operations.TransactionOperations;
 import io.github.jonestimd.finance.operations.TransactionUpdate;
@@ -82,6 +84,11 @@ public class TransactionServiceImpl implements TransactionService {
         return transactionOperations.saveDetail(detail);
     }
 
+    @Override
+    public void insertTransactions(Collection<Transaction> transactions) {
+        transactionOperations.insertTransactions(transactions);
+    }
+
     @Override
     public List<? extends DomainEvent<?, ?>> deleteTransaction(Transaction transaction) {
         DomainEventHolder eventHolder = eventRecorder.beginRecording();
@@ -94,6 +101,16 @@ public class TransactionServiceImpl implements TransactionService {
         return transactionOperations.getTransactions(accountId);
     }
 
+    @Override
+    public int forEachTransaction(long accountId, Consumer<Transaction> consumer) {
+        return transactionOperations.forEachTransaction(accountId, consumer);
+    }
+
+    @Override
+    public TransactionPage getTransactionPage(long accountId, TransactionPage newerPage, int pageSize) {
+        return transactionOperations.getTransactionPage(accountId, newerPage, pageSize);
+    }
+
     @Override
     public Transaction findLatestForPayee(long payeeId) {
         return transactionOperations.findLatestForPayee(payeeId);
@@ -28,7 +28,6 @@ import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
 import io.github.jonestimd.finance.SystemProperty;
-import io.github.jonestimd.finance.config.ConnectionConfig;
 import io.github.jonestimd.finance.dao.HibernateDaoContext;
 import io.github.jonestimd.finance.domain.account.Account;
 import io.github.jonestimd.finance.plugin.DriverConfigurationService.DriverService;
@@ -43,7 +42,6 @@ import org.apache.log4j.Logger;
 import static io.github.jonestimd.finance.config.ApplicationConfig.*;
 
 public class FinanceApplication {
-    public static final ConnectionConfig CONNECTION_CONFIG = new ConnectionConfig();
     private static final String PROPERTIES_FILENAME = ".finances/finances.properties";
     private static final ResourceBundle bundle = BundleType.LABELS.get();
     private static final Logger logger = Logger.getLogger(FinanceApplication.class);
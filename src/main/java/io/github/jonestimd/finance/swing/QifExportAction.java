@@ -0,0 +1,116 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.swing;
+
+import java.awt.Component;
+import java.awt.event.ActionEvent;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+import javax.swing.JComponent;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.JRootPane;
+import javax.swing.SwingUtilities;
+import javax.swing.filechooser.FileFilter;
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+import io.github.jonestimd.finance.file.quicken.QuickenContext;
+import io.github.jonestimd.finance.service.ServiceLocator;
+import io.github.jonestimd.function.MessageConsumer;
+import io.github.jonestimd.swing.BackgroundTask;
+import io.github.jonestimd.swing.ComponentTreeUtils;
+import io.github.jonestimd.swing.action.LocalizedAction;
+import io.github.jonestimd.swing.window.StatusFrame;
+
+import static io.github.jonestimd.finance.swing.BundleType.*;
+
+public class QifExportAction extends LocalizedAction {
+    public static final String MESSAGE_PREFIX = "export.qif";
+    public static final String RESOURCE_PREFIX = "action." + MESSAGE_PREFIX;
+    private final ServiceLocator serviceLocator;
+    private final JFileChooser fileChooser = new JFileChooser();
+    private final FileFilter fileFilter = new FileNameExtensionFilter("Quicken Import Format", "qif", "QIF");
+
+    public QifExportAction(ServiceLocator serviceLocator) {
+        super(LABELS.get(), RESOURCE_PREFIX);
+        this.serviceLocator = serviceLocator;
+        fileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
+        fileChooser.addChoosableFileFilter(fileFilter);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        fileChooser.setFileFilter(fileFilter);
+        int result = fileChooser.showSaveDialog(ComponentTreeUtils.findAncestor((Component) event.getSource(), JRootPane.class));
+        if (result == JFileChooser.APPROVE_OPTION) {
+            StatusFrame window = ComponentTreeUtils.findAncestor((JComponent) event.getSource(), StatusFrame.class);
+            File selectedFile = fileChooser.getSelectedFile();
+            window.disableUI(MESSAGES.formatMessage(MESSAGE_PREFIX + ".start.status", selectedFile.getName()));
+            new ExportTask(selectedFile, window).run(window);
+        }
+    }
+
+    private Consumer<String> setStatusMessage(StatusFrame window) {
+        return message -> SwingUtilities.invokeLater(() -> window.setStatusMessage(message));
+    }
+
+    private class ExportTask extends BackgroundTask<Integer> {
+        private final File selectedFile;
+        private final StatusFrame window;
+
+        private ExportTask(File selectedFile, StatusFrame window) {
+            this.selectedFile = selectedFile;
+            this.window = window;
+        }
+
+        @Override
+        public String getStatusMessage() {
+            return MESSAGES.formatMessage(MESSAGE_PREFIX + ".start.status", selectedFile.getName());
+        }
+
+        @Override
+        public Integer performTask() {
+            MessageConsumer updateProgress = MessageConsumer.forBundle(MESSAGES.get(), setStatusMessage(window));
+            try (Writer writer = new BufferedWriter(new FileWriter(selectedFile))) {
+                return new QuickenContext(serviceLocator).newQifExport().exportFile(writer, updateProgress);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void updateUI(Integer count) {
+            JOptionPane.showMessageDialog(window, MESSAGES.formatMessage(MESSAGE_PREFIX + ".summary", count));
+        }
+
+        @Override
+        public boolean handleException(Throwable ex) {
+            return false;
+        }
+    }
+}
@@ -121,7 +121,7 @@ public class QifImportAction extends LocalizedAction {
         public ImportSummary performTask() {
             MessageConsumer updateProgress = MessageConsumer.forBundle(MESSAGES.get(), setStatusMessage(window));
             try (FileReader qifReader = new FileReader(selectedFile)) {
-                return new QuickenContext(serviceLocator).newQifImport().importFile(qifReader, updateProgress);
+                return new QuickenContext(serviceLocator).newBulkQifImport().importFile(qifReader, updateProgress);
             } catch (IOException ex) {
                 throw new QuickenException("unexpectedException", ex);
             }
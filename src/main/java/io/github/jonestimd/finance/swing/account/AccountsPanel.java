@@ -48,6 +48,7 @@ import io.github.jonestimd.finance.service.ServiceLocator;
 import io.github.jonestimd.finance.swing.BundleType;
 import io.github.jonestimd.finance.swing.CapitalGainsImportAction;
 import io.github.jonestimd.finance.swing.FinanceTableFactory;
+import io.github.jonestimd.finance.swing.QifExportAction;
 import io.github.jonestimd.finance.swing.QifImportAction;
 import io.github.jonestimd.finance.swing.WindowType;
 import io.github.jonestimd.finance.swing.event.AccountSelector;
@@ -81,6 +82,7 @@ public class AccountsPanel extends TransactionSummaryTablePanel<Account, Account
     private Action openAction;
     private Action companyAction;
     private Action qifImportAction;
+    private Action qifExportAction;
     private Action capitalGainsImportAction;
 
     public AccountsPanel(ServiceLocator serviceLocator, DomainEventPublisher domainEventPublisher, FinanceTableFactory tableFactory,
@@ -97,6 +99,7 @@ public class AccountsPanel extends TransactionSummaryTablePanel<Account, Account
         openAction.setEnabled(false);
         companyAction = new CompanyDialogAction(tableFactory);
         qifImportAction = new QifImportAction(serviceLocator, eventPublisher);
+        qifExportAction = new QifExportAction(serviceLocator);
         capitalGainsImportAction = new CapitalGainsImportAction(serviceLocator, tableFactory, eventPublisher);
         TableFactory.addDoubleClickHandler(getTable(), this::tableDoubleClicked);
     }
@@ -107,6 +110,7 @@ public class AccountsPanel extends TransactionSummaryTablePanel<Account, Account
         final JMenu menu = ComponentFactory.newMenu(LABELS.get(), "menu.file.mnemonicAndName");
         menu.add(new JMenuItem(qifImportAction));
         menu.add(new JMenuItem(capitalGainsImportAction));
+        menu.add(new JMenuItem(qifExportAction));
         menuBar.add(menu, 0);
     }
 
@@ -23,8 +23,11 @@ package io.github.jonestimd.finance.swing.event;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import io.github.jonestimd.finance.domain.UniqueId;
 import io.github.jonestimd.finance.domain.event.DomainEvent;
@@ -35,11 +38,16 @@ import org.apache.log4j.Logger;
  * {@link WeakReference}s to the listeners.  <strong>Once there are no strong refereces to a listener, it will no
  * longer receive events.</strong>
  * <p>
+ * The listeners for each domain class are cached so that publishing an event only visits the listeners that handle
+ * the event.  The cache is cleared when listeners are added or removed.
+ * <p>
  * This class is not thread-safe.  It is intendend for use only on the AWT event thread.
  */
 public class DomainEventPublisher {
     private static final Logger logger = Logger.getLogger(DomainEventPublisher.class);
-    private List<EventListener<?, ?>> listeners = new ArrayList<>();
+    private final List<EventListener<?, ?>> listeners = new ArrayList<>();
+    /** the listeners for each event domain class ({@code null} for events that apply to all domain classes) */
+    private final Map<Class<?>, List<EventListener<?, ?>>> dispatchIndex = new HashMap<>();
 
     /**
      * Register a listener for domain events.
@@ -47,26 +55,50 @@ public class DomainEventPublisher {
     public <ID, T extends UniqueId<ID>> void register(Class<T> domainClass, DomainEventListener<ID, T> listener) {
         logger.debug("register " + domainClass.getSimpleName() + ", " + listener);
         listeners.add(new EventListener<>(domainClass, listener));
+        dispatchIndex.clear();
     }
 
     /**
      * Unregister a listener for domain events.
      */
     public <ID, T extends UniqueId<ID>> void unregister(Class<T> domainClass, DomainEventListener<ID, T> listener) {
-        listeners.removeIf(eventListener -> eventListener.isInactive() || eventListener.matches(domainClass, listener));
+        if (listeners.removeIf(eventListener -> eventListener.isInactive() || eventListener.matches(domainClass, listener))) {
+            dispatchIndex.clear();
+        }
     }
 
     @SuppressWarnings("unchecked")
     public <ID, T extends UniqueId<ID>, E extends DomainEvent<ID, T>> void publishEvent(E event) {
-        Iterator<EventListener<?, ?>> iterator = listeners.iterator();
-        while (iterator.hasNext()) {
-            EventListener<?, ?> eventListener = iterator.next();
+        boolean reap = false;
+        for (EventListener<?, ?> eventListener : getListeners(event.getDomainClass())) {
+            if (!eventListener.sendEvent(DomainEvent.class.cast(event))) reap = true;
+        }
+        if (reap) reapListeners();
+    }
+
+    /**
+     * Publish the events resulting from a single update.  Consecutive events that have the same source, type and
+     * domain class are combined so that each listener is notified once for each run, in the order of the updates.
+     */
+    public void publishEvents(Collection<? extends DomainEvent<?, ?>> events) {
+        DomainEvent.coalesce(events).forEach(this::publishEvent);
+    }
+
+    private List<EventListener<?, ?>> getListeners(Class<?> domainClass) {
+        return dispatchIndex.computeIfAbsent(domainClass, eventClass -> listeners.stream()
+                .filter(eventListener -> eventListener.handlesEvent(eventClass))
+                .collect(Collectors.toList()));
+    }
+
+    private void reapListeners() {
+        listeners.removeIf(eventListener -> {
             if (eventListener.isInactive()) {
                 logger.debug("reaped " + eventListener.domainClass.getSimpleName());
-                iterator.remove();
+                return true;
             }
-            else if (eventListener.handlesEvent(event)) eventListener.sendEvent(DomainEvent.class.cast(event));
-        }
+            return false;
+        });
+        dispatchIndex.clear();
     }
 
     private class EventListener<ID, T extends UniqueId<ID>> {
@@ -86,13 +118,18 @@ public class DomainEventPublisher {
             return this.domainClass == domainClass && this.listener.get() == listener;
         }
 
-        public boolean handlesEvent(DomainEvent<?, ?> event) {
-            Class<?> domainClass = event.getDomainClass();
+        public boolean handlesEvent(Class<?> domainClass) {
             return domainClass == null || this.domainClass.isAssignableFrom(domainClass);
         }
 
-        public void sendEvent(DomainEvent<ID, T> event) {
-            listener.get().onDomainEvent(event);
+        /**
+         * @return false if the listener has been garbage collected.
+         */
+        public boolean sendEvent(DomainEvent<ID, T> event) {
+            DomainEventListener<ID, T> domainEventListener = listener.get();
+            if (domainEventListener == null) return false;
+            domainEventListener.onDomainEvent(event);
+            return true;
         }
     }
-}
\ No newline at end of file
+}
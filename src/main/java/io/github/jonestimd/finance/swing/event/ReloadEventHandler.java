@@ -24,6 +24,7 @@ package io.github.jonestimd.finance.swing.event;
 import java.awt.Component;
 import java.util.List;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import io.github.jonestimd.finance.domain.UniqueId;
@@ -40,15 +41,23 @@ import static io.github.jonestimd.finance.swing.BundleType.*;
  */
 public class ReloadEventHandler<ID, T extends UniqueId<ID>> implements DomainEventListener<ID, T> {
     private final Component component;
-    private final BackgroundTask<List<T>> task;
+    private final BackgroundTask<?> task;
 
     public ReloadEventHandler(Component component, String messageKey, Supplier<List<T>> getTableData, Supplier<BeanTableModel<T>> modelSupplier) {
         this(component, messageKey, getTableData, modelSupplier, UniqueId::isSameId);
     }
 
     public ReloadEventHandler(Component component, String messageKey, Supplier<List<T>> getTableData, Supplier<BeanTableModel<T>> modelSupplier, BiPredicate<T, T> isEqual) {
+        this(component, messageKey, getTableData, beans -> modelSupplier.get().updateBeans(beans, isEqual));
+    }
+
+    /**
+     * @param getTableData loads the data in a background thread
+     * @param updateModel updates the table model with the loaded data
+     */
+    public <R> ReloadEventHandler(Component component, String messageKey, Supplier<R> getTableData, Consumer<R> updateModel) {
         this.component = component;
-        this.task = BackgroundTask.task(LABELS.getString(messageKey), getTableData, beans -> modelSupplier.get().updateBeans(beans, isEqual));
+        this.task = BackgroundTask.task(LABELS.getString(messageKey), getTableData, updateModel);
     }
 
     @Override
@@ -0,0 +1,230 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.swing.transaction;
+
+import java.math.BigDecimal;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Maintains the running balance of a list of items.  The items are stored in a tree that is balanced by random
+ * priorities (treap) and ordered by their position in the list.  Each node caches its item's amount along with the size
+ * and total amount of its subtree so that inserting, removing or changing the amount of an item and getting the balance
+ * of an item are {@code O(log n)}.
+ * <p>
+ * Items are indexed by identity.
+ * @param <T> the list item type
+ */
+class RunningBalanceIndex<T> {
+    private final Random random = new Random();
+    private final Map<T, Node<T>> nodes = new IdentityHashMap<>();
+    private Node<T> root;
+
+    public void clear() {
+        nodes.clear();
+        root = null;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean contains(T item) {
+        return nodes.containsKey(item);
+    }
+
+    /**
+     * @return the cached amount of the item or {@code null} if the item is not in the index.
+     */
+    public BigDecimal getAmount(T item) {
+        Node<T> node = nodes.get(item);
+        return node == null ? null : node.amount;
+    }
+
+    /**
+     * @return the total of the amounts for the items up to and including {@code item} or {@code null} if the item is
+     * not in the index.
+     */
+    public BigDecimal getBalance(T item) {
+        Node<T> node = nodes.get(item);
+        if (node == null) return null;
+        BigDecimal balance = node.amount.add(total(node.left));
+        for (Node<T> child = node; child.parent != null; child = child.parent) {
+            if (child.parent.right == child) balance = balance.add(child.parent.amount).add(total(child.parent.left));
+        }
+        return balance;
+    }
+
+    /**
+     * @return the position of the item or -1 if the item is not in the index.
+     */
+    public int indexOf(T item) {
+        Node<T> node = nodes.get(item);
+        if (node == null) return -1;
+        int index = size(node.left);
+        for (Node<T> child = node; child.parent != null; child = child.parent) {
+            if (child.parent.right == child) index += size(child.parent.left) + 1;
+        }
+        return index;
+    }
+
+    /**
+     * Insert an item.
+     * @param index the position of the item
+     * @param item the item
+     * @param amount the amount of the item
+     * @throws IllegalArgumentException if the item is already in the index
+     */
+    public void add(int index, T item, BigDecimal amount) {
+        if (nodes.containsKey(item)) throw new IllegalArgumentException("duplicate item");
+        if (index < 0 || index > size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        Node<T> node = new Node<>(amount, random.nextInt());
+        nodes.put(item, node);
+        if (root == null) root = node;
+        else {
+            Node<T> parent = root;
+            int position = index;
+            while (true) {
+                int leftSize = size(parent.left);
+                if (position <= leftSize) {
+                    if (parent.left == null) {
+                        parent.left = node;
+                        break;
+                    }
+                    parent = parent.left;
+                }
+                else {
+                    position -= leftSize + 1;
+                    if (parent.right == null) {
+                        parent.right = node;
+                        break;
+                    }
+                    parent = parent.right;
+                }
+            }
+            node.parent = parent;
+            updateAncestors(parent);
+            while (node.parent != null && node.priority > node.parent.priority) {
+                if (node.parent.left == node) rotateRight(node.parent);
+                else rotateLeft(node.parent);
+            }
+        }
+    }
+
+    /**
+     * Remove an item.
+     * @return the cached amount of the item or {@code null} if the item was not in the index.
+     */
+    public BigDecimal remove(T item) {
+        Node<T> node = nodes.remove(item);
+        if (node == null) return null;
+        while (node.left != null && node.right != null) {
+            if (node.left.priority > node.right.priority) rotateRight(node);
+            else rotateLeft(node);
+        }
+        Node<T> child = node.left != null ? node.left : node.right;
+        if (child != null) child.parent = node.parent;
+        replaceChild(node.parent, node, child);
+        updateAncestors(node.parent);
+        return node.amount;
+    }
+
+    /**
+     * Update the cached amount of an item.
+     * @return true if the amount changed.
+     * @throws IllegalArgumentException if the item is not in the index
+     */
+    public boolean setAmount(T item, BigDecimal amount) {
+        Node<T> node = nodes.get(item);
+        if (node == null) throw new IllegalArgumentException("unknown item");
+        if (node.amount.compareTo(amount) == 0) return false;
+        node.amount = amount;
+        updateAncestors(node);
+        return true;
+    }
+
+    private void rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        if (pivot.right != null) pivot.right.parent = node;
+        pivot.parent = node.parent;
+        replaceChild(node.parent, node, pivot);
+        pivot.right = node;
+        node.parent = pivot;
+        node.update();
+        pivot.update();
+    }
+
+    private void rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        if (pivot.left != null) pivot.left.parent = node;
+        pivot.parent = node.parent;
+        replaceChild(node.parent, node, pivot);
+        pivot.left = node;
+        node.parent = pivot;
+        node.update();
+        pivot.update();
+    }
+
+    private void replaceChild(Node<T> parent, Node<T> oldChild, Node<T> newChild) {
+        if (parent == null) root = newChild;
+        else if (parent.left == oldChild) parent.left = newChild;
+        else parent.right = newChild;
+    }
+
+    private void updateAncestors(Node<T> node) {
+        for (; node != null; node = node.parent) {
+            node.update();
+        }
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static BigDecimal total(Node<?> node) {
+        return node == null ? BigDecimal.ZERO : node.total;
+    }
+
+    private static class Node<T> {
+        private final int priority;
+        private BigDecimal amount;
+        private BigDecimal total;
+        private int size = 1;
+        private Node<T> parent;
+        private Node<T> left;
+        private Node<T> right;
+
+        public Node(BigDecimal amount, int priority) {
+            this.amount = amount;
+            this.total = amount;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + size(left) + size(right);
+            total = amount.add(total(left)).add(total(right));
+        }
+    }
+}
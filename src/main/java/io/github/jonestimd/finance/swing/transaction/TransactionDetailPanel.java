@@ -22,6 +22,7 @@
 package io.github.jonestimd.finance.swing.transaction;
 
 import java.awt.BorderLayout;
+import java.awt.Container;
 import java.awt.event.ActionEvent;
 import java.util.List;
 
@@ -89,11 +90,24 @@ public class TransactionDetailPanel extends MenuActionPanel {
         toolbar.add(ComponentFactory.newToolbarButton(action));
     }
 
-    private void selectTransaction(TransactionTable table, Transaction transaction) {
+    /**
+     * Select the transaction in the table.  If the transaction isn't in the loaded pages, then the rest of the account's
+     * transactions are loaded first.
+     */
+    private void selectTransaction(Container contentPane, TransactionTable table, Transaction transaction) {
         int index = table.getModel().indexOf(transaction);
-        int row = table.convertRowIndexToView(table.getModel().getLeadRowForGroup(index));
-        table.setRowSelectionInterval(row, row);
-        table.scrollRectToVisible(table.getCellRect(row, 0, true));
+        if (index < 0 && contentPane instanceof TransactionsPanel) {
+            ((TransactionsPanel) contentPane).loadAllTransactions(() -> selectRow(table, table.getModel().indexOf(transaction)));
+        }
+        else selectRow(table, index);
+    }
+
+    private void selectRow(TransactionTable table, int index) {
+        if (index >= 0) {
+            int row = table.convertRowIndexToView(table.getModel().getLeadRowForGroup(index));
+            table.setRowSelectionInterval(row, row);
+            table.scrollRectToVisible(table.getCellRect(row, 0, true));
+        }
     }
 
     private class GotoAction extends LocalizedAction implements SelectAccountAction {
@@ -108,7 +122,8 @@ public class TransactionDetailPanel extends MenuActionPanel {
         @Override
         public void actionPerformed(ActionEvent e) {
             StatusFrame frame = frameManager.showFrame(this);
-            TransactionTable table = ComponentTreeUtils.findComponent(frame.getContentPane(), TransactionTable.class);
+            Container contentPane = frame.getContentPane();
+            TransactionTable table = ComponentTreeUtils.findComponent(contentPane, TransactionTable.class);
             TransactionTableModel model = table.getModel();
             final Transaction transaction = detailTable.getSelectedItems().get(0).getTransaction();
             if (model.getBeans().isEmpty()) {
@@ -117,11 +132,11 @@ public class TransactionDetailPanel extends MenuActionPanel {
                     @Override
                     public void tableChanged(TableModelEvent e) {
                         model.removeTableModelListener(this);
-                        SwingUtilities.invokeLater(() -> selectTransaction(table, transaction));
+                        SwingUtilities.invokeLater(() -> selectTransaction(contentPane, table, transaction));
                     }
                 });
             }
-            else selectTransaction(table, transaction);
+            else selectTransaction(contentPane, table, transaction);
         }
 
         @Override
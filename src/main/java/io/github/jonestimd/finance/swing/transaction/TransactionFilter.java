@@ -26,12 +26,25 @@ import java.util.function.Predicate;
 import io.github.jonestimd.finance.domain.asset.Security;
 import io.github.jonestimd.finance.domain.transaction.Payee;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
 
 public class TransactionFilter implements Predicate<Transaction> {
+    /** Separates the fields of a search key so that the search text can't match across fields. */
+    private static final char FIELD_SEPARATOR = '\0';
     private final String searchText;
+    private final TransactionFilterCache cache;
 
     public TransactionFilter(String searchText) {
+        this(searchText, null);
+    }
+
+    /**
+     * @param searchText the text to search for
+     * @param cache the cache of search keys and results (may be null)
+     */
+    public TransactionFilter(String searchText, TransactionFilterCache cache) {
         this.searchText = searchText;
+        this.cache = cache;
     }
 
     public boolean test(Transaction transaction) {
@@ -39,23 +52,41 @@ public class TransactionFilter implements Predicate<Transaction> {
     }
 
     private boolean matchesTransaction(Transaction transaction, String filterText) {
-        return transaction.isNew() || transaction.getMemo() != null && transaction.getMemo().toLowerCase().contains(filterText)
-                || matchesPayee(transaction.getPayee(), filterText) || matchesSecurity(transaction.getSecurity(), filterText)
-                || transaction.getAmount().toString().contains(filterText)
-                || matchesDetail(transaction, filterText);
+        if (transaction.isNew()) return true;
+        return cache == null ? searchKey(transaction).contains(filterText) : cache.matches(transaction, filterText);
+    }
+
+    /**
+     * Build the text that is searched for a transaction.  Names and memos are converted to lower case.  Amounts are
+     * not converted so that they only match the same text as {@link java.math.BigDecimal#toString()}.
+     */
+    protected static String searchKey(Transaction transaction) {
+        StringBuilder buffer = new StringBuilder();
+        appendLowerCase(buffer, transaction.getMemo());
+        appendPayee(buffer, transaction.getPayee());
+        appendSecurity(buffer, transaction.getSecurity());
+        append(buffer, transaction.getAmount().toString());
+        for (TransactionDetail detail : transaction.getDetails()) {
+            appendLowerCase(buffer, detail.getMemo());
+            if (detail.getTransactionType() != null) appendLowerCase(buffer, detail.getTransactionType().qualifiedName(" "));
+            if (detail.getAmount() != null) append(buffer, detail.getAmount().toString());
+        }
+        return buffer.toString();
+    }
+
+    private static void appendPayee(StringBuilder buffer, Payee payee) {
+        if (payee != null) appendLowerCase(buffer, payee.getName());
     }
 
-    private boolean matchesPayee(Payee payee, String filterText) {
-        return payee != null && payee.getName().toLowerCase().contains(filterText);
+    private static void appendSecurity(StringBuilder buffer, Security security) {
+        if (security != null) appendLowerCase(buffer, security.getName());
     }
 
-    private boolean matchesSecurity(Security security, String filterText) {
-        return security != null && security.getName().toLowerCase().contains(filterText);
+    private static void appendLowerCase(StringBuilder buffer, String value) {
+        if (value != null) append(buffer, value.toLowerCase());
     }
 
-    private boolean matchesDetail(Transaction transaction, String filterText) {
-        return transaction.getDetails().stream().anyMatch(detail -> detail.getMemo() != null && detail.getMemo().toLowerCase().contains(filterText)
-                || detail.getTransactionType() != null && detail.getTransactionType().qualifiedName(" ").toLowerCase().contains(filterText)
-                || detail.getAmount() != null && detail.getAmount().toString().contains(filterText));
+    private static void append(StringBuilder buffer, String value) {
+        buffer.append(value).append(FIELD_SEPARATOR);
     }
 }
@@ -0,0 +1,183 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2024 Tim Jones
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package io.github.jonestimd.finance.swing.transaction;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+
+/**
+ * Caches the search keys of transactions and the results of recent filter terms so that typing in the filter field
+ * doesn't rebuild the search text of every transaction on each keystroke.  A transaction that didn't match a term
+ * can't match a longer term containing it, so narrowing the search only tests the transactions that still match.
+ * <p>
+ * The cache is a {@link TableModelListener} that discards the entries of transactions whose rows are updated.  It can
+ * be populated from a background thread using a {@link SearchKeys} snapshot taken on the event dispatch thread.
+ * Values computed while an entry was being invalidated are not cached.
+ */
+public class TransactionFilterCache implements TableModelListener {
+    private static final int RECENT_TERMS = 8;
+    private final Map<Transaction, String> searchKeys = new WeakHashMap<>();
+    private final Map<String, Map<Transaction, Boolean>> results = new LinkedHashMap<String, Map<Transaction, Boolean>>(16, .75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Entry<String, Map<Transaction, Boolean>> eldest) {
+            return size() > RECENT_TERMS;
+        }
+    };
+    private int version;
+
+    public TransactionFilter newFilter(String searchText) {
+        return new TransactionFilter(searchText, this);
+    }
+
+    /**
+     * @param transaction the transaction to test
+     * @param filterText the lower case search text
+     * @return true if the search key of the transaction contains the search text
+     */
+    protected boolean matches(Transaction transaction, String filterText) {
+        final int version;
+        String searchKey;
+        synchronized (this) {
+            Boolean result = getResult(transaction, filterText);
+            if (result != null) return result;
+            version = this.version;
+            searchKey = searchKeys.get(transaction);
+        }
+        if (searchKey == null) searchKey = TransactionFilter.searchKey(transaction);
+        boolean result = searchKey.contains(filterText);
+        synchronized (this) {
+            if (version == this.version) {
+                searchKeys.put(transaction, searchKey);
+                results.computeIfAbsent(filterText, key -> new WeakHashMap<>()).put(transaction, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Copy the search keys of transactions.  Must be called on the event dispatch thread.  New transactions are
+     * skipped because they match any filter.
+     * @return a snapshot that can be passed to {@link #prepare(SearchKeys, String, BooleanSupplier)} on another thread
+     */
+    public synchronized SearchKeys getSearchKeys(Collection<Transaction> transactions) {
+        List<Transaction> saved = transactions.stream().filter(transaction -> !transaction.isNew()).collect(Collectors.toList());
+        List<String> keys = saved.stream().map(transaction -> searchKeys.computeIfAbsent(transaction, TransactionFilter::searchKey))
+                .collect(Collectors.toList());
+        return new SearchKeys(version, saved, keys);
+    }
+
+    /**
+     * Cache the results of a filter term for a snapshot of search keys.  The transactions are only used as cache keys,
+     * so this method may be called from a background thread.  The results are discarded if the cache was invalidated
+     * after the snapshot was taken.
+     * @param searchKeys the snapshot of search keys
+     * @param filterText the lower case search text
+     * @param cancelled checked before testing each search key
+     * @return false if the preparation was cancelled
+     */
+    public boolean prepare(SearchKeys searchKeys, String filterText, BooleanSupplier cancelled) {
+        boolean[] matches = new boolean[searchKeys.keys.size()];
+        for (int i = 0; i < matches.length; i++) {
+            if (cancelled.getAsBoolean()) return false;
+            matches[i] = searchKeys.keys.get(i).contains(filterText);
+        }
+        synchronized (this) {
+            if (searchKeys.version == version) {
+                Map<Transaction, Boolean> termResults = results.computeIfAbsent(filterText, key -> new WeakHashMap<>());
+                for (int i = 0; i < matches.length; i++) {
+                    termResults.put(searchKeys.transactions.get(i), matches[i]);
+                }
+            }
+        }
+        return true;
+    }
+
+    private Boolean getResult(Transaction transaction, String filterText) {
+        Map<Transaction, Boolean> termResults = results.get(filterText);
+        if (termResults != null && termResults.containsKey(transaction)) return termResults.get(transaction);
+        for (Entry<String, Map<Transaction, Boolean>> entry : results.entrySet()) {
+            if (filterText.contains(entry.getKey()) && Boolean.FALSE.equals(entry.getValue().get(transaction))) return false;
+        }
+        return null;
+    }
+
+    /**
+     * Discard the cached values for transactions.
+     */
+    public synchronized void invalidate(Set<Transaction> transactions) {
+        version++;
+        searchKeys.keySet().removeAll(transactions);
+        results.values().forEach(termResults -> termResults.keySet().removeAll(transactions));
+    }
+
+    /**
+     * Discard all cached values.
+     */
+    public synchronized void clear() {
+        version++;
+        searchKeys.clear();
+        results.clear();
+    }
+
+    @Override
+    public void tableChanged(TableModelEvent event) {
+        TransactionTableModel model = (TransactionTableModel) event.getSource();
+        if (event.getFirstRow() == TableModelEvent.HEADER_ROW || event.getLastRow() == Integer.MAX_VALUE) clear();
+        else if (event.getType() == TableModelEvent.UPDATE && event.getColumn() != model.balanceColumn) {
+            Set<Transaction> transactions = Collections.newSetFromMap(new IdentityHashMap<>());
+            int lastRow = Math.min(event.getLastRow(), model.getRowCount() - 1);
+            for (int row = event.getFirstRow(); row <= lastRow; row++) {
+                transactions.add(model.getBeanAtRow(row));
+            }
+            if (!transactions.isEmpty()) invalidate(transactions);
+        }
+    }
+
+    /**
+     * An immutable copy of the search keys of transactions.
+     */
+    public static class SearchKeys {
+        private final int version;
+        private final List<Transaction> transactions;
+        private final List<String> keys;
+
+        private SearchKeys(int version, List<Transaction> transactions, List<String> keys) {
+            this.version = version;
+            this.transactions = Collections.unmodifiableList(transactions);
+            this.keys = Collections.unmodifiableList(keys);
+        }
+    }
+}
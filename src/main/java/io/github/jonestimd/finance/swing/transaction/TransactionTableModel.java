@@ -31,12 +31,17 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Supplier;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Stream;
 
+import javax.swing.event.TableModelEvent;
+
 import com.google.common.collect.ImmutableList;
 import io.github.jonestimd.beans.ObservableBean;
 import io.github.jonestimd.beans.ReadWriteAccessor;
@@ -51,6 +56,7 @@ import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
 import io.github.jonestimd.finance.domain.transaction.TransactionGroup;
+import io.github.jonestimd.finance.domain.transaction.TransactionPage;
 import io.github.jonestimd.finance.domain.transaction.TransactionType;
 import io.github.jonestimd.finance.swing.BundleType;
 import io.github.jonestimd.finance.swing.event.DomainEventListener;
@@ -96,6 +102,8 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
         }
     };
     private static final Comparator<Transaction> DATE_SORT = Comparator.comparing(Transaction::getDate).thenComparingLong(Transaction::getId);
+    /** the number of transactions to load at a time */
+    public static final int PAGE_SIZE = 500;
     public static final String CLEARED_BALANCE_PROPERTY = "clearedBalance";
     public static final String NEW_TRANSACTION_PAYEE_PROPERTY = "newTransactionPayee";
     private static final String RESOURCE_PREFIX = "table.transaction.";
@@ -104,8 +112,17 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
     protected final int amountColumn;
     protected final int balanceColumn;
     private final Account account;
-    private final Map<Transaction, BigDecimal> balances = new HashMap<>();
+    /** the cached transaction amounts, in display order */
+    private final RunningBalanceIndex<Transaction> balances = new RunningBalanceIndex<>();
     private BigDecimal clearedBalance = BigDecimal.ZERO;
+    /** the balances of the transactions preceding the loaded transactions */
+    private BigDecimal openingBalance = BigDecimal.ZERO;
+    private BigDecimal openingClearedBalance = BigDecimal.ZERO;
+    /** the oldest page that has been loaded or {@code null} if all transactions have been loaded */
+    private TransactionPage oldestPage;
+    /** the number of events for transactions preceding the loaded transactions */
+    private int olderChangeCount;
+    private final List<DomainEventHandler<?, ?, ?>> referenceHandlers = new ArrayList<>();
     // need these local references to avoid garbage collection
     private final DomainEventListener<Long, Transaction> transactionListener = this::onTransactionEvent;
     private final DomainEventListener<Long, Payee> payeeListener = new TransactionDomainEventHandler<>(TransactionColumnAdapter.PAYEE_ADAPTER);
@@ -186,27 +203,63 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
     private void onTransactionEvent(DomainEvent<Long, Transaction> event) {
         if (event.getSource() != TransactionTableModel.this && account != null) {
             if (event.isDelete()) {
-                event.getDomainObjects().forEach(TransactionTableModel.this::removeBean);
+                event.getDomainObjects().forEach(this::onTransactionDelete);
             } else {
-                event.getDomainObjects().forEach(TransactionTableModel.this::onTransactionUpdate);
+                event.getDomainObjects().forEach(transaction -> onTransactionUpdate(transaction, event.isAdd()));
             }
         }
     }
 
-    private void onTransactionUpdate(Transaction transaction) {
+    private void onTransactionDelete(Transaction transaction) {
+        if (isBeforeLoaded(transaction)) {
+            olderChangeCount++;
+            addToOpeningBalances(transaction, BigDecimal.ONE.negate());
+        }
+        else removeBean(transaction);
+    }
+
+    private void onTransactionUpdate(Transaction transaction, boolean added) {
         if (!transaction.getAccount().getId().equals(account.getId())) {
+            if (isBeforeLoaded(transaction)) olderChangeCount++;
             removeBean(transaction);
             transaction.getDetails().forEach((d) -> {
                 if (d.isTransfer() && d.getTransferAccount().getId().equals(account.getId())) {
-                    Transaction relatedTx = d.getRelatedDetail().getTransaction();
-                    if (indexOf(relatedTx) < 0) addBean(getInsertionIndex(relatedTx), relatedTx);
+                    addTransaction(d.getRelatedDetail().getTransaction(), added);
                 }
             });
-        } else if (indexOf(transaction) < 0) {
+        } else {
+            addTransaction(transaction, added);
+        }
+    }
+
+    private void addTransaction(Transaction transaction, boolean added) {
+        if (isBeforeLoaded(transaction)) {
+            olderChangeCount++;
+            if (added) addToOpeningBalances(transaction, BigDecimal.ONE);
+        }
+        else if (indexOf(transaction) < 0) {
             addBean(getInsertionIndex(transaction), transaction);
         }
     }
 
+    /**
+     * @return true if {@code transaction} precedes the loaded pages.
+     */
+    private boolean isBeforeLoaded(Transaction transaction) {
+        return oldestPage != null && indexOf(transaction) < 0 && getBeanCount() > 0 && getBean(0).getId() != null
+                && transaction.getId() != null && DATE_SORT.compare(transaction, getBean(0)) < 0;
+    }
+
+    private void addToOpeningBalances(Transaction transaction, BigDecimal sign) {
+        BigDecimal amount = transaction.getAmount().multiply(sign);
+        openingBalance = openingBalance.add(amount);
+        fireBalancesUpdated(0);
+        if (transaction.isCleared()) {
+            openingClearedBalance = openingClearedBalance.add(amount);
+            updateClearedBalance(true, amount);
+        }
+    }
+
     public void setTransactionDate(Date date, int rowIndex) {
         setValueAt(date, rowIndex, getColumnIndex(TransactionColumnAdapter.DATE_ADAPTER));
     }
@@ -247,7 +300,7 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
 
     private void calculateClearedBalance() {
         BigDecimal oldClearedBalance = clearedBalance;
-        clearedBalance = getBeans().stream().filter(Transaction::isCleared).map(Transaction::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        clearedBalance = getBeans().stream().filter(Transaction::isCleared).map(Transaction::getAmount).reduce(openingClearedBalance, BigDecimal::add);
         changeSupport.firePropertyChange(CLEARED_BALANCE_PROPERTY, oldClearedBalance, clearedBalance);
     }
 
@@ -259,19 +312,28 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
         }
     }
 
+    /**
+     * Find the insertion point using a binary search.  Assumes that the saved transactions are in date order and are
+     * followed by the unsaved transactions.
+     */
     @Override
     protected int getInsertionIndex(Transaction bean) {
-        for (int i = 0; i < getBeanCount(); i++) {
-            if (getBean(i).getId() == null || DATE_SORT.compare(getBean(i), bean) >= 0) {
-                return i;
-            }
+        int low = 0;
+        int high = getBeanCount();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            Transaction transaction = getBean(middle);
+            if (transaction.getId() == null || DATE_SORT.compare(transaction, bean) >= 0) high = middle;
+            else low = middle + 1;
         }
-        return getBeanCount();
+        return low;
     }
 
     public void addBean(int row, Transaction bean) {
         super.addBean(row, bean);
-        updateBalances(row);
+        balances.add(Math.min(row, balances.size()), bean, bean.getAmount());
+        indexReferences(bean);
+        fireBalancesUpdated(row);
         updateClearedBalance(bean.isCleared(), bean.getAmount());
     }
 
@@ -284,9 +346,13 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
         Transaction bean = getBeanAtRow(rowIndex);
         BigDecimal oldAmount = bean.getAmount();
         boolean subRow = isSubRow(rowIndex);
+        int beanIndex = getGroupNumber(rowIndex);
         if (!super.queueDelete(rowIndex)) {
-            if (subRow && bean.isCleared()) {
-                updateClearedBalance(true, bean.getAmount().subtract(oldAmount));
+            if (subRow) {
+                updateAmount(beanIndex);
+                if (bean.isCleared()) {
+                    updateClearedBalance(true, bean.getAmount().subtract(oldAmount));
+                }
             }
             return false;
         }
@@ -295,24 +361,89 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
 
     public void removeBean(Transaction bean) {
         int index = indexOf(bean);
+        Transaction removed = index < 0 ? null : getBean(index);
         super.removeBean(bean);
-        if (balances.remove(bean) != null) {
-            updateBalances(index);
+        if (removed != null) unindexReferences(removed);
+        if (removed != null && balances.remove(removed) != null) {
+            fireBalancesUpdated(index);
             updateClearedBalance(bean.isCleared(), bean.getAmount().negate());
         }
     }
 
     public void setBeans(Collection<Transaction> beans) {
+        setOpeningBalances(BigDecimal.ZERO, BigDecimal.ZERO, null);
+        resetBeans(beans);
+    }
+
+    /**
+     * Replace the transactions with the most recent page of transactions.
+     */
+    public void setPage(TransactionPage page) {
+        setOpeningBalances(page.getOpeningBalance(), page.getOpeningClearedBalance(), page);
+        resetBeans(page.getTransactions());
+    }
+
+    /**
+     * Merge a reloaded page of the most recent transactions.
+     */
+    public void updatePage(TransactionPage page) {
+        setOpeningBalances(page.getOpeningBalance(), page.getOpeningClearedBalance(), page);
+        updateBeans(page.getTransactions(), UniqueId::isSameId);
+        indexBeans();
+        fireBalancesUpdated(0);
+        calculateClearedBalance();
+    }
+
+    /**
+     * Insert a page of transactions preceding the loaded transactions.
+     */
+    public void addOlderPage(TransactionPage page) {
+        List<Transaction> transactions = page.getTransactions();
+        for (int i = 0; i < transactions.size(); i++) {
+            super.addBean(i, transactions.get(i));
+            balances.add(i, transactions.get(i), transactions.get(i).getAmount());
+            indexReferences(transactions.get(i));
+        }
+        setOpeningBalances(page.getOpeningBalance(), page.getOpeningClearedBalance(), page);
+        fireBalancesUpdated(0);
+        calculateClearedBalance();
+    }
+
+    /**
+     * @return the oldest page that has been loaded or {@code null} if all of the transactions have been loaded.
+     */
+    public TransactionPage getOldestPage() {
+        return oldestPage;
+    }
+
+    /**
+     * @return the number of events received for transactions preceding the loaded transactions.  An older page that
+     * was requested before this count changed may be missing those changes.
+     */
+    public int getOlderChangeCount() {
+        return olderChangeCount;
+    }
+
+    private void setOpeningBalances(BigDecimal balance, BigDecimal clearedBalance, TransactionPage page) {
+        this.openingBalance = balance;
+        this.openingClearedBalance = clearedBalance;
+        this.oldestPage = page == null || page.isFirst() ? null : page;
+    }
+
+    private void resetBeans(Collection<Transaction> beans) {
         super.setBeans(beans);
-        balances.clear();
-        updateBalances(0);
+        indexBeans();
         calculateClearedBalance();
     }
 
     public void setBean(int row, Transaction bean) {
         Transaction oldBean = getBean(row);
         super.setBean(row, bean);
-        updateBalances(row);
+        balances.remove(oldBean);
+        balances.add(Math.min(row, balances.size()), bean, bean.getAmount());
+        unindexReferences(oldBean);
+        indexReferences(bean);
+        fireBalancesUpdated(row);
         if (oldBean.isCleared() || bean.isCleared()) {
             BigDecimal delta = bean.isCleared() ? bean.getAmount() : BigDecimal.ZERO;
             delta = delta.subtract(oldBean.isCleared() ? oldBean.getAmount() : BigDecimal.ZERO);
@@ -336,11 +467,12 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
     protected void setCellValue(Object value, int rowIndex, int columnIndex) {
         Object oldValue = getValueAt(rowIndex, columnIndex);
         super.setCellValue(value, rowIndex, columnIndex);
+        indexReferences(getBeanAtRow(rowIndex));
         if (columnIndex == clearedColumn) {
             BigDecimal amount = getBeanAtRow(rowIndex).getAmount();
             updateClearedBalance(true, (Boolean) value ? amount : amount.negate());
         } else if (columnIndex == amountColumn) {
-            updateBalances(getGroupNumber(rowIndex));
+            updateAmount(getGroupNumber(rowIndex));
             if (getBeanAtRow(rowIndex).isCleared()) {
                 BigDecimal delta = value == null ? BigDecimal.ZERO : ((BigDecimal) value);
                 if (oldValue != null) {
@@ -348,6 +480,9 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
                 }
                 updateClearedBalance(true, delta);
             }
+        } else if (isSubRow(rowIndex)) {
+            BigDecimal delta = updateAmount(getGroupNumber(rowIndex));
+            if (delta.signum() != 0) updateClearedBalance(getBeanAtRow(rowIndex).isCleared(), delta);
         } else if (isPayeeColumn(columnIndex) && rowIndex == getLeadRowForGroup(getBeanCount() - 1)) {
             changeSupport.firePropertyChange(NEW_TRANSACTION_PAYEE_PROPERTY, oldValue, value);
         }
@@ -357,13 +492,40 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
         return getChangedRows().anyMatch(Transaction::isSavedOrNonempty);
     }
 
-    private void updateBalances(int beanIndex) {
-        BigDecimal balance = beanIndex <= 0 ? BigDecimal.ZERO : balances.get(getBean(beanIndex - 1));
-        for (int i = beanIndex; i < getBeanCount(); i++) {
-            Transaction transaction = getBean(i);
-            balance = balance.add(transaction.getAmount());
-            balances.put(transaction, balance);
-            fireTableCellUpdated(getLeadRowForGroup(i), balanceColumn);
+    private void indexBeans() {
+        balances.clear();
+        referenceHandlers.forEach(DomainEventHandler::clear);
+        for (Transaction transaction : getBeans()) {
+            balances.add(balances.size(), transaction, transaction.getAmount());
+            indexReferences(transaction);
+        }
+    }
+
+    /**
+     * Refresh the cached amount of a transaction after one of its details has changed.
+     * @return the change in the transaction amount
+     */
+    private BigDecimal updateAmount(int beanIndex) {
+        Transaction transaction = getBean(beanIndex);
+        BigDecimal amount = transaction.getAmount();
+        BigDecimal oldAmount = balances.getAmount(transaction);
+        if (oldAmount == null) {
+            balances.add(Math.min(beanIndex, balances.size()), transaction, amount);
+            fireBalancesUpdated(beanIndex);
+            return amount;
+        }
+        if (balances.setAmount(transaction, amount)) {
+            fireBalancesUpdated(beanIndex);
+        }
+        return amount.subtract(oldAmount);
+    }
+
+    /**
+     * Notify listeners that the balances have changed for the transactions starting at {@code beanIndex}.
+     */
+    private void fireBalancesUpdated(int beanIndex) {
+        if (beanIndex < getBeanCount()) {
+            fireTableChanged(new TableModelEvent(this, getLeadRowForGroup(beanIndex), getRowCount() - 1, balanceColumn));
         }
     }
 
@@ -382,8 +544,34 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
         return deletes;
     }
 
-    private Stream<TransactionDetail> getAllDetails() {
-        return getBeans().stream().map(Transaction::getDetails).flatMap(Collection::stream);
+    private void indexReferences(Transaction transaction) {
+        referenceHandlers.forEach(handler -> handler.add(transaction));
+    }
+
+    private void unindexReferences(Transaction transaction) {
+        referenceHandlers.forEach(handler -> handler.remove(transaction));
+    }
+
+    /**
+     * Notify listeners that the rows for the transactions have been updated.  Adjacent transactions are combined into a
+     * single event.
+     */
+    private void fireTransactionsUpdated(Collection<Transaction> transactions) {
+        int[] beanIndexes = transactions.stream().mapToInt(this::beanIndexOf).filter(index -> index >= 0).sorted().toArray();
+        for (int i = 0; i < beanIndexes.length; ) {
+            int first = beanIndexes[i];
+            int last = first;
+            while (++i < beanIndexes.length && beanIndexes[i] <= last + 1) {
+                last = beanIndexes[i];
+            }
+            int lastRow = last + 1 < getBeanCount() ? getLeadRowForGroup(last + 1) - 1 : getRowCount() - 1;
+            fireTableRowsUpdated(getLeadRowForGroup(first), lastRow);
+        }
+    }
+
+    private int beanIndexOf(Transaction transaction) {
+        int index = balances.indexOf(transaction);
+        return index < 0 ? indexOf(transaction) : index;
     }
 
     private class BalanceColumnAdapter extends ReadOnlyColumnAdapter<Transaction, BigDecimal> {
@@ -392,26 +580,66 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
         }
 
         public BigDecimal getValue(Transaction row) {
-            return balances.get(row);
+            BigDecimal balance = balances.getBalance(row);
+            return balance == null ? null : openingBalance.add(balance);
         }
     }
 
+    /**
+     * Updates the transactions that reference an entity when the entity is changed or replaced.  Maintains an index of
+     * the transactions that reference each entity so that only the affected rows need to be updated.  The index entries
+     * for a transaction are only removed when the transaction is removed from the model, so the index may contain
+     * transactions that no longer reference an entity.
+     */
     private abstract class DomainEventHandler<R, ID, T extends BaseDomain<ID>> implements DomainEventListener<ID, T> {
         private final ReadWriteAccessor<R, T> columnAdapter;
-        private final Supplier<Stream<R>> streamSupplier;
+        private final Map<ID, Set<Transaction>> transactionsById = new HashMap<>();
+        private final Map<Transaction, Set<ID>> idsByTransaction = new IdentityHashMap<>();
 
-        protected DomainEventHandler(ReadWriteAccessor<R, T> columnAdapter, Supplier<Stream<R>> streamSupplier) {
+        protected DomainEventHandler(ReadWriteAccessor<R, T> columnAdapter) {
             this.columnAdapter = columnAdapter;
-            this.streamSupplier = streamSupplier;
+            referenceHandlers.add(this);
+        }
+
+        /**
+         * @return the rows of the transaction that may reference the entity.
+         */
+        protected abstract Stream<R> getRows(Transaction transaction);
+
+        public void clear() {
+            transactionsById.clear();
+            idsByTransaction.clear();
+        }
+
+        public void add(Transaction transaction) {
+            Set<ID> ids = idsByTransaction.computeIfAbsent(transaction, key -> new HashSet<>());
+            getRows(transaction).map(columnAdapter::getValue).filter(Objects::nonNull).map(UniqueId::getId).filter(ids::add)
+                    .forEach(id -> transactionsById.computeIfAbsent(id, key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(transaction));
+        }
+
+        public void remove(Transaction transaction) {
+            Set<ID> ids = idsByTransaction.remove(transaction);
+            if (ids != null) {
+                for (ID id : ids) {
+                    Set<Transaction> transactions = transactionsById.get(id);
+                    transactions.remove(transaction);
+                    if (transactions.isEmpty()) transactionsById.remove(id);
+                }
+            }
         }
 
         public void onDomainEvent(DomainEvent<ID, T> event) {
-            if (event.isReplace()) {
-                streamSupplier.get().forEach(row -> replace(row, event));
-                fireTableDataChanged();
-            } else if (event.isChange()) {
-                streamSupplier.get().forEach(row -> update(row, event));
-                fireTableDataChanged();
+            if (event.isReplace() || event.isChange()) {
+                Set<Transaction> transactions = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (T domainObject : event.getDomainObjects()) {
+                    transactions.addAll(transactionsById.getOrDefault(domainObject.getId(), Collections.emptySet()));
+                }
+                for (Transaction transaction : transactions) {
+                    if (event.isReplace()) getRows(transaction).forEach(row -> replace(row, event));
+                    else getRows(transaction).forEach(row -> update(row, event));
+                    add(transaction);
+                }
+                fireTransactionsUpdated(transactions);
             }
         }
 
@@ -432,13 +660,23 @@ public class TransactionTableModel extends BufferedHeaderDetailTableModel<Transa
 
     private class TransactionDomainEventHandler<ID, T extends BaseDomain<ID>> extends DomainEventHandler<Transaction, ID, T> {
         public TransactionDomainEventHandler(ReadWriteAccessor<Transaction, T> columnAdapter) {
-            super(columnAdapter, getBeans()::stream);
+            super(columnAdapter);
+        }
+
+        @Override
+        protected Stream<Transaction> getRows(Transaction transaction) {
+            return Stream.of(transaction);
         }
     }
 
     private class DetailDomainEventHandler<ID, T extends BaseDomain<ID>> extends DomainEventHandler<TransactionDetail, ID, T> {
         public DetailDomainEventHandler(ReadWriteAccessor<TransactionDetail, T> columnAdapter) {
-            super(columnAdapter, TransactionTableModel.this::getAllDetails);
+            super(columnAdapter);
+        }
+
+        @Override
+        protected Stream<TransactionDetail> getRows(Transaction transaction) {
+            return transaction.getDetails().stream();
         }
     }
 }
\ No newline at end of file
@@ -31,6 +31,8 @@ import java.text.Format;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import javax.swing.Action;
 import javax.swing.Box;
@@ -38,6 +40,7 @@ import javax.swing.BoxLayout;
 import javax.swing.JFrame;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
+import javax.swing.JScrollBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTextField;
 import javax.swing.JToolBar;
@@ -52,6 +55,7 @@ import io.github.jonestimd.finance.SystemProperty;
 import io.github.jonestimd.finance.domain.account.Account;
 import io.github.jonestimd.finance.domain.event.DomainEvent;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionPage;
 import io.github.jonestimd.finance.operations.AssetOperations;
 import io.github.jonestimd.finance.operations.TransactionCategoryOperations;
 import io.github.jonestimd.finance.service.ServiceLocator;
@@ -66,6 +70,7 @@ import io.github.jonestimd.finance.swing.event.DomainEventListener;
 import io.github.jonestimd.finance.swing.event.DomainEventPublisher;
 import io.github.jonestimd.finance.swing.event.ReloadEventHandler;
 import io.github.jonestimd.finance.swing.event.TransactionsFrameAction;
+import io.github.jonestimd.finance.swing.transaction.TransactionFilterCache.SearchKeys;
 import io.github.jonestimd.finance.swing.transaction.action.AutofillTask;
 import io.github.jonestimd.finance.swing.transaction.action.CommitAction;
 import io.github.jonestimd.finance.swing.transaction.action.EditLotsAction;
@@ -74,6 +79,7 @@ import io.github.jonestimd.finance.swing.transaction.action.MoveAction;
 import io.github.jonestimd.finance.swing.transaction.action.RefreshAction;
 import io.github.jonestimd.finance.swing.transaction.action.SaveAllAction;
 import io.github.jonestimd.finance.swing.transaction.action.UpdateSharesAction;
+import io.github.jonestimd.swing.BackgroundTask;
 import io.github.jonestimd.swing.ComponentFactory;
 import io.github.jonestimd.swing.HighlightText;
 import io.github.jonestimd.swing.action.FocusAction;
@@ -84,6 +90,7 @@ import io.github.jonestimd.swing.component.MenuActionPanel;
 import io.github.jonestimd.swing.dialog.Dialogs;
 import io.github.jonestimd.swing.window.ConfirmCloseAdapter;
 import io.github.jonestimd.swing.window.FrameManager;
+import org.apache.log4j.Logger;
 
 import static io.github.jonestimd.finance.swing.BundleType.*;
 import static io.github.jonestimd.finance.swing.event.SingletonFrameActions.*;
@@ -91,6 +98,9 @@ import static io.github.jonestimd.finance.swing.event.SingletonFrameActions.*;
 public class TransactionsPanel extends MenuActionPanel implements AccountSelector, HighlightText {
     private static final AccountFormat ACCOUNT_FORMAT = new AccountFormat();
     private static final String LOADING_MESSAGE_KEY = "action.refreshTransactions.status.initialize";
+    /** Minimum number of transactions for populating the filter cache in the background. */
+    private static final int BACKGROUND_FILTER_SIZE = 2000;
+    private final Logger logger = Logger.getLogger(TransactionsPanel.class);
     private final Format currencyFormat = FormatFactory.currencyFormat();
     private final TransactionService transactionService;
     private final AssetOperations assetOperations;
@@ -98,7 +108,9 @@ public class TransactionsPanel extends MenuActionPanel implements AccountSelecto
     private final TransactionTableModelCache transactionModelCache;
     private Account selectedAccount;
     private final TransactionTable transactionTable;
-    private final FilterField<Transaction> filterField = new ComponentFactory().newFilterField(TransactionFilter::new, 4, 2);
+    private final TransactionFilterCache filterCache = new TransactionFilterCache();
+    private final FilterField<Transaction> filterField = new ComponentFactory().newFilterField(filterCache::newFilter, 4, 2);
+    private final AtomicInteger filterGeneration = new AtomicInteger();
     private final JTextField clearedBalance = new AutosizeTextField(false);
     private final FinanceTableFactory tableFactory;
     private final FrameManager<WindowType> frameManager;
@@ -107,6 +119,7 @@ public class TransactionsPanel extends MenuActionPanel implements AccountSelecto
     private final SaveAllAction saveAllAction;
     private final RefreshAction refreshAction;
     private final DomainEventPublisher domainEventPublisher;
+    private boolean loadingPage;
     private final DomainEventListener<Long, Account> accountEventListener = new DomainEventListener<Long, Account>() {
         public void onDomainEvent(DomainEvent<Long, Account> event) {
             if (selectedAccount != null) {
@@ -151,11 +164,11 @@ public class TransactionsPanel extends MenuActionPanel implements AccountSelecto
         eventPublisher.register(Account.class, accountEventListener);
         // TODO use CurrencyTransactionTableModel
         this.transactionTable = context.getTableFactory().newTransactionTable(new SecurityTransactionTableModel(getSelectedAccount()));
-        filterField.addPropertyChangeListener(FilterField.PREDICATE_PROPERTY, event -> transactionTable.getRowSorter().setRowFilter(filterField.getFilter()));
+        filterField.addPropertyChangeListener(FilterField.PREDICATE_PROPERTY, event -> applyFilter());
         FocusAction.install(filterField, transactionTable, LABELS.get(), "table.filterField.accelerator");
         this.saveAllAction = new SaveAllAction(transactionTable, transactionService, domainEventPublisher);
         this.refreshAction = new RefreshAction(transactionTable, transactionService);
-        this.reloadHandler = new ReloadEventHandler<>(this, LOADING_MESSAGE_KEY, this::getTransactions, transactionTable::getModel);
+        this.reloadHandler = new ReloadEventHandler<>(this, LOADING_MESSAGE_KEY, this::getTransactions, this::updatePage);
         eventPublisher.register(Transaction.class, this.reloadHandler);
         buildPanel();
     }
@@ -164,7 +177,12 @@ public class TransactionsPanel extends MenuActionPanel implements AccountSelecto
         setLayout(new BorderLayout());
         installTableAction(TransactionTableAction.NEXT_TRANSACTION, KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0),
                 new CommitAction(transactionTable, transactionService, domainEventPublisher));
-        add(new JScrollPane(transactionTable), BorderLayout.CENTER);
+        JScrollPane scrollPane = new JScrollPane(transactionTable);
+        JScrollBar scrollBar = scrollPane.getVerticalScrollBar();
+        scrollBar.addAdjustmentListener(event -> {
+            if (scrollBar.getValue() < scrollBar.getVisibleAmount()) loadOlderPage(scrollBar);
+        });
+        add(scrollPane, BorderLayout.CENTER);
         add(ComponentFactory.newTableSummaryPanel(LABELS.getString("panel.transactions.clearedBalance"), clearedBalance), BorderLayout.SOUTH);
     }
 
@@ -173,15 +191,112 @@ public class TransactionsPanel extends MenuActionPanel implements AccountSelecto
         transactionTable.getInputMap().put(keyStroke, key);
     }
 
-    private List<Transaction> getTransactions() {
+    /**
+     * Reload the most recent transactions, including the older pages that have already been loaded.
+     */
+    private TransactionPage getTransactions() {
         try {
-            return transactionService.getTransactions(transactionTable.getModel().getAccount().getId());
+            TransactionTableModel model = transactionTable.getModel();
+            int pageSize = Math.max(TransactionTableModel.PAGE_SIZE, model.getBeanCount());
+            return transactionService.getTransactionPage(model.getAccount().getId(), null, pageSize);
         } catch (Throwable ex) {
             ex.printStackTrace();
             throw new RuntimeException(ex);
         }
     }
 
+    private void updatePage(TransactionPage page) {
+        transactionTable.getModel().updatePage(page);
+    }
+
+    /**
+     * Load the page of transactions preceding the loaded transactions.  The scroll position is adjusted so that the
+     * visible rows don't change.
+     */
+    private void loadOlderPage(JScrollBar scrollBar) {
+        TransactionTableModel model = transactionTable.getModel();
+        TransactionPage oldestPage = model.getOldestPage();
+        if (!loadingPage && oldestPage != null && !model.getBeans().isEmpty()) {
+            loadingPage = true;
+            int changeCount = model.getOlderChangeCount();
+            BackgroundTask.task(() -> transactionService.getTransactionPage(model.getAccount().getId(), oldestPage, TransactionTableModel.PAGE_SIZE),
+                    page -> {
+                        loadingPage = false;
+                        if (model == transactionTable.getModel() && model.getOldestPage() == oldestPage && model.getOlderChangeCount() == changeCount) {
+                            int rowCount = transactionTable.getRowCount();
+                            model.addOlderPage(page);
+                            scrollBar.setValue(scrollBar.getValue() + (transactionTable.getRowCount() - rowCount) * transactionTable.getRowHeight());
+                        }
+                    },
+                    error -> {
+                        loadingPage = false;
+                        logger.error("failed to load transactions", error);
+                        return false;
+                    }).run();
+        }
+    }
+
+    /**
+     * Load all of the transactions preceding the loaded pages and then run {@code callback} on the event thread.
+     * The transactions are loaded one page at a time.  A page is discarded and requested again if another page was
+     * added or an older transaction was changed while it was being loaded.  The callback is not run if the selected
+     * account changes before the transactions are loaded.
+     */
+    public void loadAllTransactions(Runnable callback) {
+        TransactionTableModel model = transactionTable.getModel();
+        TransactionPage oldestPage = model.getOldestPage();
+        if (oldestPage == null) callback.run();
+        else {
+            int changeCount = model.getOlderChangeCount();
+            BackgroundTask.task(() -> transactionService.getTransactionPage(model.getAccount().getId(), oldestPage, TransactionTableModel.PAGE_SIZE),
+                    page -> {
+                        if (model == transactionTable.getModel()) {
+                            if (model.getOldestPage() == oldestPage && model.getOlderChangeCount() == changeCount) {
+                                model.addOlderPage(page);
+                            }
+                            loadAllTransactions(callback);
+                        }
+                    },
+                    error -> {
+                        logger.error("failed to load transactions", error);
+                        return false;
+                    }).run();
+        }
+    }
+
+    /**
+     * Apply the filter terms to the table.  The filter is only applied after all of the account's transactions have
+     * been loaded.  For large models, the search keys are copied on the event dispatch thread and the filter cache is
+     * populated from the copy in the background before the filter is applied.  Superseded background runs are stopped
+     * and their filters are not applied.
+     */
+    private void applyFilter() {
+        if (!filterField.getTerms().isEmpty() && transactionTable.getModel().getOldestPage() != null) {
+            loadAllTransactions(this::applyFilter);
+            return;
+        }
+        int generation = filterGeneration.incrementAndGet();
+        List<Transaction> beans = transactionTable.getModel().getBeans();
+        Collection<String> terms = filterField.getTerms();
+        if (beans.size() < BACKGROUND_FILTER_SIZE || terms.isEmpty()) {
+            transactionTable.getRowSorter().setRowFilter(filterField.getFilter());
+        }
+        else {
+            SearchKeys searchKeys = filterCache.getSearchKeys(beans);
+            List<String> filterTexts = terms.stream().map(String::toLowerCase).collect(Collectors.toList());
+            BackgroundTask.task(() -> prepareFilter(searchKeys, filterTexts, generation), ignored -> {
+                if (generation == filterGeneration.get()) transactionTable.getRowSorter().setRowFilter(filterField.getFilter());
+            }).run();
+        }
+    }
+
+    private Boolean prepareFilter(SearchKeys searchKeys, List<String> filterTexts, int generation) {
+        for (String filterText : filterTexts) {
+            if (!filterCache.prepare(searchKeys, filterText, () -> generation != filterGeneration.get())) return false;
+        }
+        return true;
+    }
+
     @Override
     public Collection<String> getHighlightText() {
         return filterField.getTerms();
@@ -206,11 +321,13 @@ public class TransactionsPanel extends MenuActionPanel implements AccountSelecto
             this.selectedAccount = account;
             setTitle(account);
             transactionTable.getModel().removeTableModelListener(tableModelListener);
+            transactionTable.getModel().removeTableModelListener(filterCache);
             transactionTable.getModel().removePropertyChangeListener(TransactionTableModel.NEW_TRANSACTION_PAYEE_PROPERTY, payeeChangeListener);
             TransactionTableModel newModel = transactionModelCache.getModel(account);
             transactionTable.setModel(newModel);
             transactionTable.getRowSorter().setSortKeys(Collections.singletonList(new SortKey(0, SortOrder.ASCENDING)));
             newModel.addTableModelListener(tableModelListener);
+            newModel.addTableModelListener(filterCache);
             newModel.addPropertyChangeListener(TransactionTableModel.NEW_TRANSACTION_PAYEE_PROPERTY, payeeChangeListener);
             ComponentBinder.bind(newModel, TransactionTableModel.CLEARED_BALANCE_PROPERTY, newModel.getClearedBalance(), clearedBalance, currencyFormat);
             if (transactionTable.getModel().getBeans().isEmpty()) {
@@ -89,9 +89,7 @@ public class CommitAction extends BackgroundAction<List<? extends DomainEvent<?,
 
     public void updateUI(List<? extends DomainEvent<?, ?>> domainEvents) {
         removeStaleEntities();
-        for (DomainEvent<?, ?> domainEvent : domainEvents) {
-            domainEventPublisher.publishEvent(domainEvent);
-        }
+        domainEventPublisher.publishEvents(domainEvents);
         TransactionTableModel tableModel = transactionTable.getModel();
         if (! tableModel.getBean(tableModel.getBeanCount()-1).isNew()) {
             tableModel.addEmptyTransaction();
@@ -42,6 +42,8 @@ import io.github.jonestimd.finance.file.Reconciler;
 import io.github.jonestimd.finance.service.ServiceLocator;
 import io.github.jonestimd.finance.swing.transaction.TransactionTable;
 import io.github.jonestimd.finance.swing.transaction.TransactionTableModel;
+import io.github.jonestimd.finance.swing.transaction.TransactionsPanel;
+import io.github.jonestimd.swing.BackgroundTask;
 import io.github.jonestimd.swing.ComponentTreeUtils;
 
 /**
@@ -72,22 +74,34 @@ public class ImportFileAction extends AbstractAction {
         if (result == JFileChooser.APPROVE_OPTION) {
             Window window = ComponentTreeUtils.findAncestor((JComponent) event.getSource(), Window.class);
             File selectedFile = fileChooser.getSelectedFile();
-            ImportContext importContext = importFile.newContext(
-                    serviceLocator.getPayeeOperations().getAllPayees(),
-                    serviceLocator.getAssetOperations().getAllSecurities(),
-                    serviceLocator.getTransactionCategoryOperations().getAllTransactionCategories());
-            try (FileInputStream inputStream = new FileInputStream(selectedFile)) { // TODO do in background thread
-                List<Transaction> transactions = importContext.parseTransactions(inputStream);
-                TransactionTableModel tableModel = ComponentTreeUtils.findComponent(window, TransactionTable.class).getModel();
-                if (importFile.isReconcile()) {
-                    new Reconciler(tableModel).reconcile(transactions);
-                }
-                else {
-                    transactions.forEach(transaction -> tableModel.queueAdd(tableModel.getBeanCount()-1, transaction));
-                }
-            } catch (Exception ex) {
-                throw new RuntimeException(ex);
-            }
+            BackgroundTask.task(() -> parseTransactions(selectedFile), transactions -> addTransactions(window, transactions)).run();
+        }
+    }
+
+    private List<Transaction> parseTransactions(File selectedFile) {
+        ImportContext importContext = importFile.newContext(
+                serviceLocator.getPayeeOperations().getAllPayees(),
+                serviceLocator.getAssetOperations().getAllSecurities(),
+                serviceLocator.getTransactionCategoryOperations().getAllTransactionCategories());
+        try (FileInputStream inputStream = new FileInputStream(selectedFile)) {
+            return importContext.parseTransactions(inputStream);
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Add the imported transactions to the window's table.  When reconciling, the transactions preceding the loaded
+     * pages are loaded in the background first so that the reconciler can match all of the uncleared transactions.
+     */
+    private void addTransactions(Window window, List<Transaction> transactions) {
+        TransactionTableModel tableModel = ComponentTreeUtils.findComponent(window, TransactionTable.class).getModel();
+        if (importFile.isReconcile()) {
+            ComponentTreeUtils.findComponent(window, TransactionsPanel.class)
+                    .loadAllTransactions(() -> new Reconciler(tableModel).reconcile(transactions));
+        }
+        else {
+            transactions.forEach(transaction -> tableModel.queueAdd(tableModel.getBeanCount()-1, transaction));
         }
     }
 }
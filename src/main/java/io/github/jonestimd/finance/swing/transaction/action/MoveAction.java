@@ -95,7 +95,7 @@ public class MoveAction extends DialogAction {
 
     @Override
     protected void setSaveResultOnUI() {
-        domainEvents.forEach(domainEventPublisher::publishEvent);
+        domainEventPublisher.publishEvents(domainEvents);
     }
 
     private void updateEnabled(ListSelectionEvent event) {
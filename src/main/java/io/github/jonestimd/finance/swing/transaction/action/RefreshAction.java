@@ -23,18 +23,19 @@ package io.github.jonestimd.finance.swing.transaction.action;
 
 import java.awt.event.ActionEvent;
 import java.util.Date;
-import java.util.List;
 
 import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import io.github.jonestimd.finance.domain.transaction.TransactionPage;
 import io.github.jonestimd.finance.service.TransactionService;
 import io.github.jonestimd.finance.swing.BundleType;
 import io.github.jonestimd.finance.swing.transaction.TransactionTable;
+import io.github.jonestimd.finance.swing.transaction.TransactionTableModel;
 import io.github.jonestimd.swing.action.BackgroundAction;
 import io.github.jonestimd.swing.dialog.Dialogs;
 import org.apache.log4j.Logger;
 
-public class RefreshAction extends BackgroundAction<List<Transaction>> {
+public class RefreshAction extends BackgroundAction<TransactionPage> {
     public static final int INITIAL_LOAD_ACTION_ID = -1;
     private final Logger logger = Logger.getLogger(RefreshAction.class);
     private final TransactionTable transactionTable;
@@ -56,14 +57,14 @@ public class RefreshAction extends BackgroundAction<List<Transaction>> {
         return ! transactionTable.getModel().isUnsavedChanges() || Dialogs.confirmDiscardChanges(this.transactionTable);
     }
 
-    public List<Transaction> performTask() {
+    public TransactionPage performTask() {
         logger.debug("refresh account performTask");
-        return transactionService.getTransactions(transactionTable.getModel().getAccount().getId());
+        return transactionService.getTransactionPage(transactionTable.getModel().getAccount().getId(), null, TransactionTableModel.PAGE_SIZE);
     }
 
-    public void updateUI(List<Transaction> transactions) {
+    public void updateUI(TransactionPage page) {
         logger.debug("refresh account updateUI");
-        transactionTable.getModel().setBeans(transactions);
+        transactionTable.getModel().setPage(page);
         transactionTable.getModel().queueAdd(new Transaction(transactionTable.getModel().getAccount(), new Date(), null, false, null, new TransactionDetail()));
         if (initialLoad || selectedRow < 0 || selectedRow >= transactionTable.getRowCount()) {
             transactionTable.selectLastTransaction();
@@ -83,7 +83,7 @@ public class SaveAllAction extends BackgroundAction<List<? extends DomainEvent<?
     @Override
     public void updateUI(List<? extends DomainEvent<?, ?>> domainEvents) {
         removeStaleEntities();
-        domainEvents.forEach(domainEventPublisher::publishEvent);
+        domainEventPublisher.publishEvents(domainEvents);
         final TransactionTableModel tableModel = transactionTable.getModel();
         if (! tableModel.getBean(tableModel.getBeanCount()-1).isNew()) {
             tableModel.addEmptyTransaction();
@@ -0,0 +1,15 @@
+-- persisted account balances (rebuild with io.github.jonestimd.finance.dao.SchemaBuilder)
+create table account_balance (
+    account_id bigint not null,
+    tx_count bigint not null,
+    balance decimal(19,2) not null,
+    primary key (account_id),
+    constraint account_balance_account_fk foreign key (account_id) references account (id)
+);
+
+insert into account_balance (account_id, tx_count, balance)
+select t.account_id, count(distinct t.id), coalesce(sum(case when tc.amount_type = 'ASSET_VALUE' then 0 else td.amount end), 0)
+from tx t
+left join tx_detail td on t.id = td.tx_id
+left join tx_category tc on td.tx_category_id = tc.id
+group by t.account_id;
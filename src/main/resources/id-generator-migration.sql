@@ -0,0 +1,11 @@
+-- pooled id generation for tx, tx_detail, security_lot and import_file
+create table id_generator (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+);
+
+insert into id_generator (sequence_name, next_val) select 'tx', coalesce(max(id), 0) + 1 from tx;
+insert into id_generator (sequence_name, next_val) select 'tx_detail', coalesce(max(id), 0) + 1 from tx_detail;
+insert into id_generator (sequence_name, next_val) select 'security_lot', coalesce(max(id), 0) + 1 from security_lot;
+insert into id_generator (sequence_name, next_val) select 'import_file', coalesce(max(id), 0) + 1 from import_file;
@@ -0,0 +1,9 @@
+-- fingerprints of imported statement files and records
+create table import_fingerprint (
+    import_file_id bigint not null,
+    hash varchar(64) not null,
+    type varchar(10) not null,
+    import_date timestamp not null,
+    primary key (import_file_id, hash),
+    constraint import_fingerprint_import_file_fk foreign key (import_file_id) references import_file (id)
+);
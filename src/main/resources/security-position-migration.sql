@@ -0,0 +1,21 @@
+-- persisted security positions replace the account_security view (rebuild with io.github.jonestimd.finance.dao.SchemaBuilder)
+create table security_position (
+    account_id bigint not null,
+    security_id bigint not null,
+    shares decimal(19,6),
+    cost_basis decimal(19,2),
+    dividends decimal(19,2),
+    first_acquired date,
+    last_activity date,
+    use_count bigint not null,
+    primary key (account_id, security_id)
+);
+
+insert into security_position (account_id, security_id, shares, cost_basis, dividends, first_acquired, last_activity, use_count)
+select account_id, security_id, shares, cost_basis, dividends, first_acquired, null, use_count
+from account_security;
+
+update security_position set last_activity = (
+    select max(t.date) from tx t where t.account_id = security_position.account_id and t.security_id = security_position.security_id);
+
+drop view account_security;
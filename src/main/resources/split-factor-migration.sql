@@ -0,0 +1,9 @@
+-- cumulative split ratios used to adjust shares in security_position (populate with io.github.jonestimd.finance.dao.SchemaBuilder)
+create table split_factor (
+    security_id bigint not null,
+    through_date date not null,
+    after_date date,
+    shares_in decimal(38,12) not null,
+    shares_out decimal(38,12) not null,
+    primary key (security_id, through_date)
+);
@@ -84,6 +84,7 @@ public class MockDaoContext implements DaoRepository {
     private TransactionCategoryDao TransactionCategoryDao = mock(TransactionCategoryDao.class, DAO_ANSWER);
     private TransactionGroupDao transactionGroupDao = mock(TransactionGroupDao.class, DAO_ANSWER);
     private ImportFileDao importFileDao = mock(ImportFileDao.class, DAO_ANSWER);
+    private ImportFingerprintDao importFingerprintDao = mock(ImportFingerprintDao.class, DAO_ANSWER);
     private DomainEventRecorder domainEventRecorder = mock(DomainEventRecorder.class);
     private Session session = mock(Session.class);
     private Transaction transaction = mock(Transaction.class);
@@ -100,7 +101,7 @@ public class MockDaoContext implements DaoRepository {
 
     @Override
     public void doInTransaction(Runnable work) {
-        throw new UnsupportedOperationException();
+        work.run();
     }
 
     public AccountDao getAccountDao() {
@@ -153,6 +154,11 @@ public class MockDaoContext implements DaoRepository {
         return importFileDao;
     }
 
+    @Override
+    public ImportFingerprintDao getImportFingerprintDao() {
+        return importFingerprintDao;
+    }
+
     @Override
     public DomainEventRecorder getDomainEventRecorder() {
         return domainEventRecorder;
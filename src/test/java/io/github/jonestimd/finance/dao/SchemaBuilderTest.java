@@ -0,0 +1,28 @@
+package io.github.jonestimd.finance.dao;
+
+import org.junit.Test;
+
+import static org.mockito.Mockito.*;
+
+public class SchemaBuilderTest {
+    private final DaoRepository daoRepository = mock(DaoRepository.class);
+    private final AccountDao accountDao = mock(AccountDao.class);
+    private final SecurityDao securityDao = mock(SecurityDao.class);
+
+    @Test
+    public void rebuildSummariesUsesSingleTransaction() throws Exception {
+        when(daoRepository.getAccountDao()).thenReturn(accountDao);
+        when(daoRepository.getSecurityDao()).thenReturn(securityDao);
+        doAnswer(invocation -> {
+            verifyNoInteractions(accountDao, securityDao);
+            ((Runnable) invocation.getArgument(0)).run();
+            verify(accountDao).rebuildBalances();
+            verify(securityDao).rebuildPositions();
+            return null;
+        }).when(daoRepository).doInTransaction(any(Runnable.class));
+
+        new SchemaBuilder(daoRepository).rebuildSummaries();
+
+        verify(daoRepository).doInTransaction(any(Runnable.class));
+    }
+}
@@ -3,6 +3,8 @@ package io.github.jonestimd.finance.dao;
 import java.sql.Connection;
 import java.util.function.Consumer;
 
+import org.hibernate.stat.Statistics;
+
 public interface TestDaoRepository extends DaoRepository {
     void beginTransaction();
     void rollbackTransaction();
@@ -10,4 +12,6 @@ public interface TestDaoRepository extends DaoRepository {
     void flushSession();
     void clearSession();
     long countAll(Class<?> entityClass);
+    Statistics getStatistics();
+    void loadSearchIndex();
 }
@@ -1,5 +1,6 @@
 package io.github.jonestimd.finance.dao.hibernate;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -80,4 +81,49 @@ public class AccountDaoImplTest extends HsqlTestFixture {
         assertThat(accounts.isEmpty()).isFalse();
         assertThat(accounts.get(0).getClass()).isEqualTo(AccountSummary.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void updateBalancesAddsToAccountSummary() throws Exception {
+        Account account = accountDao.getAccount(null, "Cash");
+
+        accountDao.updateBalances(Collections.singletonList(new AccountSummary(account, 2L, new BigDecimal("10.00"))));
+        accountDao.updateBalances(Collections.singletonList(new AccountSummary(account, 1L, new BigDecimal("-2.50"))));
+
+        AccountSummary summary = getSummary(account);
+        assertThat(summary.getTransactionCount()).isEqualTo(3L);
+        assertThat(summary.getBalance()).isEqualByComparingTo("7.50");
+    }
+
+    @Test
+    public void rebuildBalancesRecalculatesAccountSummary() throws Exception {
+        Account account = accountDao.getAccount(null, "Cash");
+        accountDao.updateBalances(Collections.singletonList(new AccountSummary(account, 2L, new BigDecimal("10.00"))));
+
+        accountDao.rebuildBalances();
+
+        AccountSummary summary = getSummary(account);
+        assertThat(summary.getTransactionCount()).isEqualTo(0L);
+        assertThat(summary.getBalance()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    public void deleteAllRemovesAccountBalance() throws Exception {
+        Account account = new Account();
+        account.setCurrency(currencyDao.get((Long) ASSET_BATCH.getValue(0, "id")));
+        account.setName("Test account");
+        account.setType(AccountType.BANK);
+        accountDao.save(account);
+        accountDao.updateBalances(Collections.singletonList(new AccountSummary(account, 1L, BigDecimal.TEN)));
+
+        accountDao.deleteAll(Collections.singletonList(account));
+
+        assertThat(accountDao.get(account.getId())).isNull();
+        assertThat(accountDao.getBalance(account.getId())).isEqualByComparingTo("0");
+    }
+
+    private AccountSummary getSummary(Account account) {
+        return accountDao.getAccountSummaries().stream()
+                .filter(summary -> summary.getId().equals(account.getId()))
+                .findFirst().get();
+    }
+}
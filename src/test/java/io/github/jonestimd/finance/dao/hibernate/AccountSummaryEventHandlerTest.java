@@ -7,8 +7,10 @@ import io.github.jonestimd.finance.domain.TestSequence;
 import io.github.jonestimd.finance.domain.account.Account;
 import io.github.jonestimd.finance.domain.account.AccountSummary;
 import io.github.jonestimd.finance.domain.event.DomainEvent;
+import io.github.jonestimd.finance.domain.transaction.AmountType;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
+import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
 import org.junit.Test;
 
@@ -103,6 +105,41 @@ public class AccountSummaryEventHandlerTest {
         verifyAccountSummary(((DomainEvent<Long, AccountSummary>) events.get(0)), account1, 1L, new BigDecimal("1"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void addAssetValueDetailDoesNotChangeBalance() throws Exception {
+        final Account account = new Account(TestSequence.nextId());
+        final Transaction transaction = newTransaction(account, BigDecimal.TEN);
+        TransactionCategory category = new TransactionCategory();
+        category.setAmountType(AmountType.ASSET_VALUE);
+        transaction.getDetails().get(0).setCategory(category);
+
+        eventHandler.added(transaction.getDetails().get(0));
+        eventHandler.added(transaction);
+
+        List<? extends DomainEvent<?, ?>> events = eventHandler.getEvents();
+        assertThat(events).hasSize(1);
+        verifyAccountSummary(((DomainEvent<Long, AccountSummary>) events.get(0)), account, 1L, BigDecimal.ZERO);
+    }
+
+    @Test
+    public void getAccountChangesCombinesTransactions() throws Exception {
+        final Account account = new Account(TestSequence.nextId());
+        final Transaction transaction1 = newTransaction(account, BigDecimal.TEN);
+        final Transaction transaction2 = newTransaction(account, BigDecimal.ONE);
+
+        eventHandler.added(transaction1.getDetails().get(0));
+        eventHandler.added(transaction1);
+        eventHandler.added(transaction2.getDetails().get(0));
+        eventHandler.added(transaction2);
+
+        List<AccountSummary> changes = eventHandler.getAccountChanges();
+        assertThat(changes).hasSize(1);
+        assertThat(changes.get(0).getTransactionAttribute()).isSameAs(account);
+        assertThat(changes.get(0).getTransactionCount()).isEqualTo(2L);
+        assertThat(changes.get(0).getBalance()).isEqualTo(new BigDecimal("11"));
+    }
+
     private void verifyAccountSummary(DomainEvent<Long, AccountSummary> event, Account account, long transactionCount, BigDecimal balanceChange) {
         final AccountSummary accountSummary = event.getDomainObject(account.getId());
         assertThat(accountSummary.getTransactionAttribute()).isSameAs(account);
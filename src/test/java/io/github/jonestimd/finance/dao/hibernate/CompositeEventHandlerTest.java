@@ -68,4 +68,15 @@ public class CompositeEventHandlerTest {
 
         verify(handler2).getEvents();
     }
+
+    @Test
+    public void transactionCompletedDelegatesToSummaryHandlers() throws Exception {
+        SummaryUpdateHandler summaryHandler = mock(SummaryUpdateHandler.class);
+        CompositeEventHandler compositeHandler = new CompositeEventHandler(handler1, summaryHandler);
+
+        compositeHandler.transactionCompleted();
+
+        verify(summaryHandler).transactionCompleted();
+        verifyNoInteractions(handler1);
+    }
 }
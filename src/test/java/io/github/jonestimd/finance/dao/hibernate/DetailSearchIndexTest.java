@@ -0,0 +1,74 @@
+package io.github.jonestimd.finance.dao.hibernate;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.jonestimd.finance.dao.hibernate.DetailSearchIndex.SearchField;
+import io.github.jonestimd.finance.domain.transaction.Payee;
+import org.hibernate.Criteria;
+import org.hibernate.Session;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DetailSearchIndexTest {
+    private static final Object TRANSACTION = new Object();
+    @Mock
+    private Session session;
+    private final Criteria criteria = mock(Criteria.class, RETURNS_SELF);
+    private final DetailSearchIndex index = new DetailSearchIndex();
+
+    @Before
+    public void trainSession() throws Exception {
+        when(session.createCriteria(any(Class.class))).thenReturn(criteria);
+        doReturn(Collections.emptyList()).when(criteria).list();
+    }
+
+    @Test
+    public void loadIncludesUpdatesOfIncompleteTransactions() throws Exception {
+        index.add(TRANSACTION, new Payee(1L, "Grocery Store"));
+
+        index.load(session);
+
+        assertThat(index.find(session, "groc").get(SearchField.PAYEE)).containsOnly(1L);
+    }
+
+    @Test
+    public void loadDiscardsUpdatesOfCompletedTransactions() throws Exception {
+        index.add(TRANSACTION, new Payee(1L, "Grocery Store"));
+        index.completed(TRANSACTION);
+
+        index.load(session);
+
+        assertThat(index.find(session, "groc").get(SearchField.PAYEE)).isEmpty();
+    }
+
+    @Test
+    public void loadKeepsAllUpdatesOfIncompleteTransactions() throws Exception {
+        for (long id = 1; id <= 2000; id++) {
+            index.add(TRANSACTION, new Payee(id, "Grocery Store " + id));
+        }
+
+        index.load(session);
+
+        assertThat(index.find(session, "groc").get(SearchField.PAYEE)).hasSize(2000);
+    }
+
+    @Test
+    public void findIncludesUpdatesMadeAfterLoading() throws Exception {
+        index.load(session);
+
+        index.add(TRANSACTION, new Payee(1L, "Grocery Store"));
+        index.completed(TRANSACTION);
+
+        assertThat(index.find(session, "groc").get(SearchField.PAYEE)).containsOnly(1L);
+        verify(session, times(SearchField.values().length)).createCriteria(any(Class.class));
+    }
+}
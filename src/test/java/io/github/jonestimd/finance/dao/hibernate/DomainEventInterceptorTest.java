@@ -6,6 +6,7 @@ import io.github.jonestimd.finance.domain.transaction.Transaction;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 public class DomainEventInterceptorTest {
     private final EventHandlerEventHolder handler = new EventBuilder(this);
@@ -114,4 +115,48 @@ public class DomainEventInterceptorTest {
         assertThat(eventHolder.getEvents().get(0).isDelete()).isTrue();
         assertThat(eventHolder.getEvents().get(0).getDomainObject(transaction.getId())).isSameAs(transaction);
     }
+
+    @Test
+    public void beforeTransactionCompletionUpdatesSummaries() throws Exception {
+        SummaryUpdateHandler summaryHandler = mock(SummaryUpdateHandler.class);
+        DomainEventInterceptor interceptor = new DomainEventInterceptor(handlerSupplier, () -> summaryHandler);
+        Transaction transaction = new Transaction(1L);
+
+        interceptor.onSave(transaction, transaction.getId(), null, null, null);
+        interceptor.onFlushDirty(transaction, transaction.getId(), null, null, null, null);
+        interceptor.beforeTransactionCompletion(null);
+        interceptor.beforeTransactionCompletion(null);
+
+        verify(summaryHandler).added(transaction);
+        verify(summaryHandler).changed(transaction, null, null);
+        verify(summaryHandler).updateSummaries();
+    }
+
+    @Test
+    public void afterTransactionCompletionDiscardsSummaryChanges() throws Exception {
+        SummaryUpdateHandler summaryHandler = mock(SummaryUpdateHandler.class);
+        DomainEventInterceptor interceptor = new DomainEventInterceptor(handlerSupplier, () -> summaryHandler);
+        Transaction transaction = new Transaction(1L);
+
+        interceptor.onDelete(transaction, transaction.getId(), null, null, null);
+        interceptor.afterTransactionCompletion(null);
+        interceptor.beforeTransactionCompletion(null);
+
+        verify(summaryHandler).deleted(transaction, null, null);
+        verify(summaryHandler, never()).updateSummaries();
+    }
+
+    @Test
+    public void afterTransactionCompletionNotifiesSummaryHandlers() throws Exception {
+        SummaryUpdateHandler summaryHandler = mock(SummaryUpdateHandler.class);
+        DomainEventInterceptor interceptor = new DomainEventInterceptor(handlerSupplier, () -> summaryHandler);
+        Transaction transaction = new Transaction(1L);
+
+        interceptor.onSave(transaction, transaction.getId(), null, null, null);
+        interceptor.beforeTransactionCompletion(null);
+        interceptor.afterTransactionCompletion(null);
+        interceptor.afterTransactionCompletion(null);
+
+        verify(summaryHandler).transactionCompleted();
+    }
 }
@@ -14,6 +14,8 @@ import io.github.jonestimd.finance.dao.TransactionalTestFixture;
 import io.github.jonestimd.finance.domain.account.Account;
 import io.github.jonestimd.finance.domain.asset.Security;
 import io.github.jonestimd.finance.domain.asset.SecuritySummary;
+import io.github.jonestimd.finance.domain.asset.SplitRatio;
+import io.github.jonestimd.finance.domain.transaction.StockSplit;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
@@ -21,6 +23,7 @@ import org.apache.commons.lang.time.DateUtils;
 import org.junit.Before;
 import org.junit.Test;
 
+import static java.util.Collections.*;
 import static org.assertj.core.api.Assertions.*;
 
 public class SecurityDaoImplTest extends TransactionalTestFixture {
@@ -64,6 +67,7 @@ public class SecurityDaoImplTest extends TransactionalTestFixture {
         Transaction buy = createSecurityTransaction(BigDecimal.TEN, "-123.45");
         Transaction dividend = createSecurityTransaction(null, "150.00");
 
+        securityDao.updatePositions(singleton(buy.getSecurity().getId()));
         List<SecuritySummary> securities = securityDao.getSecuritySummaries();
 
         assertThat(securities.size()).isGreaterThanOrEqualTo(2);
@@ -87,6 +91,7 @@ public class SecurityDaoImplTest extends TransactionalTestFixture {
         Transaction dividend = createSecurityTransaction(null, "150.00");
         createSecurityTransaction(new BigDecimal("-10"), "456.78");
 
+        securityDao.updatePositions(singleton(buy.getSecurity().getId()));
         List<SecuritySummary> securities = securityDao.getSecuritySummaries();
 
         assertThat(securities.size()).isGreaterThanOrEqualTo(2);
@@ -108,6 +113,7 @@ public class SecurityDaoImplTest extends TransactionalTestFixture {
     public void getSecuritySummariesForAccount() throws Exception {
         Transaction buy = createSecurityTransaction(BigDecimal.TEN, "-123.45");
 
+        securityDao.updatePositions(singleton(buy.getSecurity().getId()));
         List<SecuritySummary> securities = securityDao.getSecuritySummaries(buy.getAccount().getId());
 
         assertThat(securities).isNotEmpty();
@@ -121,6 +127,7 @@ public class SecurityDaoImplTest extends TransactionalTestFixture {
         buy.addDetails(new TransactionDetail(null, BigDecimal.ONE.negate(), null, null));
         Transaction dividend = createSecurityTransaction(null, "150.00");
 
+        securityDao.updatePositions(singleton(buy.getSecurity().getId()));
         List<SecuritySummary> securities = securityDao.getSecuritySummariesByAccount();
 
         assertThat(securities).hasSize(1);
@@ -139,6 +146,7 @@ public class SecurityDaoImplTest extends TransactionalTestFixture {
         buy.addDetails(new TransactionDetail(null, BigDecimal.ONE.negate(), null, null));
         Transaction dividend = createSecurityTransaction(null, "150.00");
 
+        securityDao.updatePositions(singleton(buy.getSecurity().getId()));
         SecuritySummary security = securityDao.getSecuritySummary(buy.getSecurity().getId());
 
         assertThat(security.getSecurity()).isEqualTo(buy.getSecurity());
@@ -150,6 +158,21 @@ public class SecurityDaoImplTest extends TransactionalTestFixture {
         assertThat(security.getTransactionCount()).isEqualTo(2);
     }
 
+    @Test
+    public void getSecuritySummaryAppliesLaterSplits() throws Exception {
+        Transaction buy = createSecurityTransaction(BigDecimal.TEN, "-123.45");
+        Security security = buy.getSecurity();
+        Date today = DateUtils.truncate(buy.getDate(), Calendar.DAY_OF_MONTH);
+        security.getSplits().add(new StockSplit(security, DateUtils.addDays(today, -1), new SplitRatio(BigDecimal.ONE, new BigDecimal(3))));
+        security.getSplits().add(new StockSplit(security, DateUtils.addDays(today, 1), new SplitRatio(BigDecimal.ONE, new BigDecimal(2))));
+        security.getSplits().add(new StockSplit(security, DateUtils.addDays(today, 2), new SplitRatio(new BigDecimal(4), BigDecimal.ONE)));
+
+        securityDao.updatePositions(singleton(security.getId()));
+        SecuritySummary summary = securityDao.getSecuritySummary(security.getId());
+
+        assertThat(summary.getShares()).isEqualByComparingTo("5");
+    }
+
     private Transaction createSecurityTransaction(BigDecimal shares, String amount) {
         Account account = accountDao.get((Long) ACCOUNT_BATCH.getValue(0, "id"));
         Security security = securityDao.get((Long) SECURITY_BATCH.getValue(0, "asset_id"));
@@ -0,0 +1,96 @@
+package io.github.jonestimd.finance.dao.hibernate;
+
+import java.util.Collection;
+
+import com.google.common.collect.ImmutableSet;
+import io.github.jonestimd.finance.dao.SecurityDao;
+import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.account.AccountBuilder;
+import io.github.jonestimd.finance.domain.asset.Security;
+import io.github.jonestimd.finance.domain.transaction.SecurityBuilder;
+import io.github.jonestimd.finance.domain.transaction.StockSplit;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
+import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SecurityPositionUpdaterTest {
+    private static final String[] TRANSACTION_PROPERTIES = {"id", Transaction.ACCOUNT, Transaction.SECURITY};
+    private static final String[] DETAIL_PROPERTIES = {"id", TransactionDetail.TRANSACTION, TransactionDetail.ASSET_QUANTITY};
+    private final SecurityDao securityDao = mock(SecurityDao.class);
+    private final SecurityPositionUpdater updater = new SecurityPositionUpdater(securityDao);
+    private final Security security1 = new SecurityBuilder().nextId().name("stock1").get();
+    private final Security security2 = new SecurityBuilder().nextId().name("stock2").get();
+    private final Account account = new AccountBuilder().nextId().name("account").get();
+
+    @Test
+    public void noChanges() throws Exception {
+        updater.updateSummaries();
+
+        verifyNoInteractions(securityDao);
+    }
+
+    @Test
+    public void ignoresTransactionWithoutSecurity() throws Exception {
+        updater.added(new TransactionBuilder().nextId().account(account).get());
+
+        updater.updateSummaries();
+
+        verifyNoInteractions(securityDao);
+    }
+
+    @Test
+    public void addTransactionDetail() throws Exception {
+        Transaction transaction = new TransactionBuilder().nextId().account(account).security(security1).get();
+        TransactionDetail detail = new TransactionDetail();
+        transaction.addDetails(detail);
+
+        updater.added(transaction);
+        updater.added(detail);
+        updater.updateSummaries();
+
+        assertThat(getSecurityIds()).containsOnly(security1.getId());
+    }
+
+    @Test
+    public void changeTransactionSecurity() throws Exception {
+        Transaction transaction = new TransactionBuilder().nextId().account(account).security(security1).get();
+
+        updater.changed(transaction, TRANSACTION_PROPERTIES, new Object[] {transaction.getId(), account, security2});
+        updater.updateSummaries();
+
+        assertThat(getSecurityIds()).containsOnly(security1.getId(), security2.getId());
+    }
+
+    @Test
+    public void deleteTransactionDetailUsesPreviousTransaction() throws Exception {
+        Transaction transaction = new TransactionBuilder().nextId().account(account).security(security2).get();
+
+        updater.deleted(new TransactionDetail(), DETAIL_PROPERTIES, new Object[] {-1L, transaction, null});
+        updater.updateSummaries();
+
+        assertThat(getSecurityIds()).containsOnly(security2.getId());
+    }
+
+    @Test
+    public void changeStockSplit() throws Exception {
+        StockSplit split = new StockSplit();
+        split.setSecurity(security1);
+
+        updater.changed(split, new String[0], new Object[0]);
+        updater.updateSummaries();
+
+        assertThat(getSecurityIds()).containsOnly(security1.getId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<Long> getSecurityIds() {
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(securityDao).updatePositions(captor.capture());
+        return ImmutableSet.copyOf(captor.getValue());
+    }
+}
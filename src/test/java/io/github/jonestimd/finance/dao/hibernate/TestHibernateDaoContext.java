@@ -16,6 +16,7 @@ import org.hibernate.Criteria;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.criterion.Projections;
+import org.hibernate.stat.Statistics;
 
 import static io.github.jonestimd.finance.plugin.DriverConfigurationService.Field.*;
 
@@ -100,4 +101,15 @@ public class TestHibernateDaoContext extends HibernateDaoContext implements Test
             return (Long) criteria.uniqueResult();
         }
     }
+
+    /**
+     * Enable and clear the session factory statistics.  The caller must disable the statistics when it is finished.
+     */
+    @Override
+    public Statistics getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        return statistics;
+    }
 }
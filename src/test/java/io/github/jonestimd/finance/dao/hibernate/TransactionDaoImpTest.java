@@ -2,6 +2,7 @@ package io.github.jonestimd.finance.dao.hibernate;
 
 import java.lang.reflect.UndeclaredThrowableException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
@@ -180,6 +181,58 @@ public class TransactionDaoImpTest extends TransactionalTestFixture {
         assertThat(getTransaction(transactions, transaction.getId())).isNotNull();
     }
 
+    @Test
+    public void getTransactionsReturnsPagesByDateAndId() throws Exception {
+        Date today = DateUtils.truncate(new Date(), Calendar.DAY_OF_MONTH);
+        Transaction oldest = transactionDao.save(createTransaction(DateUtils.addDays(today, -2)));
+        Transaction older = transactionDao.save(createTransaction(DateUtils.addDays(today, -1)));
+        Transaction newer = transactionDao.save(createTransaction(DateUtils.addDays(today, -1)));
+        Transaction newest = transactionDao.save(createTransaction(today));
+
+        List<Transaction> page1 = transactionDao.getTransactions(account.getId(), null, 2);
+        List<Transaction> page2 = transactionDao.getTransactions(account.getId(), page1.get(0), 2);
+        List<Transaction> page3 = transactionDao.getTransactions(account.getId(), page2.get(0), 2);
+
+        assertThat(page1).extracting(Transaction::getId).containsExactly(newer.getId(), newest.getId());
+        assertThat(page2).extracting(Transaction::getId).containsExactly(oldest.getId(), older.getId());
+        assertThat(page3).isEmpty();
+    }
+
+    @Test
+    public void forEachTransactionLoadsAllDetailsWhenBatchSplitsTransactionDetails() throws Exception {
+        Date today = DateUtils.truncate(new Date(), Calendar.DAY_OF_MONTH);
+        Transaction first = createTransaction(DateUtils.addDays(today, -2));
+        first.addDetails(new TransactionDetail(null, BigDecimal.ONE, null, null), new TransactionDetail(null, BigDecimal.TEN, null, null));
+        first = transactionDao.save(first);
+        Transaction second = createTransaction(DateUtils.addDays(today, -1));
+        second.addDetails(new TransactionDetail(null, BigDecimal.ONE, null, null));
+        second = transactionDao.save(second);
+        Transaction third = transactionDao.save(createTransaction(today));
+        clearSession();
+        List<Long> ids = new ArrayList<>();
+        List<Integer> detailCounts = new ArrayList<>();
+
+        int count = transactionDao.forEachTransaction(account.getId(), 2, transaction -> {
+            ids.add(transaction.getId());
+            detailCounts.add(transaction.getDetails().size());
+        });
+
+        assertThat(count).isEqualTo(3);
+        assertThat(ids).containsExactly(first.getId(), second.getId(), third.getId());
+        assertThat(detailCounts).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    public void getClearedBalanceSumsClearedTransactions() throws Exception {
+        transactionDao.save(createTransaction());
+        transactionDao.save(createTransaction());
+        Transaction uncleared = createTransaction();
+        uncleared.setCleared(false);
+        transactionDao.save(uncleared);
+
+        assertThat(transactionDao.getClearedBalance(account.getId())).isEqualByComparingTo("246.90");
+    }
+
     @Test
     public void testReplacePayees() throws Exception {
         Transaction transaction = createTransaction();
@@ -18,13 +18,19 @@ import io.github.jonestimd.finance.dao.TransactionDetailDao;
 import io.github.jonestimd.finance.dao.TransactionalTestFixture;
 import io.github.jonestimd.finance.domain.UniqueId;
 import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.account.AccountSummary;
 import io.github.jonestimd.finance.domain.asset.Security;
+import io.github.jonestimd.finance.domain.transaction.AmountType;
 import io.github.jonestimd.finance.domain.transaction.SecurityLot;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import io.github.jonestimd.finance.operations.TransactionOperations;
+import io.github.jonestimd.finance.operations.TransactionOperationsImpl;
+import io.github.jonestimd.finance.operations.TransactionUpdate;
 import io.github.jonestimd.util.Streams;
 import org.apache.commons.lang.time.DateUtils;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -60,6 +66,7 @@ public class TransactionDetailDaoImplTest extends TransactionalTestFixture {
         securityDao = daoContext.getSecurityDao();
         securityLotDao = daoContext.getSecurityLotDao();
         account = accountDao.get((Long) ACCOUNT_BATCH.getValue(0, "id"));
+        daoContext.loadSearchIndex();
     }
 
     private Transaction createTransfer(double amount) {
@@ -84,6 +91,58 @@ public class TransactionDetailDaoImplTest extends TransactionalTestFixture {
         assertThat(result.get(0).getId()).isEqualTo(transaction1.getDetails().get(0).getId());
     }
 
+    @Test
+    public void findOrphanTransfersForTransaction() throws Exception {
+        Transaction transaction1 = transactionDao.save(createTransfer(15d));
+        TransactionDetail relatedDetail = transaction1.getDetails().get(0).getRelatedDetail();
+        relatedDetail.setRelatedDetail(null);
+        Transaction transaction2 = transactionDao.save(createTransfer(30d));
+        transaction2.getDetails().get(0).getRelatedDetail().setRelatedDetail(null);
+
+        List<TransactionDetail> result = transactionDetailDao.findOrphanTransfers(relatedDetail.getTransaction().getId());
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(transaction1.getDetails().get(0).getId());
+    }
+
+    @Test
+    public void saveTransactionStatementCountDoesNotDependOnOtherTransfers() throws Exception {
+        TransactionOperations transactionOperations = new TransactionOperationsImpl(daoContext);
+        Long transactionId = transactionDao.save(createTransfer(15d)).getId();
+        daoContext.flushSession();
+        Statistics statistics = daoContext.getStatistics();
+        try {
+            long single = countSaveStatements(statistics, transactionOperations, transactionId, "single");
+
+            for (int i = 0; i < 20; i++) {
+                transactionDao.save(createTransfer(i)).getDetails().get(0).getRelatedDetail().setRelatedDetail(null);
+            }
+            daoContext.flushSession();
+            long many = countSaveStatements(statistics, transactionOperations, transactionId, "many");
+
+            assertThat(many).as("prepared statements").isEqualTo(single);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+        assertThat(transactionDetailDao.findOrphanTransfers()).hasSize(20);
+    }
+
+    /**
+     * Save a change to a detached transaction.
+     * @return the number of statements prepared by the save and the following flush
+     */
+    private long countSaveStatements(Statistics statistics, TransactionOperations transactionOperations, Long transactionId, String memo) {
+        daoContext.clearSession();
+        Transaction transaction = transactionDao.get(transactionId);
+        transaction.getDetails().forEach(detail -> detail.getRelatedDetail().getTransaction().getAccount().getName());
+        daoContext.clearSession();
+        transaction.setMemo(memo);
+        statistics.clear();
+        transactionOperations.saveTransaction(new TransactionUpdate(transaction));
+        daoContext.flushSession();
+        return statistics.getPrepareStatementCount();
+    }
+
     @Test
     public void testFindSecuritySalesWithoutLots() throws Exception {
         Date sellDate = DateUtils.truncate(new Date(), Calendar.DAY_OF_MONTH);
@@ -228,6 +287,22 @@ public class TransactionDetailDaoImplTest extends TransactionalTestFixture {
         assertThat(matches).isEmpty();
     }
 
+    @Test
+    public void findByStringUsesSearchIndex() throws Exception {
+        assertThat(transactionDetailDao.findByString("unique memo")).isEmpty();
+        Transaction transaction = transactionDao.save(new Transaction(account, new Date(), null, false, "the Unique Memo",
+                new TransactionDetail(BigDecimal.ONE, "detail memo", null)));
+
+        assertThat(transactionDetailDao.findByString("unique memo")).containsExactly(transaction.getDetails().get(0));
+
+        transaction.setMemo("replaced");
+        transaction.getDetails().get(0).setMemo("another unique memo");
+
+        assertThat(transactionDetailDao.findByString("the unique memo")).isEmpty();
+        assertThat(transactionDetailDao.findByString("replaced")).containsExactly(transaction.getDetails().get(0));
+        assertThat(transactionDetailDao.findByString("unique memo")).containsExactly(transaction.getDetails().get(0));
+    }
+
     @Test
     public void findByCategoryIdsReturnsEmptyListForEmptyIds() throws Exception {
         assertThat(transactionDetailDao.findByCategoryIds(Collections.emptyList())).isEmpty();
@@ -254,6 +329,36 @@ public class TransactionDetailDaoImplTest extends TransactionalTestFixture {
         assertThat(transactionDao.get(transaction.getId()).getDetails().get(0).getCategory().getId()).isEqualTo(newCategory.getId());
     }
 
+    @Test
+    public void replaceCategoryAddsAssetValueAmountsToAccountBalance() throws Exception {
+        TransactionCategory oldCategory = new TransactionCategory("asset value");
+        oldCategory.setAmountType(AmountType.ASSET_VALUE);
+        transactionCategoryDao.save(oldCategory);
+        TransactionCategory newCategory = transactionCategoryDao.save(new TransactionCategory("replacement category"));
+        createTransaction(null, new Date(), new TransactionDetail(oldCategory, new BigDecimal("5.00"), null, null));
+        accountDao.updateBalances(Collections.singletonList(new AccountSummary(account, 1L, BigDecimal.TEN)));
+
+        transactionDetailDao.replaceCategory(Collections.singletonList(oldCategory), newCategory);
+
+        clearSession();
+        assertThat(accountDao.getBalance(account.getId())).isEqualByComparingTo("15.00");
+    }
+
+    @Test
+    public void replaceCategorySubtractsAmountsMovedToAssetValue() throws Exception {
+        TransactionCategory oldCategory = transactionCategoryDao.save(new TransactionCategory("old category"));
+        TransactionCategory newCategory = new TransactionCategory("asset value");
+        newCategory.setAmountType(AmountType.ASSET_VALUE);
+        transactionCategoryDao.save(newCategory);
+        createTransaction(null, new Date(), new TransactionDetail(oldCategory, new BigDecimal("5.00"), null, null));
+        accountDao.updateBalances(Collections.singletonList(new AccountSummary(account, 1L, BigDecimal.TEN)));
+
+        transactionDetailDao.replaceCategory(Collections.singletonList(oldCategory), newCategory);
+
+        clearSession();
+        assertThat(accountDao.getBalance(account.getId())).isEqualByComparingTo("5.00");
+    }
+
     private Object[] getIds(List<TransactionDetail> details) {
         return Lists.transform(details, UniqueId::getId).toArray();
     }
@@ -0,0 +1,46 @@
+package io.github.jonestimd.finance.dao.hibernate;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TrigramIndexTest {
+    private final TrigramIndex index = new TrigramIndex();
+
+    @Test
+    public void findIgnoresCase() throws Exception {
+        index.add(1L, "Grocery Store");
+        index.add(2L, "Hardware Store");
+        index.add(3L, "Groceries");
+
+        assertThat(index.find("CERY")).containsOnly(1L);
+        assertThat(index.find("store")).containsOnly(1L, 2L);
+        assertThat(index.find("groc")).containsOnly(1L, 3L);
+    }
+
+    @Test
+    public void findChecksForSubstring() throws Exception {
+        index.add(1L, "abcd bcde");
+
+        assertThat(index.find("abcde")).isEmpty();
+        assertThat(index.find("xyz")).isEmpty();
+    }
+
+    @Test
+    public void findReturnsReplacedValues() throws Exception {
+        index.add(1L, "old name");
+        index.add(1L, "new name");
+
+        assertThat(index.find("old")).containsOnly(1L);
+        assertThat(index.find("new")).containsOnly(1L);
+        assertThat(index.getStaleCount()).isEqualTo(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void addIgnoresNullValue() throws Exception {
+        index.add(1L, null);
+
+        assertThat(index.size()).isEqualTo(0);
+    }
+}
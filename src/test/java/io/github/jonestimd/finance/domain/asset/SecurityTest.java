@@ -80,6 +80,28 @@ public class SecurityTest {
         assertThat(security.revertSplits(BigDecimal.TEN, newDate(-1), null).toString()).isEqualTo("5.000000");
     }
 
+    @Test
+    public void getSplitRatioUsesModifiedSplit() throws Exception {
+        Security security = new SecurityBuilder().splits(newStockSplit(-1, 2L)).get();
+        StockSplit split = security.getSplits().get(0);
+        split.setSecurity(security);
+        assertThat(security.getSplitRatio(newDate(-1), null).getRatio(2).toString()).isEqualTo("2.00");
+
+        split.setSharesOut(new BigDecimal(3L));
+
+        assertThat(security.getSplitRatio(newDate(-1), null).getRatio(2).toString()).isEqualTo("3.00");
+    }
+
+    @Test
+    public void getSplitRatioUsesAddedSplit() throws Exception {
+        Security security = new SecurityBuilder().splits(newStockSplit(-1, 2L)).get();
+        assertThat(security.getSplitRatio(newDate(-2), null).getRatio(2).toString()).isEqualTo("2.00");
+
+        security.getSplits().add(newStockSplit(-2, 3L));
+
+        assertThat(security.getSplitRatio(newDate(-2), null).getRatio(2).toString()).isEqualTo("6.00");
+    }
+
     @Test
     public void updateSplitsAddsNewSplit() throws Exception {
         Security security = new SecurityBuilder().splits().get();
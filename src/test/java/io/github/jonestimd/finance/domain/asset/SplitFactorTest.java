@@ -0,0 +1,55 @@
+package io.github.jonestimd.finance.domain.asset;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import io.github.jonestimd.finance.domain.transaction.StockSplit;
+import org.apache.commons.lang.time.DateUtils;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SplitFactorTest {
+    @Test
+    public void ofCreatesFactorForEachSplitDate() throws Exception {
+        List<SplitFactor> factors = SplitFactor.of(1L, new SplitIndex(Arrays.asList(
+                newStockSplit(-1, 2L),
+                newStockSplit(-3, 4L),
+                newStockSplit(-2, 3L))));
+
+        assertThat(factors).hasSize(3);
+        assertFactor(factors.get(0), null, newDate(-3), "24.00");
+        assertFactor(factors.get(1), newDate(-3), newDate(-2), "6.00");
+        assertFactor(factors.get(2), newDate(-2), newDate(-1), "2.00");
+    }
+
+    @Test
+    public void ofCombinesSplitsOnTheSameDate() throws Exception {
+        List<SplitFactor> factors = SplitFactor.of(1L, new SplitIndex(Arrays.asList(
+                newStockSplit(-1, 2L),
+                newStockSplit(-2, 3L),
+                newStockSplit(-2, 5L))));
+
+        assertThat(factors).hasSize(2);
+        assertFactor(factors.get(0), null, newDate(-2), "30.00");
+        assertFactor(factors.get(1), newDate(-2), newDate(-1), "2.00");
+    }
+
+    private void assertFactor(SplitFactor factor, Date afterDate, Date throughDate, String ratio) {
+        assertThat(factor.getSecurityId()).isEqualTo(1L);
+        assertThat(factor.getAfterDate()).isEqualTo(afterDate);
+        assertThat(factor.getThroughDate()).isEqualTo(throughDate);
+        assertThat(factor.getSplitRatio().getRatio(2).toString()).isEqualTo(ratio);
+    }
+
+    private StockSplit newStockSplit(int dateOffset, long sharesOut) {
+        return new StockSplit(null, newDate(dateOffset), new SplitRatio(BigDecimal.ONE, new BigDecimal(sharesOut)));
+    }
+
+    private Date newDate(int dateOffset) {
+        return DateUtils.truncate(DateUtils.addDays(new Date(), dateOffset), Calendar.DAY_OF_MONTH);
+    }
+}
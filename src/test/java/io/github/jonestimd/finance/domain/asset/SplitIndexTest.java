@@ -0,0 +1,91 @@
+package io.github.jonestimd.finance.domain.asset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import io.github.jonestimd.finance.domain.transaction.StockSplit;
+import org.apache.commons.lang.time.DateUtils;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SplitIndexTest {
+    @Test
+    public void getSplitRatioReturnsOneForNoSplits() throws Exception {
+        SplitIndex index = new SplitIndex(new ArrayList<>());
+
+        assertThat(index.size()).isEqualTo(0);
+        assertThat(index.getSplitRatio(newDate(-1), null).getRatio(2).toString()).isEqualTo("1.00");
+    }
+
+    @Test
+    public void ignoresSplitsWithoutDate() throws Exception {
+        SplitIndex index = new SplitIndex(Arrays.asList(new StockSplit(), newStockSplit(-1, 2L)));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.getSplitRatio(newDate(-2), null).getRatio(2).toString()).isEqualTo("2.00");
+    }
+
+    @Test
+    public void getSplitRatioIncludesSplitsOnBoundaryDates() throws Exception {
+        SplitIndex index = new SplitIndex(Arrays.asList(
+                newStockSplit(-1, 5L),
+                newStockSplit(-4, 4L),
+                newStockSplit(-2, 2L),
+                newStockSplit(-3, 3L)));
+
+        assertThat(index.getSplitRatio(newDate(-3), newDate(-2)).getRatio(2).toString()).isEqualTo("6.00");
+        assertThat(index.getSplitRatio(newDate(-4), null).getRatio(2).toString()).isEqualTo("120.00");
+        assertThat(index.getSplitRatio(newDate(-5), newDate(-5)).getRatio(2).toString()).isEqualTo("1.00");
+        assertThat(index.getSplitRatio(newDate(0), null).getRatio(2).toString()).isEqualTo("1.00");
+    }
+
+    @Test
+    public void getSplitRatioHandlesReverseSplits() throws Exception {
+        SplitIndex index = new SplitIndex(Arrays.asList(
+                new StockSplit(null, newDate(-2), new SplitRatio(new BigDecimal(3L), BigDecimal.ONE)),
+                newStockSplit(-1, 2L)));
+
+        assertThat(index.getSplitRatio(newDate(-1), null).apply(BigDecimal.TEN, 6).toString()).isEqualTo("20.000000");
+        assertThat(index.getSplitRatio(newDate(-2), null).apply(new BigDecimal(30L), 6).toString()).isEqualTo("20.000000");
+        assertThat(index.getSplitRatio(newDate(-2), newDate(-2)).apply(new BigDecimal(30L), 6).toString()).isEqualTo("10.000000");
+    }
+
+    @Test
+    public void getCumulativeRatioReturnsProductOfLaterSplits() throws Exception {
+        SplitIndex index = new SplitIndex(Arrays.asList(
+                newStockSplit(-1, 2L),
+                newStockSplit(-3, 4L),
+                newStockSplit(-2, 3L)));
+
+        assertThat(index.getDate(0)).isEqualTo(newDate(-3));
+        assertThat(index.getCumulativeRatio(0).getRatio(2).toString()).isEqualTo("24.00");
+        assertThat(index.getDate(1)).isEqualTo(newDate(-2));
+        assertThat(index.getCumulativeRatio(1).getRatio(2).toString()).isEqualTo("6.00");
+        assertThat(index.getDate(2)).isEqualTo(newDate(-1));
+        assertThat(index.getCumulativeRatio(2).getRatio(2).toString()).isEqualTo("2.00");
+    }
+
+    @Test
+    public void isIndexOfChecksListAndSize() throws Exception {
+        List<StockSplit> splits = new ArrayList<>(Arrays.asList(newStockSplit(-1, 2L)));
+        SplitIndex index = new SplitIndex(splits);
+
+        assertThat(index.isIndexOf(splits)).isTrue();
+        assertThat(index.isIndexOf(new ArrayList<>(splits))).isFalse();
+        splits.add(newStockSplit(-2, 2L));
+        assertThat(index.isIndexOf(splits)).isFalse();
+    }
+
+    private StockSplit newStockSplit(int dateOffset, long sharesOut) {
+        return new StockSplit(null, newDate(dateOffset), new SplitRatio(BigDecimal.ONE, new BigDecimal(sharesOut)));
+    }
+
+    private Date newDate(int dateOffset) {
+        return DateUtils.truncate(DateUtils.addDays(new Date(), dateOffset), Calendar.DAY_OF_MONTH);
+    }
+}
@@ -2,11 +2,14 @@ package io.github.jonestimd.finance.domain.event;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
 
 import io.github.jonestimd.finance.domain.UniqueId;
 import io.github.jonestimd.finance.domain.asset.Security;
 import io.github.jonestimd.finance.domain.asset.SecuritySummary;
 import io.github.jonestimd.finance.domain.transaction.SecurityBuilder;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
 import io.github.jonestimd.finance.swing.event.EventType;
 import org.junit.Test;
 
@@ -33,4 +36,52 @@ public class DomainEventTest {
         assertThat(event.getDomainObjects()).isEmpty();
         assertThat(event.getReplacement()).isNull();
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void coalesceCombinesConsecutiveEventsWithSameSourceTypeAndClass() throws Exception {
+        Transaction transaction1 = new TransactionBuilder().nextId().get();
+        Transaction transaction2 = new TransactionBuilder().nextId().get();
+        TransactionEvent added = new TransactionEvent(this, EventType.ADDED, transaction1);
+        TransactionEvent deleted = new TransactionEvent(this, EventType.DELETED, transaction2);
+
+        List<DomainEvent<?, ?>> events = DomainEvent.coalesce(Arrays.asList(
+                new TransactionEvent(this, EventType.CHANGED, transaction1),
+                new TransactionEvent(this, EventType.CHANGED, Arrays.asList(transaction1, transaction2)),
+                added,
+                deleted));
+
+        assertThat(events).hasSize(3);
+        DomainEvent<Long, Transaction> changed = (DomainEvent<Long, Transaction>) events.get(0);
+        assertThat(changed.getType()).isEqualTo(EventType.CHANGED);
+        assertThat(changed.getSource()).isSameAs(this);
+        assertThat(changed.getDomainClass()).isEqualTo(Transaction.class);
+        assertThat(changed.getDomainObjects()).containsExactly(transaction1, transaction2);
+        assertThat(events.get(1)).isSameAs(added);
+        assertThat(events.get(2)).isSameAs(deleted);
+    }
+
+    @Test
+    public void coalesceKeepsEventsFromDifferentSources() throws Exception {
+        Transaction transaction = new TransactionBuilder().nextId().get();
+
+        List<DomainEvent<?, ?>> events = DomainEvent.coalesce(Arrays.asList(
+                new TransactionEvent(this, EventType.CHANGED, transaction),
+                new TransactionEvent("source", EventType.CHANGED, transaction)));
+
+        assertThat(events).hasSize(2);
+    }
+
+    @Test
+    public void coalesceDoesNotMoveEventsPastOtherEvents() throws Exception {
+        Transaction transaction = new TransactionBuilder().nextId().get();
+        TransactionEvent changed1 = new TransactionEvent(this, EventType.CHANGED, transaction);
+        TransactionEvent deleted = new TransactionEvent(this, EventType.DELETED, transaction);
+        TransactionEvent added = new TransactionEvent(this, EventType.ADDED, transaction);
+        TransactionEvent changed2 = new TransactionEvent(this, EventType.CHANGED, transaction);
+
+        List<DomainEvent<?, ?>> events = DomainEvent.coalesce(Arrays.asList(changed1, deleted, added, changed2));
+
+        assertThat(events).containsExactly(changed1, deleted, added, changed2);
+    }
 }
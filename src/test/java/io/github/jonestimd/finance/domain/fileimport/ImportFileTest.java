@@ -1,7 +1,10 @@
 package io.github.jonestimd.finance.domain.fileimport;
 
+import java.text.SimpleDateFormat;
 import java.util.Collections;
+import java.util.HashSet;
 
+import io.github.jonestimd.finance.domain.account.Account;
 import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
 import org.junit.Test;
 
@@ -48,4 +51,71 @@ public class ImportFileTest {
 
         assertThat(importFile.getTransferAccount("")).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getTransferAccountReturnsAccountForAlias() throws Exception {
+        Account account = new Account();
+        ImportFile importFile = new ImportFile();
+        importFile.setImportTransfers(Collections.singleton(new ImportTransfer("alias", false, account)));
+
+        assertThat(importFile.getTransferAccount("alias")).isSameAs(account);
+        assertThat(importFile.getTransferAccount("other")).isNull();
+    }
+
+    @Test
+    public void compileImportPlanUsesCurrentSettings() throws Exception {
+        TransactionCategory category = new TransactionCategory("category code");
+        ImportFile importFile = new ImportFile();
+        importFile.setImportCategories(new HashSet<>());
+        assertThat(importFile.isNegate(category)).isFalse();
+        importFile.getImportCategories().add(new ImportCategory("alias", true, category));
+
+        importFile.compileImportPlan();
+
+        assertThat(importFile.isNegate(category)).isTrue();
+    }
+
+    @Test
+    public void parseDateMatchesSimpleDateFormat() throws Exception {
+        String[][] dates = {
+                {"MM/dd/yyyy", "05/13/1926"}, {"MM/dd/yyyy", "5/3/2020"}, {"MM/dd/yy", "01/15/99"}, {"MM/dd/yy", "01/15/20"},
+                {"yyyy-MM-dd", "2020-02-31"}, {"dd-MMM-yyyy", "05-jan-2021"}, {"MM/dd/yyyy HH:mm", "01/02/2020 13:45"},
+                {"MM/dd/yyyy", "01/02/2020 trailing"}, {"MM/yyyy", "01/2020"}, {"MM/dd/yyyy z", "01/02/2020 GMT"}};
+        for (String[] date : dates) {
+            ImportFile importFile = new ImportFile();
+            importFile.setDateFormat(date[0]);
+
+            assertThat(importFile.parseDate(date[1])).as(date[1]).isEqualTo(new SimpleDateFormat(date[0]).parse(date[1]));
+        }
+    }
+
+    @Test
+    public void parseDateMatchesSimpleDateFormatForSupportedLetters() throws Exception {
+        String[][] dates = {
+                {"M/d/y", "1/2/20"}, {"M/d/y", "1/2/2020"}, {"yyMMdd", "991231"}, {"yyyy-DDD", "2020-060"},
+                {"MMMM d, yyyy", "January 2, 2020"}, {"EEE, d MMM yyyy HH:mm:ss", "Thu, 2 Jan 2020 13:45:10"},
+                {"EEEE MM/dd/yyyy", "Thursday 01/02/2020"}, {"MM/dd/yyyy hh:mm a", "01/02/2020 12:15 am"},
+                {"dd.MM.yyyy K:mm a", "02.01.2020 3:05 PM"}, {"'Date: 'MM/dd/yyyy", "Date: 01/02/2020"},
+                {"yyyy-MM-dd'T'HH:mm:ss", "2020-01-02T13:45:10"}, {"yyyy-MM-dd''HH", "2020-01-02'13"}};
+        for (String[] date : dates) {
+            ImportFile importFile = new ImportFile();
+            importFile.setDateFormat(date[0]);
+
+            assertThat(importFile.parseDate(date[1])).as(date[0]).isEqualTo(new SimpleDateFormat(date[0]).parse(date[1]));
+        }
+    }
+
+    @Test
+    public void parseDateMatchesSimpleDateFormatForLettersThatDifferFromDateTimeFormatter() throws Exception {
+        String[][] dates = {
+                {"yyyy-MM-dd u", "2020-01-02 4"}, {"yyyy-MM-dd HH:mm:ss.S", "2020-01-02 13:45:10.5"},
+                {"yyyy-MM-dd F", "2020-01-02 1"}, {"YYYY-MM-dd", "2020-12-31"}, {"yyyy-MM-dd kk:mm", "2020-01-02 24:30"},
+                {"MM/dd/yyyy hh:mm", "01/02/2020 03:15"}, {"MM/dd/yyyy mm", "01/02/2020 15"}};
+        for (String[] date : dates) {
+            ImportFile importFile = new ImportFile();
+            importFile.setDateFormat(date[0]);
+
+            assertThat(importFile.parseDate(date[1])).as(date[0]).isEqualTo(new SimpleDateFormat(date[0]).parse(date[1]));
+        }
+    }
+}
@@ -41,6 +41,28 @@ public class DomainMapperTest {
         assertThat(mapper.get("BEAN1")).isNotSameAs(bean);
     }
 
+    @Test
+    public void doesNotCreateBeanForAliasMatch() throws Exception {
+        List<TestBean> beans = Lists.newArrayList(new TestBean("bean1"));
+        TestBean bean = new TestBean("alias1");
+        DomainMapper<TestBean> mapper = new DomainMapper<>(beans, TestBean::getName, ImmutableMap.of("other", bean), TestBean::new);
+
+        assertThat(mapper.get("other")).isSameAs(bean);
+
+        assertThat(beans).hasSize(1);
+    }
+
+    @Test
+    public void returnsContainsMatchForCreatedBean() throws Exception {
+        List<TestBean> beans = Lists.newArrayList(new TestBean("bean"));
+        DomainMapper<TestBean> mapper = new DomainMapper<>(beans, TestBean::getName, TestBean::new);
+        final TestBean result = mapper.get("other");
+
+        assertThat(mapper.get("another")).isSameAs(result);
+        assertThat(mapper.get("the other bean")).isSameAs(result);
+        assertThat(mapper.get("a bean")).isSameAs(beans.get(0));
+    }
+
     @Test
     public void returnsNewBeanIfNoMatch() throws Exception {
         List<TestBean> beans = Lists.newArrayList(new TestBean("bean1"), new TestBean("bean2"));
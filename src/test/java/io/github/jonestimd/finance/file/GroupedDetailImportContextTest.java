@@ -1,9 +1,9 @@
 package io.github.jonestimd.finance.file;
 
 import java.io.ByteArrayInputStream;
-import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableListMultimap;
 import io.github.jonestimd.finance.domain.account.Account;
@@ -21,7 +21,6 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import static java.util.Collections.*;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -57,7 +56,7 @@ public class GroupedDetailImportContextTest {
         Security security = new Security();
         when(importFile.parseDate(anyString())).thenReturn(date);
         when(importFile.getAccount()).thenReturn(account);
-        when(importFile.parse(inputStream)).thenReturn(singletonList(
+        when(importFile.parse(inputStream)).thenReturn(Stream.of(
                 ImmutableListMultimap.of(dateField, "01/15/1990", payeeField, PAYEE_NAME, securityField, SECURITY_NAME)));
         ImportContext context = new GroupedDetailImportContext(importFile, payeeMapper, securityMapper, categoryMapper);
         when(payeeMapper.get(PAYEE_NAME)).thenReturn(payee);
@@ -77,7 +76,7 @@ public class GroupedDetailImportContextTest {
     public void populatesDetail() throws Exception {
         final ByteArrayInputStream inputStream = new ByteArrayInputStream("".getBytes());
         final TransactionCategory category = new TransactionCategory();
-        when(importFile.parse(inputStream)).thenReturn(singletonList(
+        when(importFile.parse(inputStream)).thenReturn(Stream.of(
                 ImmutableListMultimap.of(amountField, "10", categoryField, CATEGORY_CODE, sharesField, "1")));
         ImportContext context = new GroupedDetailImportContext(importFile, payeeMapper, securityMapper, categoryMapper);
         when(categoryMapper.get(CATEGORY_CODE)).thenReturn(category);
@@ -98,7 +97,7 @@ public class GroupedDetailImportContextTest {
         final TransactionCategory category1 = new TransactionCategory(CATEGORY_CODE);
         final TransactionCategory category2 = new TransactionCategory(otherCategory);
         final Account transferAccount = new Account(-1L, "transfer account");
-        when(importFile.parse(inputStream)).thenReturn(Arrays.asList(
+        when(importFile.parse(inputStream)).thenReturn(Stream.of(
                 ImmutableListMultimap.of(dateField, "01/15/1990", amountField, "10", categoryField, CATEGORY_CODE, sharesField, "2"),
                 ImmutableListMultimap.of(dateField, "01/15/1990", amountField, "5", transferField, TRANSFER_ACCOUNT),
                 ImmutableListMultimap.of(dateField, "01/15/1990", amountField, "1", categoryField, otherCategory, sharesField, "20")));
@@ -125,7 +124,7 @@ public class GroupedDetailImportContextTest {
     public void mergesDetailsForCategory() throws Exception {
         final ByteArrayInputStream inputStream = new ByteArrayInputStream("".getBytes());
         final TransactionCategory category = new TransactionCategory(CATEGORY_CODE);
-        when(importFile.parse(inputStream)).thenReturn(Arrays.asList(
+        when(importFile.parse(inputStream)).thenReturn(Stream.of(
                 ImmutableListMultimap.of(dateField, "01/15/1990", amountField, "10", categoryField, CATEGORY_CODE, sharesField, "2"),
                 ImmutableListMultimap.of(dateField, "01/15/1990", amountField, "1", categoryField, CATEGORY_CODE, sharesField, "20")));
         ImportContext context = new GroupedDetailImportContext(importFile, payeeMapper, securityMapper, categoryMapper);
@@ -144,7 +143,7 @@ public class GroupedDetailImportContextTest {
     public void mergesDetailsForTransfer() throws Exception {
         final ByteArrayInputStream inputStream = new ByteArrayInputStream("".getBytes());
         final Account transferAccount = new Account(-1L, "transfer account");
-        when(importFile.parse(inputStream)).thenReturn(Arrays.asList(
+        when(importFile.parse(inputStream)).thenReturn(Stream.of(
                 ImmutableListMultimap.of(dateField, "01/15/1990", amountField, "10", transferField, TRANSFER_ACCOUNT),
                 ImmutableListMultimap.of(dateField, "01/15/1990", amountField, "1", transferField, TRANSFER_ACCOUNT)));
         ImportContext context = new GroupedDetailImportContext(importFile, payeeMapper, securityMapper, categoryMapper);
@@ -158,4 +157,22 @@ public class GroupedDetailImportContextTest {
         assertThat(transactions.get(0).getDetails().get(0).getTransferAccount()).isSameAs(transferAccount);
         assertThat(transactions.get(0).getDetails().get(0).getAmount().toString()).isEqualTo("11");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void recordKeyUsesInputValuesOfGroupedRecords() throws Exception {
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream("".getBytes());
+        when(importFile.parse(inputStream)).thenReturn(Stream.of(
+                ImmutableListMultimap.of(dateField, "01/15/1990", payeeField, " Payee  name ", amountField, "10"),
+                ImmutableListMultimap.of(dateField, "01/15/1990", payeeField, " Payee  name ", amountField, "1"),
+                ImmutableListMultimap.of(dateField, "01/16/1990", payeeField, PAYEE_NAME, amountField, "5")));
+        ImportContext context = new GroupedDetailImportContext(importFile, payeeMapper, securityMapper, categoryMapper);
+        when(payeeMapper.get(anyString())).thenReturn(new Payee(PAYEE_NAME));
+
+        List<Transaction> transactions = context.parseTransactions(inputStream);
+
+        assertThat(transactions).hasSize(2);
+        assertThat(context.getRecordKey(transactions.get(0)))
+                .isEqualTo("AMOUNT=10\0DATE=01/15/1990\0PAYEE=Payee name\0\0AMOUNT=1\0DATE=01/15/1990\0PAYEE=Payee name");
+        assertThat(context.getRecordKey(transactions.get(1))).isEqualTo("AMOUNT=5\0DATE=01/16/1990\0PAYEE=Payee name");
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.jonestimd.finance.file;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.jonestimd.finance.domain.fileimport.ImportFingerprint;
+import io.github.jonestimd.finance.domain.fileimport.ImportFingerprint.Type;
+import io.github.jonestimd.finance.domain.transaction.Payee;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.file.ImportLedger.FileHashStream;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ImportLedgerTest {
+    private static final Long IMPORT_FILE_ID = -1L;
+    private final Map<Transaction, String> recordKeys = new IdentityHashMap<>();
+
+    @Test
+    public void fileHashIsSha256Hex() throws Exception {
+        assertThat(ImportLedger.fileHash("abc".getBytes()))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    @Test
+    public void isImportedChecksExistingHashes() throws Exception {
+        String hash = ImportLedger.fileHash("statement".getBytes());
+
+        assertThat(new ImportLedger(IMPORT_FILE_ID, Collections.singletonList(hash)).isImported(hash)).isTrue();
+        assertThat(new ImportLedger(IMPORT_FILE_ID, Collections.emptyList()).isImported(hash)).isFalse();
+    }
+
+    @Test
+    public void fileHashStreamIncludesUnreadContent() throws Exception {
+        FileHashStream stream = new FileHashStream(new ByteArrayInputStream("abc".getBytes()));
+        stream.read();
+        stream.close();
+
+        assertThat(stream.getHash()).isEqualTo(ImportLedger.fileHash("abc".getBytes()));
+    }
+
+    @Test
+    public void newRecordsSkipsImportedRecords() throws Exception {
+        ImportLedger ledger = new ImportLedger(IMPORT_FILE_ID, Collections.emptyList());
+        Transaction transaction1 = newTransaction("record 1");
+        Transaction transaction2 = newTransaction("record 2");
+        Map<String, Transaction> records = ledger.newRecords(Collections.singletonList(transaction1), recordKeys::get);
+        ledger.add(ledger.newFingerprints("file hash", records.keySet()));
+
+        Map<String, Transaction> newRecords = ledger.newRecords(Arrays.asList(newTransaction("record 1"), transaction2), recordKeys::get);
+
+        assertThat(newRecords.values()).containsExactly(transaction2);
+    }
+
+    @Test
+    public void newRecordsCountsIdenticalRecords() throws Exception {
+        ImportLedger ledger = new ImportLedger(IMPORT_FILE_ID, Collections.emptyList());
+        ledger.add(ledger.newFingerprints("file hash", ledger.newRecords(Collections.singletonList(newTransaction("record")), recordKeys::get).keySet()));
+        Transaction transaction1 = newTransaction("record");
+        Transaction transaction2 = newTransaction("record");
+
+        Map<String, Transaction> newRecords = ledger.newRecords(Arrays.asList(transaction1, transaction2), recordKeys::get);
+
+        assertThat(newRecords.values()).containsExactly(transaction2);
+    }
+
+    @Test
+    public void newRecordsIgnoresMappedPayee() throws Exception {
+        ImportLedger ledger = new ImportLedger(IMPORT_FILE_ID, Collections.emptyList());
+        Transaction transaction1 = newTransaction("record");
+        transaction1.setPayee(new Payee("payee"));
+        ledger.add(ledger.newFingerprints("file hash", ledger.newRecords(Collections.singletonList(transaction1), recordKeys::get).keySet()));
+        Transaction transaction2 = newTransaction("record");
+        transaction2.setPayee(new Payee("renamed payee"));
+
+        assertThat(ledger.newRecords(Collections.singletonList(transaction2), recordKeys::get)).isEmpty();
+    }
+
+    @Test
+    public void newFingerprintsSkipsExistingHashes() throws Exception {
+        ImportLedger ledger = new ImportLedger(IMPORT_FILE_ID, Collections.singletonList("record1"));
+
+        List<ImportFingerprint> fingerprints = ledger.newFingerprints("file", Arrays.asList("record1", "record2", "record2"));
+
+        assertThat(fingerprints).extracting(ImportFingerprint::getHash).containsExactly("file", "record2");
+        assertThat(fingerprints).extracting(ImportFingerprint::getType).containsExactly(Type.FILE, Type.RECORD);
+        assertThat(fingerprints).extracting(ImportFingerprint::getImportFileId).containsOnly(IMPORT_FILE_ID);
+    }
+
+    @Test
+    public void newFingerprintsDoesNotUpdateLedger() throws Exception {
+        ImportLedger ledger = new ImportLedger(IMPORT_FILE_ID, Collections.emptyList());
+
+        ledger.newFingerprints("file", Collections.singletonList("record"));
+
+        assertThat(ledger.isImported("file")).isFalse();
+        assertThat(ledger.newFingerprints("file", Collections.singletonList("record"))).hasSize(2);
+    }
+
+    @Test
+    public void addUpdatesLedger() throws Exception {
+        ImportLedger ledger = new ImportLedger(IMPORT_FILE_ID, Collections.emptyList());
+
+        ledger.add(ledger.newFingerprints("file", Collections.singletonList("record")));
+
+        assertThat(ledger.isImported("file")).isTrue();
+        assertThat(ledger.newFingerprints("file", Collections.singletonList("record"))).isEmpty();
+    }
+
+    private Transaction newTransaction(String recordKey) {
+        Transaction transaction = new Transaction();
+        recordKeys.put(transaction, recordKey);
+        return transaction;
+    }
+}
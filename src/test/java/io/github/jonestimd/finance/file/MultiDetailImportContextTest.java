@@ -45,8 +45,8 @@ public class MultiDetailImportContextTest {
     private final ImportField transferField = new ImportFieldBuilder().type(TRANSFER_ACCOUNT).label(ACCOUNT_NAME)
             .amountFormat(FIXED).account(new Account()).get();
 
-    public void trainImportFile(Iterable<ListMultimap<ImportField, String>> rows) throws Exception {
-        when(importFile.parse(inputStream)).thenReturn(rows);
+    public void trainImportFile(List<ListMultimap<ImportField, String>> rows) throws Exception {
+        when(importFile.parse(inputStream)).thenReturn(rows.stream());
     }
 
     @Test
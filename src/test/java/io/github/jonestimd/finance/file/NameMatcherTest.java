@@ -0,0 +1,36 @@
+package io.github.jonestimd.finance.file;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class NameMatcherTest {
+    @Test
+    public void findReturnsLongestContainedName() throws Exception {
+        NameMatcher<String> matcher = new NameMatcher<>(Arrays.asList("he", "She", "his", "hers"), Function.identity());
+
+        assertThat(matcher.find("ushers")).isEqualTo("hers");
+        assertThat(matcher.find("USHE")).isEqualTo("She");
+        assertThat(matcher.find("this")).isEqualTo("his");
+        assertThat(matcher.find("ahe")).isEqualTo("he");
+    }
+
+    @Test
+    public void findReturnsFirstOfLongestNames() throws Exception {
+        NameMatcher<String> matcher = new NameMatcher<>(Arrays.asList("ab", "cd", "CD"), Function.identity());
+
+        assertThat(matcher.find("cdab")).isEqualTo("ab");
+        assertThat(matcher.find("xcd")).isEqualTo("cd");
+    }
+
+    @Test
+    public void findReturnsNullForNoMatch() throws Exception {
+        NameMatcher<String> matcher = new NameMatcher<>(Arrays.asList("abc", "bcd"), Function.identity());
+
+        assertThat(matcher.find("abbcc")).isNull();
+        assertThat(matcher.find("")).isNull();
+    }
+}
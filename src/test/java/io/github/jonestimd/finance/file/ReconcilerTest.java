@@ -106,6 +106,23 @@ public class ReconcilerTest {
         assertThat(transaction3.isCleared()).isTrue();
     }
 
+    @Test
+    public void selectSameDateTransactionBeforeEarlierTransaction() throws Exception {
+        Date date = new Date();
+        final Payee payee = new Payee("payee");
+        Transaction transaction1 = transactionBuilder(false, new BigDecimal("11.00")).nextId().payee(payee).date(addDays(date, -1)).get();
+        Transaction transaction2 = transactionBuilder(false, new BigDecimal("11")).nextId().payee(payee).date(date).get();
+        Transaction transaction3 = transactionBuilder(false, new BigDecimal("11.0")).nextId().payee(payee).date(date).get();
+        TransactionTableModel tableModel = newTableModel(transaction1, transaction2, transaction3);
+
+        new Reconciler(tableModel).reconcile(singletonList(transactionBuilder(false, new BigDecimal("11.0")).payee(new Payee("PAYEE")).date(date).get()));
+
+        assertThat(tableModel.getBeanCount()).isEqualTo(3);
+        assertThat(transaction1.isCleared()).isFalse();
+        assertThat(transaction2.isCleared()).isTrue();
+        assertThat(transaction3.isCleared()).isFalse();
+    }
+
     @Test
     public void selectTransactionWithSameAmountAndSecurity() throws Exception {
         final Security security = new Security("security", SecurityType.STOCK);
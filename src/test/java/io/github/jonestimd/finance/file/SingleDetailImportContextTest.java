@@ -4,8 +4,10 @@ import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
 import io.github.jonestimd.finance.domain.account.Account;
 import io.github.jonestimd.finance.domain.asset.Security;
 import io.github.jonestimd.finance.domain.fileimport.AmountFormat;
@@ -21,7 +23,6 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import static java.util.Collections.*;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -53,7 +54,7 @@ public class SingleDetailImportContextTest {
         final Account account = new Account();
         when(importFile.parseDate(anyString())).thenReturn(date);
         when(importFile.getAccount()).thenReturn(account);
-        when(importFile.parse(inputStream)).thenReturn(singletonList(ImmutableListMultimap.of(dateField, "01/15/1990", payeeField, PAYEE_NAME)));
+        when(importFile.parse(inputStream)).thenReturn(Stream.of(ImmutableListMultimap.of(dateField, "01/15/1990", payeeField, PAYEE_NAME)));
         ImportContext context = new SingleDetailImportContext(importFile, payeeMapper, securityMapper, categoryMapper);
         when(payeeMapper.get(PAYEE_NAME)).thenReturn(payee);
 
@@ -66,11 +67,23 @@ public class SingleDetailImportContextTest {
         verify(importFile).parseDate("01/15/1990");
     }
 
+    @Test
+    public void closesRecordStream() throws Exception {
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream("".getBytes());
+        final Runnable onClose = mock(Runnable.class);
+        when(importFile.parse(inputStream)).thenReturn(Stream.<ListMultimap<ImportField, String>>empty().onClose(onClose));
+        ImportContext context = new SingleDetailImportContext(importFile, payeeMapper, securityMapper, categoryMapper);
+
+        assertThat(context.parseTransactions(inputStream)).isEmpty();
+
+        verify(onClose).run();
+    }
+
     @Test
     public void populatesDetail() throws Exception {
         final ByteArrayInputStream inputStream = new ByteArrayInputStream("".getBytes());
         final TransactionCategory category = new TransactionCategory();
-        when(importFile.parse(inputStream)).thenReturn(singletonList(
+        when(importFile.parse(inputStream)).thenReturn(Stream.of(
                 ImmutableListMultimap.of(amountField, "10", categoryField, CATEGORY_CODE, sharesField, "5")));
         ImportContext context = new SingleDetailImportContext(importFile, payeeMapper, securityMapper, categoryMapper);
         when(categoryMapper.get(CATEGORY_CODE)).thenReturn(category);
@@ -88,7 +101,7 @@ public class SingleDetailImportContextTest {
     public void negatesAmountBasedOnCategory() throws Exception {
         final ByteArrayInputStream inputStream = new ByteArrayInputStream("".getBytes());
         final TransactionCategory category = new TransactionCategory();
-        when(importFile.parse(inputStream)).thenReturn(singletonList(
+        when(importFile.parse(inputStream)).thenReturn(Stream.of(
                 ImmutableListMultimap.of(amountField, "10", categoryField, CATEGORY_CODE, sharesField, "5")));
         ImportContext context = new SingleDetailImportContext(importFile, payeeMapper, securityMapper, categoryMapper);
         when(categoryMapper.get(CATEGORY_CODE)).thenReturn(category);
@@ -107,7 +120,7 @@ public class SingleDetailImportContextTest {
     public void excludesZeroAssetQuantity() throws Exception {
         final ByteArrayInputStream inputStream = new ByteArrayInputStream("".getBytes());
         final TransactionCategory category = new TransactionCategory();
-        when(importFile.parse(inputStream)).thenReturn(singletonList(ImmutableListMultimap.of(amountField, "10", categoryField, CATEGORY_CODE, sharesField, "0.0")));
+        when(importFile.parse(inputStream)).thenReturn(Stream.of(ImmutableListMultimap.of(amountField, "10", categoryField, CATEGORY_CODE, sharesField, "0.0")));
         ImportContext context = new SingleDetailImportContext(importFile, payeeMapper, securityMapper, categoryMapper);
         when(categoryMapper.get(CATEGORY_CODE)).thenReturn(category);
 
@@ -124,7 +137,7 @@ public class SingleDetailImportContextTest {
     public void populatesTransfer() throws Exception {
         final ByteArrayInputStream inputStream = new ByteArrayInputStream("".getBytes());
         final Account transferAccount = new Account();
-        when(importFile.parse(inputStream)).thenReturn(singletonList(ImmutableListMultimap.of(amountField, "10", categoryField, TRANSFER_ACCOUNT)));
+        when(importFile.parse(inputStream)).thenReturn(Stream.of(ImmutableListMultimap.of(amountField, "10", categoryField, TRANSFER_ACCOUNT)));
         when(importFile.getTransferAccount(TRANSFER_ACCOUNT)).thenReturn(transferAccount);
         SingleDetailImportContext context = new SingleDetailImportContext(importFile, payeeMapper, securityMapper, categoryMapper);
 
@@ -88,6 +88,36 @@ public class CsvParserTest {
         assertThat(rows.get(1).get("Header 3")).isEqualTo("value B");
     }
 
+    @Test
+    public void parsesQuotedLineBreaksAndQuotes() throws Exception {
+        CsvParser parser = new CsvParser(getInputStream("\"line 1\r\nline 2\",\"say \"\"hi\"\"\",\"\"\"\"", "value A"));
+
+        List<Map<String, String>> rows = parser.getStream().collect(Collectors.toList());
+
+        assertThat(rows).hasSize(2);
+        checkHeader(rows);
+        assertThat(rows.get(0).get("Header 1")).isEqualTo("line 1\r\nline 2");
+        assertThat(rows.get(0).get("Header 2")).isEqualTo("say \"hi\"");
+        assertThat(rows.get(0).get("Header 3")).isEqualTo("\"");
+        assertThat(rows.get(1).get("Header 1")).isEqualTo("value A");
+        assertThat(rows.get(1).get("Header 2")).isEqualTo("");
+        assertThat(rows.get(1).get("Header 3")).isEqualTo("");
+    }
+
+    @Test
+    public void trimsLinesAndIgnoresUnknownColumns() throws Exception {
+        CsvParser parser = new CsvParser(getInputStream("  value1 , value2 , value3 \t"));
+
+        List<Map<String, String>> rows = parser.getStream().collect(Collectors.toList());
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).get("Header 1")).isEqualTo("value1 ");
+        assertThat(rows.get(0).get("Header 2")).isEqualTo(" value2 ");
+        assertThat(rows.get(0).get("Header 3")).isEqualTo(" value3");
+        assertThat(rows.get(0).get("Header 4")).isNull();
+        assertThat(rows.get(0).getOrDefault("Header 4", "")).isEqualTo("");
+    }
+
     protected InputStream getInputStream(String... lines) {
         final String content = "Header 1,Header 2,Header 3\r\n" + Joiner.on("\r\n").join(lines);
         return new ByteArrayInputStream(content.getBytes());
@@ -0,0 +1,18 @@
+package io.github.jonestimd.finance.file.excel;
+
+import java.io.InputStream;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+
+public class HssfSheetParserTest extends StreamingSheetParserTest {
+    @Override
+    protected Workbook createWorkbook() {
+        return new HSSFWorkbook();
+    }
+
+    @Override
+    protected StreamingSheetParser newParser(InputStream stream, int sheetIndex, int headerRow) throws Exception {
+        return new HssfSheetParser(stream, sheetIndex, headerRow);
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.jonestimd.finance.file.excel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests shared by the parsers for each spreadsheet format.
+ */
+public abstract class StreamingSheetParserTest {
+    private final Workbook workbook = createWorkbook();
+    private final Sheet sheet = workbook.createSheet();
+
+    protected abstract Workbook createWorkbook();
+
+    protected abstract StreamingSheetParser newParser(InputStream stream, int sheetIndex, int headerRow) throws Exception;
+
+    private List<Map<String, String>> parse(int sheetIndex, int headerRow) throws Exception {
+        try (Stream<Map<String, String>> rows = newParser(getInputStream(), sheetIndex, headerRow).getStream()) {
+            return rows.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void usesHeaderRowForFieldNames() throws Exception {
+        sheet.createRow(0).createCell(0).setCellValue("ignored");
+        addRow(1, "column1", "column2");
+        addRow(2, "value1", "value2", "value3");
+        addRow(4, "value4", "value5");
+
+        List<Map<String, String>> rows = parse(0, 1);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).hasSize(2);
+        assertThat(rows.get(0).get("column1")).isEqualTo("value1");
+        assertThat(rows.get(0).get("column2")).isEqualTo("value2");
+        assertThat(rows.get(1).get("column1")).isEqualTo("value4");
+        assertThat(rows.get(1).get("column2")).isEqualTo("value5");
+    }
+
+    @Test
+    public void convertsNumberToString() throws Exception {
+        addRow(0, "column1", "column2");
+        Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue(123.456);
+        row.createCell(1).setCellFormula("A2*2");
+        row.getCell(1).setCellValue(246.912);
+
+        List<Map<String, String>> rows = parse(0, 0);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).get("column1")).isEqualTo("123.456");
+        assertThat(rows.get(0).get("column2")).isEqualTo("246.912");
+    }
+
+    @Test
+    public void convertsDateToString() throws Exception {
+        addRow(0, "column1");
+        CellStyle style = workbook.createCellStyle();
+        style.setDataFormat((short) 0x0e);
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2020, Calendar.MARCH, 15);
+        sheet.createRow(1).createCell(0).setCellValue(calendar);
+        sheet.getRow(1).getCell(0).setCellStyle(style);
+
+        List<Map<String, String>> rows = parse(0, 0);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).get("column1")).isEqualTo("3/15/20");
+    }
+
+    @Test
+    public void convertsBlankCellsToEmptyString() throws Exception {
+        addRow(0, "column1", "column2", "column3");
+        Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue("value1");
+        row.createCell(1);
+        row.createCell(2);
+
+        List<Map<String, String>> rows = parse(0, 0);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsOnly(entry("column1", "value1"), entry("column2", ""), entry("column3", ""));
+    }
+
+    @Test
+    public void closingStreamDeletesFile() throws Exception {
+        addRow(0, "column1");
+        addRow(1, "value1");
+        addRow(2, "value2");
+        StreamingSheetParser parser = newParser(getInputStream(), 0, 0);
+
+        try (Stream<Map<String, String>> rows = parser.getStream()) {
+            assertThat(rows.findFirst().get().get("column1")).isEqualTo("value1");
+            assertThat(parser.getFile()).exists();
+        }
+
+        assertThat(parser.getFile()).doesNotExist();
+    }
+
+    @Test
+    public void readsSelectedSheet() throws Exception {
+        addRow(0, "column1");
+        addRow(1, "value1");
+        Sheet sheet2 = workbook.createSheet();
+        sheet2.createRow(0).createCell(0).setCellValue("column1");
+        sheet2.createRow(1).createCell(0).setCellValue("value2");
+
+        List<Map<String, String>> rows = parse(1, 0);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).get("column1")).isEqualTo("value2");
+    }
+
+    private void addRow(int index, String... values) {
+        Row row = sheet.createRow(index);
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+
+    private InputStream getInputStream() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        workbook.write(stream);
+        return new ByteArrayInputStream(stream.toByteArray());
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.jonestimd.finance.file.excel;
+
+import java.io.InputStream;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+
+public class XssfSheetParserTest extends StreamingSheetParserTest {
+    @Override
+    protected Workbook createWorkbook() {
+        return new XSSFWorkbook();
+    }
+
+    @Override
+    protected StreamingSheetParser newParser(InputStream stream, int sheetIndex, int headerRow) throws Exception {
+        return new XssfSheetParser(stream, sheetIndex, headerRow);
+    }
+}
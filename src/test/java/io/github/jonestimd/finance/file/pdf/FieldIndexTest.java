@@ -0,0 +1,58 @@
+package io.github.jonestimd.finance.file.pdf;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableList;
+import io.github.jonestimd.finance.domain.fileimport.ImportField;
+import io.github.jonestimd.finance.domain.fileimport.ImportFieldBuilder;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class FieldIndexTest {
+    private final ImportField dateField = new ImportFieldBuilder().label("Date:").rightEdge(10f).get();
+    private final ImportField dueDateField = new ImportFieldBuilder().label("Due Date:").get();
+    private final ImportField amountField = new ImportFieldBuilder().label("Amount").bounds(20f, 10f, 0f, 5f, 10f, 20f).get();
+    private final FieldIndex fieldIndex = new FieldIndex(ImmutableList.of(dateField, dueDateField, amountField));
+
+    @Test
+    public void getMatchesFiltersByLabelPrefix() throws Exception {
+        assertThat(fieldIndex.getMatches("", 1f, 15f)).containsOnly(dateField, dueDateField, amountField);
+        assertThat(fieldIndex.getMatches("D", 1f, 15f)).containsOnly(dateField, dueDateField);
+        assertThat(fieldIndex.getMatches("DATE:", 1f, 15f)).containsOnly(dateField);
+        assertThat(fieldIndex.getMatches("DATE: X", 1f, 15f)).isEmpty();
+    }
+
+    @Test
+    public void getMatchesFiltersByRegion() throws Exception {
+        assertThat(fieldIndex.getMatches("", 10f, 10f)).containsOnly(dateField, dueDateField, amountField);
+        assertThat(fieldIndex.getMatches("", 20f, 20f)).containsOnly(dueDateField, amountField);
+        assertThat(fieldIndex.getMatches("", 10.5f, 15f)).containsOnly(dueDateField, amountField);
+        assertThat(fieldIndex.getMatches("", 20.5f, 15f)).containsOnly(dueDateField);
+        assertThat(fieldIndex.getMatches("", 5f, 9.5f)).containsOnly(dateField, dueDateField);
+        assertThat(fieldIndex.getMatches("", -5f, 20.5f)).containsOnly(dateField, dueDateField);
+    }
+
+    @Test
+    public void getMatchesIsConsistentWithImportField() throws Exception {
+        Random random = new Random(1);
+        ImmutableList.Builder<ImportField> builder = ImmutableList.builder();
+        for (int i = 0; i < 50; i++) {
+            float left = random.nextInt(10), top = random.nextInt(10);
+            builder.add(new ImportFieldBuilder().label("field " + i % 10)
+                    .bounds(top, top - random.nextInt(5), left, left + random.nextInt(5), left + random.nextInt(5), left + 5f).get());
+        }
+        ImmutableList<ImportField> fields = builder.build();
+        FieldIndex index = new FieldIndex(fields);
+
+        for (int i = 0; i < 1000; i++) {
+            float x = random.nextInt(30) / 2f - 2f, y = random.nextInt(30) / 2f - 5f;
+            String prefix = "FIELD " + random.nextInt(10);
+            List<ImportField> expected = fields.stream().filter(field -> field.isMatch(prefix) && field.isInRegion(x, y)).collect(Collectors.toList());
+
+            assertThat(index.getMatches(prefix, x, y)).containsOnlyElementsOf(expected).hasSize(expected.size());
+        }
+    }
+}
@@ -26,4 +26,33 @@ public class TextExtractorTest {
         assertThat(text.stream().map(Pair::getValue))
                 .containsExactly("top left", "top right", "bottom left", "bottom right");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getText_returnsPagesInDocumentOrder() throws Exception {
+        PdfStreamBuilder builder = new PdfStreamBuilder();
+        for (int page = 0; page < 20; page++) {
+            builder.startPage().setFont()
+                    .beginText().setTextMatrix(100f, 100f).addText("bottom " + page).endText()
+                    .beginText().setTextMatrix(100f, 200f).addText("top " + page).endText()
+                    .endPage();
+        }
+
+        List<String> text = new TextExtractor(builder.getStream()).getText().map(Pair::getValue).collect(Collectors.toList());
+
+        assertThat(text).hasSize(40);
+        for (int page = 0; page < 20; page++) {
+            assertThat(text.subList(page * 2, page * 2 + 2)).containsExactly("top " + page, "bottom " + page);
+        }
+    }
+
+    @Test
+    public void getThreadCount_usesOneWorkerForLargeFiles() throws Exception {
+        assertThat(TextExtractor.getThreadCount(64L * 1024 * 1024, 100)).isEqualTo(1);
+    }
+
+    @Test
+    public void getThreadCount_limitsWorkersToPageCount() throws Exception {
+        assertThat(TextExtractor.getThreadCount(1024L, 1)).isEqualTo(1);
+        assertThat(TextExtractor.getThreadCount(1024L, 0)).isEqualTo(0);
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.jonestimd.finance.file.quicken.capitalgain;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SubsetMatcherTest {
+    private static final BigDecimal TOLERANCE = new BigDecimal("0.0005");
+    private static final BigDecimal ONE_AND_HALF = new BigDecimal("1.5");
+    private static final BigDecimal TWO_AND_QUARTER = new BigDecimal("2.25");
+    private static final BigDecimal THREE = new BigDecimal("3");
+    private static final BigDecimal FOUR_AND_EIGHTH = new BigDecimal("4.125");
+    private static final BigDecimal FIVE_AND_THREE_QUARTERS = new BigDecimal("5.75");
+    private static final BigDecimal FIVE_EIGHTHS = new BigDecimal("0.625");
+
+    private final List<BigDecimal> items = Arrays.asList(ONE_AND_HALF, TWO_AND_QUARTER, THREE, FOUR_AND_EIGHTH, FIVE_AND_THREE_QUARTERS, FIVE_EIGHTHS);
+
+    private SubsetMatcher<BigDecimal> newMatcher(int maxDepth) {
+        return new SubsetMatcher<>(Function.identity(), TOLERANCE, maxDepth);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeDepthThrowsException() throws Exception {
+        newMatcher(-1);
+    }
+
+    @Test
+    public void findReturnsSmallestSubset() throws Exception {
+        assertThat(newMatcher(3).find(items, new BigDecimal("5.75"), list -> true)).containsExactly(FIVE_AND_THREE_QUARTERS);
+    }
+
+    @Test
+    public void findReturnsItemsInOriginalOrder() throws Exception {
+        assertThat(newMatcher(3).find(items, new BigDecimal("2.125"), list -> true)).containsExactly(ONE_AND_HALF, FIVE_EIGHTHS);
+    }
+
+    @Test
+    public void findAllowsTolerance() throws Exception {
+        assertThat(newMatcher(3).find(items, new BigDecimal("2.1255"), list -> true)).containsExactly(ONE_AND_HALF, FIVE_EIGHTHS);
+        assertThat(newMatcher(3).find(items, new BigDecimal("2.1256"), list -> true)).isEmpty();
+    }
+
+    @Test
+    public void findSkipsSubsetsRejectedByFilter() throws Exception {
+        List<BigDecimal> subset = newMatcher(3).find(items, new BigDecimal("6.375"), list -> !list.contains(FIVE_AND_THREE_QUARTERS));
+
+        assertThat(subset).containsExactly(TWO_AND_QUARTER, FOUR_AND_EIGHTH);
+    }
+
+    @Test
+    public void findReturnsEmptyListForNoMatch() throws Exception {
+        assertThat(newMatcher(3).find(items, new BigDecimal("100"), list -> true)).isEmpty();
+    }
+
+    @Test
+    public void findMatchesLargeSubsetUsingComplement() throws Exception {
+        List<BigDecimal> subset = newMatcher(1).find(items, new BigDecimal("15.75"), list -> true);
+
+        assertThat(subset).containsExactly(TWO_AND_QUARTER, THREE, FOUR_AND_EIGHTH, FIVE_AND_THREE_QUARTERS, FIVE_EIGHTHS);
+    }
+
+    @Test
+    public void findEnumeratesSubsetsLargerThanMaxDepth() throws Exception {
+        assertThat(newMatcher(1).find(items, new BigDecimal("5.625"), list -> true)).containsExactly(ONE_AND_HALF, FOUR_AND_EIGHTH);
+        assertThat(newMatcher(2).find(items, new BigDecimal("5.625"), list -> true)).containsExactly(ONE_AND_HALF, FOUR_AND_EIGHTH);
+    }
+
+    @Test
+    public void findMatchesMidSizeSubset() throws Exception {
+        List<BigDecimal> subset = newMatcher(1).find(items, new BigDecimal("6.75"), list -> true);
+
+        assertThat(subset).containsExactly(ONE_AND_HALF, TWO_AND_QUARTER, THREE);
+    }
+
+    @Test
+    public void findAppliesFilterToEnumeratedSubsets() throws Exception {
+        List<BigDecimal> subset = newMatcher(1).find(items, new BigDecimal("6.375"), list -> !list.contains(FIVE_AND_THREE_QUARTERS));
+
+        assertThat(subset).containsExactly(TWO_AND_QUARTER, FOUR_AND_EIGHTH);
+    }
+
+    @Test(timeout = 30000L)
+    public void findReturnsEmptyListForNoMatchWithManyItems() throws Exception {
+        List<BigDecimal> manyItems = IntStream.rangeClosed(1, 200).mapToObj(BigDecimal::valueOf).collect(Collectors.toList());
+
+        assertThat(newMatcher(3).find(manyItems, new BigDecimal("100.5"), list -> true)).isEmpty();
+    }
+
+    @Test(timeout = 30000L)
+    public void findLimitsCandidatesRejectedByFilter() throws Exception {
+        List<BigDecimal> manyItems = Collections.nCopies(60, BigDecimal.ONE);
+
+        assertThat(newMatcher(3).find(manyItems, BigDecimal.TEN, list -> false)).isEmpty();
+    }
+}
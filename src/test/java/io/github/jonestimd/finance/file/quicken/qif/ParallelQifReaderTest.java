@@ -0,0 +1,78 @@
+package io.github.jonestimd.finance.file.quicken.qif;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static io.github.jonestimd.finance.file.quicken.qif.QifField.*;
+import static org.assertj.core.api.Assertions.*;
+
+public class ParallelQifReaderTest {
+    @Test
+    public void returnsRecordsFromSectionsInOrder() throws Exception {
+        String input = "!Account\nNchecking\nTBank\n^\n!Type:Bank\nD1/1/2000\nT-10.00\n^\nD1/2/2000\nT5.00\n^\n"
+                + "!Account\nNsavings\n^\n!Type:Bank\nD1/3/2000\n^\n";
+
+        try (ParallelQifReader reader = new ParallelQifReader(new StringReader(input), 2)) {
+            List<QifRecord> records = readAll(reader);
+
+            assertThat(records).extracting(QifRecord::getStartingLine).containsExactly(1L, 2L, 5L, 6L, 9L, 12L, 13L, 15L, 16L);
+            assertThat(records.get(3).getValue(AMOUNT)).isEqualTo("-10.00");
+            assertThat(records.get(4).getValue(AMOUNT)).isEqualTo("5.00");
+            assertThat(records.get(6).getValue(NAME)).isEqualTo("savings");
+            assertThat(reader.getLineNumber()).isEqualTo(18L);
+            assertThat(reader.nextRecord().isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    public void matchesQifReaderForLargeSection() throws Exception {
+        StringBuilder input = new StringBuilder("!Type:Bank\n");
+        for (int i = 0; i < ParallelQifReader.CHUNK_LINES; i++) {
+            input.append("D1/1/2000\nT").append(i).append(".00\n^\n");
+        }
+        List<QifRecord> expected = new ArrayList<>();
+        QifReader qifReader = new QifReader(new StringReader(input.toString()));
+        for (QifRecord record = qifReader.nextRecord(); !record.isEmpty(); record = qifReader.nextRecord()) {
+            expected.add(record);
+        }
+
+        try (ParallelQifReader reader = new ParallelQifReader(new StringReader(input.toString()), 3)) {
+            List<QifRecord> records = readAll(reader);
+
+            assertThat(records).hasSize(expected.size());
+            for (int i = 0; i < records.size(); i++) {
+                assertThat(records.get(i).getStartingLine()).isEqualTo(expected.get(i).getStartingLine());
+                assertThat(records.get(i).getValue(AMOUNT)).isEqualTo(expected.get(i).getValue(AMOUNT));
+            }
+            assertThat(reader.getLineNumber()).isEqualTo(qifReader.getLineNumber());
+        }
+    }
+
+    @Test
+    public void parseErrorIncludesLineNumber() throws Exception {
+        String input = "!Type:Bank\nD1/1/2000\n^\n!Type:Bank\nD1/2/2000\n\n^\n";
+
+        try (ParallelQifReader reader = new ParallelQifReader(new StringReader(input), 2)) {
+            assertThat(reader.nextRecord().getStartingLine()).isEqualTo(1L);
+            assertThat(reader.nextRecord().getStartingLine()).isEqualTo(2L);
+            assertThat(reader.nextRecord().getStartingLine()).isEqualTo(4L);
+            try {
+                reader.nextRecord();
+                fail("expected an exception");
+            } catch (StringIndexOutOfBoundsException ex) {
+                assertThat(reader.getLineNumber()).isEqualTo(7L);
+            }
+        }
+    }
+
+    private List<QifRecord> readAll(ParallelQifReader reader) throws Exception {
+        List<QifRecord> records = new ArrayList<>();
+        for (QifRecord record = reader.nextRecord(); !record.isEmpty(); record = reader.nextRecord()) {
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.jonestimd.finance.file.quicken.qif;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.transaction.Payee;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
+import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
+import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
+import io.github.jonestimd.finance.domain.transaction.TransactionDetailBuilder;
+import io.github.jonestimd.finance.domain.transaction.TransactionGroup;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class QifExportTest {
+    private final StringWriter output = new StringWriter();
+    private final QifExport qifExport = new QifExport(output);
+
+    @Test
+    public void transactionDateIndicatesCentury() throws Exception {
+        qifExport.transaction(new TransactionBuilder().date(date("1998-09-29")).details(detail("Food", "-10.00")).get());
+        qifExport.transaction(new TransactionBuilder().date(date("2015-01-02")).details(detail("Food", "-5.00")).get());
+        qifExport.flush();
+
+        assertThat(output.toString()).isEqualTo(lines("D09/29/98", "T-10.00", "LFood", "^", "D01/02'15", "T-5.00", "LFood", "^"));
+    }
+
+    @Test
+    public void transactionIncludesPayeeNumberAndMemo() throws Exception {
+        Transaction transaction = new TransactionBuilder().date(date("2015-01-02")).cleared(true)
+                .payee(new Payee("Grocer")).memo("weekly").details(detail("Food", "-5.00")).get();
+        transaction.setNumber("101");
+
+        qifExport.transaction(transaction).flush();
+
+        assertThat(output.toString()).isEqualTo(lines("D01/02'15", "T-5.00", "CX", "N101", "PGrocer", "LFood", "Mweekly", "^"));
+    }
+
+    @Test
+    public void splitTransactionIncludesTransfersAndClasses() throws Exception {
+        TransactionDetail transfer = new TransactionDetailBuilder().amount(new BigDecimal("-20.00")).memo("to savings")
+                .newTransfer(new Account(1L, "Savings"));
+        TransactionDetail detail = detail("Fees:Bank", "-1.50");
+        detail.setGroup(new TransactionGroup("Business", null));
+        Transaction transaction = new TransactionBuilder().date(date("2015-01-02")).memo("split").details(detail, transfer).get();
+
+        qifExport.transaction(transaction).flush();
+
+        assertThat(output.toString()).isEqualTo(lines("D01/02'15", "T-21.50", "LFees:Bank/Business", "Msplit",
+                "SFees:Bank/Business", "$-1.50", "S[Savings]", "Eto savings", "$-20.00", "^"));
+    }
+
+    @Test
+    public void categoryIsIncomeOrExpense() throws Exception {
+        TransactionCategory parent = new TransactionCategory("Salary");
+        parent.setIncome(true);
+        TransactionCategory child = new TransactionCategory(parent, "Bonus");
+        child.setIncome(true);
+        child.setDescription("annual bonus");
+        TransactionCategory expense = new TransactionCategory("Food");
+
+        qifExport.accountType("Cat").category(child).category(expense).flush();
+
+        assertThat(output.toString()).isEqualTo(lines("!Type:Cat", "NSalary:Bonus", "Dannual bonus", "I", "^", "NFood", "E", "^"));
+    }
+
+    @Test
+    public void accountIncludesTypeAndDescription() throws Exception {
+        qifExport.account("Checking", "Bank", "my checking").account("Savings").flush();
+
+        assertThat(output.toString()).isEqualTo(lines("!Account", "NChecking", "TBank", "Dmy checking", "^", "!Account", "NSavings", "^"));
+    }
+
+    private TransactionDetail detail(String category, String amount) {
+        TransactionDetail detail = new TransactionDetailBuilder().amount(new BigDecimal(amount)).get();
+        String[] codes = category.split(":");
+        TransactionCategory parent = null;
+        for (String code : codes) {
+            parent = parent == null ? new TransactionCategory(code) : new TransactionCategory(parent, code);
+        }
+        detail.setCategory(parent);
+        return detail;
+    }
+
+    private static Date date(String date) throws Exception {
+        return new SimpleDateFormat("yyyy-MM-dd").parse(date);
+    }
+
+    private static String lines(String... lines) {
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+}
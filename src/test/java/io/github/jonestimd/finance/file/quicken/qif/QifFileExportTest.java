@@ -0,0 +1,126 @@
+package io.github.jonestimd.finance.file.quicken.qif;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.account.AccountType;
+import io.github.jonestimd.finance.domain.asset.SecurityType;
+import io.github.jonestimd.function.MessageConsumer;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class QifFileExportTest extends QifContextTestFixture {
+    private static final List<String> EXPORT_ACCOUNTS = Arrays.asList("qif export 1", "qif export 2");
+    private static final List<String> COPY_ACCOUNTS = Arrays.asList("qif copy 1", "qif copy 2");
+    private MessageConsumer messageConsumer = mock(MessageConsumer.class);
+
+    protected List<QueryBatch> getInsertQueries() {
+        return Collections.singletonList(ASSET_BATCH);
+    }
+
+    @Test
+    public void exportedTransactionsCanBeImported() throws Exception {
+        appendControl("Type", "Cat");
+        importText.append("NExport Fees\nDbank fees\nE\n^\n");
+        appendAccounts(AccountType.BANK, "qif export 1", "qif export 2");
+        appendControl("Type", AccountType.BANK.toString());
+        beginRecord("1/2'15", getTransferCategory("qif export 2"), "-100.00", "Export Payee");
+        importText.append("N101\nCX\n");
+        endRecord();
+        beginRecord("1/3'15", "Export Fees", "-1.50", null);
+        importText.append("Mmonthly fee\n");
+        endRecord();
+        beginRecord("1/4'15", "Export Fees", "-30.00", "Export Payee");
+        appendSplitItem("Export Fees", "-10.00");
+        appendSplitItem(getTransferCategory("qif export 2"), "-20.00");
+        endRecord();
+        appendAccounts(AccountType.BANK, "qif export 2");
+        appendControl("Type", AccountType.BANK.toString());
+        appendRecord("1/2'15", "100.00", getTransferCategory("qif export 1"));
+        appendRecord("1/4'15", "20.00", getTransferCategory("qif export 1"));
+        qifContext.newQifImport().importFile(getReader(), messageConsumer);
+
+        String exported = export(EXPORT_ACCOUNTS);
+        importText.setLength(0);
+        appendAccounts(AccountType.BANK, COPY_ACCOUNTS.toArray(new String[0]));
+        for (int i = 0; i < EXPORT_ACCOUNTS.size(); i++) {
+            importText.append("!Account\nN").append(COPY_ACCOUNTS.get(i)).append("\n^\n")
+                    .append(copy(accountSection(exported, EXPORT_ACCOUNTS.get(i))));
+        }
+        qifContext.newQifImport().importFile(getReader(), messageConsumer);
+        String reimported = export(COPY_ACCOUNTS);
+
+        assertThat(accountSection(exported, "qif export 1")).contains("D01/02'15", "N101", "PExport Payee", "S[qif export 2]");
+        assertThat(accountSection(reimported, "qif copy 1")).isEqualTo(copy(accountSection(exported, "qif export 1")));
+        assertThat(accountSection(reimported, "qif copy 2")).isEqualTo(copy(accountSection(exported, "qif export 2")));
+    }
+
+    @Test
+    public void exportedInvestmentTransactionsCanBeImported() throws Exception {
+        appendControl("Type", "Cat");
+        importText.append("NExport Fees\nDbank fees\nE\n^\n");
+        appendSecurity("Export Stock", SecurityType.STOCK);
+        appendAccounts(AccountType.BANK, "qif export 1");
+        appendControl("Type", AccountType.BANK.toString());
+        beginRecord("1/5'15", getTransferCategory("qif export brokerage"), "-500.00", "Export Payee");
+        endRecord();
+        importText.append("!Account\nNqif export brokerage\nTPort\n^\n");
+        appendControl("Type", "Invst");
+        importText.append("D1/5'15\nNXIn\nT500.00\nL[qif export 1]\nPExport Payee\n^\n")
+                .append("D1/6'15\nNBuy\nYExport Stock\nT201.00\nQ10\nO1.00\nCX\n^\n")
+                .append("D1/7'15\nNReinvDiv\nYExport Stock\nT5.00\nQ0.25\n^\n")
+                .append("D1/8'15\nNDiv\nYExport Stock\nT3.00\nMquarterly\n^\n")
+                .append("D1/9'15\nNMiscExp\nT2.00\nLExport Fees\n^\n")
+                .append("D1/10'15\nNStkSplit\nYExport Stock\nQ20\n^\n")
+                .append("D1/12'15\nNSell\nYExport Stock\nT99.00\nQ5\nO1.00\n^\n");
+        qifContext.newQifImport().importFile(getReader(), messageConsumer);
+        List<String> exportAccounts = Arrays.asList("qif export 1", "qif export brokerage");
+
+        String exported = export(exportAccounts);
+        importText.setLength(0);
+        importText.append(copy(exported));
+        qifContext.newQifImport().importFile(getReader(), messageConsumer);
+        String reimported = export(Arrays.asList("qif copy 1", "qif copy brokerage"));
+
+        assertThat(accountSection(exported, "qif export brokerage")).startsWith("!Type:Invst").contains(
+                String.join(System.lineSeparator(), "D01/05'15", "NXIn", "T500.00", "PExport Payee", "L[qif export 1]"),
+                String.join(System.lineSeparator(), "D01/06'15", "NBuy", "YExport Stock", "CX", "T201.00", "Q10"),
+                String.join(System.lineSeparator(), "D01/07'15", "NReinvDiv", "YExport Stock", "T5.00", "Q0.25"),
+                String.join(System.lineSeparator(), "D01/09'15", "NMiscExp", "T2.00", "LExport Fees"),
+                String.join(System.lineSeparator(), "D01/10'15", "NStkSplit", "YExport Stock", "Q20"),
+                String.join(System.lineSeparator(), "D01/12'15", "NSell", "YExport Stock", "T99.00", "Q5"));
+        assertThat(exported).contains(String.join(System.lineSeparator(), "!Type:Prices", "\"Export Stock\",20,\"01/12'15\"", "^"));
+        assertThat(accountSection(reimported, "qif copy 1")).isEqualTo(copy(accountSection(exported, "qif export 1")));
+        assertThat(accountSection(reimported, "qif copy brokerage")).isEqualTo(copy(accountSection(exported, "qif export brokerage")));
+    }
+
+    private String export(List<String> accountNames) throws Exception {
+        StringWriter writer = new StringWriter();
+        qifContext.newQifExport((Account account) -> accountNames.contains(account.getName())).exportFile(writer, messageConsumer);
+        return writer.toString();
+    }
+
+    private String copy(String qif) {
+        return qif.replace("qif export ", "qif copy ");
+    }
+
+    /**
+     * @return the transaction records following the account header
+     */
+    private String accountSection(String qif, String accountName) {
+        String header = String.join(System.lineSeparator(), "!Account", "N" + accountName, "^", "");
+        int start = qif.indexOf(header);
+        assertThat(start).isGreaterThanOrEqualTo(0);
+        int end = qif.indexOf("!Account", start + header.length());
+        int prices = qif.indexOf("!Type:Prices", start + header.length());
+        if (end < 0 || prices >= 0 && prices < end) {
+            end = prices;
+        }
+        return qif.substring(start + header.length(), end < 0 ? qif.length() : end);
+    }
+}
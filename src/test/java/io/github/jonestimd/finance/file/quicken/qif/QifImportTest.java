@@ -12,6 +12,7 @@ import io.github.jonestimd.finance.file.quicken.QuickenException;
 import io.github.jonestimd.function.MessageConsumer;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 import static io.github.jonestimd.finance.file.quicken.qif.QifField.*;
 import static org.assertj.core.api.Assertions.*;
@@ -36,6 +37,23 @@ public class QifImportTest {
         verify(converter).importRecord(isA(AccountHolder.class), isA(QifRecord.class));
     }
 
+    @Test
+    public void bulkImportSavesBatchAfterLastRecord() throws Exception {
+        String type = "type";
+        String input = formatInput("!{0}\nI\n^\nI\n^\n", type);
+        List<RecordConverter> converters = createConverterMocks(type);
+        TransactionBatch batch = mock(TransactionBatch.class);
+        when(batch.size()).thenReturn(2);
+        QifImport qifImport = new QifImport(converters, batch);
+
+        qifImport.importFile(new CharArrayReader(input.toCharArray()), messageConsumer);
+
+        InOrder inOrder = inOrder(converters.get(0), messageConsumer, batch);
+        inOrder.verify(converters.get(0), times(2)).importRecord(isA(AccountHolder.class), isA(QifRecord.class));
+        inOrder.verify(messageConsumer).accept("import.qif.saving.status", 2);
+        inOrder.verify(batch).save();
+    }
+
     private String formatInput(String format, Object ... args) {
         return MessageFormat.format(format, args);
     }
@@ -63,6 +63,52 @@ public class QuickenContextTest extends QifContextTestFixture {
         assertThat(imported).isEqualTo(4);
     }
 
+    @Test
+    public void bulkImportPairsTransfers() throws Exception {
+        appendAccounts(AccountType.BANK, "account 1", "account 2");
+        appendControl("Type", AccountType.BANK.toString());
+        appendRecord("9/29/98", "100.00", getTransferCategory("account 1"));
+        appendRecord("9/29/98", "100.00", getTransferCategory("account 1"));
+        // next account
+        appendAccounts(AccountType.BANK, "account 1");
+        appendControl("Type", AccountType.BANK.toString());
+        appendRecord("9/29/98", "-100.00", getTransferCategory("account 2"));
+        FileImport qifImport = qifContext.newBulkQifImport();
+        long existing = daoContext.countAll(Transaction.class);
+
+        qifImport.importFile(getReader(), messageConsumer);
+
+        long imported = daoContext.countAll(Transaction.class) - existing;
+        assertThat(imported).isEqualTo(4);
+    }
+
+    @Test
+    public void bulkImportSplitWithPendingTransfer() throws Exception {
+        appendAccounts(AccountType.BANK, "account 1", "account 3", "account 4");
+        appendControl("Type", AccountType.BANK.toString());
+        appendRecord("9/29/98", "100.00", getTransferCategory("account 3"));
+        appendRecord("9/29/98", "100.00", getTransferCategory("account 1"));
+        // next account
+        appendAccounts(AccountType.BANK, "account 3");
+        appendControl("Type", AccountType.BANK.toString());
+        beginRecord("9/29/98", getTransferCategory("account 4"), "-100.50", "payee");
+        appendSplitItem(getTransferCategory("account 4"), "-80.00");
+        appendSplitItem(getTransferCategory("account 4"), "-20.00");
+        appendSplitItem("Bank Chrg", "-0.50");
+        endRecord();
+        // next account
+        appendAccounts(AccountType.BANK, "account 1");
+        appendControl("Type", AccountType.BANK.toString());
+        appendRecord("9/29/98", "-100.00", getTransferCategory("account 4"));
+        FileImport qifImport = qifContext.newBulkQifImport();
+        long existing = daoContext.countAll(Transaction.class);
+
+        qifImport.importFile(getReader(), messageConsumer);
+
+        long imported = daoContext.countAll(Transaction.class) - existing;
+        assertThat(imported).isEqualTo(4);
+    }
+
     @Test
     public void testImportSecurity() throws Exception {
         appendSecurity("stock", SecurityType.STOCK);
@@ -172,6 +172,7 @@ public class AssetOperationsImplTest {
         assertThat(assetOperations.saveSplits(updated)).isSameAs(result);
 
         assertThat(persisted.getSplits()).containsExactlyElementsOf(updated.getSplits());
+        verify(securityDao).updatePositions(singleton(updated.getId()));
     }
 
     private Date parseDate(String source) throws ParseException {
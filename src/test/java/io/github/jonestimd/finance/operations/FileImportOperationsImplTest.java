@@ -1,16 +1,26 @@
 package io.github.jonestimd.finance.operations;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import io.github.jonestimd.finance.dao.DaoRepository;
 import io.github.jonestimd.finance.dao.ImportFileDao;
+import io.github.jonestimd.finance.dao.ImportFingerprintDao;
+import io.github.jonestimd.finance.domain.TestDomainUtils;
 import io.github.jonestimd.finance.domain.account.Account;
 import io.github.jonestimd.finance.domain.asset.Security;
+import io.github.jonestimd.finance.domain.asset.SecurityType;
 import io.github.jonestimd.finance.domain.fileimport.AmountFormat;
 import io.github.jonestimd.finance.domain.fileimport.FieldType;
 import io.github.jonestimd.finance.domain.fileimport.FileType;
@@ -19,29 +29,46 @@ import io.github.jonestimd.finance.domain.fileimport.ImportFile;
 import io.github.jonestimd.finance.domain.fileimport.ImportType;
 import io.github.jonestimd.finance.domain.fileimport.PageRegion;
 import io.github.jonestimd.finance.domain.transaction.Payee;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
 import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
 import io.github.jonestimd.finance.file.ImportContext;
+import io.github.jonestimd.finance.file.ImportLedger;
 import io.github.jonestimd.finance.service.MockServiceContext;
 import io.github.jonestimd.finance.service.ServiceLocator;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.InOrder;
 
 import static io.github.jonestimd.finance.domain.fileimport.AmountFormat.*;
 import static io.github.jonestimd.finance.domain.fileimport.FieldType.*;
+import static java.util.Collections.*;
 import static org.assertj.swing.assertions.Assertions.*;
 import static org.mockito.Mockito.*;
 
 public class FileImportOperationsImplTest {
     private ImportFileDao importFileDao = mock(ImportFileDao.class);
+    private ImportFingerprintDao importFingerprintDao = mock(ImportFingerprintDao.class);
+    private DaoRepository daoRepository = mock(DaoRepository.class);
     private ServiceLocator serviceLocator = new MockServiceContext();
     private PayeeOperations payeeOperations = serviceLocator.getPayeeOperations();
     private AssetOperations assetOperations = serviceLocator.getAssetOperations();
     private TransactionCategoryOperations transactionCategoryOperations = serviceLocator.getTransactionCategoryOperations();
     private FileImportOperationsImpl fileImportOperations;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     @Before
     public void injectMocks() throws Exception {
-        fileImportOperations = new FileImportOperationsImpl(importFileDao, serviceLocator);
+        when(daoRepository.getImportFileDao()).thenReturn(importFileDao);
+        when(daoRepository.getImportFingerprintDao()).thenReturn(importFingerprintDao);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(daoRepository).doInTransaction(any(Runnable.class));
+        fileImportOperations = new FileImportOperationsImpl(daoRepository, serviceLocator);
     }
 
     @Test
@@ -157,11 +184,15 @@ public class FileImportOperationsImplTest {
 
     @Test
     public void deleteAll() throws Exception {
-        List<ImportFile> importFiles = new ArrayList<>();
+        ImportFile importFile = mock(ImportFile.class);
+        when(importFile.getId()).thenReturn(-1L);
+        List<ImportFile> importFiles = Collections.singletonList(importFile);
 
         fileImportOperations.deleteAll(importFiles);
 
-        verify(importFileDao).deleteAll(same(importFiles));
+        InOrder inOrder = inOrder(importFingerprintDao, importFileDao);
+        inOrder.verify(importFingerprintDao).deleteByImportFileId(-1L);
+        inOrder.verify(importFileDao).deleteAll(same(importFiles));
     }
 
     @Test
@@ -184,4 +215,262 @@ public class FileImportOperationsImplTest {
 
         verify(serviceLocator.getTransactionService()).saveTransactions(anyCollection());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void importAllParsesWithSnapshotAndSavesInFileOrder() throws Exception {
+        final String importName = "test import";
+        final ImportFile importFile = mock(ImportFile.class);
+        final ArrayList<Payee> payees = new ArrayList<>();
+        final ArrayList<Security> securities = new ArrayList<>();
+        final ArrayList<TransactionCategory> categories = new ArrayList<>();
+        final List<Transaction> transactions1 = Collections.singletonList(new TransactionBuilder().detailAmounts(BigDecimal.ONE).get());
+        final List<Transaction> transactions3 = Collections.singletonList(new TransactionBuilder().detailAmounts(BigDecimal.TEN).get());
+        final ImportContext importContext = mock(ImportContext.class);
+        when(payeeOperations.getAllPayees()).thenReturn(payees);
+        when(assetOperations.getAllSecurities()).thenReturn(securities);
+        when(transactionCategoryOperations.getAllTransactionCategories()).thenReturn(categories);
+        when(importFileDao.findOneByName(importName)).thenReturn(importFile);
+        when(importFile.newContext(eq(payees), eq(securities), same(categories))).thenReturn(importContext);
+        stubRecordKeys(importContext);
+        when(importContext.parseTransactions(any(InputStream.class))).thenAnswer(invocation -> {
+            switch (new BufferedReader(new InputStreamReader(invocation.getArgument(0))).readLine()) {
+                case "file1": return transactions1;
+                case "file3": return transactions3;
+                default: throw new IllegalArgumentException("bad file");
+            }
+        });
+        List<File> files = Lists.newArrayList(newFile("file1"), newFile("file2"), newFile("file3"));
+
+        List<File> failed = fileImportOperations.importAll(importName, files);
+
+        assertThat(failed).containsExactly(files.get(1));
+        verify(importFileDao).findOneByName(importName);
+        verify(payeeOperations).getAllPayees();
+        verify(assetOperations).getAllSecurities();
+        verify(transactionCategoryOperations).getAllTransactionCategories();
+        verify(importFile, times(3)).newContext(eq(payees), eq(securities), same(categories));
+        InOrder inOrder = inOrder(serviceLocator.getTransactionService());
+        inOrder.verify(serviceLocator.getTransactionService()).saveTransactions(transactions1);
+        inOrder.verify(serviceLocator.getTransactionService()).saveTransactions(transactions3);
+        verifyNoMoreInteractions(serviceLocator.getTransactionService());
+    }
+
+    @Test
+    public void importAllContinuesAfterSaveFailure() throws Exception {
+        final String importName = "test import";
+        final ImportFile importFile = mock(ImportFile.class);
+        final ImportContext importContext = mock(ImportContext.class);
+        final List<Transaction> transactions = Collections.singletonList(new Transaction());
+        when(importFileDao.findOneByName(importName)).thenReturn(importFile);
+        when(importFile.newContext(anyCollection(), anyCollection(), anyCollection())).thenReturn(importContext);
+        when(importContext.parseTransactions(any(InputStream.class))).thenReturn(transactions);
+        when(serviceLocator.getTransactionService().saveTransactions(anyList()))
+                .thenThrow(new IllegalStateException("save failed")).thenReturn(transactions);
+        List<File> files = Lists.newArrayList(newFile("file1"), newFile("file2"));
+
+        List<File> failed = fileImportOperations.importAll(importName, files);
+
+        assertThat(failed).containsExactly(files.get(0));
+        verify(serviceLocator.getTransactionService(), times(2)).saveTransactions(transactions);
+    }
+
+    @Test
+    public void importAllDiscardsNewPayeeAndSecurityOfFailedFile() throws Exception {
+        final String importName = "test import";
+        final ImportFile importFile = mock(ImportFile.class);
+        final ImportContext importContext = mock(ImportContext.class);
+        when(importFileDao.findOneByName(importName)).thenReturn(importFile);
+        when(importFile.newContext(anyCollection(), anyCollection(), anyCollection())).thenReturn(importContext);
+        stubRecordKeys(importContext);
+        when(importContext.parseTransactions(any(InputStream.class))).thenAnswer(invocation -> singletonList(
+                new TransactionBuilder().payee(new Payee("new payee")).security(new Security("new security", SecurityType.STOCK))
+                        .detailAmounts(new BigDecimal(new BufferedReader(new InputStreamReader(invocation.getArgument(0))).readLine())).get()));
+        final List<Transaction> saved = new ArrayList<>();
+        final List<Boolean> newAssets = new ArrayList<>();
+        when(serviceLocator.getTransactionService().saveTransactions(anyList())).thenAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            transactions.forEach(transaction -> {
+                newAssets.add(transaction.getPayee().isNew() && transaction.getSecurity().isNew());
+                if (transaction.getPayee().isNew()) TestDomainUtils.setId(transaction.getPayee());
+                if (transaction.getSecurity().isNew()) TestDomainUtils.setId(transaction.getSecurity());
+            });
+            if (saved.isEmpty()) {
+                saved.addAll(transactions);
+                throw new IllegalStateException("save failed");
+            }
+            saved.addAll(transactions);
+            return transactions;
+        });
+        List<File> files = Lists.newArrayList(newFile("1"), newFile("2"));
+
+        List<File> failed = fileImportOperations.importAll(importName, files);
+
+        assertThat(failed).containsExactly(files.get(0));
+        verify(importFile, times(2)).newContext(anyCollection(), anyCollection(), anyCollection());
+        assertThat(newAssets).containsExactly(true, true);
+        assertThat(saved).hasSize(2);
+        assertThat(saved.get(1).getPayee()).isNotSameAs(saved.get(0).getPayee());
+        assertThat(saved.get(1).getSecurity()).isNotSameAs(saved.get(0).getSecurity());
+    }
+
+    @Test
+    public void importAllReusesNewPayeeAndSecurityOfSavedFile() throws Exception {
+        final String importName = "test import";
+        final ImportFile importFile = mock(ImportFile.class);
+        final ImportContext importContext = mock(ImportContext.class);
+        when(importFileDao.findOneByName(importName)).thenReturn(importFile);
+        when(importFile.newContext(anyCollection(), anyCollection(), anyCollection())).thenReturn(importContext);
+        stubRecordKeys(importContext);
+        when(importContext.parseTransactions(any(InputStream.class))).thenAnswer(invocation -> singletonList(
+                new TransactionBuilder().payee(new Payee("new payee")).security(new Security("new security", SecurityType.STOCK))
+                        .detailAmounts(new BigDecimal(new BufferedReader(new InputStreamReader(invocation.getArgument(0))).readLine())).get()));
+        final List<Transaction> saved = new ArrayList<>();
+        when(serviceLocator.getTransactionService().saveTransactions(anyList())).thenAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            transactions.forEach(transaction -> {
+                if (transaction.getPayee().isNew()) TestDomainUtils.setId(transaction.getPayee());
+                if (transaction.getSecurity().isNew()) TestDomainUtils.setId(transaction.getSecurity());
+            });
+            saved.addAll(transactions);
+            return transactions;
+        });
+        List<File> files = Lists.newArrayList(newFile("1"), newFile("2"));
+
+        List<File> failed = fileImportOperations.importAll(importName, files);
+
+        assertThat(failed).isEmpty();
+        assertThat(saved).hasSize(2);
+        assertThat(saved.get(1).getPayee()).isSameAs(saved.get(0).getPayee());
+        assertThat(saved.get(1).getSecurity()).isSameAs(saved.get(0).getSecurity());
+    }
+
+    @Test
+    public void importTransactionsSkipsImportedFile() throws Exception {
+        final String importName = "test import";
+        final byte[] content = "statement".getBytes();
+        final ImportFile importFile = mock(ImportFile.class);
+        when(importFile.getId()).thenReturn(-1L);
+        when(importFileDao.findOneByName(importName)).thenReturn(importFile);
+        final ImportContext importContext = mock(ImportContext.class);
+        when(importFingerprintDao.findHashesByImportFileId(-1L)).thenReturn(Collections.singletonList(ImportLedger.fileHash(content)));
+        when(importFile.newContext(anyCollection(), anyCollection(), anyCollection())).thenReturn(importContext);
+        when(importContext.parseTransactions(any(InputStream.class))).thenAnswer(invocation -> {
+            try (InputStream stream = invocation.getArgument(0)) {
+                stream.read();
+            }
+            return singletonList(new TransactionBuilder().detailAmounts(BigDecimal.ONE).get());
+        });
+
+        fileImportOperations.importTransactions(importName, new ByteArrayInputStream(content));
+
+        verifyNoInteractions(serviceLocator.getTransactionService());
+        verify(importFingerprintDao, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void importAllSkipsImportedFilesAndRecords() throws Exception {
+        final String importName = "test import";
+        final ImportFile importFile = mock(ImportFile.class);
+        final ImportContext importContext = mock(ImportContext.class);
+        final Transaction transaction1 = new TransactionBuilder().detailAmounts(BigDecimal.ONE).get();
+        final Transaction transaction2 = new TransactionBuilder().detailAmounts(BigDecimal.TEN).get();
+        List<File> files = Lists.newArrayList(newFile("file1"), newFile("file2"), newFile("file1"));
+        when(importFileDao.findOneByName(importName)).thenReturn(importFile);
+        when(importFile.getId()).thenReturn(-1L);
+        when(importFile.newContext(anyCollection(), anyCollection(), anyCollection())).thenReturn(importContext);
+        stubRecordKeys(importContext);
+        when(importContext.parseTransactions(any(InputStream.class))).thenAnswer(invocation -> {
+            if (new BufferedReader(new InputStreamReader(invocation.getArgument(0))).readLine().equals("file1")) {
+                return singletonList(transaction1);
+            }
+            return Lists.newArrayList(new TransactionBuilder().detailAmounts(BigDecimal.ONE).get(), transaction2);
+        });
+        when(serviceLocator.getTransactionService().saveTransactions(anyList())).then(invocation -> invocation.getArgument(0));
+
+        List<File> failed = fileImportOperations.importAll(importName, files);
+
+        assertThat(failed).isEmpty();
+        InOrder inOrder = inOrder(serviceLocator.getTransactionService());
+        inOrder.verify(serviceLocator.getTransactionService()).saveTransactions(singletonList(transaction1));
+        inOrder.verify(serviceLocator.getTransactionService()).saveTransactions(singletonList(transaction2));
+        verifyNoMoreInteractions(serviceLocator.getTransactionService());
+        verify(importFingerprintDao, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    public void importAllSavesTransactionsAndFingerprintsInOneTransaction() throws Exception {
+        final String importName = "test import";
+        final ImportFile importFile = mock(ImportFile.class);
+        final ImportContext importContext = mock(ImportContext.class);
+        final List<Transaction> transactions = singletonList(new TransactionBuilder().detailAmounts(BigDecimal.ONE).get());
+        when(importFileDao.findOneByName(importName)).thenReturn(importFile);
+        when(importFile.getId()).thenReturn(-1L);
+        when(importFile.newContext(anyCollection(), anyCollection(), anyCollection())).thenReturn(importContext);
+        when(importContext.parseTransactions(any(InputStream.class))).thenReturn(transactions);
+        doAnswer(invocation -> {
+            verify(serviceLocator.getTransactionService(), never()).saveTransactions(anyList());
+            ((Runnable) invocation.getArgument(0)).run();
+            verify(serviceLocator.getTransactionService()).saveTransactions(transactions);
+            verify(importFingerprintDao).saveAll(anyList());
+            return null;
+        }).when(daoRepository).doInTransaction(any(Runnable.class));
+
+        List<File> failed = fileImportOperations.importAll(importName, Lists.newArrayList(newFile("file1")));
+
+        assertThat(failed).isEmpty();
+        verify(daoRepository).doInTransaction(any(Runnable.class));
+    }
+
+    @Test
+    public void importAllDoesNotUpdateLedgerWhenSaveFails() throws Exception {
+        final String importName = "test import";
+        final ImportFile importFile = mock(ImportFile.class);
+        final ImportContext importContext = mock(ImportContext.class);
+        final List<Transaction> transactions = singletonList(new TransactionBuilder().detailAmounts(BigDecimal.ONE).get());
+        when(importFileDao.findOneByName(importName)).thenReturn(importFile);
+        when(importFile.getId()).thenReturn(-1L);
+        when(importFile.newContext(anyCollection(), anyCollection(), anyCollection())).thenReturn(importContext);
+        when(importContext.parseTransactions(any(InputStream.class))).thenReturn(transactions);
+        when(importFingerprintDao.saveAll(anyList())).thenThrow(new IllegalStateException("save failed")).then(invocation -> invocation.getArgument(0));
+        List<File> files = Lists.newArrayList(newFile("file1"), newFile("file1"));
+
+        List<File> failed = fileImportOperations.importAll(importName, files);
+
+        assertThat(failed).containsExactly(files.get(0));
+        verify(serviceLocator.getTransactionService(), times(2)).saveTransactions(transactions);
+        verify(importFingerprintDao, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    public void staticImportFilesUsesNewServiceContext() throws Exception {
+        final String importName = "test import";
+        final DaoRepository daoRepository = mock(DaoRepository.class, RETURNS_MOCKS);
+        final ImportFile importFile = mock(ImportFile.class);
+        final ImportContext importContext = mock(ImportContext.class);
+        when(daoRepository.transactional(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(daoRepository.getImportFileDao()).thenReturn(importFileDao);
+        when(daoRepository.getImportFingerprintDao()).thenReturn(importFingerprintDao);
+        when(importFileDao.findOneByName(importName)).thenReturn(importFile);
+        when(importFile.newContext(anyCollection(), anyCollection(), anyCollection())).thenReturn(importContext);
+        when(importContext.parseTransactions(any(InputStream.class))).thenThrow(new IllegalArgumentException("bad file"));
+        List<File> files = Lists.newArrayList(newFile("file1"));
+
+        List<File> failed = FileImportOperationsImpl.importFiles(daoRepository, importName, files);
+
+        assertThat(failed).containsExactly(files.get(0));
+        verify(importFileDao).findOneByName(importName);
+    }
+
+    /**
+     * Use the transaction amount as the record key.
+     */
+    private void stubRecordKeys(ImportContext importContext) {
+        when(importContext.getRecordKey(any(Transaction.class))).thenAnswer(invocation -> invocation.<Transaction>getArgument(0).getAmount().toString());
+    }
+
+    private File newFile(String content) throws IOException {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), content.getBytes());
+        return file;
+    }
+}
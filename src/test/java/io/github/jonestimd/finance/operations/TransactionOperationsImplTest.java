@@ -6,10 +6,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.google.common.collect.Lists;
+import io.github.jonestimd.finance.dao.AccountDao;
 import io.github.jonestimd.finance.dao.MockDaoContext;
 import io.github.jonestimd.finance.dao.PayeeDao;
 import io.github.jonestimd.finance.dao.SecurityDao;
@@ -30,6 +32,7 @@ import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
 import io.github.jonestimd.finance.domain.transaction.TransactionCategory;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetail;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetailBuilder;
+import io.github.jonestimd.finance.domain.transaction.TransactionPage;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
@@ -39,6 +42,7 @@ import static org.mockito.Mockito.*;
 
 public class TransactionOperationsImplTest {
     private MockDaoContext daoRepository = new MockDaoContext();
+    private AccountDao accountDao = daoRepository.getAccountDao();
     private TransactionDao transactionDao = daoRepository.getTransactionDao();
     private TransactionDetailDao transactionDetailDao = daoRepository.getTransactionDetailDao();
     private TransactionCategoryDao categoryDao = daoRepository.getTransactionCategoryDao();
@@ -147,7 +151,7 @@ public class TransactionOperationsImplTest {
 
         InOrder inOrder = inOrder(transactionDao, transactionDetailDao);
         inOrder.verify(transactionDao).merge(transaction);
-        inOrder.verify(transactionDetailDao).findOrphanTransfers();
+        inOrder.verify(transactionDetailDao).findOrphanTransfers(transaction.getId());
         verifyNoMoreInteractions(transactionDao, transactionDetailDao, securityLotDao);
         assertThat(transaction.getDetails()).hasSize(1);
         assertThat(transaction.getDetails().get(0)).isSameAs(persisted.getDetails().get(0));
@@ -159,14 +163,14 @@ public class TransactionOperationsImplTest {
         Transaction transaction = new Transaction(-1L);
         TransactionDetail orphanDetail = new TransactionDetail();
         Transaction orphanTransfer = new Transaction(null, null, null, false, null, orphanDetail, new TransactionDetail());
-        when(transactionDetailDao.findOrphanTransfers())
+        when(transactionDetailDao.findOrphanTransfers(-1L))
             .thenReturn(Collections.singletonList(orphanDetail));
 
         transactionOperations.saveTransaction(new TransactionUpdate(transaction));
 
         InOrder inOrder = inOrder(transactionDao, transactionDetailDao, securityLotDao);
         inOrder.verify(transactionDao).merge(transaction);
-        inOrder.verify(transactionDetailDao).findOrphanTransfers();
+        inOrder.verify(transactionDetailDao).findOrphanTransfers(transaction.getId());
         inOrder.verify(securityLotDao).deleteSaleLots(orphanDetail);
         inOrder.verify(transactionDetailDao).delete(orphanDetail);
         verifyNoMoreInteractions(transactionDao, transactionDetailDao, securityLotDao);
@@ -180,13 +184,29 @@ public class TransactionOperationsImplTest {
         Transaction transaction = new Transaction(-1L);
         TransactionDetail orphanDetail = new TransactionDetail();
         Transaction orphanTransfer = new Transaction(null, null, null, false, null, orphanDetail);
-        when(transactionDetailDao.findOrphanTransfers())
+        when(transactionDetailDao.findOrphanTransfers(-1L))
             .thenReturn(Collections.singletonList(orphanDetail));
 
         transactionOperations.saveTransaction(new TransactionUpdate(transaction));
 
         InOrder inOrder = inOrder(transactionDao, transactionDetailDao, securityLotDao);
         inOrder.verify(transactionDao).merge(transaction);
+        inOrder.verify(transactionDetailDao).findOrphanTransfers(transaction.getId());
+        inOrder.verify(securityLotDao).deleteSaleLots(orphanDetail);
+        inOrder.verify(transactionDao).delete(orphanTransfer);
+        verifyNoMoreInteractions(transactionDao, transactionDetailDao, securityLotDao);
+    }
+
+    @Test
+    public void deleteOrphanTransfersDeletesAllOrphans() throws Exception {
+        daoRepository.expectCommit();
+        TransactionDetail orphanDetail = new TransactionDetail();
+        Transaction orphanTransfer = new Transaction(null, null, null, false, null, orphanDetail);
+        when(transactionDetailDao.findOrphanTransfers()).thenReturn(Collections.singletonList(orphanDetail));
+
+        assertThat(transactionOperations.deleteOrphanTransfers()).isEqualTo(1);
+
+        InOrder inOrder = inOrder(transactionDao, transactionDetailDao, securityLotDao);
         inOrder.verify(transactionDetailDao).findOrphanTransfers();
         inOrder.verify(securityLotDao).deleteSaleLots(orphanDetail);
         inOrder.verify(transactionDao).delete(orphanTransfer);
@@ -207,7 +227,7 @@ public class TransactionOperationsImplTest {
         inOrder.verify(transactionDao).merge(transaction);
         inOrder.verify(securityLotDao).deleteSaleLots(update.getDeletes().get(0));
         inOrder.verify(transactionDetailDao).delete(update.getDeletes().get(0));
-        inOrder.verify(transactionDetailDao).findOrphanTransfers();
+        inOrder.verify(transactionDetailDao).findOrphanTransfers(transaction.getId());
         verifyNoMoreInteractions(transactionDao, transactionDetailDao, securityLotDao);
     }
 
@@ -229,7 +249,7 @@ public class TransactionOperationsImplTest {
         inOrder.verify(securityLotDao).deleteSaleLots(relatedDetail);
         inOrder.verify(transactionDao).delete(relatedTransaction);
         inOrder.verify(transactionDetailDao).delete(update.getDeletes().get(0));
-        inOrder.verify(transactionDetailDao).findOrphanTransfers();
+        inOrder.verify(transactionDetailDao).findOrphanTransfers(transaction.getId());
         verifyNoMoreInteractions(transactionDao, transactionDetailDao, securityLotDao);
     }
 
@@ -251,7 +271,7 @@ public class TransactionOperationsImplTest {
         inOrder.verify(securityLotDao).deleteSaleLots(relatedDetail);
         inOrder.verify(transactionDetailDao).delete(relatedDetail);
         inOrder.verify(transactionDetailDao).delete(update.getDeletes().get(0));
-        inOrder.verify(transactionDetailDao).findOrphanTransfers();
+        inOrder.verify(transactionDetailDao).findOrphanTransfers(transaction.getId());
         verifyNoMoreInteractions(transactionDao, transactionDetailDao, securityLotDao);
         assertThat(relatedDetail.getTransaction()).isNull();
     }
@@ -356,6 +376,55 @@ public class TransactionOperationsImplTest {
         assertThat(transactionOperations.getTransactions(accountId)).isSameAs(expectedTransactions);
     }
 
+    @Test
+    public void forEachTransactionScrollsDaoInBatches() throws Exception {
+        daoRepository.expectCommit();
+        final long accountId = 1;
+        Consumer<Transaction> consumer = transaction -> {};
+        when(transactionDao.forEachTransaction(anyLong(), anyInt(), any())).thenReturn(2);
+
+        assertThat(transactionOperations.forEachTransaction(accountId, consumer)).isEqualTo(2);
+
+        verify(transactionDao).forEachTransaction(accountId, 500, consumer);
+    }
+
+    @Test
+    public void getTransactionPageUsesAccountBalanceForLatestPage() throws Exception {
+        final long accountId = 1;
+        List<Transaction> transactions = Arrays.asList(newTransaction(true, "10"), newTransaction(false, "1"));
+        when(accountDao.getBalance(accountId)).thenReturn(new BigDecimal("100"));
+        when(transactionDao.getClearedBalance(accountId)).thenReturn(new BigDecimal("50"));
+        when(transactionDao.getTransactions(accountId, null, 2)).thenReturn(transactions);
+
+        TransactionPage page = transactionOperations.getTransactionPage(accountId, null, 2);
+
+        assertThat(page.getTransactions()).isSameAs(transactions);
+        assertThat(page.getOpeningBalance()).isEqualByComparingTo("89");
+        assertThat(page.getOpeningClearedBalance()).isEqualByComparingTo("40");
+        assertThat(page.isFirst()).isFalse();
+    }
+
+    @Test
+    public void getTransactionPageUsesOpeningBalanceOfNewerPage() throws Exception {
+        final long accountId = 1;
+        Transaction oldest = newTransaction(true, "10");
+        TransactionPage newerPage = new TransactionPage(Collections.singletonList(oldest), new BigDecimal("89"), new BigDecimal("40"), false);
+        List<Transaction> transactions = Collections.singletonList(newTransaction(true, "9"));
+        when(transactionDao.getTransactions(accountId, oldest, 2)).thenReturn(transactions);
+
+        TransactionPage page = transactionOperations.getTransactionPage(accountId, newerPage, 2);
+
+        assertThat(page.getTransactions()).isSameAs(transactions);
+        assertThat(page.getOpeningBalance()).isEqualByComparingTo("80");
+        assertThat(page.getOpeningClearedBalance()).isEqualByComparingTo("31");
+        assertThat(page.isFirst()).isTrue();
+        verifyNoInteractions(accountDao);
+    }
+
+    private Transaction newTransaction(boolean cleared, String amount) {
+        return new TransactionBuilder().nextId().cleared(cleared).details(new TransactionDetailBuilder().amount(new BigDecimal(amount)).get()).get();
+    }
+
     @Test
     public void findLatestForPayee() throws Exception {
         daoRepository.expectCommit();
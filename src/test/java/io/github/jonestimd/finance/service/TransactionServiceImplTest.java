@@ -3,6 +3,7 @@ package io.github.jonestimd.finance.service;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import io.github.jonestimd.finance.dao.hibernate.DomainEventRecorder;
 import io.github.jonestimd.finance.domain.UniqueId;
@@ -125,6 +126,16 @@ public class TransactionServiceImplTest {
         verify(transactionOperations).getTransactions(-1L);
     }
 
+    @Test
+    public void forEachTransactionDelegatesToOperations() throws Exception {
+        Consumer<Transaction> consumer = transaction -> {};
+        when(transactionOperations.forEachTransaction(anyLong(), any())).thenReturn(3);
+
+        assertThat(transactionService.forEachTransaction(-1L, consumer)).isEqualTo(3);
+
+        verify(transactionOperations).forEachTransaction(-1L, consumer);
+    }
+
     @Test
     public void testFindLatestByPayee() throws Exception {
         Transaction transaction = new Transaction();
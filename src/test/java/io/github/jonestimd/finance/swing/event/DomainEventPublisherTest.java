@@ -0,0 +1,87 @@
+package io.github.jonestimd.finance.swing.event;
+
+import java.util.Arrays;
+
+import io.github.jonestimd.finance.domain.UniqueId;
+import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.account.AccountBuilder;
+import io.github.jonestimd.finance.domain.event.AccountEvent;
+import io.github.jonestimd.finance.domain.event.DomainEvent;
+import io.github.jonestimd.finance.domain.event.TransactionEvent;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+public class DomainEventPublisherTest {
+    private final DomainEventPublisher publisher = new DomainEventPublisher();
+    private final DomainEventListener<Long, Transaction> transactionListener = mock(DomainEventListener.class);
+    private final DomainEventListener<Long, Account> accountListener = mock(DomainEventListener.class);
+
+    @Test
+    public void publishEventNotifiesListenersForDomainClass() throws Exception {
+        publisher.register(Transaction.class, transactionListener);
+        publisher.register(Account.class, accountListener);
+        TransactionEvent event = new TransactionEvent(this, EventType.CHANGED, new TransactionBuilder().nextId().get());
+
+        publisher.publishEvent(event);
+
+        verify(transactionListener).onDomainEvent(event);
+        verifyNoInteractions(accountListener);
+    }
+
+    @Test
+    public void publishEventNotifiesAllListenersForReload() throws Exception {
+        publisher.register(Transaction.class, transactionListener);
+        publisher.register(Account.class, accountListener);
+        DomainEvent<Object, UniqueId<Object>> event = new DomainEvent<>(this);
+
+        publisher.publishEvent(event);
+
+        verify(transactionListener).onDomainEvent((DomainEvent) event);
+        verify(accountListener).onDomainEvent((DomainEvent) event);
+    }
+
+    @Test
+    public void publishEventNotifiesListenerRegisteredAfterPreviousEvent() throws Exception {
+        publisher.register(Transaction.class, transactionListener);
+        publisher.publishEvent(new AccountEvent(this, EventType.CHANGED, new AccountBuilder().nextId().get()));
+        publisher.register(Account.class, accountListener);
+        AccountEvent event = new AccountEvent(this, EventType.CHANGED, new AccountBuilder().nextId().get());
+
+        publisher.publishEvent(event);
+
+        verify(accountListener).onDomainEvent(event);
+        verifyNoInteractions(transactionListener);
+    }
+
+    @Test
+    public void unregisterRemovesListener() throws Exception {
+        publisher.register(Transaction.class, transactionListener);
+        publisher.publishEvent(new TransactionEvent(this, EventType.CHANGED, new TransactionBuilder().nextId().get()));
+        publisher.unregister(Transaction.class, transactionListener);
+
+        publisher.publishEvent(new TransactionEvent(this, EventType.CHANGED, new TransactionBuilder().nextId().get()));
+
+        verify(transactionListener, times(1)).onDomainEvent(any());
+    }
+
+    @Test
+    public void publishEventsCoalescesEvents() throws Exception {
+        publisher.register(Transaction.class, transactionListener);
+        Transaction transaction1 = new TransactionBuilder().nextId().get();
+        Transaction transaction2 = new TransactionBuilder().nextId().get();
+
+        publisher.publishEvents(Arrays.asList(
+                new TransactionEvent(this, EventType.CHANGED, transaction1),
+                new TransactionEvent(this, EventType.CHANGED, transaction2)));
+
+        ArgumentCaptor<DomainEvent<Long, Transaction>> captor = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(transactionListener).onDomainEvent(captor.capture());
+        assertThat(captor.getValue().getDomainObjects()).containsExactly(transaction1, transaction2);
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.jonestimd.finance.swing.transaction;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class RunningBalanceIndexTest {
+    private final RunningBalanceIndex<Object> index = new RunningBalanceIndex<>();
+
+    @Test
+    public void getBalanceReturnsNullForUnknownItem() throws Exception {
+        assertThat(index.getBalance(new Object())).isNull();
+        assertThat(index.indexOf(new Object())).isEqualTo(-1);
+        assertThat(index.remove(new Object())).isNull();
+    }
+
+    @Test
+    public void addInsertsAtIndex() throws Exception {
+        Object item1 = new Object();
+        Object item2 = new Object();
+        Object item3 = new Object();
+
+        index.add(0, item3, new BigDecimal("100"));
+        index.add(0, item1, BigDecimal.ONE);
+        index.add(1, item2, BigDecimal.TEN);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.indexOf(item1)).isEqualTo(0);
+        assertThat(index.indexOf(item2)).isEqualTo(1);
+        assertThat(index.indexOf(item3)).isEqualTo(2);
+        assertThat(index.getBalance(item1)).isEqualByComparingTo("1");
+        assertThat(index.getBalance(item2)).isEqualByComparingTo("11");
+        assertThat(index.getBalance(item3)).isEqualByComparingTo("111");
+    }
+
+    @Test
+    public void addThrowsExceptionForDuplicateItem() throws Exception {
+        Object item = new Object();
+        index.add(0, item, BigDecimal.ONE);
+
+        assertThatThrownBy(() -> index.add(1, item, BigDecimal.ONE)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void setAmountUpdatesFollowingBalances() throws Exception {
+        Object item1 = new Object();
+        Object item2 = new Object();
+        index.add(0, item1, BigDecimal.ONE);
+        index.add(1, item2, BigDecimal.ONE);
+
+        assertThat(index.setAmount(item1, BigDecimal.TEN)).isTrue();
+        assertThat(index.setAmount(item1, new BigDecimal("10.00"))).isFalse();
+
+        assertThat(index.getAmount(item1)).isEqualByComparingTo("10");
+        assertThat(index.getBalance(item2)).isEqualByComparingTo("11");
+    }
+
+    @Test
+    public void matchesListForRandomUpdates() throws Exception {
+        Random random = new Random(1);
+        List<Object> items = new ArrayList<>();
+        List<BigDecimal> amounts = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int operation = items.isEmpty() ? 0 : random.nextInt(3);
+            if (operation == 0) {
+                int position = random.nextInt(items.size() + 1);
+                Object item = new Object();
+                BigDecimal amount = BigDecimal.valueOf(random.nextInt(1000) - 500);
+                items.add(position, item);
+                amounts.add(position, amount);
+                index.add(position, item, amount);
+            } else if (operation == 1) {
+                int position = random.nextInt(items.size());
+                assertThat(index.remove(items.remove(position))).isEqualByComparingTo(amounts.remove(position));
+            } else {
+                int position = random.nextInt(items.size());
+                BigDecimal amount = BigDecimal.valueOf(random.nextInt(1000) - 500);
+                amounts.set(position, amount);
+                index.setAmount(items.get(position), amount);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(items.size());
+        BigDecimal balance = BigDecimal.ZERO;
+        for (int i = 0; i < items.size(); i++) {
+            balance = balance.add(amounts.get(i));
+            assertThat(index.indexOf(items.get(i))).isEqualTo(i);
+            assertThat(index.getBalance(items.get(i))).isEqualByComparingTo(balance);
+        }
+    }
+}
@@ -53,8 +53,12 @@ public class TransactionDetailPanelTest {
     private TransactionTable transactionTable;
     @Mock
     private TransactionTableModel transactionsModel;
+    @Mock
+    private TransactionsPanel transactionsPanel;
     @Captor
     private ArgumentCaptor<TableModelListener> listenerCaptor;
+    @Captor
+    private ArgumentCaptor<Runnable> callbackCaptor;
 
     private final JFrame frame = new JFrame();
 
@@ -177,4 +181,56 @@ public class TransactionDetailPanelTest {
         inOrder.verify(transactionTable).getCellRect(transactionViewIndex, 0, true);
         inOrder.verify(transactionTable).scrollRectToVisible(cellRect);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void gotoActionLoadsOlderTransactionsForTransactionNotInLoadedPages() throws Exception {
+        final int beanIndex = 1;
+        final int transactionModelIndex = 2;
+        final int transactionViewIndex = 3;
+        final Rectangle cellRect = new Rectangle();
+        TransactionDetail detail = new TransactionDetailBuilder().onTransaction().get();
+        when(transactionsModel.getBeans()).thenReturn(Lists.newArrayList(new Transaction()));
+        when(transactionsModel.indexOf(any(Transaction.class))).thenReturn(-1, beanIndex);
+        when(transactionsModel.getLeadRowForGroup(anyInt())).thenReturn(transactionModelIndex);
+        when(transactionTable.getModel()).thenReturn(transactionsModel);
+        when(transactionTable.convertRowIndexToView(anyInt())).thenReturn(transactionViewIndex);
+        when(transactionTable.getCellRect(anyInt(), anyInt(), anyBoolean())).thenReturn(cellRect);
+        when(transactionsPanel.getComponents()).thenReturn(new Component[]{transactionTable});
+        when(transactionsWindow.getContentPane()).thenReturn(transactionsPanel);
+        when(frameManager.showFrame(any())).thenReturn(transactionsWindow);
+        TransactionDetailPanel panel = new TransactionDetailPanel(tableFactory, Lists.newArrayList(detail), frameManager);
+        ComponentTreeUtils.findComponent(panel, DecoratedTable.class).setRowSelectionInterval(0, 0);
+        showFrame(panel);
+
+        frame.getJMenuBar().getMenu(0).getItem(0).getAction().actionPerformed(null);
+
+        verify(transactionsPanel).loadAllTransactions(callbackCaptor.capture());
+        verify(transactionTable, never()).setRowSelectionInterval(anyInt(), anyInt());
+        callbackCaptor.getValue().run();
+        verify(transactionsModel, times(2)).indexOf(detail.getTransaction());
+        verify(transactionTable).convertRowIndexToView(transactionModelIndex);
+        verify(transactionTable).setRowSelectionInterval(transactionViewIndex, transactionViewIndex);
+        verify(transactionTable).scrollRectToVisible(cellRect);
+    }
+
+    @Test
+    public void gotoActionIgnoresTransactionNotInAccount() throws Exception {
+        TransactionDetail detail = new TransactionDetailBuilder().onTransaction().get();
+        when(transactionsModel.getBeans()).thenReturn(Lists.newArrayList(new Transaction()));
+        when(transactionsModel.indexOf(any(Transaction.class))).thenReturn(-1);
+        when(transactionTable.getModel()).thenReturn(transactionsModel);
+        when(transactionsPanel.getComponents()).thenReturn(new Component[]{transactionTable});
+        when(transactionsWindow.getContentPane()).thenReturn(transactionsPanel);
+        when(frameManager.showFrame(any())).thenReturn(transactionsWindow);
+        TransactionDetailPanel panel = new TransactionDetailPanel(tableFactory, Lists.newArrayList(detail), frameManager);
+        ComponentTreeUtils.findComponent(panel, DecoratedTable.class).setRowSelectionInterval(0, 0);
+        showFrame(panel);
+
+        frame.getJMenuBar().getMenu(0).getItem(0).getAction().actionPerformed(null);
+        verify(transactionsPanel).loadAllTransactions(callbackCaptor.capture());
+        callbackCaptor.getValue().run();
+
+        verify(transactionTable, never()).setRowSelectionInterval(anyInt(), anyInt());
+        verify(transactionTable, never()).scrollRectToVisible(any());
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.jonestimd.finance.swing.transaction;
+
+import java.util.Collections;
+
+import javax.swing.event.TableModelEvent;
+
+import com.google.common.collect.Lists;
+import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.transaction.Payee;
+import io.github.jonestimd.finance.domain.transaction.Transaction;
+import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TransactionFilterCacheTest {
+    private final TransactionFilterCache cache = new TransactionFilterCache();
+
+    @Test
+    public void matchesUsesCachedSearchKey() throws Exception {
+        Transaction transaction = new TransactionBuilder().nextId().memo("tx memo").get();
+        assertThat(cache.newFilter("memo").test(transaction)).isTrue();
+
+        transaction.setMemo("other");
+
+        assertThat(cache.newFilter("MEMO").test(transaction)).isTrue();
+        assertThat(cache.newFilter("tx").test(transaction)).isTrue();
+    }
+
+    @Test
+    public void narrowedSearchSkipsTransactionsThatDidNotMatch() throws Exception {
+        Transaction transaction = new TransactionBuilder().nextId().memo("other").get();
+        assertThat(cache.newFilter("memo").test(transaction)).isFalse();
+
+        transaction.setMemo("tx memo");
+
+        assertThat(cache.newFilter("memo 1").test(transaction)).isFalse();
+        assertThat(cache.newFilter("tx").test(transaction)).isTrue();
+    }
+
+    @Test
+    public void invalidateDiscardsCachedValues() throws Exception {
+        Transaction transaction = new TransactionBuilder().nextId().memo("tx memo").get();
+        assertThat(cache.newFilter("memo").test(transaction)).isTrue();
+        transaction.setMemo("other");
+
+        cache.invalidate(Collections.singleton(transaction));
+
+        assertThat(cache.newFilter("memo").test(transaction)).isFalse();
+        assertThat(cache.newFilter("other").test(transaction)).isTrue();
+    }
+
+    @Test
+    public void rowUpdateInvalidatesTransaction() throws Exception {
+        Transaction transaction1 = new TransactionBuilder().nextId().memo("memo 1").get();
+        Transaction transaction2 = new TransactionBuilder().nextId().memo("memo 2").get();
+        TransactionTableModel model = new TransactionTableModel(new Account());
+        model.setBeans(Lists.newArrayList(transaction1, transaction2));
+        model.addTableModelListener(cache);
+        assertThat(cache.newFilter("memo").test(transaction1)).isTrue();
+        assertThat(cache.newFilter("memo").test(transaction2)).isTrue();
+        transaction1.setMemo("other");
+        transaction2.setMemo("other");
+
+        int row = model.getLeadRowForGroup(model.indexOf(transaction2));
+        model.fireTableRowsUpdated(row, row);
+
+        assertThat(cache.newFilter("memo").test(transaction1)).isTrue();
+        assertThat(cache.newFilter("memo").test(transaction2)).isFalse();
+    }
+
+    @Test
+    public void balanceUpdateDoesNotInvalidateTransactions() throws Exception {
+        Transaction transaction = new TransactionBuilder().nextId().payee(new Payee("payee")).get();
+        TransactionTableModel model = new TransactionTableModel(new Account());
+        model.setBeans(Lists.newArrayList(transaction));
+        assertThat(cache.newFilter("payee").test(transaction)).isTrue();
+        transaction.setPayee(null);
+
+        cache.tableChanged(new TableModelEvent(model, 0, model.getRowCount() - 1, model.balanceColumn));
+
+        assertThat(cache.newFilter("payee").test(transaction)).isTrue();
+    }
+
+    @Test
+    public void dataChangedClearsCache() throws Exception {
+        Transaction transaction = new TransactionBuilder().nextId().payee(new Payee("payee")).get();
+        TransactionTableModel model = new TransactionTableModel(new Account());
+        assertThat(cache.newFilter("payee").test(transaction)).isTrue();
+        transaction.setPayee(null);
+
+        cache.tableChanged(new TableModelEvent(model));
+
+        assertThat(cache.newFilter("payee").test(transaction)).isFalse();
+    }
+
+    @Test
+    public void prepareCachesResultsFromSearchKeySnapshot() throws Exception {
+        Transaction transaction1 = new TransactionBuilder().nextId().memo("tx memo").get();
+        Transaction transaction2 = new TransactionBuilder().nextId().memo("other").get();
+        TransactionFilterCache.SearchKeys searchKeys = cache.getSearchKeys(Lists.newArrayList(transaction1, transaction2));
+        transaction1.setMemo("other");
+        transaction2.setMemo("tx memo");
+
+        assertThat(cache.prepare(searchKeys, "memo", () -> false)).isTrue();
+
+        assertThat(cache.newFilter("memo").test(transaction1)).isTrue();
+        assertThat(cache.newFilter("memo").test(transaction2)).isFalse();
+    }
+
+    @Test
+    public void prepareStopsWhenCancelled() throws Exception {
+        Transaction transaction = new TransactionBuilder().nextId().memo("tx memo").get();
+        TransactionFilterCache.SearchKeys searchKeys = cache.getSearchKeys(Collections.singleton(transaction));
+
+        assertThat(cache.prepare(searchKeys, "memo", () -> true)).isFalse();
+    }
+
+    @Test
+    public void prepareDiscardsResultsAfterInvalidate() throws Exception {
+        Transaction transaction = new TransactionBuilder().nextId().memo("tx memo").get();
+        TransactionFilterCache.SearchKeys searchKeys = cache.getSearchKeys(Collections.singleton(transaction));
+        transaction.setMemo("other");
+        cache.invalidate(Collections.singleton(transaction));
+
+        assertThat(cache.prepare(searchKeys, "memo", () -> false)).isTrue();
+
+        assertThat(cache.newFilter("memo").test(transaction)).isFalse();
+    }
+}
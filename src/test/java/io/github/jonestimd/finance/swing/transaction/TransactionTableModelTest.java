@@ -4,19 +4,23 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.Date;
 
 import javax.swing.event.TableModelEvent;
 import javax.swing.event.TableModelListener;
 
 import com.google.common.collect.Lists;
 import io.github.jonestimd.finance.domain.account.Account;
+import io.github.jonestimd.finance.domain.event.PayeeEvent;
 import io.github.jonestimd.finance.domain.event.TransactionEvent;
 import io.github.jonestimd.finance.domain.transaction.Payee;
 import io.github.jonestimd.finance.domain.transaction.Transaction;
 import io.github.jonestimd.finance.domain.transaction.TransactionBuilder;
 import io.github.jonestimd.finance.domain.transaction.TransactionDetailBuilder;
+import io.github.jonestimd.finance.domain.transaction.TransactionPage;
 import io.github.jonestimd.finance.swing.event.DomainEventPublisher;
 import io.github.jonestimd.finance.swing.event.EventType;
+import org.apache.commons.lang.time.DateUtils;
 import org.fest.util.Objects;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -274,6 +278,177 @@ public class TransactionTableModelTest {
         assertThat(model.getBeans()).doesNotContain(transfer.getDetails().get(0).getRelatedDetail().getTransaction());
     }
 
+    @Test
+    public void setPageUsesOpeningBalances() throws Exception {
+        TransactionTableModel model = new TransactionTableModel(new Account(ACCOUNT_ID));
+        TransactionPage page = new TransactionPage(Lists.newArrayList(newTransaction(true, BigDecimal.TEN), newTransaction(false, BigDecimal.ONE)),
+                new BigDecimal("100"), new BigDecimal("50"), false);
+
+        model.setPage(page);
+
+        assertThat(getBalance(model, 0)).isEqualByComparingTo("110");
+        assertThat(getBalance(model, 1)).isEqualByComparingTo("111");
+        assertThat(model.getClearedBalance()).isEqualByComparingTo("60");
+        assertThat(model.getOldestPage()).isSameAs(page);
+    }
+
+    @Test
+    public void addOlderPageInsertsTransactions() throws Exception {
+        TransactionTableModel model = new TransactionTableModel(new Account(ACCOUNT_ID));
+        Transaction newer = newTransaction(true, BigDecimal.TEN);
+        model.setPage(new TransactionPage(Lists.newArrayList(newer), new BigDecimal("11"), BigDecimal.TEN, false));
+        Transaction oldest = newTransaction(true, BigDecimal.TEN);
+        Transaction older = newTransaction(false, BigDecimal.ONE);
+
+        model.addOlderPage(new TransactionPage(Lists.newArrayList(oldest, older), BigDecimal.ZERO, BigDecimal.ZERO, true));
+
+        assertThat(model.getBeans()).containsExactly(oldest, older, newer);
+        assertThat(getBalance(model, 0)).isEqualByComparingTo("10");
+        assertThat(getBalance(model, 1)).isEqualByComparingTo("11");
+        assertThat(getBalance(model, 2)).isEqualByComparingTo("21");
+        assertThat(model.getClearedBalance()).isEqualByComparingTo("20");
+        assertThat(model.getOldestPage()).isNull();
+    }
+
+    @Test
+    public void onTransactionEvent_addsOlderTransactionToOpeningBalance() throws Exception {
+        DomainEventPublisher publisher = new DomainEventPublisher();
+        TransactionTableModel model = new TransactionTableModel(new Account(ACCOUNT_ID));
+        model.setDomainEventPublisher(publisher);
+        Transaction loaded = newTransaction(false, BigDecimal.ONE);
+        model.setPage(new TransactionPage(Lists.newArrayList(loaded), new BigDecimal("100"), BigDecimal.ZERO, false));
+        Transaction older = newTransaction(true, BigDecimal.TEN);
+        older.setDate(DateUtils.addDays(loaded.getDate(), -1));
+
+        publisher.publishEvent(new TransactionEvent(this, EventType.ADDED, older));
+
+        assertThat(model.getBeans()).containsExactly(loaded);
+        assertThat(getBalance(model, 0)).isEqualByComparingTo("111");
+        assertThat(model.getClearedBalance()).isEqualByComparingTo("10");
+
+        publisher.publishEvent(new TransactionEvent(this, EventType.DELETED, older));
+
+        assertThat(getBalance(model, 0)).isEqualByComparingTo("101");
+        assertThat(model.getClearedBalance()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    public void onTransactionEvent_countsChangesToOlderTransactions() throws Exception {
+        DomainEventPublisher publisher = new DomainEventPublisher();
+        TransactionTableModel model = new TransactionTableModel(new Account(ACCOUNT_ID));
+        model.setDomainEventPublisher(publisher);
+        Transaction loaded = newTransaction(false, BigDecimal.ONE);
+        model.setPage(new TransactionPage(Lists.newArrayList(loaded), new BigDecimal("100"), BigDecimal.ZERO, false));
+        Transaction older = newTransaction(true, BigDecimal.TEN);
+        older.setDate(DateUtils.addDays(loaded.getDate(), -1));
+
+        publisher.publishEvent(new TransactionEvent(this, EventType.CHANGED, loaded));
+        assertThat(model.getOlderChangeCount()).isEqualTo(0);
+
+        publisher.publishEvent(new TransactionEvent(this, EventType.CHANGED, older));
+        assertThat(model.getOlderChangeCount()).isEqualTo(1);
+        assertThat(model.getBeans()).containsExactly(loaded);
+
+        publisher.publishEvent(new TransactionEvent(this, EventType.DELETED, older));
+        assertThat(model.getOlderChangeCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void setAmountUpdatesFollowingBalances() throws Exception {
+        TransactionTableModel model = new TransactionTableModel(new Account(ACCOUNT_ID));
+        model.setBeans(Lists.newArrayList(
+                newTransaction(false, BigDecimal.TEN),
+                newTransaction(false, BigDecimal.ONE),
+                newTransaction(false, BigDecimal.ONE)));
+        TableModelListener listener = mock(TableModelListener.class);
+        model.addTableModelListener(listener);
+
+        model.setValueAt(new BigDecimal("20"), 1, model.amountColumn);
+
+        assertThat(getBalance(model, 0)).isEqualByComparingTo("20");
+        assertThat(getBalance(model, 1)).isEqualByComparingTo("21");
+        assertThat(getBalance(model, 2)).isEqualByComparingTo("22");
+        ArgumentCaptor<TableModelEvent> eventCaptor = ArgumentCaptor.forClass(TableModelEvent.class);
+        verify(listener, atLeastOnce()).tableChanged(eventCaptor.capture());
+        assertThat(eventCaptor.getAllValues()).anyMatch(event -> event.getColumn() == model.balanceColumn
+                && event.getFirstRow() == 0 && event.getLastRow() == model.getRowCount() - 1);
+    }
+
+    @Test
+    public void addBeanInsertsTransactionInDateOrder() throws Exception {
+        TransactionTableModel model = new TransactionTableModel(new Account(ACCOUNT_ID));
+        Transaction first = newTransaction(false, BigDecimal.ONE);
+        Transaction last = newTransaction(false, BigDecimal.ONE);
+        Transaction unsaved = new TransactionBuilder().account(new Account(ACCOUNT_ID)).date(new Date())
+                .details(new TransactionDetailBuilder().amount(BigDecimal.ONE).get()).get();
+        first.setDate(DateUtils.addDays(last.getDate(), -2));
+        model.setBeans(Lists.newArrayList(first, last, unsaved));
+        Transaction middle = newTransaction(false, BigDecimal.TEN);
+        middle.setDate(DateUtils.addDays(last.getDate(), -1));
+
+        model.addBean(middle);
+
+        assertThat(model.getBeans()).containsExactly(first, middle, last, unsaved);
+        assertThat(getBalance(model, 1)).isEqualByComparingTo("11");
+        assertThat(getBalance(model, 2)).isEqualByComparingTo("12");
+        assertThat(getBalance(model, 3)).isEqualByComparingTo("13");
+
+        model.removeBean(first);
+
+        assertThat(getBalance(model, 0)).isEqualByComparingTo("10");
+        assertThat(getBalance(model, 1)).isEqualByComparingTo("11");
+        assertThat(getBalance(model, 2)).isEqualByComparingTo("12");
+    }
+
+    @Test
+    public void onPayeeEvent_updatesRowsForPayee() throws Exception {
+        DomainEventPublisher publisher = new DomainEventPublisher();
+        TransactionTableModel model = new TransactionTableModel(new Account(ACCOUNT_ID));
+        model.setDomainEventPublisher(publisher);
+        Payee payee1 = new Payee(-1L, "payee 1");
+        Payee payee2 = new Payee(-2L, "payee 2");
+        model.setBeans(Lists.newArrayList(
+                newTransaction(payee1), newTransaction(payee2), newTransaction(payee1), newTransaction(payee1)));
+        TableModelListener listener = mock(TableModelListener.class);
+        model.addTableModelListener(listener);
+        Payee updated = new Payee(-1L, "updated");
+
+        publisher.publishEvent(new PayeeEvent(this, EventType.CHANGED, updated));
+
+        assertThat(model.getBeans().stream().map(Transaction::getPayee)).containsExactly(updated, payee2, updated, updated);
+        ArgumentCaptor<TableModelEvent> eventCaptor = ArgumentCaptor.forClass(TableModelEvent.class);
+        verify(listener, times(2)).tableChanged(eventCaptor.capture());
+        assertThat(eventCaptor.getAllValues().get(0).getFirstRow()).isEqualTo(0);
+        assertThat(eventCaptor.getAllValues().get(0).getLastRow()).isEqualTo(1);
+        assertThat(eventCaptor.getAllValues().get(1).getFirstRow()).isEqualTo(4);
+        assertThat(eventCaptor.getAllValues().get(1).getLastRow()).isEqualTo(7);
+    }
+
+    @Test
+    public void onPayeeEvent_replacesPayeeSetByEdit() throws Exception {
+        DomainEventPublisher publisher = new DomainEventPublisher();
+        TransactionTableModel model = new TransactionTableModel(new Account(ACCOUNT_ID));
+        model.setDomainEventPublisher(publisher);
+        Payee payee = new Payee(-1L, "payee");
+        Payee replacement = new Payee(-2L, "replacement");
+        model.setBeans(Lists.newArrayList(newTransaction(false, BigDecimal.ONE)));
+        model.setValueAt(payee, 0, model.getColumnIndex(TransactionColumnAdapter.PAYEE_ADAPTER));
+
+        publisher.publishEvent(new PayeeEvent(this, Collections.singletonList(payee), replacement));
+
+        assertThat(model.getBean(0).getPayee()).isSameAs(replacement);
+    }
+
+    private Transaction newTransaction(Payee payee) throws Exception {
+        Transaction transaction = newTransaction(false, BigDecimal.ONE);
+        transaction.setPayee(payee);
+        return transaction;
+    }
+
+    private BigDecimal getBalance(TransactionTableModel model, int beanIndex) {
+        return (BigDecimal) model.getValueAt(model.getLeadRowForGroup(beanIndex), model.getColumnCount() - 1);
+    }
+
     private Transaction newTransfer(long accountId) {
         return new TransactionBuilder().nextId()
                 .account(new Account(ACCOUNT_ID - 1))
@@ -283,6 +458,7 @@ public class TransactionTableModelTest {
     private Transaction newTransaction(boolean cleared, BigDecimal amount) throws Exception {
         return new TransactionBuilder().nextId()
                 .account(new Account(ACCOUNT_ID))
+                .date(new Date())
                 .cleared(cleared)
                 .details(new TransactionDetailBuilder().amount(amount).get()).get();
     }
@@ -125,7 +125,7 @@ public class CommitActionTest {
         verify(tableModel).addEmptyTransaction();
         verifyNoMoreInteractions(transactionTable);
         verify(transactionService).saveTransaction(any(TransactionUpdate.class));
-        domainEvents.forEach(event -> verify(domainEventPublisher).publishEvent(event));
+        verify(domainEventPublisher).publishEvents(domainEvents);
     }
 
     @Test
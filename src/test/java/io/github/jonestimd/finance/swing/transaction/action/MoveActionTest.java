@@ -130,7 +130,7 @@ public class MoveActionTest {
         moveAction.setSaveResultOnUI();
 
         verify(transactionService).moveTransaction(selectedTransaction, selectedAccount);
-        verify(domainEventPublisher).publishEvent(transactionEvent);
+        verify(domainEventPublisher).publishEvents(Lists.newArrayList(transactionEvent));
     }
 
     protected Account newAccount(AccountType type) {